@@ -1,5 +1,7 @@
 package controller;
 
+import java.nio.file.Path;
+
 import model.IModel;
 
 /**
@@ -77,6 +79,25 @@ public class AdminController {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Importuje filmy z pliku CSV z pominięciem strategii edycji oferty,
+   * która obsługuje pojedyncze filmy.
+   * @param plik plik z wierszami danych filmów
+   * @return komunikat z liczbą zaimportowanych i odrzuconych wierszy
+   */
+  public String importujFilmy(Path plik) {
+    return model.importujFilmy(plik);
+  }
+
+  /**
+   * Importuje seanse z pliku CSV.
+   * @param plik plik z wierszami danych seansów
+   * @return komunikat z liczbą zaimportowanych i odrzuconych wierszy
+   */
+  public String importujSeanse(Path plik) {
+    return model.importujSeanse(plik);
+  }
+
   /**
    * Edytuje ofertę kina używając określonych danych operacji.
    * @param daneOperacji dane operacji określające typ edycji
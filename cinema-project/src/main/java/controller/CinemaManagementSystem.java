@@ -1,5 +1,7 @@
 package controller;
 
+import java.nio.file.Paths;
+
 import model.*;
 
 /**
@@ -17,8 +19,18 @@ public class CinemaManagementSystem {
 	public static void main(String[] args) {
 		System.out.println("=== System Zarządzania Kinem ===\n");
 
-		// Inicjalizacja systemu
-		IDAO dao = new DAO();
+		// Inicjalizacja systemu (wpisy dziennika zapisywane w tle do katalogu logi)
+		try (AsynchronicznyLogZdarzen logZdarzen = new AsynchronicznyLogZdarzen(Paths.get("logi"))) {
+			uruchomScenariusze(new ConcurrentDAO(logZdarzen));
+		}
+	}
+
+	/**
+	 * Uruchamia scenariusze demonstracyjne na podanym DAO.
+	 * 
+	 * @param dao obiekt dostępu do danych
+	 */
+	private static void uruchomScenariusze(IDAO dao) {
 		Oferta oferta = new Oferta(dao);
 		IModel model = new Model(oferta, dao);
 
@@ -1,6 +1,7 @@
 package controller;
 
 import model.IModel;
+import model.StronaRepertuaru;
 
 /**
  * Kontroler dla operacji klienckich w systemie zarządzania kinem.
@@ -26,6 +27,39 @@ public class ClientController {
 		return model.pobierzRepertuar(kryteria);
 	}
 
+	/**
+	 * Przegląda jedną stronę repertuaru filmu.
+	 * @param kryteria      kryteria wyszukiwania (np. ID filmu)
+	 * @param kursor        kursor z poprzedniej strony lub null dla pierwszej
+	 * @param rozmiarStrony największa liczba seansów na stronie
+	 * @return seanse strony i kursor następnej strony, jeśli jest
+	 */
+	public String przegladajStroneRepertuaru(String kryteria, String kursor, int rozmiarStrony) {
+		StronaRepertuaru strona = model.pobierzStroneRepertuaru(kryteria, kursor, rozmiarStrony);
+		if (strona.dajLiczbeSeansow() == 0) {
+			return "Brak seansow dla filmu: " + kryteria;
+		}
+		StringBuilder wynik = new StringBuilder();
+		for (int i = 0; i < strona.dajLiczbeSeansow(); i++) {
+			wynik.append("  - Seans ").append(strona.dajIdSeansu(i)).append(": ").append(strona.dajOpis(i))
+					.append("\n");
+		}
+		if (strona.czyJestNastepna()) {
+			wynik.append("Nastepna strona: ").append(strona.dajNastepnyKursor()).append("\n");
+		}
+		return wynik.toString();
+	}
+
+	/**
+	 * Wyszukuje seanse według gatunku, zakresu dat, sali, ceny i tytułu filmu.
+	 * @param kryteria kryteria w formacie: gatunek;odDaty;doDaty;sala;maksCena;tytul
+	 *                 (puste pole oznacza dowolną wartość)
+	 * @return tekstowa reprezentacja pasujących seansów
+	 */
+	public String wyszukajSeanse(String kryteria) {
+		return model.wyszukajSeanse(kryteria);
+	}
+
 	/**
 	 * Wybiera konkretny seans do przeglądania dostępnych miejsc.
 	 * @param idSeansu ID seansu do wyboru
@@ -36,12 +70,21 @@ public class ClientController {
 	}
 
 	/**
-	 * Wybiera miejsca na seans.
-	 * @param daneMiejsc dane wyboru miejsc
-	 * @return potwierdzenie wybranych miejsc
+	 * Wybiera miejsca na seans i blokuje je na czas zakupu.
+	 * @param daneMiejsc dane w formacie: idSeansu;idKlienta;nr1,nr2,...
+	 * @return komunikat z ID blokady lub komunikat błędu
 	 */
 	public String wybierzMiejsca(String daneMiejsc) {
-		throw new UnsupportedOperationException();
+		return model.zablokujMiejsca(daneMiejsc);
+	}
+
+	/**
+	 * Odświeża widok sali: pobiera tylko miejsca zmienione od znanej wersji.
+	 * @param daneZapytania dane w formacie: idSeansu;wersja (-1 dla nowego klienta)
+	 * @return nowa wersja i zmienione miejsca lub komunikat błędu
+	 */
+	public String odswiezMiejsca(String daneZapytania) {
+		return model.pobierzZmianyMiejsc(daneZapytania);
 	}
 
 	/**
@@ -54,11 +97,38 @@ public class ClientController {
 	}
 
 	/**
-	 * Anuluje istniejącą rezerwację.
+	 * Rezerwuje bilety na grupę miejsc: wszystkie albo żadne.
+	 * @param daneRezerwacji dane w formacie: idSeansu;idKlienta;nr1,nr2,...;cena
+	 * @return komunikat potwierdzenia z ID rezerwacji lub komunikat błędu
+	 */
+	public String rezerwujBilety(String daneRezerwacji) {
+		return model.zarezerwujMiejsca(daneRezerwacji);
+	}
+
+	/**
+	 * Anuluje istniejącą rezerwację; miejsce dostaje pierwszy oczekujący.
 	 * @param idRezerwacji ID rezerwacji do anulowania
-	 * @return komunikat potwierdzenia
+	 * @return komunikat potwierdzenia lub komunikat błędu
 	 */
 	public String anulujRezerwacje(String idRezerwacji) {
-		throw new UnsupportedOperationException();
+		return model.anulujRezerwacje(idRezerwacji);
+	}
+
+	/**
+	 * Zapisuje klienta na listę oczekujących wyprzedanego seansu.
+	 * @param daneOczekiwania dane w formacie: idSeansu;idKlienta;priorytet
+	 * @return komunikat z pozycją w kolejce lub komunikat błędu
+	 */
+	public String oczekujNaMiejsce(String daneOczekiwania) {
+		return model.zapiszNaListeOczekujacych(daneOczekiwania);
+	}
+
+	/**
+	 * Sprawdza, czy zwolnione miejsce zostało przydzielone klientowi.
+	 * @param daneOczekiwania dane w formacie: idSeansu;idKlienta
+	 * @return przydzielone miejsce z ID blokady, pozycja w kolejce lub komunikat błędu
+	 */
+	public String sprawdzOczekiwanie(String daneOczekiwania) {
+		return model.sprawdzOczekiwanie(daneOczekiwania);
 	}
 }
\ No newline at end of file
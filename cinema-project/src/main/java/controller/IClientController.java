@@ -13,6 +13,23 @@ public interface IClientController {
 	 */
 	public String przegladajRepertuar(String kryteria);
 
+	/**
+	 * Przegląda jedną stronę repertuaru filmu.
+	 * @param kryteria      kryteria wyszukiwania (np. ID filmu)
+	 * @param kursor        kursor z poprzedniej strony lub null dla pierwszej
+	 * @param rozmiarStrony największa liczba seansów na stronie
+	 * @return seanse strony i kursor następnej strony, jeśli jest
+	 */
+	public String przegladajStroneRepertuaru(String kryteria, String kursor, int rozmiarStrony);
+
+	/**
+	 * Wyszukuje seanse według gatunku, zakresu dat, sali, ceny i tytułu filmu.
+	 * @param kryteria kryteria w formacie: gatunek;odDaty;doDaty;sala;maksCena;tytul
+	 *                 (puste pole oznacza dowolną wartość)
+	 * @return tekstowa reprezentacja pasujących seansów
+	 */
+	public String wyszukajSeanse(String kryteria);
+
 	/**
 	 * Wybiera konkretny seans do przeglądania dostępnych miejsc.
 	 * @param idSeansu ID seansu do wyboru
@@ -21,9 +38,9 @@ public interface IClientController {
 	public String wybierzSeans(String idSeansu);
 
 	/**
-	 * Wybiera miejsca na seans.
-	 * @param daneMiejsc dane wyboru miejsc
-	 * @return potwierdzenie wybranych miejsc
+	 * Wybiera miejsca na seans i blokuje je na czas zakupu.
+	 * @param daneMiejsc dane w formacie: idSeansu;idKlienta;nr1,nr2,...
+	 * @return komunikat z ID blokady lub komunikat błędu
 	 */
 	public String wybierzMiejsca(String daneMiejsc);
 
@@ -0,0 +1,248 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Adapter udostępniający IRekordyDAO przez napisowy interfejs IDAO.
+ * Dane wejściowe są parsowane do rekordów raz przy zapisie, a przy odczycie
+ * rekordy są formatowane z powrotem do postaci rozdzielanej średnikami,
+ * dzięki czemu Model i kontrolery działają bez zmian.
+ * Liczby są zwracane w postaci kanonicznej (np. cena 28.0), a dane
+ * o nieprawidłowym formacie są odrzucane wyjątkiem IllegalArgumentException.
+ */
+public class AdapterRekordowegoDAO implements IDAO {
+
+	private IRekordyDAO dao;
+
+	/**
+	 * Tworzy adapter dla określonego DAO rekordów.
+	 * 
+	 * @param daoValue DAO przechowujące typowane rekordy
+	 */
+	public AdapterRekordowegoDAO(IRekordyDAO daoValue) {
+		dao = daoValue;
+	}
+
+	/**
+	 * Zwraca opakowane DAO rekordów, z którego można czytać pola bez parsowania.
+	 * 
+	 * @return DAO rekordów
+	 */
+	public IRekordyDAO dajDaoRekordow() {
+		return dao;
+	}
+
+	/**
+	 * Dodaje wpis zdarzenia do dziennika systemowego.
+	 * 
+	 * @param zdarzenie opis zdarzenia do zapisania
+	 */
+	public void dodajWpisDoLogu(String zdarzenie) {
+		dao.dodajWpisDoLogu(zdarzenie);
+	}
+
+	/**
+	 * Pobiera dane filmu według ID.
+	 * 
+	 * @param idFilmu ID filmu do znalezienia
+	 * @return dane filmu jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzFilm(String idFilmu) {
+		RekordFilmu film = dao.znajdzRekordFilmu(idFilmu);
+		return film == null ? null : film.dajDane();
+	}
+
+	/**
+	 * Dodaje nowy film do bazy danych.
+	 * 
+	 * @param filmData dane filmu w formacie: id;tytul;opis;czas;gatunek;cena
+	 * @return ID filmu z danych
+	 */
+	public String dodajFilm(String filmData) {
+		return dao.dodajRekordFilmu(RekordFilmu.parsuj(filmData));
+	}
+
+	/**
+	 * Dodaje partię filmów jako rekordy.
+	 * 
+	 * @param filmyData dane kolejnych filmów do zapisania
+	 * @return ID filmów z danych, w kolejności danych
+	 * @throws IllegalArgumentException jeśli dane któregoś filmu są nieprawidłowe
+	 */
+	public String[] dodajFilmy(List<String> filmyData) {
+		String[] id = new String[filmyData.size()];
+		for (int i = 0; i < id.length; i++) {
+			id[i] = dodajFilm(filmyData.get(i));
+		}
+		return id;
+	}
+
+	/**
+	 * Aktualizuje istniejące dane filmu.
+	 * 
+	 * @param filmData zaktualizowane dane filmu w formacie:
+	 *                 id;tytul;opis;czas;gatunek;cena
+	 * @throws IllegalArgumentException jeśli film nie istnieje lub dane są nieprawidłowe
+	 */
+	public void edytujFilm(String filmData) {
+		dao.edytujRekordFilmu(RekordFilmu.parsuj(filmData));
+	}
+
+	/**
+	 * Usuwa film z bazy danych.
+	 * 
+	 * @param idFilmu ID filmu do usunięcia
+	 */
+	public void usunFilm(String idFilmu) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Pobiera dane seansu według ID.
+	 * 
+	 * @param idSeansu ID seansu do znalezienia
+	 * @return dane seansu jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzSeans(String idSeansu) {
+		RekordSeansu seans = dao.znajdzRekordSeansu(idSeansu);
+		return seans == null ? null : seans.dajDane();
+	}
+
+	/**
+	 * Znajduje wszystkie seanse dla określonego filmu.
+	 * 
+	 * @param idFilmu ID filmu
+	 * @return tablica ID seansów dla określonego filmu
+	 */
+	public String[] znajdzSeansyFilmu(String idFilmu) {
+		return dao.znajdzSeansyFilmu(idFilmu);
+	}
+
+	/**
+	 * Znajduje wszystkie seanse w bazie danych.
+	 * 
+	 * @return tablica ID wszystkich seansów
+	 */
+	public String[] znajdzSeanse() {
+		return dao.znajdzSeanse();
+	}
+
+	/**
+	 * Zwraca liczbę seansów w bazie danych.
+	 * 
+	 * @return liczba seansów
+	 */
+	public int dajLiczbeSeansow() {
+		return dao.dajLiczbeSeansow();
+	}
+
+	/**
+	 * Dodaje nowy seans do bazy danych i generuje unikalny ID.
+	 * 
+	 * @param seansData dane seansu w formacie: idFilmu;data;sala;miejsca
+	 * @return wygenerowane ID seansu
+	 */
+	public String dodajSeans(String seansData) {
+		return dao.dodajRekordSeansu(RekordSeansu.parsuj(seansData));
+	}
+
+	/**
+	 * Dodaje partię seansów jako rekordy.
+	 * 
+	 * @param seanseData dane kolejnych seansów do zapisania
+	 * @return wygenerowane ID seansów w kolejności danych
+	 * @throws IllegalArgumentException jeśli dane któregoś seansu są nieprawidłowe
+	 */
+	public String[] dodajSeanse(List<String> seanseData) {
+		String[] id = new String[seanseData.size()];
+		for (int i = 0; i < id.length; i++) {
+			id[i] = dodajSeans(seanseData.get(i));
+		}
+		return id;
+	}
+
+	/**
+	 * Aktualizuje istniejące dane seansu.
+	 * 
+	 * @param seansData zaktualizowane dane seansu w formacie:
+	 *                  idSeansu;idFilmu;data;sala;miejsca
+	 * @throws IllegalArgumentException jeśli seans nie istnieje lub dane są nieprawidłowe
+	 */
+	public void edytujSeans(String seansData) {
+		int separator = seansData.indexOf(';');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Nieprawidlowe dane seansu: " + seansData);
+		}
+		dao.edytujRekordSeansu(seansData.substring(0, separator),
+				RekordSeansu.parsuj(seansData.substring(separator + 1)));
+	}
+
+	/**
+	 * Usuwa seans z bazy danych.
+	 * 
+	 * @param idSeansu ID seansu do usunięcia
+	 */
+	public void usunSeans(String idSeansu) {
+		dao.usunSeans(idSeansu);
+	}
+
+	/**
+	 * Pobiera dane rezerwacji według ID.
+	 * 
+	 * @param idRezerwacji ID rezerwacji do znalezienia
+	 * @return dane rezerwacji jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzRezerwacje(String idRezerwacji) {
+		RekordRezerwacji rezerwacja = dao.znajdzRekordRezerwacji(idRezerwacji);
+		return rezerwacja == null ? null : rezerwacja.dajDane();
+	}
+
+	/**
+	 * Znajduje wszystkie rezerwacje na określony seans.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @return tablica ID rezerwacji na określony seans
+	 */
+	public String[] znajdzRezerwacjeSeansu(String idSeansu) {
+		return dao.znajdzRezerwacjeSeansu(idSeansu);
+	}
+
+	/**
+	 * Dodaje nową rezerwację do bazy danych i generuje unikalny ID.
+	 * 
+	 * @param rezerwacjaData dane rezerwacji w formacie: id;idSeansu;idKlienta;nrMiejsca;cena
+	 * @return wygenerowane ID rezerwacji
+	 */
+	public String dodajRezerwacje(String rezerwacjaData) {
+		return dao.dodajRekordRezerwacji(RekordRezerwacji.parsuj(rezerwacjaData));
+	}
+
+	/**
+	 * Usuwa rezerwację z bazy danych.
+	 * 
+	 * @param idRezerwacji ID rezerwacji do usunięcia
+	 */
+	public void usunRezerwacje(String idRezerwacji) {
+		dao.usunRezerwacje(idRezerwacji);
+	}
+
+	/**
+	 * Pobiera dane klienta według ID.
+	 * 
+	 * @param idKlienta ID klienta do znalezienia
+	 * @return dane klienta jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzKlienta(String idKlienta) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Dodaje nowego klienta do bazy danych.
+	 * 
+	 * @param klientData dane klienta do zapisania
+	 * @return wygenerowane ID klienta
+	 */
+	public String dodajKlienta(String klientData) {
+		throw new UnsupportedOperationException();
+	}
+}
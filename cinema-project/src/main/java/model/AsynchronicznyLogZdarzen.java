@@ -0,0 +1,488 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Asynchroniczny dziennik zdarzeń zapisujący wpisy partiami do plików.
+ * Producenci wstawiają wpis do ograniczonego bufora pierścieniowego
+ * i od razu wracają; osobny wątek pobiera wpisy partiami i dopisuje je
+ * jednym zapisem do bieżącego pliku zdarzenia-N.log. Po przekroczeniu
+ * rozmiaru lub wieku pliku rozpoczyna kolejny, a najstarsze pliki usuwa
+ * zgodnie z polityką retencji, więc zajęte miejsce na dysku jest ograniczone.
+ * Zachowanie przy pełnym buforze określa polityka przepełnienia.
+ * Dla każdego pliku utrzymywany jest rzadki indeks (zakres czasu, typy
+ * zdarzeń, filtr ID encji), dzięki któremu zapytania pomijają pliki,
+ * które nie mogą zawierać pasujących wpisów.
+ */
+public class AsynchronicznyLogZdarzen implements ILogZdarzen, IZapytaniaLogu, Closeable {
+
+	/**
+	 * Zachowanie producenta, gdy bufor wpisów jest pełny.
+	 */
+	public enum PolitykaPrzepelnienia {
+		/** Wpis jest odrzucany i liczony jako utracony. */
+		ODRZUC,
+		/** Producent czeka, aż wątek zapisu zwolni miejsce. */
+		BLOKUJ,
+		/** Zachowywany jest co N-ty wpis (z oczekiwaniem), pozostałe są odrzucane. */
+		PROBKUJ
+	}
+
+	private static final String PREFIKS = "zdarzenia-";
+	private static final String ROZSZERZENIE = ".log";
+	private static final int ROZMIAR_PARTII = 1024;
+	private static final long CZAS_BEZCZYNNOSCI_NS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long CZAS_OCZEKIWANIA_NS = TimeUnit.MICROSECONDS.toNanos(20);
+
+	private final Path katalog;
+	private final BuforZdarzen bufor;
+	private final PolitykaPrzepelnienia polityka;
+	private final PolitykaRotacji rotacja;
+	private final int coKtoryProbkowany;
+	private final LongAdder zakolejkowane = new LongAdder();
+	private final LongAdder odrzucone = new LongAdder();
+	private final AtomicLong przepelnienia = new AtomicLong();
+	private final AtomicLong zapisane = new AtomicLong();
+	private final Map<Long, IndeksSegmentu> indeksy = new ConcurrentHashMap<>();
+	private final LongAdder przeszukaneSegmenty = new LongAdder();
+	private final LongAdder pominieteSegmenty = new LongAdder();
+	private final StringBuilder partia = new StringBuilder();
+	private final ObjLongConsumer<String> formatowanie = this::formatuj;
+	private final Thread watekZapisu;
+	private volatile boolean zamkniety;
+	private volatile IOException bladZapisu;
+	private FileChannel kanal;
+	private long numerPliku;
+	private long rozmiarPliku;
+	private long czasOtwarciaPliku;
+	private IndeksSegmentu biezacyIndeks;
+
+	/**
+	 * Tworzy dziennik i uruchamia wątek zapisu.
+	 * 
+	 * @param katalogValue           katalog plików dziennika
+	 * @param pojemnoscValue         pojemność bufora wpisów
+	 * @param politykaValue          zachowanie przy pełnym buforze
+	 * @param coKtoryProbkowanyValue co który wpis jest zachowywany w polityce PROBKUJ
+	 * @param rotacjaValue           polityka rotacji i retencji plików
+	 */
+	public AsynchronicznyLogZdarzen(Path katalogValue, int pojemnoscValue, PolitykaPrzepelnienia politykaValue,
+			int coKtoryProbkowanyValue, PolitykaRotacji rotacjaValue) {
+		katalog = katalogValue;
+		bufor = new BuforZdarzen(pojemnoscValue);
+		polityka = politykaValue;
+		coKtoryProbkowany = Math.max(1, coKtoryProbkowanyValue);
+		rotacja = rotacjaValue;
+		try {
+			Files.createDirectories(katalog);
+			numerPliku = ostatniNumerPliku() + 1;
+			otworzPlik();
+			usunStarePliki();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie otworzyc dziennika zdarzen " + katalog, e);
+		}
+		watekZapisu = new Thread(this::zapisujPartie, "log-zdarzen");
+		watekZapisu.setDaemon(true);
+		watekZapisu.start();
+	}
+
+	/**
+	 * Tworzy dziennik z rotacją wyłącznie według rozmiaru pliku i bez retencji.
+	 * 
+	 * @param katalogValue           katalog plików dziennika
+	 * @param pojemnoscValue         pojemność bufora wpisów
+	 * @param politykaValue          zachowanie przy pełnym buforze
+	 * @param maksRozmiarPlikuValue  rozmiar pliku w bajtach, po którym zaczyna się kolejny
+	 * @param coKtoryProbkowanyValue co który wpis jest zachowywany w polityce PROBKUJ
+	 */
+	public AsynchronicznyLogZdarzen(Path katalogValue, int pojemnoscValue, PolitykaPrzepelnienia politykaValue,
+			long maksRozmiarPlikuValue, int coKtoryProbkowanyValue) {
+		this(katalogValue, pojemnoscValue, politykaValue, coKtoryProbkowanyValue,
+				new PolitykaRotacji(maksRozmiarPlikuValue, 0, 0, 0));
+	}
+
+	/**
+	 * Tworzy dziennik z buforem na 8192 wpisy i odrzucaniem przy przepełnieniu.
+	 * Pliki mają do 16 MB, są zamykane najpóźniej po godzinie, a zachowywanych
+	 * jest 10 najnowszych.
+	 * 
+	 * @param katalogValue katalog plików dziennika
+	 */
+	public AsynchronicznyLogZdarzen(Path katalogValue) {
+		this(katalogValue, 8192, PolitykaPrzepelnienia.ODRZUC, 100,
+				new PolitykaRotacji(16L * 1024 * 1024, TimeUnit.HOURS.toMillis(1), 10, 0));
+	}
+
+	/**
+	 * Wstawia wpis do bufora i wraca bez czekania na zapis.
+	 * Przy pełnym buforze postępuje zgodnie z polityką przepełnienia.
+	 * 
+	 * @param zdarzenie opis zdarzenia
+	 */
+	public void dodajWpis(String zdarzenie) {
+		dodajWpis(System.currentTimeMillis(), zdarzenie);
+	}
+
+	/**
+	 * Wstawia wpis z podanym czasem zdarzenia, np. przy imporcie historii.
+	 * 
+	 * @param czas      czas zdarzenia w milisekundach epoki
+	 * @param zdarzenie opis zdarzenia
+	 */
+	public void dodajWpis(long czas, String zdarzenie) {
+		if (!zamkniety && bufor.wstaw(czas, zdarzenie)) {
+			zakolejkowane.increment();
+			return;
+		}
+		boolean czekaj = polityka == PolitykaPrzepelnienia.BLOKUJ
+				|| (polityka == PolitykaPrzepelnienia.PROBKUJ
+						&& przepelnienia.getAndIncrement() % coKtoryProbkowany == 0);
+		if (czekaj) {
+			LockSupport.unpark(watekZapisu);
+			while (!zamkniety && bladZapisu == null) {
+				LockSupport.parkNanos(CZAS_OCZEKIWANIA_NS);
+				if (bufor.wstaw(czas, zdarzenie)) {
+					zakolejkowane.increment();
+					return;
+				}
+			}
+		}
+		odrzucone.increment();
+	}
+
+	/**
+	 * Wyszukuje wpisy w plikach dziennika, pomijając pliki, których indeks
+	 * wyklucza dopasowanie. Przeszukiwane są wpisy już zapisane do plików.
+	 * 
+	 * @param odCzasu początek zakresu czasu w milisekundach epoki (włącznie)
+	 * @param doCzasu koniec zakresu czasu w milisekundach epoki (włącznie)
+	 * @param typ     typ zdarzenia lub null dla dowolnego
+	 * @param idEncji ID encji lub null dla dowolnej
+	 * @return pasujące wpisy w kolejności zapisu
+	 */
+	public List<WpisLogu> znajdzWpisy(long odCzasu, long doCzasu, WpisLogu.Typ typ, String idEncji) {
+		List<WpisLogu> wynik = new ArrayList<>();
+		try {
+			for (Path plik : listaPlikow()) {
+				IndeksSegmentu indeks = indeksy.get(numer(plik));
+				if (indeks == null) {
+					indeks = zbudujIndeks(plik);
+					if (indeks == null) {
+						continue;
+					}
+				}
+				if (!indeks.mozeZawierac(odCzasu, doCzasu, typ, idEncji)) {
+					pominieteSegmenty.increment();
+					continue;
+				}
+				przeszukaneSegmenty.increment();
+				przeszukajPlik(plik, wpis -> {
+					if (wpis.dajCzas() >= odCzasu && wpis.dajCzas() <= doCzasu
+							&& (typ == null || wpis.dajTyp() == typ)
+							&& (idEncji == null || wpis.dotyczy(idEncji))) {
+						wynik.add(wpis);
+					}
+				});
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie przeszukac dziennika zdarzen " + katalog, e);
+		}
+		return wynik;
+	}
+
+	/**
+	 * Zwraca liczbę plików przejrzanych przez zapytania.
+	 * 
+	 * @return liczba przeszukanych segmentów
+	 */
+	public long dajLiczbePrzeszukanychSegmentow() {
+		return przeszukaneSegmenty.sum();
+	}
+
+	/**
+	 * Zwraca liczbę plików pominiętych przez zapytania dzięki indeksom.
+	 * 
+	 * @return liczba pominiętych segmentów
+	 */
+	public long dajLiczbePominietychSegmentow() {
+		return pominieteSegmenty.sum();
+	}
+
+	/**
+	 * Zwraca liczbę wpisów przyjętych do bufora.
+	 * 
+	 * @return liczba zakolejkowanych wpisów
+	 */
+	public long dajLiczbeZakolejkowanych() {
+		return zakolejkowane.sum();
+	}
+
+	/**
+	 * Zwraca liczbę wpisów utraconych z powodu przepełnienia lub zamknięcia.
+	 * 
+	 * @return liczba odrzuconych wpisów
+	 */
+	public long dajLiczbeOdrzuconych() {
+		return odrzucone.sum();
+	}
+
+	/**
+	 * Zwraca liczbę wpisów zapisanych już do pliku.
+	 * 
+	 * @return liczba zapisanych wpisów
+	 */
+	public long dajLiczbeZapisanych() {
+		return zapisane.get();
+	}
+
+	/**
+	 * Zwraca liczbę wpisów oczekujących w buforze na zapis.
+	 * 
+	 * @return liczba wpisów w buforze
+	 */
+	public int dajRozmiarKolejki() {
+		return bufor.dajRozmiar();
+	}
+
+	/**
+	 * Czeka, aż wszystkie przyjęte dotąd wpisy trafią do pliku.
+	 * 
+	 * @param limitMs maksymalny czas oczekiwania w milisekundach
+	 * @return true jeśli wszystkie wpisy zapisano przed upływem limitu
+	 */
+	public boolean czekajNaZapis(long limitMs) {
+		long cel = zakolejkowane.sum();
+		long termin = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limitMs);
+		while (zapisane.get() < cel) {
+			if (bladZapisu != null || System.nanoTime() > termin) {
+				return false;
+			}
+			LockSupport.unpark(watekZapisu);
+			LockSupport.parkNanos(CZAS_OCZEKIWANIA_NS);
+		}
+		return true;
+	}
+
+	/**
+	 * Zapisuje wszystkie oczekujące wpisy i zamyka plik.
+	 * Wpisy dodane po zamknięciu są liczone jako odrzucone; wpis dodawany
+	 * równolegle z zamykaniem może zostać utracony.
+	 */
+	public void close() {
+		if (zamkniety) {
+			return;
+		}
+		zamkniety = true;
+		LockSupport.unpark(watekZapisu);
+		try {
+			watekZapisu.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (bladZapisu != null) {
+			throw new UncheckedIOException("Blad zapisu dziennika zdarzen " + katalog, bladZapisu);
+		}
+	}
+
+	/**
+	 * Pętla wątku zapisu: pobiera partie wpisów z bufora i dopisuje je do
+	 * pliku; gdy bufor jest pusty, usypia na krótko.
+	 */
+	private void zapisujPartie() {
+		try {
+			while (true) {
+				partia.setLength(0);
+				int pobrane = bufor.pobierzPartie(formatowanie, ROZMIAR_PARTII);
+				if (pobrane > 0) {
+					zapiszPartie();
+					zapisane.addAndGet(pobrane);
+				} else if (zamkniety) {
+					break;
+				} else {
+					LockSupport.parkNanos(CZAS_BEZCZYNNOSCI_NS);
+				}
+				if (rotacja.czyRotowac(rozmiarPliku, System.currentTimeMillis() - czasOtwarciaPliku)) {
+					rozpocznijNowyPlik();
+				}
+			}
+			kanal.force(false);
+			kanal.close();
+		} catch (IOException e) {
+			bladZapisu = e;
+		}
+	}
+
+	/**
+	 * Dopisuje wpis do bieżącej partii jako wiersz: czas ISO-8601 i treść.
+	 * 
+	 * @param zdarzenie treść wpisu
+	 * @param czas      czas zdarzenia w milisekundach epoki
+	 */
+	private void formatuj(String zdarzenie, long czas) {
+		biezacyIndeks.dodaj(WpisLogu.rozpoznaj(czas, zdarzenie));
+		partia.append(Instant.ofEpochMilli(czas)).append(' ').append(zdarzenie).append('\n');
+	}
+
+	/**
+	 * Zapisuje bieżącą partię jednym wywołaniem write().
+	 * 
+	 * @throws IOException jeśli zapis się nie powiedzie
+	 */
+	private void zapiszPartie() throws IOException {
+		ByteBuffer bajty = StandardCharsets.UTF_8.encode(partia.toString());
+		rozmiarPliku += bajty.remaining();
+		while (bajty.hasRemaining()) {
+			kanal.write(bajty);
+		}
+	}
+
+	/**
+	 * Zamyka bieżący plik, otwiera kolejny i usuwa pliki ponad limit retencji.
+	 * 
+	 * @throws IOException jeśli operacja na plikach się nie powiedzie
+	 */
+	private void rozpocznijNowyPlik() throws IOException {
+		kanal.force(false);
+		kanal.close();
+		numerPliku++;
+		otworzPlik();
+		usunStarePliki();
+	}
+
+	/**
+	 * Usuwa najstarsze pliki, dopóki przekroczony jest limit ich liczby lub
+	 * łącznego rozmiaru. Bieżący plik nigdy nie jest usuwany.
+	 * 
+	 * @throws IOException jeśli operacja na plikach się nie powiedzie
+	 */
+	private void usunStarePliki() throws IOException {
+		if (rotacja.dajMaksLiczbePlikow() <= 0 && rotacja.dajMaksLacznyRozmiar() <= 0) {
+			return;
+		}
+		List<Path> pliki = listaPlikow();
+		long lacznyRozmiar = 0;
+		for (Path plik : pliki) {
+			lacznyRozmiar += Files.size(plik);
+		}
+		int liczba = pliki.size();
+		for (Path plik : pliki) {
+			boolean zaDuzoPlikow = rotacja.dajMaksLiczbePlikow() > 0 && liczba > rotacja.dajMaksLiczbePlikow();
+			boolean zaDuzyRozmiar = rotacja.dajMaksLacznyRozmiar() > 0
+					&& lacznyRozmiar > rotacja.dajMaksLacznyRozmiar();
+			if (numer(plik) == numerPliku || (!zaDuzoPlikow && !zaDuzyRozmiar)) {
+				break;
+			}
+			lacznyRozmiar -= Files.size(plik);
+			Files.deleteIfExists(plik);
+			indeksy.remove(numer(plik));
+			liczba--;
+		}
+	}
+
+	private void otworzPlik() throws IOException {
+		kanal = FileChannel.open(katalog.resolve(String.format("%s%08d%s", PREFIKS, numerPliku, ROZSZERZENIE)),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		rozmiarPliku = kanal.size();
+		czasOtwarciaPliku = System.currentTimeMillis();
+		biezacyIndeks = new IndeksSegmentu();
+		indeksy.put(numerPliku, biezacyIndeks);
+	}
+
+	/**
+	 * Buduje indeks pliku pozostałego z poprzedniego uruchomienia,
+	 * przeglądając go jednokrotnie, i zapamiętuje go.
+	 * 
+	 * @param plik plik dziennika
+	 * @return indeks pliku lub null, jeśli plik został w międzyczasie usunięty
+	 * @throws IOException jeśli odczyt się nie powiedzie
+	 */
+	private IndeksSegmentu zbudujIndeks(Path plik) throws IOException {
+		IndeksSegmentu indeks = new IndeksSegmentu();
+		if (!przeszukajPlik(plik, indeks::dodaj)) {
+			return null;
+		}
+		IndeksSegmentu poprzedni = indeksy.putIfAbsent(numer(plik), indeks);
+		return poprzedni != null ? poprzedni : indeks;
+	}
+
+	/**
+	 * Odczytuje wpisy z pliku dziennika; niekompletne lub nieczytelne wiersze
+	 * (np. dopisywane właśnie przez wątek zapisu) są pomijane.
+	 * 
+	 * @param plik     plik dziennika
+	 * @param odbiorca wywoływany dla każdego odczytanego wpisu
+	 * @return false jeśli plik nie istnieje (usunięty przez retencję)
+	 * @throws IOException jeśli odczyt się nie powiedzie
+	 */
+	private static boolean przeszukajPlik(Path plik, Consumer<WpisLogu> odbiorca) throws IOException {
+		try (BufferedReader czytnik = Files.newBufferedReader(plik, StandardCharsets.UTF_8)) {
+			String wiersz;
+			while ((wiersz = czytnik.readLine()) != null) {
+				int spacja = wiersz.indexOf(' ');
+				if (spacja < 0) {
+					continue;
+				}
+				try {
+					long czas = Instant.parse(wiersz.substring(0, spacja)).toEpochMilli();
+					odbiorca.accept(WpisLogu.rozpoznaj(czas, wiersz.substring(spacja + 1)));
+				} catch (DateTimeParseException e) {
+					// niekompletny wiersz na końcu pliku
+				}
+			}
+			return true;
+		} catch (NoSuchFileException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Zwraca pliki dziennika posortowane od najstarszego.
+	 * 
+	 * @return lista plików dziennika
+	 * @throws IOException jeśli odczyt katalogu się nie powiedzie
+	 */
+	private List<Path> listaPlikow() throws IOException {
+		List<Path> pliki = new ArrayList<>();
+		try (DirectoryStream<Path> strumien = Files.newDirectoryStream(katalog, PREFIKS + "*" + ROZSZERZENIE)) {
+			for (Path plik : strumien) {
+				pliki.add(plik);
+			}
+		}
+		pliki.sort(Comparator.comparingLong(AsynchronicznyLogZdarzen::numer));
+		return pliki;
+	}
+
+	private long ostatniNumerPliku() throws IOException {
+		List<Path> pliki = listaPlikow();
+		return pliki.isEmpty() ? 0 : numer(pliki.get(pliki.size() - 1));
+	}
+
+	private static long numer(Path plik) {
+		String nazwa = plik.getFileName().toString();
+		return Long.parseLong(nazwa.substring(PREFIKS.length(), nazwa.length() - ROZSZERZENIE.length()));
+	}
+}
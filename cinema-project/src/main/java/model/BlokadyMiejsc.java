@@ -0,0 +1,272 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Czasowe blokady miejsc między wyborem miejsc a zapłatą.
+ * Zablokowane miejsca są zajęte w mapie miejsc seansu, więc nikt inny nie
+ * może ich zarezerwować, a jeśli zakup nie zostanie potwierdzony przed
+ * upływem czasu blokady, miejsca wracają do puli. Terminy wygaśnięcia
+ * przechowuje {@link KoloCzasowe}, dzięki czemu tysiące blokad nie
+ * wymagają tysięcy zaplanowanych zadań. Wygasłe blokady są zwalniane przy
+ * każdej operacji na blokadach albo jawnie przez {@link #przetworzWygasle()}.
+ * Miejsca zwolnionych blokad trafiają do {@link IOdbiorcaZwolnionychMiejsc},
+ * który może je od razu przekazać kolejnemu klientowi jako nową blokadę.
+ */
+public class BlokadyMiejsc {
+
+	/** Domyślna dokładność terminów wygaśnięcia w milisekundach. */
+	public static final long DOMYSLNY_TAKT_MS = 100;
+
+	private static final int AKTYWNA = 0;
+	private static final int POTWIERDZONA = 1;
+	private static final int ZAKONCZONA = 2;
+
+	private final LongSupplier zegar;
+	private final KoloCzasowe<Blokada> kolo;
+	private final ConcurrentHashMap<String, Blokada> blokady = new ConcurrentHashMap<>();
+	private final AtomicLong licznikId = new AtomicLong();
+	private volatile IOdbiorcaZwolnionychMiejsc odbiorca = blokada -> blokada.mapa
+			.zwolnijWszystkie(blokada.miejsca);
+
+	/**
+	 * Blokada grupy miejsc jednego klienta na seansie.
+	 */
+	public static final class Blokada {
+		private final String id;
+		private final String idSeansu;
+		private final String idKlienta;
+		private final int[] miejsca;
+		private final MapaMiejsc mapa;
+		private final AtomicInteger stan = new AtomicInteger(AKTYWNA);
+		private volatile KoloCzasowe.Wpis<Blokada> wpis;
+
+		private Blokada(String idValue, String idSeansuValue, String idKlientaValue, int[] miejscaValue,
+				MapaMiejsc mapaValue) {
+			id = idValue;
+			idSeansu = idSeansuValue;
+			idKlienta = idKlientaValue;
+			miejsca = miejscaValue;
+			mapa = mapaValue;
+		}
+
+		/**
+		 * Zwraca ID blokady.
+		 * 
+		 * @return ID blokady
+		 */
+		public String dajId() {
+			return id;
+		}
+
+		/**
+		 * Zwraca ID seansu.
+		 * 
+		 * @return ID seansu
+		 */
+		public String dajIdSeansu() {
+			return idSeansu;
+		}
+
+		/**
+		 * Zwraca ID klienta.
+		 * 
+		 * @return ID klienta
+		 */
+		public String dajIdKlienta() {
+			return idKlienta;
+		}
+
+		/**
+		 * Zwraca numery zablokowanych miejsc.
+		 * 
+		 * @return kopia tablicy numerów miejsc
+		 */
+		public int[] dajMiejsca() {
+			return miejsca.clone();
+		}
+
+		/**
+		 * Zwraca mapę miejsc seansu, w której miejsca blokady są zajęte.
+		 * 
+		 * @return mapa miejsc seansu
+		 */
+		public MapaMiejsc dajMape() {
+			return mapa;
+		}
+	}
+
+	/**
+	 * Tworzy rejestr blokad z zegarem systemowym i domyślnym taktem.
+	 */
+	public BlokadyMiejsc() {
+		this(System::currentTimeMillis, DOMYSLNY_TAKT_MS);
+	}
+
+	/**
+	 * Tworzy rejestr blokad z podanym zegarem, np. sterowanym ręcznie w testach.
+	 * 
+	 * @param zegarValue zegar zwracający bieżący czas w milisekundach
+	 * @param taktMs     dokładność terminów wygaśnięcia w milisekundach
+	 */
+	public BlokadyMiejsc(LongSupplier zegarValue, long taktMs) {
+		zegar = zegarValue;
+		kolo = new KoloCzasowe<>(taktMs, zegarValue.getAsLong());
+	}
+
+	/**
+	 * Blokuje grupę miejsc na podany czas: wszystkie albo żadne.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param idKlienta ID klienta
+	 * @param mapa      mapa miejsc seansu
+	 * @param miejsca   numery miejsc (od 1)
+	 * @param czasMs    czas trwania blokady w milisekundach
+	 * @return ID blokady lub null, jeśli któreś miejsce jest niedostępne
+	 */
+	public String zablokuj(String idSeansu, String idKlienta, MapaMiejsc mapa, int[] miejsca, long czasMs) {
+		przetworzWygasle();
+		if (!mapa.zajmijWszystkie(miejsca)) {
+			return null;
+		}
+		return przekaz(idSeansu, idKlienta, mapa, miejsca, czasMs);
+	}
+
+	/**
+	 * Tworzy blokadę miejsc, które wywołujący już zajął w mapie, np. miejsca
+	 * przekazywane prosto z jednej blokady lub rezerwacji do oczekującego
+	 * klienta, bez chwili, w której ktoś inny mógłby je przechwycić.
+	 * Termin trafia do koła przed opublikowaniem blokady w rejestrze, więc
+	 * {@link #potwierdz(String)} i {@link #zwolnij(String)} zawsze widzą
+	 * jej wpis koła.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param idKlienta ID klienta
+	 * @param mapa      mapa miejsc seansu, w której miejsca są zajęte
+	 * @param miejsca   numery miejsc (od 1)
+	 * @param czasMs    czas trwania blokady w milisekundach
+	 * @return ID blokady
+	 */
+	public String przekaz(String idSeansu, String idKlienta, MapaMiejsc mapa, int[] miejsca, long czasMs) {
+		String id = "B" + licznikId.incrementAndGet();
+		Blokada blokada = new Blokada(id, idSeansu, idKlienta, miejsca.clone(), mapa);
+		blokada.wpis = kolo.dodaj(zegar.getAsLong() + czasMs, blokada);
+		blokady.put(id, blokada);
+		// Blokada mogła wygasnąć między dodaniem do koła a publikacją
+		if (blokada.stan.get() != AKTYWNA) {
+			blokady.remove(id);
+		}
+		return id;
+	}
+
+	/**
+	 * Potwierdza blokadę przed jej wygaśnięciem. Miejsca pozostają zajęte
+	 * i przechodzą na rezerwacje; blokada przestaje istnieć.
+	 * 
+	 * @param idBlokady ID blokady
+	 * @return potwierdzona blokada lub null, jeśli nie istnieje albo wygasła
+	 */
+	public Blokada potwierdz(String idBlokady) {
+		przetworzWygasle();
+		Blokada blokada = blokady.get(idBlokady);
+		if (blokada == null || !blokada.stan.compareAndSet(AKTYWNA, POTWIERDZONA)) {
+			return null;
+		}
+		blokady.remove(idBlokady);
+		kolo.anuluj(blokada.wpis);
+		return blokada;
+	}
+
+	/**
+	 * Zwalnia blokadę przed jej wygaśnięciem, np. gdy klient zrezygnował.
+	 * 
+	 * @param idBlokady ID blokady
+	 * @return true jeśli blokada była aktywna i jej miejsca zostały zwolnione
+	 */
+	public boolean zwolnij(String idBlokady) {
+		Blokada blokada = blokady.get(idBlokady);
+		if (blokada == null || !zakoncz(blokada)) {
+			return false;
+		}
+		kolo.anuluj(blokada.wpis);
+		return true;
+	}
+
+	/**
+	 * Kończy wszystkie aktywne blokady seansu bez zwalniania ich miejsc,
+	 * np. gdy seans jest usuwany razem z mapą miejsc. Miejsca nie trafiają
+	 * do odbiorcy zwolnionych miejsc, więc nie są przekazywane oczekującym
+	 * na seans, który przestał istnieć.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @return liczba zakończonych blokad
+	 */
+	public int usunBlokadySeansu(String idSeansu) {
+		int liczba = 0;
+		for (Blokada blokada : blokady.values()) {
+			if (blokada.idSeansu.equals(idSeansu) && blokada.stan.compareAndSet(AKTYWNA, ZAKONCZONA)) {
+				blokady.remove(blokada.id);
+				kolo.anuluj(blokada.wpis);
+				liczba++;
+			}
+		}
+		return liczba;
+	}
+
+	/**
+	 * Zwalnia miejsca wszystkich blokad, których czas upłynął.
+	 * 
+	 * @return liczba wygasłych blokad
+	 */
+	public int przetworzWygasle() {
+		return kolo.przetworz(zegar.getAsLong(), this::zakoncz);
+	}
+
+	/**
+	 * Ustawia odbiorcę miejsc zwalnianych przez wygasłe i porzucone blokady.
+	 * 
+	 * @param odbiorcaValue odbiorca zwolnionych miejsc
+	 */
+	public void ustawOdbiorceZwolnionychMiejsc(IOdbiorcaZwolnionychMiejsc odbiorcaValue) {
+		odbiorca = odbiorcaValue;
+	}
+
+	/**
+	 * Sprawdza, czy blokada jest jeszcze aktywna.
+	 * 
+	 * @param idBlokady ID blokady
+	 * @return true jeśli blokada nie wygasła, nie została zwolniona ani potwierdzona
+	 */
+	public boolean czyAktywna(String idBlokady) {
+		return blokady.containsKey(idBlokady);
+	}
+
+	/**
+	 * Zwraca liczbę aktywnych blokad.
+	 * 
+	 * @return liczba blokad
+	 */
+	public int dajLiczbeAktywnych() {
+		return blokady.size();
+	}
+
+	/**
+	 * Kończy blokadę i zwalnia jej miejsca, o ile nie została wcześniej
+	 * potwierdzona ani zakończona; CAS na stanie rozstrzyga wyścig między
+	 * wygaśnięciem a potwierdzeniem zakupu.
+	 * 
+	 * @param blokada kończona blokada
+	 * @return true jeśli to wywołanie zakończyło blokadę
+	 */
+	private boolean zakoncz(Blokada blokada) {
+		if (!blokada.stan.compareAndSet(AKTYWNA, ZAKONCZONA)) {
+			return false;
+		}
+		blokady.remove(blokada.id);
+		odbiorca.zwolnijMiejsca(blokada);
+		return true;
+	}
+}
@@ -0,0 +1,118 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Ograniczony, nieblokujący bufor pierścieniowy wpisów dziennika zdarzeń.
+ * Wielu producentów rezerwuje miejsca operacją porównaj-i-zamień na liczniku
+ * końca, a każde miejsce ma numer sekwencyjny, który mówi, czy jest wolne,
+ * czy zapisane (schemat ograniczonej kolejki D. Vyukova). Pobiera z niego
+ * jeden wątek konsumenta. Wpis to czas zdarzenia i jego treść, trzymane
+ * w tablicach, więc wstawienie nie tworzy dodatkowych obiektów.
+ */
+public class BuforZdarzen {
+
+	private final int maska;
+	private final AtomicLongArray sekwencje;
+	private final long[] czasy;
+	private final String[] tresci;
+	private final AtomicLong koniec = new AtomicLong();
+	private final AtomicLong poczatek = new AtomicLong();
+
+	/**
+	 * Tworzy bufor o pojemności zaokrąglonej w górę do potęgi dwójki.
+	 * 
+	 * @param pojemnoscValue minimalna liczba wpisów mieszczących się w buforze
+	 * @throws IllegalArgumentException jeśli pojemność jest mniejsza niż 2
+	 */
+	public BuforZdarzen(int pojemnoscValue) {
+		if (pojemnoscValue < 2 || pojemnoscValue > (1 << 30)) {
+			throw new IllegalArgumentException("Nieprawidlowa pojemnosc bufora: " + pojemnoscValue);
+		}
+		int pojemnosc = Integer.highestOneBit(pojemnoscValue - 1) << 1;
+		maska = pojemnosc - 1;
+		sekwencje = new AtomicLongArray(pojemnosc);
+		czasy = new long[pojemnosc];
+		tresci = new String[pojemnosc];
+		for (int i = 0; i < pojemnosc; i++) {
+			sekwencje.set(i, i);
+		}
+	}
+
+	/**
+	 * Próbuje wstawić wpis bez blokowania.
+	 * Może być wywoływana równolegle z wielu wątków.
+	 * 
+	 * @param czas  czas zdarzenia w milisekundach epoki
+	 * @param tresc  treść wpisu
+	 * @return true jeśli wpis wstawiono, false jeśli bufor jest pełny
+	 */
+	public boolean wstaw(long czas, String tresc) {
+		long pozycja = koniec.get();
+		while (true) {
+			int miejsce = (int) (pozycja & maska);
+			long roznica = sekwencje.get(miejsce) - pozycja;
+			if (roznica == 0) {
+				if (koniec.compareAndSet(pozycja, pozycja + 1)) {
+					czasy[miejsce] = czas;
+					tresci[miejsce] = tresc;
+					sekwencje.lazySet(miejsce, pozycja + 1);
+					return true;
+				}
+				pozycja = koniec.get();
+			} else if (roznica < 0) {
+				return false;
+			} else {
+				pozycja = koniec.get();
+			}
+		}
+	}
+
+	/**
+	 * Pobiera do podanej liczby wpisów w kolejności wstawienia.
+	 * Może być wywoływana tylko z jednego wątku konsumenta.
+	 * 
+	 * @param odbiorca wywoływany dla każdego wpisu z treścią i czasem
+	 * @param maks     maksymalna liczba pobieranych wpisów
+	 * @return liczba pobranych wpisów
+	 */
+	public int pobierzPartie(ObjLongConsumer<String> odbiorca, int maks) {
+		long pozycja = poczatek.get();
+		int pobrane = 0;
+		while (pobrane < maks) {
+			int miejsce = (int) (pozycja & maska);
+			if (sekwencje.get(miejsce) != pozycja + 1) {
+				break;
+			}
+			String tresc = tresci[miejsce];
+			long czas = czasy[miejsce];
+			tresci[miejsce] = null;
+			sekwencje.lazySet(miejsce, pozycja + maska + 1);
+			pozycja++;
+			pobrane++;
+			odbiorca.accept(tresc, czas);
+		}
+		poczatek.lazySet(pozycja);
+		return pobrane;
+	}
+
+	/**
+	 * Zwraca przybliżoną liczbę wpisów oczekujących w buforze.
+	 * 
+	 * @return liczba wpisów w buforze
+	 */
+	public int dajRozmiar() {
+		return (int) Math.max(0, koniec.get() - poczatek.get());
+	}
+
+	/**
+	 * Zwraca pojemność bufora.
+	 * 
+	 * @return maksymalna liczba wpisów
+	 */
+	public int dajPojemnosc() {
+		return maska + 1;
+	}
+}
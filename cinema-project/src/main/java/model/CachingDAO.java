@@ -0,0 +1,300 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Dekorator IDAO z pamięcią podręczną odczytów punktowych.
+ * Wyniki znajdzFilm, znajdzSeans i znajdzRezerwacje są zapamiętywane
+ * w ograniczonych pamięciach LRU, więc powtarzane odczyty tych samych
+ * encji nie trafiają do wolniejszego DAO (np. TrwalyDAO lub bazy danych).
+ * Każda operacja modyfikująca jest najpierw wykonywana na opakowanym DAO,
+ * a potem unieważnia wpis zmienionej encji.
+ * Pozostałe odczyty, w tym indeks seansów filmu, są przekazywane bez zmian.
+ */
+public class CachingDAO implements IDAO {
+
+	/** Domyślna pojemność pamięci dla każdego rodzaju encji. */
+	public static final int DOMYSLNA_POJEMNOSC = 10_000;
+
+	private final IDAO dao;
+	private final PamiecPodrecznaLRU<String, String> filmy;
+	private final PamiecPodrecznaLRU<String, String> seanse;
+	private final PamiecPodrecznaLRU<String, String> rezerwacje;
+
+	/**
+	 * Tworzy DAO z pamięcią podręczną.
+	 * 
+	 * @param daoValue       opakowane DAO
+	 * @param pojemnoscValue pojemność pamięci dla każdego rodzaju encji
+	 */
+	public CachingDAO(IDAO daoValue, int pojemnoscValue) {
+		dao = daoValue;
+		filmy = new PamiecPodrecznaLRU<>(pojemnoscValue);
+		seanse = new PamiecPodrecznaLRU<>(pojemnoscValue);
+		rezerwacje = new PamiecPodrecznaLRU<>(pojemnoscValue);
+	}
+
+	/**
+	 * Tworzy DAO z pamięcią podręczną o domyślnej pojemności.
+	 * 
+	 * @param daoValue opakowane DAO
+	 */
+	public CachingDAO(IDAO daoValue) {
+		this(daoValue, DOMYSLNA_POJEMNOSC);
+	}
+
+	/**
+	 * Zwraca łączną liczbę odczytów obsłużonych z pamięci.
+	 * 
+	 * @return liczba trafień
+	 */
+	public long dajLiczbeTrafien() {
+		return filmy.dajLiczbeTrafien() + seanse.dajLiczbeTrafien() + rezerwacje.dajLiczbeTrafien();
+	}
+
+	/**
+	 * Zwraca łączną liczbę odczytów przekazanych do opakowanego DAO.
+	 * 
+	 * @return liczba chybień
+	 */
+	public long dajLiczbeChybien() {
+		return filmy.dajLiczbeChybien() + seanse.dajLiczbeChybien() + rezerwacje.dajLiczbeChybien();
+	}
+
+	/**
+	 * Zwraca łączną liczbę wpisów wypartych z powodu braku miejsca.
+	 * 
+	 * @return liczba wyparć
+	 */
+	public long dajLiczbeWyparc() {
+		return filmy.dajLiczbeWyparc() + seanse.dajLiczbeWyparc() + rezerwacje.dajLiczbeWyparc();
+	}
+
+	/**
+	 * Zwraca udział odczytów obsłużonych z pamięci.
+	 * 
+	 * @return współczynnik trafień z przedziału [0, 1], 0 gdy nie było odczytów
+	 */
+	public double dajWspolczynnikTrafien() {
+		long trafienia = dajLiczbeTrafien();
+		long wszystkie = trafienia + dajLiczbeChybien();
+		return wszystkie == 0 ? 0.0 : (double) trafienia / wszystkie;
+	}
+
+	/**
+	 * Dodaje wpis zdarzenia do dziennika systemowego.
+	 * 
+	 * @param zdarzenie opis zdarzenia do zapisania
+	 */
+	public void dodajWpisDoLogu(String zdarzenie) {
+		dao.dodajWpisDoLogu(zdarzenie);
+	}
+
+	/**
+	 * Pobiera dane filmu według ID, w miarę możliwości z pamięci.
+	 * 
+	 * @param idFilmu ID filmu do znalezienia
+	 * @return dane filmu jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzFilm(String idFilmu) {
+		return filmy.pobierz(idFilmu, dao::znajdzFilm);
+	}
+
+	/**
+	 * Dodaje nowy film i unieważnia jego wpis w pamięci.
+	 * 
+	 * @param filmData dane filmu do zapisania
+	 * @return ID filmu
+	 */
+	public String dodajFilm(String filmData) {
+		String id = dao.dodajFilm(filmData);
+		filmy.uniewaznij(id);
+		return id;
+	}
+
+	/**
+	 * Dodaje partię filmów i unieważnia ich wpisy w pamięci.
+	 * 
+	 * @param filmyData dane kolejnych filmów do zapisania
+	 * @return ID filmów w kolejności danych
+	 */
+	public String[] dodajFilmy(List<String> filmyData) {
+		String[] id = dao.dodajFilmy(filmyData);
+		for (String idFilmu : id) {
+			filmy.uniewaznij(idFilmu);
+		}
+		return id;
+	}
+
+	/**
+	 * Aktualizuje dane filmu i unieważnia jego wpis w pamięci.
+	 * 
+	 * @param filmData zaktualizowane dane filmu (pierwsze pole to ID)
+	 */
+	public void edytujFilm(String filmData) {
+		dao.edytujFilm(filmData);
+		filmy.uniewaznij(pierwszePole(filmData));
+	}
+
+	/**
+	 * Usuwa film i unieważnia jego wpis w pamięci.
+	 * 
+	 * @param idFilmu ID filmu do usunięcia
+	 */
+	public void usunFilm(String idFilmu) {
+		dao.usunFilm(idFilmu);
+		filmy.uniewaznij(idFilmu);
+	}
+
+	/**
+	 * Pobiera dane seansu według ID, w miarę możliwości z pamięci.
+	 * 
+	 * @param idSeansu ID seansu do znalezienia
+	 * @return dane seansu jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzSeans(String idSeansu) {
+		return seanse.pobierz(idSeansu, dao::znajdzSeans);
+	}
+
+	/**
+	 * Znajduje wszystkie seanse dla określonego filmu.
+	 * 
+	 * @param idFilmu ID filmu
+	 * @return tablica ID seansów dla określonego filmu
+	 */
+	public String[] znajdzSeansyFilmu(String idFilmu) {
+		return dao.znajdzSeansyFilmu(idFilmu);
+	}
+
+	/**
+	 * Znajduje wszystkie seanse w bazie danych.
+	 * 
+	 * @return tablica ID wszystkich seansów
+	 */
+	public String[] znajdzSeanse() {
+		return dao.znajdzSeanse();
+	}
+
+	/**
+	 * Zwraca liczbę seansów w bazie danych.
+	 * 
+	 * @return liczba seansów
+	 */
+	public int dajLiczbeSeansow() {
+		return dao.dajLiczbeSeansow();
+	}
+
+	/**
+	 * Dodaje nowy seans i unieważnia jego wpis w pamięci.
+	 * 
+	 * @param seansData dane seansu do zapisania
+	 * @return wygenerowane ID seansu
+	 */
+	public String dodajSeans(String seansData) {
+		String id = dao.dodajSeans(seansData);
+		seanse.uniewaznij(id);
+		return id;
+	}
+
+	/**
+	 * Dodaje partię seansów i unieważnia ich wpisy w pamięci.
+	 * 
+	 * @param seanseData dane kolejnych seansów do zapisania
+	 * @return wygenerowane ID seansów w kolejności danych
+	 */
+	public String[] dodajSeanse(List<String> seanseData) {
+		String[] id = dao.dodajSeanse(seanseData);
+		for (String idSeansu : id) {
+			seanse.uniewaznij(idSeansu);
+		}
+		return id;
+	}
+
+	/**
+	 * Aktualizuje dane seansu i unieważnia jego wpis w pamięci.
+	 * 
+	 * @param seansData zaktualizowane dane seansu w formacie:
+	 *                  idSeansu;idFilmu;data;sala;miejsca
+	 */
+	public void edytujSeans(String seansData) {
+		dao.edytujSeans(seansData);
+		seanse.uniewaznij(pierwszePole(seansData));
+	}
+
+	/**
+	 * Usuwa seans i unieważnia jego wpis w pamięci.
+	 * 
+	 * @param idSeansu ID seansu do usunięcia
+	 */
+	public void usunSeans(String idSeansu) {
+		dao.usunSeans(idSeansu);
+		seanse.uniewaznij(idSeansu);
+	}
+
+	/**
+	 * Pobiera dane rezerwacji według ID, w miarę możliwości z pamięci.
+	 * 
+	 * @param idRezerwacji ID rezerwacji do znalezienia
+	 * @return dane rezerwacji jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzRezerwacje(String idRezerwacji) {
+		return rezerwacje.pobierz(idRezerwacji, dao::znajdzRezerwacje);
+	}
+
+	/**
+	 * Znajduje wszystkie rezerwacje na określony seans.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @return tablica ID rezerwacji na określony seans
+	 */
+	public String[] znajdzRezerwacjeSeansu(String idSeansu) {
+		return dao.znajdzRezerwacjeSeansu(idSeansu);
+	}
+
+	/**
+	 * Dodaje nową rezerwację i unieważnia jej wpis w pamięci.
+	 * 
+	 * @param rezerwacjaData dane rezerwacji do zapisania
+	 * @return wygenerowane ID rezerwacji
+	 */
+	public String dodajRezerwacje(String rezerwacjaData) {
+		String id = dao.dodajRezerwacje(rezerwacjaData);
+		rezerwacje.uniewaznij(id);
+		return id;
+	}
+
+	/**
+	 * Usuwa rezerwację i unieważnia jej wpis w pamięci.
+	 * 
+	 * @param idRezerwacji ID rezerwacji do usunięcia
+	 */
+	public void usunRezerwacje(String idRezerwacji) {
+		dao.usunRezerwacje(idRezerwacji);
+		rezerwacje.uniewaznij(idRezerwacji);
+	}
+
+	/**
+	 * Pobiera dane klienta według ID.
+	 * 
+	 * @param idKlienta ID klienta do znalezienia
+	 * @return dane klienta jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzKlienta(String idKlienta) {
+		return dao.znajdzKlienta(idKlienta);
+	}
+
+	/**
+	 * Dodaje nowego klienta do bazy danych.
+	 * 
+	 * @param klientData dane klienta do zapisania
+	 * @return wygenerowane ID klienta
+	 */
+	public String dodajKlienta(String klientData) {
+		return dao.dodajKlienta(klientData);
+	}
+
+	private static String pierwszePole(String dane) {
+		int separator = dane.indexOf(';');
+		return separator < 0 ? dane : dane.substring(0, separator);
+	}
+}
@@ -0,0 +1,441 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bezpieczna wątkowo implementacja IDAO do obsługi żądań na wielu rdzeniach.
+ * Przechowuje dane w mapach współbieżnych, ID przydziela atomowymi licznikami,
+ * a ostatnie wpisy dziennika trzyma w ograniczonym, nieblokującym oknie
+ * {@link OknoWpisow} zamiast drukować je na konsolę.
+ * Zachowuje się jak DAO, więc może go zastąpić bez zmian w pozostałym kodzie.
+ */
+public class ConcurrentDAO implements IDAO, IMigawkaDAO {
+
+  private Map<String, String> bazyFilmow;
+  private Map<String, String> bazySeans;
+  private Map<String, Set<String>> indeksSeansowFilmu;
+  private Map<String, String> bazyRezerwacji;
+  private Map<String, Set<String>> indeksRezerwacjiSeansu;
+  private Map<String, String> bazyKlientow;
+  private OknoWpisow ostatnieWpisy;
+  private AtomicInteger nextSeansId;
+  private AtomicInteger nextRezerwacjaId;
+  private AtomicInteger nextKlientId;
+  private ILogZdarzen logZdarzen;
+
+  /**
+   * Tworzy nowy ConcurrentDAO z pustymi strukturami danych.
+   * Inicjalizuje wszystkie wewnętrzne mapy przechowywania i liczniki.
+   */
+  public ConcurrentDAO() {
+    this(null);
+  }
+
+  /**
+   * Tworzy nowy ConcurrentDAO przekazujący wpisy dziennika także do
+   * podanego odbiorcy, np. asynchronicznego dziennika w pliku.
+   * 
+   * @param logZdarzenValue odbiorca wpisów dziennika zdarzeń lub null
+   */
+  public ConcurrentDAO(ILogZdarzen logZdarzenValue) {
+    logZdarzen = logZdarzenValue;
+    bazyFilmow = new ConcurrentHashMap<>();
+    bazySeans = new ConcurrentHashMap<>();
+    indeksSeansowFilmu = new ConcurrentHashMap<>();
+    bazyRezerwacji = new ConcurrentHashMap<>();
+    indeksRezerwacjiSeansu = new ConcurrentHashMap<>();
+    bazyKlientow = new ConcurrentHashMap<>();
+    ostatnieWpisy = new OknoWpisow(DAO.ROZMIAR_OKNA_WPISOW);
+    nextSeansId = new AtomicInteger(1);
+    nextRezerwacjaId = new AtomicInteger(1);
+    nextKlientId = new AtomicInteger(1);
+  }
+
+  /**
+   * Dodaje wpis zdarzenia do dziennika systemowego.
+   * Wpis trafia do nieblokującego okna ostatnich wpisów, które nadpisuje
+   * najstarsze wpisy, więc wątki nie rywalizują o konsolę, a pamięć nie rośnie.
+   * 
+   * @param zdarzenie opis zdarzenia do zapisania
+   */
+  public void dodajWpisDoLogu(String zdarzenie) {
+    ostatnieWpisy.dodaj(zdarzenie);
+    if (logZdarzen != null) {
+      logZdarzen.dodajWpis(zdarzenie);
+    }
+  }
+
+  /**
+   * Zwraca ostatnie wpisy dziennika, od najstarszego do najnowszego.
+   * W pamięci trzymane jest tylko okno DAO.ROZMIAR_OKNA_WPISOW wpisów.
+   * 
+   * @return lista ostatnich wpisów dziennika
+   */
+  public List<String> dajOstatnieWpisy() {
+    return ostatnieWpisy.dajWpisy();
+  }
+
+  /**
+   * Pobiera dane filmu według ID.
+   * 
+   * @param idFilmu ID filmu do znalezienia
+   * @return dane filmu jako string, lub null jeśli nie znaleziono
+   */
+  public String znajdzFilm(String idFilmu) {
+    return bazyFilmow.get(idFilmu);
+  }
+
+  /**
+   * Dodaje nowy film do bazy danych.
+   * 
+   * @param filmData dane filmu do zapisania (pierwsze pole to ID)
+   * @return ID filmu z danych
+   */
+  public String dodajFilm(String filmData) {
+    int separator = filmData.indexOf(';');
+    String id = separator < 0 ? filmData : filmData.substring(0, separator);
+    bazyFilmow.put(id, filmData);
+    return id;
+  }
+
+  /**
+   * Dodaje partię filmów do bazy danych.
+   * 
+   * @param filmyData dane kolejnych filmów do zapisania (pierwsze pole to ID)
+   * @return ID filmów z danych, w kolejności danych
+   */
+  public String[] dodajFilmy(List<String> filmyData) {
+    String[] id = new String[filmyData.size()];
+    for (int i = 0; i < id.length; i++) {
+      id[i] = dodajFilm(filmyData.get(i));
+    }
+    return id;
+  }
+
+  /**
+   * Aktualizuje istniejące dane filmu.
+   * 
+   * @param filmData zaktualizowane dane filmu (pierwsze pole to ID)
+   * @throws IllegalArgumentException jeśli film o podanym ID nie istnieje
+   */
+  public void edytujFilm(String filmData) {
+    int separator = filmData.indexOf(';');
+    String id = separator < 0 ? filmData : filmData.substring(0, separator);
+    if (bazyFilmow.replace(id, filmData) == null) {
+      throw new IllegalArgumentException("Film o ID " + id + " nie istnieje");
+    }
+  }
+
+  /**
+   * Usuwa film z bazy danych.
+   * 
+   * @param idFilmu ID filmu do usunięcia
+   */
+  public void usunFilm(String idFilmu) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Pobiera dane seansu według ID.
+   * 
+   * @param idSeansu ID seansu do znalezienia
+   * @return dane seansu jako string, lub null jeśli nie znaleziono
+   */
+  public String znajdzSeans(String idSeansu) {
+    return bazySeans.get(idSeansu);
+  }
+
+  /**
+   * Znajduje wszystkie seanse dla określonego filmu.
+   * 
+   * @param idFilmu ID filmu
+   * @return tablica ID seansów dla określonego filmu
+   */
+  public String[] znajdzSeansyFilmu(String idFilmu) {
+    Set<String> seansyFilmu = indeksSeansowFilmu.get(idFilmu);
+    if (seansyFilmu == null) {
+      return new String[0];
+    }
+    return seansyFilmu.toArray(new String[0]);
+  }
+
+  /**
+   * Znajduje wszystkie seanse w bazie danych. Przy równoległych zapisach
+   * wynik może nie obejmować seansów dodanych w trakcie przeglądania.
+   * 
+   * @return tablica ID wszystkich seansów
+   */
+  public String[] znajdzSeanse() {
+    return bazySeans.keySet().toArray(new String[0]);
+  }
+
+  /**
+   * Zwraca liczbę seansów w bazie danych.
+   * 
+   * @return liczba seansów
+   */
+  public int dajLiczbeSeansow() {
+    return bazySeans.size();
+  }
+
+  /**
+   * Dodaje nowy seans do bazy danych i generuje unikalny ID.
+   * Dane są zapisywane przed wpisem do indeksu, więc każdy seans widoczny
+   * w indeksie da się od razu odczytać.
+   * 
+   * @param seansData dane seansu do zapisania (format: idFilmu;data;sala;miejsca)
+   * @return wygenerowane ID seansu
+   */
+  public String dodajSeans(String seansData) {
+    String id = "S" + nextSeansId.getAndIncrement();
+    bazySeans.put(id, seansData);
+    dodajDoIndeksu(idFilmuSeansu(seansData), id);
+    return id;
+  }
+
+  /**
+   * Dodaje partię seansów do bazy danych.
+   * 
+   * @param seanseData dane kolejnych seansów do zapisania
+   * @return wygenerowane ID seansów w kolejności danych
+   */
+  public String[] dodajSeanse(List<String> seanseData) {
+    String[] id = new String[seanseData.size()];
+    for (int i = 0; i < id.length; i++) {
+      id[i] = dodajSeans(seanseData.get(i));
+    }
+    return id;
+  }
+
+  /**
+   * Aktualizuje istniejące dane seansu.
+   * Podmiana danych odbywa się operacją porównaj-i-zamień, dzięki czemu
+   * równoległe edycje tego samego seansu nie rozspójniają indeksu filmów.
+   * 
+   * @param seansData zaktualizowane dane seansu w formacie:
+   *                  idSeansu;idFilmu;data;sala;miejsca
+   * @throws IllegalArgumentException jeśli seans o podanym ID nie istnieje
+   */
+  public void edytujSeans(String seansData) {
+    int separator = seansData.indexOf(';');
+    String id = separator < 0 ? seansData : seansData.substring(0, separator);
+    String noweDane = separator < 0 ? "" : seansData.substring(separator + 1);
+
+    String stareDane;
+    do {
+      stareDane = bazySeans.get(id);
+      if (stareDane == null) {
+        throw new IllegalArgumentException("Seans o ID " + id + " nie istnieje");
+      }
+    } while (!bazySeans.replace(id, stareDane, noweDane));
+
+    String staryFilm = idFilmuSeansu(stareDane);
+    String nowyFilm = idFilmuSeansu(noweDane);
+    if (!staryFilm.equals(nowyFilm)) {
+      dodajDoIndeksu(nowyFilm, id);
+      usunZIndeksu(staryFilm, id);
+    }
+  }
+
+  /**
+   * Usuwa seans z bazy danych.
+   * 
+   * @param idSeansu ID seansu do usunięcia
+   */
+  public void usunSeans(String idSeansu) {
+    String seansData = bazySeans.remove(idSeansu);
+    if (seansData != null) {
+      usunZIndeksu(idFilmuSeansu(seansData), idSeansu);
+    }
+  }
+
+  /**
+   * Pobiera dane rezerwacji według ID.
+   * 
+   * @param idRezerwacji ID rezerwacji do znalezienia
+   * @return dane rezerwacji jako string, lub null jeśli nie znaleziono
+   */
+  public String znajdzRezerwacje(String idRezerwacji) {
+    return bazyRezerwacji.get(idRezerwacji);
+  }
+
+  /**
+   * Znajduje wszystkie rezerwacje na określony seans.
+   * 
+   * @param idSeansu ID seansu
+   * @return tablica ID rezerwacji na określony seans
+   */
+  public String[] znajdzRezerwacjeSeansu(String idSeansu) {
+    Set<String> rezerwacjeSeansu = indeksRezerwacjiSeansu.get(idSeansu);
+    if (rezerwacjeSeansu == null) {
+      return new String[0];
+    }
+    return rezerwacjeSeansu.toArray(new String[0]);
+  }
+
+  /**
+   * Dodaje nową rezerwację do bazy danych i generuje unikalny ID.
+   * 
+   * @param rezerwacjaData dane rezerwacji do zapisania
+   * @return wygenerowane ID rezerwacji
+   */
+  public String dodajRezerwacje(String rezerwacjaData) {
+    String id = "R" + nextRezerwacjaId.getAndIncrement();
+    bazyRezerwacji.put(id, rezerwacjaData);
+    dodajDoIndeksuRezerwacji(idSeansuRezerwacji(rezerwacjaData), id);
+    return id;
+  }
+
+  /**
+   * Usuwa rezerwację z bazy danych, a pusty wpis seansu z indeksu
+   * rezerwacji seansu.
+   * 
+   * @param idRezerwacji ID rezerwacji do usunięcia
+   */
+  public void usunRezerwacje(String idRezerwacji) {
+    String rezerwacjaData = bazyRezerwacji.remove(idRezerwacji);
+    if (rezerwacjaData != null) {
+      indeksRezerwacjiSeansu.computeIfPresent(idSeansuRezerwacji(rezerwacjaData), (klucz, rezerwacjeSeansu) -> {
+        rezerwacjeSeansu.remove(idRezerwacji);
+        return rezerwacjeSeansu.isEmpty() ? null : rezerwacjeSeansu;
+      });
+    }
+  }
+
+  /**
+   * Pobiera dane klienta według ID.
+   * 
+   * @param idKlienta ID klienta do znalezienia
+   * @return dane klienta jako string, lub null jeśli nie znaleziono
+   */
+  public String znajdzKlienta(String idKlienta) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Dodaje nowego klienta do bazy danych.
+   * 
+   * @param klientData dane klienta do zapisania
+   * @return wygenerowane ID klienta
+   */
+  public String dodajKlienta(String klientData) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Zapisuje pełny stan DAO do migawki: liczniki ID, filmy, seanse,
+   * indeks seansów filmów, rezerwacje i klientów.
+   * 
+   * @param wyjscie strumień, do którego zapisywany jest stan
+   * @throws IOException jeśli zapis się nie powiedzie
+   */
+  public void zapiszStan(DataOutput wyjscie) throws IOException {
+    wyjscie.writeInt(nextSeansId.get());
+    wyjscie.writeInt(nextRezerwacjaId.get());
+    wyjscie.writeInt(nextKlientId.get());
+    Migawka.zapiszMape(wyjscie, bazyFilmow);
+    Migawka.zapiszMape(wyjscie, bazySeans);
+    Migawka.zapiszIndeks(wyjscie, indeksSeansowFilmu);
+    Migawka.zapiszMape(wyjscie, bazyRezerwacji);
+    Migawka.zapiszMape(wyjscie, bazyKlientow);
+  }
+
+  /**
+   * Zastępuje bieżący stan DAO stanem odczytanym z migawki.
+   * 
+   * @param wejscie strumień, z którego odczytywany jest stan
+   * @throws IOException jeśli odczyt się nie powiedzie
+   */
+  public void wczytajStan(DataInput wejscie) throws IOException {
+    bazyFilmow.clear();
+    bazySeans.clear();
+    indeksSeansowFilmu.clear();
+    bazyRezerwacji.clear();
+    indeksRezerwacjiSeansu.clear();
+    bazyKlientow.clear();
+    nextSeansId.set(wejscie.readInt());
+    nextRezerwacjaId.set(wejscie.readInt());
+    nextKlientId.set(wejscie.readInt());
+    Migawka.wczytajMape(wejscie, bazyFilmow);
+    Migawka.wczytajMape(wejscie, bazySeans);
+    Migawka.wczytajIndeks(wejscie, indeksSeansowFilmu, ConcurrentHashMap::newKeySet);
+    Migawka.wczytajMape(wejscie, bazyRezerwacji);
+    Migawka.wczytajMape(wejscie, bazyKlientow);
+    for (Map.Entry<String, String> rezerwacja : bazyRezerwacji.entrySet()) {
+      dodajDoIndeksuRezerwacji(idSeansuRezerwacji(rezerwacja.getValue()), rezerwacja.getKey());
+    }
+  }
+
+  /**
+   * Zwraca ID filmu, czyli pierwsze pole danych seansu.
+   * 
+   * @param seansData dane seansu w formacie: idFilmu;data;sala;miejsca
+   * @return ID filmu, do którego należy seans
+   */
+  private static String idFilmuSeansu(String seansData) {
+    int separator = seansData.indexOf(';');
+    return separator < 0 ? seansData : seansData.substring(0, separator);
+  }
+
+  /**
+   * Zwraca ID seansu, czyli drugie pole danych rezerwacji.
+   * 
+   * @param rezerwacjaData dane rezerwacji w formacie: id;idSeansu;idKlienta;nrMiejsca;cena
+   * @return ID seansu, którego dotyczy rezerwacja
+   */
+  private static String idSeansuRezerwacji(String rezerwacjaData) {
+    int poczatek = rezerwacjaData.indexOf(';') + 1;
+    int koniec = rezerwacjaData.indexOf(';', poczatek);
+    return koniec < 0 ? rezerwacjaData.substring(poczatek) : rezerwacjaData.substring(poczatek, koniec);
+  }
+
+  /**
+   * Dopisuje rezerwację do indeksu rezerwacji seansu.
+   * Operacja compute jest atomowa względem usuwania pustych wpisów seansu.
+   * 
+   * @param idSeansu     ID seansu
+   * @param idRezerwacji ID rezerwacji
+   */
+  private void dodajDoIndeksuRezerwacji(String idSeansu, String idRezerwacji) {
+    indeksRezerwacjiSeansu.compute(idSeansu, (klucz, rezerwacjeSeansu) -> {
+      Set<String> wynik = rezerwacjeSeansu != null ? rezerwacjeSeansu : ConcurrentHashMap.newKeySet();
+      wynik.add(idRezerwacji);
+      return wynik;
+    });
+  }
+
+  /**
+   * Dopisuje seans do indeksu seansów filmu.
+   * Operacja compute jest atomowa względem usuwania pustych wpisów filmu.
+   * 
+   * @param idFilmu  ID filmu
+   * @param idSeansu ID seansu
+   */
+  private void dodajDoIndeksu(String idFilmu, String idSeansu) {
+    indeksSeansowFilmu.compute(idFilmu, (klucz, seansyFilmu) -> {
+      Set<String> wynik = seansyFilmu != null ? seansyFilmu : ConcurrentHashMap.newKeySet();
+      wynik.add(idSeansu);
+      return wynik;
+    });
+  }
+
+  /**
+   * Usuwa seans z indeksu seansów filmu, a pusty wpis filmu z indeksu.
+   * 
+   * @param idFilmu  ID filmu
+   * @param idSeansu ID seansu
+   */
+  private void usunZIndeksu(String idFilmu, String idSeansu) {
+    indeksSeansowFilmu.computeIfPresent(idFilmu, (klucz, seansyFilmu) -> {
+      seansyFilmu.remove(idSeansu);
+      return seansyFilmu.isEmpty() ? null : seansyFilmu;
+    });
+  }
+}
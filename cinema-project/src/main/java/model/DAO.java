@@ -1,36 +1,59 @@
 package model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Access Object do zarządzania trwałością danych kinowych.
  * Zapewnia przechowywanie i pobieranie w pamięci dla filmów, seansów,
  * rezerwacji i klientów.
  */
-public class DAO implements IDAO {
+public class DAO implements IDAO, IMigawkaDAO {
+
+  /** Liczba ostatnich wpisów dziennika trzymanych w pamięci. */
+  public static final int ROZMIAR_OKNA_WPISOW = 256;
 
   private Map<String, String> bazyFilmow;
   private Map<String, String> bazySeans;
+  private Map<String, Set<String>> indeksSeansowFilmu;
   private Map<String, String> bazyRezerwacji;
+  private Map<String, Set<String>> indeksRezerwacjiSeansu;
   private Map<String, String> bazyKlientow;
-  private List<String> logi;
+  private OknoWpisow ostatnieWpisy;
   private int nextSeansId;
   private int nextRezerwacjaId;
   private int nextKlientId;
+  private ILogZdarzen logZdarzen;
 
   /**
    * Tworzy nowy DAO z pustymi strukturami danych.
    * Inicjalizuje wszystkie wewnętrzne mapy przechowywania i liczniki.
+   * Wpisy dziennika są wypisywane na konsolę.
    */
   public DAO() {
+    this(new KonsolowyLogZdarzen());
+  }
+
+  /**
+   * Tworzy nowy DAO przekazujący wpisy dziennika do podanego odbiorcy.
+   * 
+   * @param logZdarzenValue odbiorca wpisów dziennika zdarzeń
+   */
+  public DAO(ILogZdarzen logZdarzenValue) {
+    logZdarzen = logZdarzenValue;
     bazyFilmow = new HashMap<>();
     bazySeans = new HashMap<>();
+    indeksSeansowFilmu = new HashMap<>();
     bazyRezerwacji = new HashMap<>();
+    indeksRezerwacjiSeansu = new HashMap<>();
     bazyKlientow = new HashMap<>();
-    logi = new ArrayList<>();
+    ostatnieWpisy = new OknoWpisow(ROZMIAR_OKNA_WPISOW);
     nextSeansId = 1;
     nextRezerwacjaId = 1;
     nextKlientId = 1;
@@ -42,8 +65,18 @@ public class DAO implements IDAO {
    * @param zdarzenie opis zdarzenia do zapisania
    */
   public void dodajWpisDoLogu(String zdarzenie) {
-    logi.add(zdarzenie);
-    System.out.println("[LOG] " + zdarzenie);
+    ostatnieWpisy.dodaj(zdarzenie);
+    logZdarzen.dodajWpis(zdarzenie);
+  }
+
+  /**
+   * Zwraca ostatnie wpisy dziennika, od najstarszego do najnowszego.
+   * Pełna historia trafia do odbiorcy wpisów, w pamięci zostaje tylko okno.
+   * 
+   * @return lista co najwyżej ROZMIAR_OKNA_WPISOW ostatnich wpisów
+   */
+  public List<String> dajOstatnieWpisy() {
+    return ostatnieWpisy.dajWpisy();
   }
 
   /**
@@ -63,19 +96,36 @@ public class DAO implements IDAO {
    * @return ID filmu z danych
    */
   public String dodajFilm(String filmData) {
-    String[] parts = filmData.split(";");
-    String id = parts[0];
+    String id = new KursorPol(filmData).nastepnyTekst();
     bazyFilmow.put(id, filmData);
     return id;
   }
 
+  /**
+   * Dodaje partię filmów do bazy danych.
+   * 
+   * @param filmyData dane kolejnych filmów do zapisania (pierwsze pole to ID)
+   * @return ID filmów z danych, w kolejności danych
+   */
+  public String[] dodajFilmy(List<String> filmyData) {
+    String[] id = new String[filmyData.size()];
+    for (int i = 0; i < id.length; i++) {
+      id[i] = dodajFilm(filmyData.get(i));
+    }
+    return id;
+  }
+
   /**
    * Aktualizuje istniejące dane filmu.
    * 
-   * @param filmData zaktualizowane dane filmu
+   * @param filmData zaktualizowane dane filmu (pierwsze pole to ID)
+   * @throws IllegalArgumentException jeśli film o podanym ID nie istnieje
    */
   public void edytujFilm(String filmData) {
-    throw new UnsupportedOperationException();
+    String id = new KursorPol(filmData).nastepnyTekst();
+    if (bazyFilmow.replace(id, filmData) == null) {
+      throw new IllegalArgumentException("Film o ID " + id + " nie istnieje");
+    }
   }
 
   /**
@@ -99,40 +149,91 @@ public class DAO implements IDAO {
 
   /**
    * Znajduje wszystkie seanse dla określonego filmu.
+   * Korzysta z indeksu film → seanse, więc koszt zależy tylko od liczby
+   * seansów danego filmu, a nie od liczby wszystkich seansów w bazie.
    * 
    * @param idFilmu ID filmu
    * @return tablica ID seansów dla określonego filmu
    */
   public String[] znajdzSeansyFilmu(String idFilmu) {
-    List<String> seansyFilmu = new ArrayList<>();
-    for (Map.Entry<String, String> entry : bazySeans.entrySet()) {
-      String[] parts = entry.getValue().split(";");
-      if (parts.length > 0 && parts[0].equals(idFilmu)) {
-        seansyFilmu.add(entry.getKey());
-      }
+    Set<String> seansyFilmu = indeksSeansowFilmu.get(idFilmu);
+    if (seansyFilmu == null) {
+      return new String[0];
     }
     return seansyFilmu.toArray(new String[0]);
   }
 
+  /**
+   * Znajduje wszystkie seanse w bazie danych.
+   * 
+   * @return tablica ID wszystkich seansów
+   */
+  public String[] znajdzSeanse() {
+    return bazySeans.keySet().toArray(new String[0]);
+  }
+
+  /**
+   * Zwraca liczbę seansów w bazie danych.
+   * 
+   * @return liczba seansów
+   */
+  public int dajLiczbeSeansow() {
+    return bazySeans.size();
+  }
+
   /**
    * Dodaje nowy seans do bazy danych i generuje unikalny ID.
    * 
-   * @param seansData dane seansu do zapisania
+   * @param seansData dane seansu do zapisania (format: idFilmu;data;sala;miejsca)
    * @return wygenerowane ID seansu
    */
   public String dodajSeans(String seansData) {
     String id = "S" + nextSeansId++;
     bazySeans.put(id, seansData);
+    dodajDoIndeksu(idFilmuSeansu(seansData), id);
+    return id;
+  }
+
+  /**
+   * Dodaje partię seansów do bazy danych.
+   * 
+   * @param seanseData dane kolejnych seansów do zapisania
+   * @return wygenerowane ID seansów w kolejności danych
+   */
+  public String[] dodajSeanse(List<String> seanseData) {
+    String[] id = new String[seanseData.size()];
+    for (int i = 0; i < id.length; i++) {
+      id[i] = dodajSeans(seanseData.get(i));
+    }
     return id;
   }
 
   /**
    * Aktualizuje istniejące dane seansu.
+   * Jeśli seans został przypisany do innego filmu, indeks film → seanse
+   * jest odpowiednio przepinany.
    * 
-   * @param seansData zaktualizowane dane seansu
+   * @param seansData zaktualizowane dane seansu w formacie:
+   *                  idSeansu;idFilmu;data;sala;miejsca
+   * @throws IllegalArgumentException jeśli seans o podanym ID nie istnieje
    */
   public void edytujSeans(String seansData) {
-    throw new UnsupportedOperationException();
+    int separator = seansData.indexOf(';');
+    String id = separator < 0 ? seansData : seansData.substring(0, separator);
+    String noweDane = separator < 0 ? "" : seansData.substring(separator + 1);
+
+    String stareDane = bazySeans.get(id);
+    if (stareDane == null) {
+      throw new IllegalArgumentException("Seans o ID " + id + " nie istnieje");
+    }
+    bazySeans.put(id, noweDane);
+
+    String staryFilm = idFilmuSeansu(stareDane);
+    String nowyFilm = idFilmuSeansu(noweDane);
+    if (!staryFilm.equals(nowyFilm)) {
+      usunZIndeksu(staryFilm, id);
+      dodajDoIndeksu(nowyFilm, id);
+    }
   }
 
   /**
@@ -141,7 +242,69 @@ public class DAO implements IDAO {
    * @param idSeansu ID seansu do usunięcia
    */
   public void usunSeans(String idSeansu) {
-    bazySeans.remove(idSeansu);
+    String seansData = bazySeans.remove(idSeansu);
+    if (seansData != null) {
+      usunZIndeksu(idFilmuSeansu(seansData), idSeansu);
+    }
+  }
+
+  /**
+   * Zwraca ID filmu, czyli pierwsze pole danych seansu.
+   * 
+   * @param seansData dane seansu w formacie: idFilmu;data;sala;miejsca
+   * @return ID filmu, do którego należy seans
+   */
+  private static String idFilmuSeansu(String seansData) {
+    int separator = seansData.indexOf(';');
+    return separator < 0 ? seansData : seansData.substring(0, separator);
+  }
+
+  /**
+   * Zwraca ID seansu, czyli drugie pole danych rezerwacji.
+   * 
+   * @param rezerwacjaData dane rezerwacji w formacie: id;idSeansu;idKlienta;nrMiejsca;cena
+   * @return ID seansu, którego dotyczy rezerwacja
+   */
+  private static String idSeansuRezerwacji(String rezerwacjaData) {
+    int poczatek = rezerwacjaData.indexOf(';') + 1;
+    int koniec = rezerwacjaData.indexOf(';', poczatek);
+    return koniec < 0 ? rezerwacjaData.substring(poczatek) : rezerwacjaData.substring(poczatek, koniec);
+  }
+
+  /**
+   * Dopisuje rezerwację do indeksu rezerwacji seansu.
+   * 
+   * @param idSeansu     ID seansu
+   * @param idRezerwacji ID rezerwacji
+   */
+  private void dodajDoIndeksuRezerwacji(String idSeansu, String idRezerwacji) {
+    indeksRezerwacjiSeansu.computeIfAbsent(idSeansu, k -> new LinkedHashSet<>()).add(idRezerwacji);
+  }
+
+  /**
+   * Dopisuje seans do indeksu seansów filmu.
+   * 
+   * @param idFilmu  ID filmu
+   * @param idSeansu ID seansu
+   */
+  private void dodajDoIndeksu(String idFilmu, String idSeansu) {
+    indeksSeansowFilmu.computeIfAbsent(idFilmu, k -> new LinkedHashSet<>()).add(idSeansu);
+  }
+
+  /**
+   * Usuwa seans z indeksu seansów filmu, a pusty wpis filmu z indeksu.
+   * 
+   * @param idFilmu  ID filmu
+   * @param idSeansu ID seansu
+   */
+  private void usunZIndeksu(String idFilmu, String idSeansu) {
+    Set<String> seansyFilmu = indeksSeansowFilmu.get(idFilmu);
+    if (seansyFilmu != null) {
+      seansyFilmu.remove(idSeansu);
+      if (seansyFilmu.isEmpty()) {
+        indeksSeansowFilmu.remove(idFilmu);
+      }
+    }
   }
 
   /**
@@ -154,6 +317,20 @@ public class DAO implements IDAO {
     return bazyRezerwacji.get(idRezerwacji);
   }
 
+  /**
+   * Znajduje wszystkie rezerwacje na określony seans.
+   * 
+   * @param idSeansu ID seansu
+   * @return tablica ID rezerwacji na określony seans
+   */
+  public String[] znajdzRezerwacjeSeansu(String idSeansu) {
+    Set<String> rezerwacjeSeansu = indeksRezerwacjiSeansu.get(idSeansu);
+    if (rezerwacjeSeansu == null) {
+      return new String[0];
+    }
+    return rezerwacjeSeansu.toArray(new String[0]);
+  }
+
   /**
    * Dodaje nową rezerwację do bazy danych i generuje unikalny ID.
    * 
@@ -163,16 +340,28 @@ public class DAO implements IDAO {
   public String dodajRezerwacje(String rezerwacjaData) {
     String id = "R" + nextRezerwacjaId++;
     bazyRezerwacji.put(id, rezerwacjaData);
+    dodajDoIndeksuRezerwacji(idSeansuRezerwacji(rezerwacjaData), id);
     return id;
   }
 
   /**
-   * Usuwa rezerwację z bazy danych.
+   * Usuwa rezerwację z bazy danych, a pusty wpis seansu z indeksu
+   * rezerwacji seansu.
    * 
    * @param idRezerwacji ID rezerwacji do usunięcia
    */
   public void usunRezerwacje(String idRezerwacji) {
-    throw new UnsupportedOperationException();
+    String rezerwacjaData = bazyRezerwacji.remove(idRezerwacji);
+    if (rezerwacjaData != null) {
+      String idSeansu = idSeansuRezerwacji(rezerwacjaData);
+      Set<String> rezerwacjeSeansu = indeksRezerwacjiSeansu.get(idSeansu);
+      if (rezerwacjeSeansu != null) {
+        rezerwacjeSeansu.remove(idRezerwacji);
+        if (rezerwacjeSeansu.isEmpty()) {
+          indeksRezerwacjiSeansu.remove(idSeansu);
+        }
+      }
+    }
   }
 
   /**
@@ -194,4 +383,48 @@ public class DAO implements IDAO {
   public String dodajKlienta(String klientData) {
     throw new UnsupportedOperationException();
   }
+
+  /**
+   * Zapisuje pełny stan DAO do migawki: liczniki ID, filmy, seanse,
+   * indeks seansów filmów, rezerwacje i klientów.
+   * 
+   * @param wyjscie strumień, do którego zapisywany jest stan
+   * @throws IOException jeśli zapis się nie powiedzie
+   */
+  public void zapiszStan(DataOutput wyjscie) throws IOException {
+    wyjscie.writeInt(nextSeansId);
+    wyjscie.writeInt(nextRezerwacjaId);
+    wyjscie.writeInt(nextKlientId);
+    Migawka.zapiszMape(wyjscie, bazyFilmow);
+    Migawka.zapiszMape(wyjscie, bazySeans);
+    Migawka.zapiszIndeks(wyjscie, indeksSeansowFilmu);
+    Migawka.zapiszMape(wyjscie, bazyRezerwacji);
+    Migawka.zapiszMape(wyjscie, bazyKlientow);
+  }
+
+  /**
+   * Zastępuje bieżący stan DAO stanem odczytanym z migawki.
+   * 
+   * @param wejscie strumień, z którego odczytywany jest stan
+   * @throws IOException jeśli odczyt się nie powiedzie
+   */
+  public void wczytajStan(DataInput wejscie) throws IOException {
+    bazyFilmow.clear();
+    bazySeans.clear();
+    indeksSeansowFilmu.clear();
+    bazyRezerwacji.clear();
+    indeksRezerwacjiSeansu.clear();
+    bazyKlientow.clear();
+    nextSeansId = wejscie.readInt();
+    nextRezerwacjaId = wejscie.readInt();
+    nextKlientId = wejscie.readInt();
+    Migawka.wczytajMape(wejscie, bazyFilmow);
+    Migawka.wczytajMape(wejscie, bazySeans);
+    Migawka.wczytajIndeks(wejscie, indeksSeansowFilmu, LinkedHashSet::new);
+    Migawka.wczytajMape(wejscie, bazyRezerwacji);
+    Migawka.wczytajMape(wejscie, bazyKlientow);
+    for (Map.Entry<String, String> rezerwacja : bazyRezerwacji.entrySet()) {
+      dodajDoIndeksuRezerwacji(idSeansuRezerwacji(rezerwacja.getValue()), rezerwacja.getKey());
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,437 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Dziennik zapisu z wyprzedzeniem (write-ahead log) dla operacji DAO.
+ * Każda operacja modyfikująca jest dopisywana na koniec bieżącego segmentu
+ * (pliku dziennik-N.log w katalogu dziennika) jako zwarty rekord binarny:
+ * długość, typ operacji, argument w UTF-8 i suma CRC32. Nowy segment
+ * rozpoczyna się przy zapisie migawki, po czym starsze segmenty można usunąć.
+ * Zapis na dysk wykonuje osobny wątek, który utrwala (fsync) całe grupy
+ * rekordów naraz, dzięki czemu wielu piszących dzieli jedno wywołanie force().
+ */
+public class DziennikZapisu implements Closeable {
+
+	/**
+	 * Operacje IDAO zapisywane w dzienniku.
+	 */
+	public enum Operacja {
+		DODAJ_FILM, EDYTUJ_FILM, USUN_FILM, DODAJ_SEANS, EDYTUJ_SEANS, USUN_SEANS,
+		DODAJ_REZERWACJE, USUN_REZERWACJE, DODAJ_KLIENTA
+	}
+
+	/**
+	 * Sposób utrwalania zapisów na dysku.
+	 */
+	public enum TrybSynchronizacji {
+		/** Wywołujący czeka, aż jego rekord zostanie utrwalony razem z grupą innych. */
+		GRUPOWY,
+		/** Rekordy są utrwalane co zadany interwał, wywołujący nie czeka. */
+		OKRESOWY,
+		/** Rekordy trafiają do pliku bez fsync (np. do testów). */
+		BRAK
+	}
+
+	/** Rozmiar nagłówka rekordu: długość (int) i typ operacji (byte). */
+	private static final int NAGLOWEK = 5;
+	/** Rozmiar sumy kontrolnej na końcu rekordu. */
+	private static final int SUMA = 4;
+	private static final String PREFIKS = "dziennik-";
+	private static final String ROZSZERZENIE = ".log";
+
+	private final Path katalog;
+	private final TrybSynchronizacji tryb;
+	private final long interwalMs;
+	private final Object monitor = new Object();
+	private FileChannel kanal;
+	private long numerSegmentu;
+	private ByteBuffer bufor;
+	private ByteBuffer buforZapisu;
+	private long dopisanyNumer;
+	private long utrwalonyNumer;
+	private IOException bladZapisu;
+	private boolean zamkniety;
+	private Thread watekZapisu;
+
+	/**
+	 * Tworzy dziennik w określonym katalogu.
+	 * Pliki są otwierane dopiero przez {@link #odtworz(long, BiConsumer)}.
+	 * 
+	 * @param katalogValue    katalog segmentów dziennika
+	 * @param trybValue       sposób utrwalania zapisów
+	 * @param interwalMsValue interwał utrwalania w trybie OKRESOWY (ms)
+	 */
+	public DziennikZapisu(Path katalogValue, TrybSynchronizacji trybValue, long interwalMsValue) {
+		katalog = katalogValue;
+		tryb = trybValue;
+		interwalMs = interwalMsValue;
+		bufor = ByteBuffer.allocate(64 * 1024);
+		buforZapisu = ByteBuffer.allocate(64 * 1024);
+	}
+
+	/**
+	 * Tworzy dziennik z grupowym utrwalaniem zapisów.
+	 * 
+	 * @param katalogValue katalog segmentów dziennika
+	 */
+	public DziennikZapisu(Path katalogValue) {
+		this(katalogValue, TrybSynchronizacji.GRUPOWY, 10);
+	}
+
+	/**
+	 * Zwraca katalog dziennika, w którym zapisywane są też migawki.
+	 * 
+	 * @return katalog dziennika
+	 */
+	public Path dajKatalog() {
+		return katalog;
+	}
+
+	/**
+	 * Odtwarza poprawne rekordy z segmentów od podanego numeru i otwiera
+	 * ostatni segment do dopisywania.
+	 * Niepełny lub uszkodzony rekord na końcu ostatniego segmentu (np. po awarii
+	 * w trakcie zapisu) jest odcinany, a plik skracany do ostatniego poprawnego
+	 * rekordu. Uszkodzenie we wcześniejszym segmencie jest zgłaszane wyjątkiem.
+	 * 
+	 * @param odSegmentu pierwszy odtwarzany segment (segmenty wcześniejsze są
+	 *                   pokryte migawką)
+	 * @param odbiorca   wywoływany dla każdego rekordu z operacją i jej argumentem
+	 * @return liczba odtworzonych rekordów
+	 */
+	public long odtworz(long odSegmentu, BiConsumer<Operacja, String> odbiorca) {
+		try {
+			Files.createDirectories(katalog);
+			List<Long> segmenty = new ArrayList<>();
+			try (DirectoryStream<Path> pliki = Files.newDirectoryStream(katalog, PREFIKS + "*" + ROZSZERZENIE)) {
+				for (Path plik : pliki) {
+					long numer = numerSegmentu(plik);
+					if (numer >= odSegmentu) {
+						segmenty.add(numer);
+					}
+				}
+			}
+			Collections.sort(segmenty);
+
+			long liczba = 0;
+			long poprawnaDlugosc = 0;
+			for (int i = 0; i < segmenty.size(); i++) {
+				Path plik = plikSegmentu(segmenty.get(i));
+				long[] wynik = odtworzSegment(plik, odbiorca);
+				liczba += wynik[0];
+				poprawnaDlugosc = wynik[1];
+				boolean ostatni = i == segmenty.size() - 1;
+				if (!ostatni && poprawnaDlugosc != Files.size(plik)) {
+					throw new IOException("Uszkodzony segment dziennika " + plik);
+				}
+			}
+
+			numerSegmentu = segmenty.isEmpty() ? Math.max(1, odSegmentu) : segmenty.get(segmenty.size() - 1);
+			kanal = FileChannel.open(plikSegmentu(numerSegmentu), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			kanal.truncate(segmenty.isEmpty() ? 0 : poprawnaDlugosc);
+			kanal.position(kanal.size());
+			uruchomWatekZapisu();
+			return liczba;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie odtworzyc dziennika " + katalog, e);
+		}
+	}
+
+	/**
+	 * Utrwala wszystkie dotychczasowe rekordy i przełącza zapis do nowego segmentu.
+	 * Wywołujący musi wstrzymać dopisywanie na czas tej operacji, aby żaden
+	 * rekord nie trafił do segmentu, który obejmie migawka.
+	 * 
+	 * @return numer nowego segmentu
+	 */
+	public long rozpocznijNowySegment() {
+		synchronized (monitor) {
+			sprawdzStan();
+			long cel = dopisanyNumer;
+			monitor.notifyAll();
+			while (utrwalonyNumer < cel) {
+				if (bladZapisu != null) {
+					throw new UncheckedIOException("Blad zapisu dziennika " + katalog, bladZapisu);
+				}
+				try {
+					monitor.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Przerwano przelaczanie segmentu dziennika", e);
+				}
+			}
+			try {
+				kanal.force(false);
+				kanal.close();
+				numerSegmentu++;
+				kanal = FileChannel.open(plikSegmentu(numerSegmentu), StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			} catch (IOException e) {
+				bladZapisu = e;
+				monitor.notifyAll();
+				throw new UncheckedIOException("Nie udalo sie rozpoczac segmentu dziennika", e);
+			}
+			return numerSegmentu;
+		}
+	}
+
+	/**
+	 * Usuwa segmenty dziennika o numerach mniejszych niż podany,
+	 * czyli segmenty pokryte już migawką.
+	 * 
+	 * @param numer numer pierwszego segmentu, który ma zostać zachowany
+	 */
+	public void usunSegmentyPrzed(long numer) {
+		try (DirectoryStream<Path> pliki = Files.newDirectoryStream(katalog, PREFIKS + "*" + ROZSZERZENIE)) {
+			for (Path plik : pliki) {
+				if (numerSegmentu(plik) < numer) {
+					Files.deleteIfExists(plik);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie usunac starych segmentow dziennika", e);
+		}
+	}
+
+	/**
+	 * Odtwarza poprawne rekordy jednego segmentu.
+	 * 
+	 * @param plik     plik segmentu
+	 * @param odbiorca odbiorca rekordów
+	 * @return liczba rekordów i długość poprawnej części pliku w bajtach
+	 * @throws IOException jeśli odczyt się nie powiedzie
+	 */
+	private static long[] odtworzSegment(Path plik, BiConsumer<Operacja, String> odbiorca) throws IOException {
+		long poprawnaDlugosc = 0;
+		long liczba = 0;
+		try (InputStream wejscie = new BufferedInputStream(Files.newInputStream(plik), 64 * 1024)) {
+			DataInputStream dane = new DataInputStream(wejscie);
+			Operacja[] operacje = Operacja.values();
+			while (true) {
+				int dlugosc;
+				byte typ;
+				byte[] argument;
+				int suma;
+				try {
+					dlugosc = dane.readInt();
+					if (dlugosc < 0 || dlugosc > 64 * 1024 * 1024) {
+						break;
+					}
+					typ = dane.readByte();
+					argument = new byte[dlugosc];
+					dane.readFully(argument);
+					suma = dane.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				if (typ < 0 || typ >= operacje.length || suma != sumaKontrolna(typ, argument)) {
+					break;
+				}
+				odbiorca.accept(operacje[typ], new String(argument, StandardCharsets.UTF_8));
+				poprawnaDlugosc += NAGLOWEK + dlugosc + SUMA;
+				liczba++;
+			}
+		}
+		return new long[] { liczba, poprawnaDlugosc };
+	}
+
+	/**
+	 * Dopisuje rekord operacji do bufora dziennika.
+	 * Metoda nie czeka na dysk; trwałość zapewnia {@link #czekajNaUtrwalenie(long)}.
+	 * 
+	 * @param operacja typ operacji
+	 * @param argument argument operacji przekazany do IDAO
+	 * @return numer rekordu, na którego utrwalenie można poczekać
+	 */
+	public long dopisz(Operacja operacja, String argument) {
+		byte[] bajty = argument.getBytes(StandardCharsets.UTF_8);
+		byte typ = (byte) operacja.ordinal();
+		synchronized (monitor) {
+			sprawdzStan();
+			int potrzebne = NAGLOWEK + bajty.length + SUMA;
+			if (bufor.remaining() < potrzebne) {
+				ByteBuffer wiekszy = ByteBuffer.allocate(Math.max(bufor.capacity() * 2, bufor.position() + potrzebne));
+				bufor.flip();
+				wiekszy.put(bufor);
+				bufor = wiekszy;
+			}
+			bufor.putInt(bajty.length);
+			bufor.put(typ);
+			bufor.put(bajty);
+			bufor.putInt(sumaKontrolna(typ, bajty));
+			dopisanyNumer++;
+			if (tryb != TrybSynchronizacji.OKRESOWY) {
+				monitor.notifyAll();
+			}
+			return dopisanyNumer;
+		}
+	}
+
+	/**
+	 * Czeka, aż rekord o podanym numerze zostanie utrwalony.
+	 * W trybach innych niż GRUPOWY wraca natychmiast.
+	 * 
+	 * @param numer numer rekordu zwrócony przez {@link #dopisz(Operacja, String)}
+	 */
+	public void czekajNaUtrwalenie(long numer) {
+		if (tryb != TrybSynchronizacji.GRUPOWY) {
+			return;
+		}
+		synchronized (monitor) {
+			while (utrwalonyNumer < numer) {
+				if (bladZapisu != null) {
+					throw new UncheckedIOException("Blad zapisu dziennika " + katalog, bladZapisu);
+				}
+				try {
+					monitor.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Przerwano oczekiwanie na zapis dziennika", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Zapisuje i utrwala wszystkie zbuforowane rekordy, a następnie zamyka plik.
+	 */
+	public void close() {
+		synchronized (monitor) {
+			if (zamkniety) {
+				return;
+			}
+			zamkniety = true;
+			monitor.notifyAll();
+		}
+		try {
+			if (watekZapisu != null) {
+				watekZapisu.join();
+			}
+			if (kanal != null) {
+				kanal.close();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Uruchamia wątek, który opróżnia bufor do pliku grupami rekordów.
+	 */
+	private void uruchomWatekZapisu() {
+		watekZapisu = new Thread(this::zapisujGrupy, "dziennik-zapisu");
+		watekZapisu.setDaemon(true);
+		watekZapisu.start();
+	}
+
+	/**
+	 * Pętla wątku zapisu: zamienia bufory, zapisuje całą grupę jednym
+	 * wywołaniem write() i utrwala ją jednym force().
+	 */
+	private void zapisujGrupy() {
+		while (true) {
+			long numerGrupy;
+			FileChannel docelowy;
+			synchronized (monitor) {
+				try {
+					if (tryb == TrybSynchronizacji.OKRESOWY && !zamkniety) {
+						monitor.wait(interwalMs);
+					}
+					while (bufor.position() == 0 && !zamkniety) {
+						monitor.wait(interwalMs);
+					}
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (bufor.position() == 0 && zamkniety) {
+					return;
+				}
+				ByteBuffer pelny = bufor;
+				bufor = buforZapisu;
+				buforZapisu = pelny;
+				numerGrupy = dopisanyNumer;
+				docelowy = kanal;
+			}
+			try {
+				buforZapisu.flip();
+				while (buforZapisu.hasRemaining()) {
+					docelowy.write(buforZapisu);
+				}
+				buforZapisu.clear();
+				if (tryb != TrybSynchronizacji.BRAK) {
+					docelowy.force(false);
+				}
+				synchronized (monitor) {
+					utrwalonyNumer = numerGrupy;
+					monitor.notifyAll();
+				}
+			} catch (IOException e) {
+				synchronized (monitor) {
+					bladZapisu = e;
+					monitor.notifyAll();
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Zgłasza wyjątek, jeśli dziennik jest zamknięty lub zapis się nie powiódł.
+	 * Wywoływana z zajętym monitorem.
+	 */
+	private void sprawdzStan() {
+		if (bladZapisu != null) {
+			throw new UncheckedIOException("Blad zapisu dziennika " + katalog, bladZapisu);
+		}
+		if (kanal == null) {
+			throw new IllegalStateException("Dziennik nie zostal odtworzony przed zapisem");
+		}
+		if (zamkniety) {
+			throw new IllegalStateException("Dziennik jest zamkniety");
+		}
+	}
+
+	private Path plikSegmentu(long numer) {
+		return katalog.resolve(String.format("%s%08d%s", PREFIKS, numer, ROZSZERZENIE));
+	}
+
+	private static long numerSegmentu(Path plik) {
+		String nazwa = plik.getFileName().toString();
+		return Long.parseLong(nazwa.substring(PREFIKS.length(), nazwa.length() - ROZSZERZENIE.length()));
+	}
+
+	/**
+	 * Liczy sumę kontrolną CRC32 typu operacji i argumentu.
+	 * 
+	 * @param typ      kod operacji
+	 * @param argument argument w UTF-8
+	 * @return suma kontrolna
+	 */
+	private static int sumaKontrolna(byte typ, byte[] argument) {
+		CRC32 crc = new CRC32();
+		crc.update(typ);
+		crc.update(argument, 0, argument.length);
+		return (int) crc.getValue();
+	}
+}
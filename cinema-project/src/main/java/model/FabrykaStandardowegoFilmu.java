@@ -12,13 +12,13 @@ public class  FabrykaStandardowegoFilmu implements IFabrykaFilmu {
 	 * @return nowa instancja Film z określonymi danymi
 	 */
 	public IFilm utworzFilm(String daneFilmu) {
-		String[] dane = daneFilmu.split(";");
-		String id = dane[0];
-		String tytul = dane[1];
-		String opis = dane[2];
-		int czasTrwania = Integer.parseInt(dane[3]);
-		String gatunek = dane[4];
-		double cena = Double.parseDouble(dane[5]);
+		KursorPol dane = new KursorPol(daneFilmu);
+		String id = dane.nastepnyTekst();
+		String tytul = dane.nastepnyTekst();
+		String opis = dane.nastepnyTekst();
+		int czasTrwania = dane.nastepnyInt();
+		String gatunek = dane.nastepnyTekst();
+		double cena = dane.nastepnyDouble();
 		
 		return new Film(id, tytul, opis, czasTrwania, gatunek, cena);
 	}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.List;
+
 /**
  * Interfejs Data Access Object dla trwałości danych kinowych.
  * Definiuje metody dla operacji CRUD na filmach, seansach, rezerwacjach i klientach.
@@ -26,6 +28,13 @@ public interface IDAO {
 	 */
 	public String dodajFilm(String filmData);
 
+	/**
+	 * Dodaje partię filmów do bazy danych jedną operacją.
+	 * @param filmyData dane kolejnych filmów do zapisania
+	 * @return ID dodanych filmów w kolejności danych
+	 */
+	public String[] dodajFilmy(List<String> filmyData);
+
 	/**
 	 * Aktualizuje istniejące dane filmu.
 	 * @param filmData zaktualizowane dane filmu
@@ -52,6 +61,18 @@ public interface IDAO {
 	 */
 	public String[] znajdzSeansyFilmu(String idFilmu);
 
+	/**
+	 * Znajduje wszystkie seanse w bazie danych.
+	 * @return tablica ID wszystkich seansów
+	 */
+	public String[] znajdzSeanse();
+
+	/**
+	 * Zwraca liczbę seansów w bazie danych bez ich przeglądania.
+	 * @return liczba seansów
+	 */
+	public int dajLiczbeSeansow();
+
 	/**
 	 * Dodaje nowy seans do bazy danych i generuje unikalny ID.
 	 * @param seansData dane seansu do zapisania
@@ -59,9 +80,16 @@ public interface IDAO {
 	 */
 	public String dodajSeans(String seansData);
 
+	/**
+	 * Dodaje partię seansów do bazy danych jedną operacją.
+	 * @param seanseData dane kolejnych seansów do zapisania
+	 * @return wygenerowane ID seansów w kolejności danych
+	 */
+	public String[] dodajSeanse(List<String> seanseData);
+
 	/**
 	 * Aktualizuje istniejące dane seansu.
-	 * @param seansData zaktualizowane dane seansu
+	 * @param seansData zaktualizowane dane seansu w formacie: idSeansu;idFilmu;data;sala;miejsca
 	 */
 	public void edytujSeans(String seansData);
 
@@ -78,6 +106,13 @@ public interface IDAO {
 	 */
 	public String znajdzRezerwacje(String idRezerwacji);
 
+	/**
+	 * Znajduje wszystkie rezerwacje na określony seans.
+	 * @param idSeansu ID seansu
+	 * @return tablica ID rezerwacji na określony seans
+	 */
+	public String[] znajdzRezerwacjeSeansu(String idSeansu);
+
 	/**
 	 * Dodaje nową rezerwację do bazy danych i generuje unikalny ID.
 	 * @param rezerwacjaData dane rezerwacji do zapisania
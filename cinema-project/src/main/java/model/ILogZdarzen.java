@@ -0,0 +1,16 @@
+package model;
+
+/**
+ * Interfejs odbiorcy wpisów dziennika zdarzeń systemowych.
+ * DAO przekazuje do niego każdy wpis z dodajWpisDoLogu, dzięki czemu
+ * sposób zapisu (konsola, plik w tle) można wymienić bez zmian w DAO.
+ */
+public interface ILogZdarzen {
+
+	/**
+	 * Przyjmuje wpis zdarzenia do zapisania.
+	 * 
+	 * @param zdarzenie opis zdarzenia
+	 */
+	public void dodajWpis(String zdarzenie);
+}
@@ -0,0 +1,28 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Interfejs DAO, którego pełny stan można zapisać w migawce binarnej
+ * i z niej odtworzyć (filmy, seanse, rezerwacje, klienci i liczniki ID).
+ */
+public interface IMigawkaDAO {
+
+	/**
+	 * Zapisuje pełny stan DAO.
+	 * 
+	 * @param wyjscie strumień, do którego zapisywany jest stan
+	 * @throws IOException jeśli zapis się nie powiedzie
+	 */
+	public void zapiszStan(DataOutput wyjscie) throws IOException;
+
+	/**
+	 * Zastępuje bieżący stan DAO stanem odczytanym z migawki.
+	 * 
+	 * @param wejscie strumień, z którego odczytywany jest stan
+	 * @throws IOException jeśli odczyt się nie powiedzie
+	 */
+	public void wczytajStan(DataInput wejscie) throws IOException;
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.nio.file.Path;
+
 /**
  * Główny interfejs modelu dla operacji zarządzania kinem.
  * Definiuje wysokopoziomowe operacje biznesowe dla systemu kinowego.
@@ -50,6 +52,20 @@ public interface IModel {
 	 */
 	public String usunSeans(String idSeansu);
 
+	/**
+	 * Importuje partiami filmy z pliku CSV.
+	 * @param plik plik z wierszami danych filmów
+	 * @return komunikat z liczbą zaimportowanych i odrzuconych wierszy
+	 */
+	public String importujFilmy(Path plik);
+
+	/**
+	 * Importuje partiami seanse z pliku CSV.
+	 * @param plik plik z wierszami danych seansów
+	 * @return komunikat z liczbą zaimportowanych i odrzuconych wierszy
+	 */
+	public String importujSeanse(Path plik);
+
 	/**
 	 * Pobiera repertuar kina na podstawie kryteriów wyszukiwania.
 	 * @param kryteria kryteria wyszukiwania (np. ID filmu lub tytuł)
@@ -57,6 +73,39 @@ public interface IModel {
 	 */
 	public String pobierzRepertuar(String kryteria);
 
+	/**
+	 * Pobiera jedną stronę repertuaru filmu w stałym porządku seansów.
+	 * @param kryteria      kryteria wyszukiwania (np. ID filmu)
+	 * @param kursor        kursor z poprzedniej strony lub null dla pierwszej
+	 * @param rozmiarStrony największa liczba seansów na stronie
+	 * @return strona repertuaru z kursorem następnej strony
+	 */
+	public StronaRepertuaru pobierzStroneRepertuaru(String kryteria, String kursor, int rozmiarStrony);
+
+	/**
+	 * Pobiera pełny repertuar dla określonego kina.
+	 * @param idKina ID kina
+	 * @return pełny repertuar kina
+	 */
+	public String pobierzRepertuarKina(String idKina);
+
+	/**
+	 * Pobiera jedną stronę repertuaru kina w porządku dat seansów.
+	 * @param idKina        ID kina
+	 * @param kursor        kursor z poprzedniej strony lub null dla pierwszej
+	 * @param rozmiarStrony największa liczba seansów na stronie
+	 * @return strona repertuaru z kursorem następnej strony
+	 */
+	public StronaRepertuaru pobierzStroneRepertuaruKina(String idKina, String kursor, int rozmiarStrony);
+
+	/**
+	 * Wyszukuje seanse według gatunku, zakresu dat, sali, ceny i tytułu filmu.
+	 * @param kryteria kryteria w formacie: gatunek;odDaty;doDaty;sala;maksCena;tytul
+	 *                 (puste pole oznacza dowolną wartość)
+	 * @return sformatowana lista pasujących seansów lub komunikat błędu
+	 */
+	public String wyszukajSeanse(String kryteria);
+
 	/**
 	 * Tworzy rezerwację na seans.
 	 * @param daneRezerwacji dane rezerwacji w formacie rozdzielanym średnikami
@@ -64,6 +113,28 @@ public interface IModel {
 	 */
 	public String zarezerwujMiejsce(String daneRezerwacji);
 
+	/**
+	 * Rezerwuje grupę miejsc na seans: wszystkie albo żadne.
+	 * @param daneRezerwacji dane w formacie: idSeansu;idKlienta;nr1,nr2,...;cena
+	 * @return komunikat potwierdzenia z ID rezerwacji lub komunikat błędu
+	 */
+	public String zarezerwujMiejsca(String daneRezerwacji);
+
+	/**
+	 * Zwraca zmiany miejsc seansu od wersji znanej klientowi albo pełną listę
+	 * wolnych miejsc, jeśli ta wersja wypadła z historii zmian.
+	 * @param daneZapytania dane w formacie: idSeansu;wersja (-1 dla nowego klienta)
+	 * @return nowa wersja i zmienione miejsca lub komunikat błędu
+	 */
+	public String pobierzZmianyMiejsc(String daneZapytania);
+
+	/**
+	 * Blokuje wybrane miejsca na czas zakupu; niesfinalizowana blokada wygasa.
+	 * @param daneMiejsc dane w formacie: idSeansu;idKlienta;nr1,nr2,...
+	 * @return komunikat z ID blokady lub komunikat błędu
+	 */
+	public String zablokujMiejsca(String daneMiejsc);
+
 	/**
 	 * Anuluje istniejącą rezerwację.
 	 * @param idRezerwacji ID rezerwacji do anulowania
@@ -72,9 +143,23 @@ public interface IModel {
 	public String anulujRezerwacje(String idRezerwacji);
 
 	/**
-	 * Finalizuje transakcję zakupu.
-	 * @param daneZakupu dane zakupu
-	 * @return komunikat potwierdzenia
+	 * Zapisuje klienta na listę oczekujących wyprzedanego seansu.
+	 * @param daneOczekiwania dane w formacie: idSeansu;idKlienta;priorytet
+	 * @return komunikat z pozycją w kolejce lub komunikat błędu
+	 */
+	public String zapiszNaListeOczekujacych(String daneOczekiwania);
+
+	/**
+	 * Sprawdza, czy klientowi z listy oczekujących przydzielono miejsce.
+	 * @param daneOczekiwania dane w formacie: idSeansu;idKlienta
+	 * @return przydzielone miejsce z ID blokady, pozycja w kolejce lub komunikat błędu
+	 */
+	public String sprawdzOczekiwanie(String daneOczekiwania);
+
+	/**
+	 * Finalizuje transakcję zakupu, zamieniając blokadę miejsc na rezerwacje.
+	 * @param daneZakupu dane zakupu w formacie: idBlokady;cena
+	 * @return komunikat potwierdzenia z ID rezerwacji lub komunikat błędu
 	 */
 	public String finalizujZakup(String daneZakupu);
 }
\ No newline at end of file
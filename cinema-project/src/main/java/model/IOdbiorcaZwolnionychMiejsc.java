@@ -0,0 +1,18 @@
+package model;
+
+/**
+ * Odbiorca miejsc zwalnianych przez wygasłe lub porzucone blokady.
+ * Domyślnie miejsca wracają do mapy miejsc seansu, ale Model może je
+ * zamiast tego przekazać klientom z listy oczekujących.
+ */
+public interface IOdbiorcaZwolnionychMiejsc {
+
+	/**
+	 * Przejmuje miejsca zakończonej blokady; musi je zwolnić w mapie albo
+	 * komuś przekazać.
+	 * 
+	 * @param blokada zakończona blokada, której miejsca są nadal zajęte w jej
+	 *                mapie miejsc
+	 */
+	public void zwolnijMiejsca(BlokadyMiejsc.Blokada blokada);
+}
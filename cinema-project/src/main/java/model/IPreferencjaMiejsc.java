@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * Interfejs oceny bloku sąsiednich miejsc przy wyszukiwaniu najlepszego bloku.
+ * Umożliwia wybór kryterium (np. środek sali, ulubiony rząd) w czasie działania.
+ */
+public interface IPreferencjaMiejsc {
+
+	/**
+	 * Ocenia blok miejsc; mniejsza ocena oznacza lepszy blok.
+	 * 
+	 * @param uklad           układ sali
+	 * @param rzad            rząd bloku (od 1)
+	 * @param pierwszaPozycja pozycja pierwszego miejsca bloku w rzędzie (od 1)
+	 * @param liczbaMiejsc    liczba miejsc w bloku
+	 * @return ocena bloku
+	 */
+	public double ocen(UkladSali uklad, int rzad, int pierwszaPozycja, int liczbaMiejsc);
+}
@@ -0,0 +1,126 @@
+package model;
+
+/**
+ * Interfejs Data Access Object przechowującego typowane rekordy zamiast
+ * danych rozdzielanych średnikami.
+ * Odczyt pól nie wymaga ponownego parsowania, a warstwę zgodności
+ * z napisowym IDAO zapewnia AdapterRekordowegoDAO.
+ */
+public interface IRekordyDAO {
+
+	/**
+	 * Dodaje wpis zdarzenia do dziennika systemowego.
+	 * 
+	 * @param zdarzenie opis zdarzenia do zapisania
+	 */
+	public void dodajWpisDoLogu(String zdarzenie);
+
+	/**
+	 * Pobiera rekord filmu według ID.
+	 * 
+	 * @param idFilmu ID filmu do znalezienia
+	 * @return rekord filmu, lub null jeśli nie znaleziono
+	 */
+	public RekordFilmu znajdzRekordFilmu(String idFilmu);
+
+	/**
+	 * Dodaje film do bazy danych.
+	 * 
+	 * @param film rekord filmu do zapisania
+	 * @return ID filmu z rekordu
+	 */
+	public String dodajRekordFilmu(RekordFilmu film);
+
+	/**
+	 * Zastępuje rekord istniejącego filmu.
+	 * 
+	 * @param film nowy rekord filmu (z ID edytowanego filmu)
+	 * @throws IllegalArgumentException jeśli film o podanym ID nie istnieje
+	 */
+	public void edytujRekordFilmu(RekordFilmu film);
+
+	/**
+	 * Pobiera rekord seansu według ID.
+	 * 
+	 * @param idSeansu ID seansu do znalezienia
+	 * @return rekord seansu, lub null jeśli nie znaleziono
+	 */
+	public RekordSeansu znajdzRekordSeansu(String idSeansu);
+
+	/**
+	 * Znajduje wszystkie seanse dla określonego filmu.
+	 * 
+	 * @param idFilmu ID filmu
+	 * @return tablica ID seansów dla określonego filmu
+	 */
+	public String[] znajdzSeansyFilmu(String idFilmu);
+
+	/**
+	 * Znajduje wszystkie seanse w bazie danych.
+	 * 
+	 * @return tablica ID wszystkich seansów
+	 */
+	public String[] znajdzSeanse();
+
+	/**
+	 * Zwraca liczbę seansów w bazie danych bez ich przeglądania.
+	 * 
+	 * @return liczba seansów
+	 */
+	public int dajLiczbeSeansow();
+
+	/**
+	 * Dodaje nowy seans do bazy danych i generuje unikalny ID.
+	 * 
+	 * @param seans rekord seansu do zapisania
+	 * @return wygenerowane ID seansu
+	 */
+	public String dodajRekordSeansu(RekordSeansu seans);
+
+	/**
+	 * Zastępuje rekord istniejącego seansu.
+	 * 
+	 * @param idSeansu ID edytowanego seansu
+	 * @param seans    nowy rekord seansu
+	 * @throws IllegalArgumentException jeśli seans o podanym ID nie istnieje
+	 */
+	public void edytujRekordSeansu(String idSeansu, RekordSeansu seans);
+
+	/**
+	 * Usuwa seans z bazy danych.
+	 * 
+	 * @param idSeansu ID seansu do usunięcia
+	 */
+	public void usunSeans(String idSeansu);
+
+	/**
+	 * Pobiera rekord rezerwacji według ID.
+	 * 
+	 * @param idRezerwacji ID rezerwacji do znalezienia
+	 * @return rekord rezerwacji, lub null jeśli nie znaleziono
+	 */
+	public RekordRezerwacji znajdzRekordRezerwacji(String idRezerwacji);
+
+	/**
+	 * Znajduje wszystkie rezerwacje na określony seans.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @return tablica ID rezerwacji na określony seans
+	 */
+	public String[] znajdzRezerwacjeSeansu(String idSeansu);
+
+	/**
+	 * Dodaje nową rezerwację do bazy danych i generuje unikalny ID.
+	 * 
+	 * @param rezerwacja rekord rezerwacji do zapisania
+	 * @return wygenerowane ID rezerwacji
+	 */
+	public String dodajRekordRezerwacji(RekordRezerwacji rezerwacja);
+
+	/**
+	 * Usuwa rezerwację z bazy danych.
+	 * 
+	 * @param idRezerwacji ID rezerwacji do usunięcia
+	 */
+	public void usunRezerwacje(String idRezerwacji);
+}
@@ -0,0 +1,22 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Interfejs zapytań do dziennika zdarzeń, uzupełniający IDAO.
+ * Pozwala wyszukiwać wpisy według zakresu czasu, typu zdarzenia i ID encji
+ * bez przeglądania całej historii.
+ */
+public interface IZapytaniaLogu {
+
+	/**
+	 * Wyszukuje wpisy spełniające wszystkie podane kryteria.
+	 * 
+	 * @param odCzasu początek zakresu czasu w milisekundach epoki (włącznie)
+	 * @param doCzasu koniec zakresu czasu w milisekundach epoki (włącznie)
+	 * @param typ     typ zdarzenia lub null dla dowolnego
+	 * @param idEncji ID encji (np. klienta lub seansu) lub null dla dowolnej
+	 * @return pasujące wpisy w kolejności zapisu
+	 */
+	public List<WpisLogu> znajdzWpisy(long odCzasu, long doCzasu, WpisLogu.Typ typ, String idEncji);
+}
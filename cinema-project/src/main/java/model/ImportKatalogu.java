@@ -0,0 +1,194 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Strumieniowy import katalogu filmów lub seansów z pliku CSV.
+ * Plik jest czytany wiersz po wierszu, a poprawne wiersze są zbierane
+ * w partie o stałym rozmiarze i dodawane do DAO jednym wywołaniem
+ * dodajFilmy/dodajSeanse, więc zużycie pamięci nie zależy od rozmiaru
+ * pliku. Każda partia daje jeden wpis w dzienniku zdarzeń.
+ * Wiersze puste i zaczynające się od '#' są pomijane, a wiersze
+ * z błędnymi danymi są liczone jako odrzucone.
+ */
+public class ImportKatalogu {
+
+	/** Domyślna liczba wierszy w jednej partii. */
+	public static final int DOMYSLNY_ROZMIAR_PARTII = 10_000;
+
+	private final IDAO dao;
+	private final int rozmiarPartii;
+	private final BiConsumer<String[], List<String>> poZapisiePartii;
+
+	/**
+	 * Tworzy import zapisujący do podanego DAO.
+	 * 
+	 * @param daoValue           DAO, do którego dodawane są wiersze
+	 * @param rozmiarPartiiValue liczba wierszy w jednej partii
+	 * @throws IllegalArgumentException jeśli rozmiar partii nie jest dodatni
+	 */
+	public ImportKatalogu(IDAO daoValue, int rozmiarPartiiValue) {
+		this(daoValue, rozmiarPartiiValue, (id, partia) -> { });
+	}
+
+	/**
+	 * Tworzy import, który po zapisie każdej partii przekazuje ID i dane
+	 * zapisanych wierszy, np. do aktualizacji indeksów.
+	 * 
+	 * @param daoValue             DAO, do którego dodawane są wiersze
+	 * @param rozmiarPartiiValue   liczba wierszy w jednej partii
+	 * @param poZapisiePartiiValue odbiorca ID nadanych przez DAO i danych
+	 *                             partii, w tej samej kolejności
+	 * @throws IllegalArgumentException jeśli rozmiar partii nie jest dodatni
+	 */
+	public ImportKatalogu(IDAO daoValue, int rozmiarPartiiValue,
+			BiConsumer<String[], List<String>> poZapisiePartiiValue) {
+		if (rozmiarPartiiValue <= 0) {
+			throw new IllegalArgumentException("Nieprawidlowy rozmiar partii: " + rozmiarPartiiValue);
+		}
+		dao = daoValue;
+		rozmiarPartii = rozmiarPartiiValue;
+		poZapisiePartii = poZapisiePartiiValue;
+	}
+
+	/**
+	 * Tworzy import z domyślnym rozmiarem partii.
+	 * 
+	 * @param daoValue DAO, do którego dodawane są wiersze
+	 */
+	public ImportKatalogu(IDAO daoValue) {
+		this(daoValue, DOMYSLNY_ROZMIAR_PARTII);
+	}
+
+	/**
+	 * Importuje filmy z pliku CSV.
+	 * 
+	 * @param plik plik z wierszami w formacie: id;tytul;opis;czas;gatunek;cena
+	 * @return podsumowanie importu
+	 * @throws UncheckedIOException jeśli odczyt pliku się nie powiedzie
+	 */
+	public WynikImportu importujFilmy(Path plik) {
+		try (BufferedReader czytnik = Files.newBufferedReader(plik, StandardCharsets.UTF_8)) {
+			return importujFilmy(czytnik);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie odczytac pliku " + plik, e);
+		}
+	}
+
+	/**
+	 * Importuje filmy ze strumienia znaków w formacie CSV.
+	 * 
+	 * @param zrodlo wiersze w formacie: id;tytul;opis;czas;gatunek;cena
+	 * @return podsumowanie importu
+	 * @throws UncheckedIOException jeśli odczyt się nie powiedzie
+	 */
+	public WynikImportu importujFilmy(Reader zrodlo) {
+		return importuj(zrodlo, true);
+	}
+
+	/**
+	 * Importuje seanse z pliku CSV.
+	 * 
+	 * @param plik plik z wierszami w formacie: idFilmu;data;sala;miejsca
+	 * @return podsumowanie importu
+	 * @throws UncheckedIOException jeśli odczyt pliku się nie powiedzie
+	 */
+	public WynikImportu importujSeanse(Path plik) {
+		try (BufferedReader czytnik = Files.newBufferedReader(plik, StandardCharsets.UTF_8)) {
+			return importujSeanse(czytnik);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie odczytac pliku " + plik, e);
+		}
+	}
+
+	/**
+	 * Importuje seanse ze strumienia znaków w formacie CSV.
+	 * 
+	 * @param zrodlo wiersze w formacie: idFilmu;data;sala;miejsca
+	 * @return podsumowanie importu
+	 * @throws UncheckedIOException jeśli odczyt się nie powiedzie
+	 */
+	public WynikImportu importujSeanse(Reader zrodlo) {
+		return importuj(zrodlo, false);
+	}
+
+	/**
+	 * Czyta wiersze, sprawdza je i zapisuje partiami.
+	 * 
+	 * @param zrodlo strumień wierszy CSV
+	 * @param filmy  true dla filmów, false dla seansów
+	 * @return podsumowanie importu
+	 */
+	private WynikImportu importuj(Reader zrodlo, boolean filmy) {
+		BufferedReader czytnik = zrodlo instanceof BufferedReader ? (BufferedReader) zrodlo
+				: new BufferedReader(zrodlo, 64 * 1024);
+		List<String> partia = new ArrayList<>(rozmiarPartii);
+		long zaimportowane = 0;
+		long odrzucone = 0;
+		int partie = 0;
+		try {
+			String wiersz;
+			while ((wiersz = czytnik.readLine()) != null) {
+				if (wiersz.isEmpty() || wiersz.charAt(0) == '#') {
+					continue;
+				}
+				try {
+					partia.add(filmy ? RekordFilmu.parsuj(wiersz).dajDane() : sprawdzSeans(wiersz));
+				} catch (IllegalArgumentException e) {
+					odrzucone++;
+					continue;
+				}
+				if (partia.size() == rozmiarPartii) {
+					zaimportowane += zapiszPartie(partia, filmy);
+					partie++;
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie odczytac danych katalogu", e);
+		}
+		if (!partia.isEmpty()) {
+			zaimportowane += zapiszPartie(partia, filmy);
+			partie++;
+		}
+		return new WynikImportu(zaimportowane, odrzucone, partie);
+	}
+
+	/**
+	 * Sprawdza poprawność wiersza seansu bez zmiany jego postaci.
+	 * 
+	 * @param wiersz dane seansu
+	 * @return ten sam wiersz
+	 * @throws IllegalArgumentException jeśli dane są nieprawidłowe
+	 */
+	private static String sprawdzSeans(String wiersz) {
+		RekordSeansu.parsuj(wiersz);
+		return wiersz;
+	}
+
+	/**
+	 * Dodaje partię do DAO, zapisuje jeden wpis w dzienniku i czyści partię.
+	 * 
+	 * @param partia wiersze do dodania
+	 * @param filmy  true dla filmów, false dla seansów
+	 * @return liczba dodanych wierszy
+	 */
+	private int zapiszPartie(List<String> partia, boolean filmy) {
+		String[] id = filmy ? dao.dodajFilmy(partia) : dao.dodajSeanse(partia);
+		if (id.length > 0) {
+			dao.dodajWpisDoLogu((filmy ? "Zaimportowano filmy: " : "Zaimportowano seanse: ") + id.length
+					+ " (" + id[0] + " - " + id[id.length - 1] + ")");
+		}
+		poZapisiePartii.accept(id, partia);
+		partia.clear();
+		return id.length;
+	}
+}
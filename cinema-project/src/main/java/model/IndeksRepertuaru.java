@@ -0,0 +1,541 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Indeksy seansów według atrybutów repertuaru: gatunku, ceny i słów tytułu
+ * filmu oraz daty i sali seansu. Atrybuty filmu są rozpisane na jego
+ * seanse, więc każdy indeks prowadzi wprost do ID seansów.
+ * Zapytanie jest planowane: dla każdego kryterium szacowana jest liczba
+ * seansów z jego indeksu, kandydaci są brani z najbardziej selektywnego,
+ * a pozostałe kryteria są sprawdzane na wpisie kandydata od
+ * najselektywniejszego, bez przeglądania wszystkich filmów i seansów.
+ * Seanse każdego filmu są trzymane w zbiorze uporządkowanym według ID,
+ * więc strona repertuaru filmu zaczyna się od kursora bez sortowania
+ * wszystkich seansów filmu.
+ * Indeks jest aktualizowany przez Model przy zapisie filmów i seansów,
+ * a seanse zapisane w DAO z pominięciem Modelu (np. odtworzone z dziennika
+ * po ponownym uruchomieniu) Model dopisuje przed zapytaniem.
+ */
+public class IndeksRepertuaru {
+
+	/** Porządek ID seansów: krótsze ID wcześniej, więc S2 jest przed S10. */
+	static final Comparator<String> PORZADEK_ID = Comparator.comparingInt(String::length)
+			.thenComparing(Comparator.naturalOrder());
+
+	/**
+	 * Atrybuty seansu potrzebne do sprawdzania kryteriów.
+	 */
+	private static final class WpisSeansu {
+		private final String idSeansu;
+		private final String idFilmu;
+		private final String data;
+		private final String sala;
+
+		private WpisSeansu(String idSeansuValue, RekordSeansu rekord) {
+			idSeansu = idSeansuValue;
+			idFilmu = rekord.dajIdFilmu();
+			data = rekord.dajDate();
+			sala = rekord.dajSale();
+		}
+	}
+
+	/**
+	 * Atrybuty filmu potrzebne do sprawdzania kryteriów.
+	 */
+	private static final class WpisFilmu {
+		private final String gatunek;
+		private final double cena;
+		private final String[] slowa;
+
+		private WpisFilmu(RekordFilmu rekord) {
+			gatunek = normalizuj(rekord.dajGatunek());
+			cena = rekord.dajCene();
+			slowa = slowaTytulu(rekord.dajTytul());
+		}
+	}
+
+	/**
+	 * Kryterium zapytania powiązane z jednym indeksem.
+	 */
+	private abstract static class Warunek {
+		private int szacunek;
+
+		/**
+		 * Szacuje liczbę seansów z indeksu, przerywając po przekroczeniu limitu.
+		 * 
+		 * @param limit liczba, powyżej której dokładny szacunek nie jest potrzebny
+		 * @return szacowana liczba seansów
+		 */
+		abstract int szacuj(int limit);
+
+		/**
+		 * Dodaje seanse z indeksu do zbioru kandydatów.
+		 * 
+		 * @param kandydaci zbiór kandydatów
+		 */
+		abstract void zbierz(Set<String> kandydaci);
+
+		/**
+		 * Sprawdza kryterium na wpisie seansu.
+		 * 
+		 * @param seans wpis seansu
+		 * @param film  wpis filmu seansu lub null
+		 * @return true jeśli seans spełnia kryterium
+		 */
+		abstract boolean pasuje(WpisSeansu seans, WpisFilmu film);
+	}
+
+	private final Map<String, WpisSeansu> seanse = new HashMap<>();
+	private final Map<String, WpisFilmu> filmy = new HashMap<>();
+	private final Map<String, NavigableSet<String>> seanseFilmu = new HashMap<>();
+	private final Map<String, Set<String>> wgGatunku = new HashMap<>();
+	private final NavigableMap<Double, Set<String>> wgCeny = new TreeMap<>();
+	private final NavigableMap<String, Set<String>> wgSlowTytulu = new TreeMap<>();
+	private final NavigableMap<String, Set<String>> wgDaty = new TreeMap<>();
+	private final Map<String, Set<String>> wgSali = new HashMap<>();
+
+	/**
+	 * Dodaje film do indeksu lub aktualizuje jego atrybuty we wpisach
+	 * jego seansów.
+	 * 
+	 * @param filmData dane filmu w formacie: id;tytul;opis;czas;gatunek;cena
+	 * @throws IllegalArgumentException jeśli dane mają nieprawidłowy format
+	 */
+	public synchronized void dodajFilm(String filmData) {
+		RekordFilmu rekord = RekordFilmu.parsuj(filmData);
+		String idFilmu = rekord.dajId();
+		Set<String> seanseTegoFilmu = seanseFilmu.getOrDefault(idFilmu, Collections.emptyNavigableSet());
+		WpisFilmu stary = filmy.put(idFilmu, new WpisFilmu(rekord));
+		for (String idSeansu : seanseTegoFilmu) {
+			if (stary != null) {
+				usunAtrybutyFilmu(idSeansu, stary);
+			}
+			dodajAtrybutyFilmu(idSeansu, filmy.get(idFilmu));
+		}
+	}
+
+	/**
+	 * Sprawdza, czy film jest w indeksie.
+	 * 
+	 * @param idFilmu ID filmu
+	 * @return true jeśli film był dodany do indeksu
+	 */
+	public synchronized boolean czyZawieraFilm(String idFilmu) {
+		return filmy.containsKey(idFilmu);
+	}
+
+	/**
+	 * Dodaje seans do indeksu lub zastępuje jego poprzednie atrybuty.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param seansData dane seansu w formacie: idFilmu;data;sala;miejsca
+	 * @throws IllegalArgumentException jeśli dane mają nieprawidłowy format
+	 */
+	public synchronized void dodajSeans(String idSeansu, String seansData) {
+		WpisSeansu wpis = new WpisSeansu(idSeansu, RekordSeansu.parsuj(seansData));
+		usunSeansZIndeksow(idSeansu);
+		seanse.put(idSeansu, wpis);
+		seanseFilmu.computeIfAbsent(wpis.idFilmu, k -> new TreeSet<>(PORZADEK_ID)).add(idSeansu);
+		dodaj(wgDaty, wpis.data, idSeansu);
+		dodaj(wgSali, wpis.sala, idSeansu);
+		WpisFilmu film = filmy.get(wpis.idFilmu);
+		if (film != null) {
+			dodajAtrybutyFilmu(idSeansu, film);
+		}
+	}
+
+	/**
+	 * Usuwa seans z indeksu.
+	 * 
+	 * @param idSeansu ID seansu
+	 */
+	public synchronized void usunSeans(String idSeansu) {
+		usunSeansZIndeksow(idSeansu);
+	}
+
+	/**
+	 * Sprawdza, czy seans jest w indeksie.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @return true jeśli seans był dodany do indeksu
+	 */
+	public synchronized boolean czyZawieraSeans(String idSeansu) {
+		return seanse.containsKey(idSeansu);
+	}
+
+	/**
+	 * Zwraca liczbę seansów w indeksie.
+	 * 
+	 * @return liczba seansów
+	 */
+	public synchronized int dajLiczbeSeansow() {
+		return seanse.size();
+	}
+
+	/**
+	 * Zwraca ID wszystkich seansów w indeksie.
+	 * 
+	 * @return kopia ID seansów w dowolnej kolejności
+	 */
+	public synchronized String[] dajIdSeansow() {
+		return seanse.keySet().toArray(new String[0]);
+	}
+
+	/**
+	 * Wyszukuje seanse spełniające wszystkie kryteria.
+	 * 
+	 * @param kryteria kryteria wyszukiwania z co najmniej jednym kryterium
+	 * @return ID pasujących seansów posortowane według daty
+	 * @throws IllegalArgumentException jeśli nie podano żadnego kryterium
+	 */
+	public synchronized String[] znajdz(KryteriaRepertuaru kryteria) {
+		List<Warunek> warunki = utworzWarunki(kryteria);
+		if (warunki.isEmpty()) {
+			throw new IllegalArgumentException("Brak kryteriow wyszukiwania");
+		}
+
+		int najmniejszy = Integer.MAX_VALUE;
+		for (Warunek warunek : warunki) {
+			warunek.szacunek = warunek.szacuj(najmniejszy);
+			najmniejszy = Math.min(najmniejszy, warunek.szacunek);
+		}
+		if (najmniejszy == 0) {
+			return new String[0];
+		}
+		warunki.sort(Comparator.comparingInt(warunek -> warunek.szacunek));
+
+		Set<String> kandydaci = new LinkedHashSet<>();
+		warunki.get(0).zbierz(kandydaci);
+		List<WpisSeansu> wynik = new ArrayList<>();
+		for (String idSeansu : kandydaci) {
+			WpisSeansu seans = seanse.get(idSeansu);
+			WpisFilmu film = filmy.get(seans.idFilmu);
+			boolean pasuje = true;
+			for (int i = 1; i < warunki.size() && pasuje; i++) {
+				pasuje = warunki.get(i).pasuje(seans, film);
+			}
+			if (pasuje) {
+				wynik.add(seans);
+			}
+		}
+
+		wynik.sort(Comparator.comparing((WpisSeansu seans) -> seans.data)
+				.thenComparing(seans -> seans.idSeansu, PORZADEK_ID));
+		String[] id = new String[wynik.size()];
+		for (int i = 0; i < id.length; i++) {
+			id[i] = wynik.get(i).idSeansu;
+		}
+		return id;
+	}
+
+	/**
+	 * Sprawdza, czy indeks zna jakikolwiek seans filmu.
+	 * 
+	 * @param idFilmu ID filmu
+	 * @return true jeśli film ma w indeksie co najmniej jeden seans
+	 */
+	public synchronized boolean czyZawieraSeanseFilmu(String idFilmu) {
+		return seanseFilmu.containsKey(idFilmu);
+	}
+
+	/**
+	 * Zwraca kolejne seanse filmu w porządku {@link #PORZADEK_ID}, zaczynając
+	 * za kursorem. Przegląda tylko seanse od pozycji kursora do zapełnienia
+	 * strony, więc koszt zależy od rozmiaru strony, a nie od liczby seansów
+	 * filmu. Kursor nie musi być seansem z indeksu (np. seans usunięty).
+	 * 
+	 * @param idFilmu ID filmu
+	 * @param poId    ID ostatniego zwróconego seansu lub null od początku
+	 * @param limit   największa liczba zwracanych seansów
+	 * @return ID kolejnych seansów, najwyżej limit
+	 */
+	public synchronized String[] dajSeanseFilmu(String idFilmu, String poId, int limit) {
+		NavigableSet<String> seanseTegoFilmu = seanseFilmu.get(idFilmu);
+		if (seanseTegoFilmu == null) {
+			return new String[0];
+		}
+		List<String> strona = new ArrayList<>(Math.min(limit, 1024));
+		for (String id : poId != null ? seanseTegoFilmu.tailSet(poId, false) : seanseTegoFilmu) {
+			if (strona.size() == limit) {
+				break;
+			}
+			strona.add(id);
+		}
+		return strona.toArray(new String[0]);
+	}
+
+	/**
+	 * Zwraca kolejne seanse wszystkich filmów w porządku daty, a przy tej
+	 * samej dacie w porządku ID. Przegląda tylko kubełki dat od pozycji
+	 * kursora do zapełnienia strony.
+	 * 
+	 * @param poDacie data ostatniego zwróconego seansu lub null od początku
+	 * @param poId    ID ostatniego zwróconego seansu lub null od początku
+	 * @param limit   największa liczba zwracanych seansów
+	 * @param daty    lista, do której dopisywane są daty zwróconych seansów
+	 * @return ID kolejnych seansów, najwyżej limit
+	 */
+	public synchronized String[] dajStrone(String poDacie, String poId, int limit, List<String> daty) {
+		List<String> strona = new ArrayList<>(Math.min(limit, 1024));
+		NavigableMap<String, Set<String>> zakres = poDacie != null ? wgDaty.tailMap(poDacie, true) : wgDaty;
+		for (Map.Entry<String, Set<String>> kubelek : zakres.entrySet()) {
+			List<String> ids = new ArrayList<>(kubelek.getValue());
+			ids.sort(PORZADEK_ID);
+			boolean pierwszy = kubelek.getKey().equals(poDacie);
+			for (String id : ids) {
+				if (strona.size() == limit) {
+					return strona.toArray(new String[0]);
+				}
+				if (pierwszy && poId != null && PORZADEK_ID.compare(id, poId) <= 0) {
+					continue;
+				}
+				daty.add(kubelek.getKey());
+				strona.add(id);
+			}
+		}
+		return strona.toArray(new String[0]);
+	}
+
+	/**
+	 * Zwraca dni, w których są seanse, w porządku rosnącym. Dzień to część
+	 * daty seansu przed spacją (np. 2024-12-20). Kolejny dzień jest
+	 * znajdowany skokiem w indeksie dat za wszystkie godziny poprzedniego,
+	 * więc koszt zależy od liczby dni, a nie od liczby seansów.
+	 * 
+	 * @return dni z seansami
+	 */
+	public synchronized List<String> dajDni() {
+		List<String> dni = new ArrayList<>();
+		String data = wgDaty.isEmpty() ? null : wgDaty.firstKey();
+		while (data != null) {
+			int spacja = data.indexOf(' ');
+			String dzien = spacja < 0 ? data : data.substring(0, spacja);
+			dni.add(dzien);
+			data = wgDaty.higherKey(dzien + Character.MAX_VALUE);
+		}
+		return dni;
+	}
+
+	/**
+	 * Zwraca seanse jednego dnia w porządku daty, a przy tej samej dacie
+	 * w porządku ID, czyli w kolejności stron z
+	 * {@link #dajStrone(String, String, int, List)}. Przegląda tylko kubełki
+	 * dat tego dnia.
+	 * 
+	 * @param dzien dzień z {@link #dajDni()}
+	 * @return ID seansów dnia
+	 */
+	public synchronized String[] dajSeanseDnia(String dzien) {
+		List<String> ids = new ArrayList<>();
+		for (Set<String> kubelek : wgDaty.subMap(dzien, true, dzien + Character.MAX_VALUE, true).values()) {
+			int poczatek = ids.size();
+			ids.addAll(kubelek);
+			ids.subList(poczatek, ids.size()).sort(PORZADEK_ID);
+		}
+		return ids.toArray(new String[0]);
+	}
+
+	/**
+	 * Tworzy warunki dla podanych kryteriów. Każde słowo tytułu jest osobnym
+	 * warunkiem, więc planista może zacząć od najrzadszego słowa.
+	 * 
+	 * @param kryteria kryteria wyszukiwania
+	 * @return warunki zapytania
+	 */
+	private List<Warunek> utworzWarunki(KryteriaRepertuaru kryteria) {
+		List<Warunek> warunki = new ArrayList<>();
+		if (kryteria.dajGatunek() != null) {
+			String gatunek = normalizuj(kryteria.dajGatunek());
+			warunki.add(new WarunekKubelka(wgGatunku.get(gatunek)) {
+				@Override
+				boolean pasuje(WpisSeansu seans, WpisFilmu film) {
+					return film != null && film.gatunek.equals(gatunek);
+				}
+			});
+		}
+		if (kryteria.dajSale() != null) {
+			String sala = kryteria.dajSale();
+			warunki.add(new WarunekKubelka(wgSali.get(sala)) {
+				@Override
+				boolean pasuje(WpisSeansu seans, WpisFilmu film) {
+					return seans.sala.equals(sala);
+				}
+			});
+		}
+		if (kryteria.dajOdDaty() != null || kryteria.dajDoDaty() != null) {
+			String od = kryteria.dajOdDaty() != null ? kryteria.dajOdDaty() : "";
+			String koniec = kryteria.dajDoDaty() != null ? kryteria.dajDoDaty() + Character.MAX_VALUE : null;
+			NavigableMap<String, Set<String>> zakres;
+			if (koniec == null) {
+				zakres = wgDaty.tailMap(od, true);
+			} else if (od.compareTo(koniec) > 0) {
+				zakres = Collections.emptyNavigableMap();
+			} else {
+				zakres = wgDaty.subMap(od, true, koniec, true);
+			}
+			warunki.add(new WarunekZakresu(zakres) {
+				@Override
+				boolean pasuje(WpisSeansu seans, WpisFilmu film) {
+					return seans.data.compareTo(od) >= 0 && (koniec == null || seans.data.compareTo(koniec) <= 0);
+				}
+			});
+		}
+		if (kryteria.dajMaksCene() != null) {
+			double maksCena = kryteria.dajMaksCene();
+			warunki.add(new WarunekZakresu(wgCeny.headMap(maksCena, true)) {
+				@Override
+				boolean pasuje(WpisSeansu seans, WpisFilmu film) {
+					return film != null && film.cena <= maksCena;
+				}
+			});
+		}
+		if (kryteria.dajTytul() != null) {
+			for (String slowo : slowaTytulu(kryteria.dajTytul())) {
+				warunki.add(new WarunekZakresu(wgSlowTytulu.subMap(slowo, true, slowo + Character.MAX_VALUE, true)) {
+					@Override
+					boolean pasuje(WpisSeansu seans, WpisFilmu film) {
+						if (film == null) {
+							return false;
+						}
+						for (String slowoFilmu : film.slowa) {
+							if (slowoFilmu.startsWith(slowo)) {
+								return true;
+							}
+						}
+						return false;
+					}
+				});
+			}
+		}
+		return warunki;
+	}
+
+	/**
+	 * Warunek równości, którego seanse leżą w jednym kubełku indeksu.
+	 */
+	private abstract static class WarunekKubelka extends Warunek {
+		private final Set<String> kubelek;
+
+		private WarunekKubelka(Set<String> kubelekValue) {
+			kubelek = kubelekValue != null ? kubelekValue : Collections.emptySet();
+		}
+
+		@Override
+		int szacuj(int limit) {
+			return kubelek.size();
+		}
+
+		@Override
+		void zbierz(Set<String> kandydaci) {
+			kandydaci.addAll(kubelek);
+		}
+	}
+
+	/**
+	 * Warunek obejmujący zakres kluczy uporządkowanego indeksu. Seans może
+	 * leżeć w kilku kubełkach zakresu (np. kilka pasujących słów tytułu),
+	 * więc szacunek jest górnym ograniczeniem.
+	 */
+	private abstract static class WarunekZakresu extends Warunek {
+		private final Collection<Set<String>> kubelki;
+
+		private WarunekZakresu(NavigableMap<?, Set<String>> zakres) {
+			kubelki = zakres.values();
+		}
+
+		@Override
+		int szacuj(int limit) {
+			int suma = 0;
+			for (Set<String> kubelek : kubelki) {
+				suma += kubelek.size();
+				if (suma > limit) {
+					break;
+				}
+			}
+			return suma;
+		}
+
+		@Override
+		void zbierz(Set<String> kandydaci) {
+			for (Set<String> kubelek : kubelki) {
+				kandydaci.addAll(kubelek);
+			}
+		}
+	}
+
+	private void usunSeansZIndeksow(String idSeansu) {
+		WpisSeansu wpis = seanse.remove(idSeansu);
+		if (wpis == null) {
+			return;
+		}
+		usun(seanseFilmu, wpis.idFilmu, idSeansu);
+		usun(wgDaty, wpis.data, idSeansu);
+		usun(wgSali, wpis.sala, idSeansu);
+		WpisFilmu film = filmy.get(wpis.idFilmu);
+		if (film != null) {
+			usunAtrybutyFilmu(idSeansu, film);
+		}
+	}
+
+	private void dodajAtrybutyFilmu(String idSeansu, WpisFilmu film) {
+		dodaj(wgGatunku, film.gatunek, idSeansu);
+		dodaj(wgCeny, film.cena, idSeansu);
+		for (String slowo : film.slowa) {
+			dodaj(wgSlowTytulu, slowo, idSeansu);
+		}
+	}
+
+	private void usunAtrybutyFilmu(String idSeansu, WpisFilmu film) {
+		usun(wgGatunku, film.gatunek, idSeansu);
+		usun(wgCeny, film.cena, idSeansu);
+		for (String slowo : film.slowa) {
+			usun(wgSlowTytulu, slowo, idSeansu);
+		}
+	}
+
+	private static <K> void dodaj(Map<K, Set<String>> indeks, K klucz, String idSeansu) {
+		indeks.computeIfAbsent(klucz, k -> new HashSet<>()).add(idSeansu);
+	}
+
+	private static <K> void usun(Map<K, ? extends Set<String>> indeks, K klucz, String idSeansu) {
+		Set<String> kubelek = indeks.get(klucz);
+		if (kubelek != null && kubelek.remove(idSeansu) && kubelek.isEmpty()) {
+			indeks.remove(klucz);
+		}
+	}
+
+	private static String normalizuj(String tekst) {
+		return tekst.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Dzieli tytuł na słowa złożone z liter i cyfr, małymi literami.
+	 * 
+	 * @param tytul tytuł filmu lub zapytania
+	 * @return różne słowa tytułu
+	 */
+	private static String[] slowaTytulu(String tytul) {
+		Set<String> slowa = new LinkedHashSet<>();
+		for (String slowo : normalizuj(tytul).split("[^\\p{L}\\p{N}]+")) {
+			if (!slowo.isEmpty()) {
+				slowa.add(slowo);
+			}
+		}
+		return slowa.toArray(new String[0]);
+	}
+}
@@ -0,0 +1,88 @@
+package model;
+
+/**
+ * Rzadki indeks jednego pliku (segmentu) dziennika zdarzeń.
+ * Przechowuje zakres czasu wpisów, maskę występujących typów zdarzeń
+ * i filtr Blooma ID encji, więc ma stały rozmiar niezależny od liczby wpisów.
+ * Pozwala pominąć segment, który na pewno nie zawiera pasujących wpisów;
+ * filtr Blooma może jedynie rzadko zgłosić segment do niepotrzebnego przejrzenia.
+ */
+public class IndeksSegmentu {
+
+	private static final int BITY_FILTRA = 4096;
+	private static final int LICZBA_SKROTOW = 3;
+
+	private final long[] filtr = new long[BITY_FILTRA / 64];
+	private long minCzas = Long.MAX_VALUE;
+	private long maxCzas = Long.MIN_VALUE;
+	private int maskaTypow;
+	private long liczbaWpisow;
+
+	/**
+	 * Dodaje wpis do indeksu.
+	 * 
+	 * @param wpis wpis zapisany w segmencie
+	 */
+	public synchronized void dodaj(WpisLogu wpis) {
+		minCzas = Math.min(minCzas, wpis.dajCzas());
+		maxCzas = Math.max(maxCzas, wpis.dajCzas());
+		maskaTypow |= 1 << wpis.dajTyp().ordinal();
+		for (String id : wpis.dajIdEncji()) {
+			int skrot = id.hashCode();
+			for (int i = 0; i < LICZBA_SKROTOW; i++) {
+				int bit = pozycjaBitu(skrot, i);
+				filtr[bit >>> 6] |= 1L << bit;
+			}
+		}
+		liczbaWpisow++;
+	}
+
+	/**
+	 * Sprawdza, czy segment może zawierać wpisy spełniające kryteria.
+	 * 
+	 * @param odCzasu początek zakresu czasu (włącznie)
+	 * @param doCzasu koniec zakresu czasu (włącznie)
+	 * @param typ     wymagany typ zdarzenia lub null dla dowolnego
+	 * @param idEncji wymagane ID encji lub null dla dowolnego
+	 * @return false jeśli segment na pewno nie zawiera pasujących wpisów
+	 */
+	public synchronized boolean mozeZawierac(long odCzasu, long doCzasu, WpisLogu.Typ typ, String idEncji) {
+		if (liczbaWpisow == 0 || maxCzas < odCzasu || minCzas > doCzasu) {
+			return false;
+		}
+		if (typ != null && (maskaTypow & (1 << typ.ordinal())) == 0) {
+			return false;
+		}
+		if (idEncji != null) {
+			int skrot = idEncji.hashCode();
+			for (int i = 0; i < LICZBA_SKROTOW; i++) {
+				int bit = pozycjaBitu(skrot, i);
+				if ((filtr[bit >>> 6] & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Zwraca liczbę wpisów w indeksie.
+	 * 
+	 * @return liczba wpisów
+	 */
+	public synchronized long dajLiczbeWpisow() {
+		return liczbaWpisow;
+	}
+
+	/**
+	 * Wylicza i-tą pozycję bitu filtra metodą podwójnego haszowania.
+	 * 
+	 * @param skrot skrót ID encji
+	 * @param i     numer funkcji skrótu
+	 * @return pozycja bitu w filtrze
+	 */
+	private static int pozycjaBitu(int skrot, int i) {
+		int drugi = Integer.rotateLeft(skrot * 0x9E3779B9, 16) | 1;
+		return (skrot + i * drugi) & (BITY_FILTRA - 1);
+	}
+}
@@ -0,0 +1,58 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Katalog układów sal kina: każda sala ma jeden współdzielony, niezmienny
+ * {@link UkladSali}, do którego odwołują się wszystkie jej seanse.
+ * Jednakowe układy (np. bliźniacze sale) są przechowywane raz, więc
+ * miesięczny repertuar z tysiącami seansów trzyma w pamięci tylko kilka
+ * układów, a każdy seans - własną mapę zajętości miejsc.
+ */
+public class KatalogSal {
+
+	private final ConcurrentHashMap<String, UkladSali> sale = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<UkladSali, UkladSali> uklady = new ConcurrentHashMap<>();
+
+	/**
+	 * Rejestruje układ sali. Jeśli taki sam układ jest już w katalogu,
+	 * sala dostaje istniejący obiekt.
+	 * 
+	 * @param idSali ID sali
+	 * @param uklad  układ miejsc sali
+	 * @return układ współdzielony przez seanse sali
+	 */
+	public UkladSali zarejestruj(String idSali, UkladSali uklad) {
+		UkladSali wspolny = uklady.computeIfAbsent(uklad, u -> u);
+		sale.put(idSali, wspolny);
+		return wspolny;
+	}
+
+	/**
+	 * Zwraca układ sali.
+	 * 
+	 * @param idSali ID sali
+	 * @return układ sali lub null, jeśli sala nie jest zarejestrowana
+	 */
+	public UkladSali dajUklad(String idSali) {
+		return sale.get(idSali);
+	}
+
+	/**
+	 * Zwraca liczbę zarejestrowanych sal.
+	 * 
+	 * @return liczba sal
+	 */
+	public int dajLiczbeSal() {
+		return sale.size();
+	}
+
+	/**
+	 * Zwraca liczbę różnych układów przechowywanych w katalogu.
+	 * 
+	 * @return liczba układów
+	 */
+	public int dajLiczbeUkladow() {
+		return uklady.size();
+	}
+}
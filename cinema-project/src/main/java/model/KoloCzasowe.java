@@ -0,0 +1,223 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchiczne koło czasowe do taniego śledzenia wielu terminów wygaśnięcia.
+ * Każdy z czterech poziomów ma 64 przegródki; przegródka poziomu n obejmuje
+ * 64^n taktów. Wpis trafia na poziom odpowiadający odległości jego terminu,
+ * a gdy wskazówka dojdzie do przegródki wyższego poziomu, jej wpisy są
+ * rozkładane na niższe poziomy. Dodanie i anulowanie wpisu kosztuje O(1)
+ * niezależnie od liczby wpisów, a przegródki to listy dwukierunkowe,
+ * więc nie ma osobnego zadania ani obiektu kolejki na każdy termin.
+ * Koło nie ma własnego wątku: wygasłe wpisy zwraca
+ * {@link #przetworz(long, Consumer)} wywoływane z bieżącym czasem.
+ * 
+ * @param <T> typ wartości przechowywanych we wpisach
+ */
+public class KoloCzasowe<T> {
+
+	private static final int BITY_PRZEGRODKI = 6;
+	private static final int PRZEGRODEK = 1 << BITY_PRZEGRODKI;
+	private static final int MASKA = PRZEGRODEK - 1;
+	private static final int POZIOMOW = 4;
+
+	private final long taktMs;
+	private final Wpis<T>[][] przegrodki;
+	private long biezacyTakt;
+	private int liczbaWpisow;
+
+	/**
+	 * Wpis koła: termin i wartość, a zarazem uchwyt do anulowania.
+	 * 
+	 * @param <T> typ wartości
+	 */
+	public static final class Wpis<T> {
+		private final T wartosc;
+		private final long takt;
+		private Wpis<T> poprzedni;
+		private Wpis<T> nastepny;
+		private int poziom = -1;
+		private int przegrodka;
+
+		private Wpis(T wartoscValue, long taktValue) {
+			wartosc = wartoscValue;
+			takt = taktValue;
+		}
+
+		/**
+		 * Zwraca wartość wpisu.
+		 * 
+		 * @return wartość
+		 */
+		public T dajWartosc() {
+			return wartosc;
+		}
+	}
+
+	/**
+	 * Tworzy koło czasowe.
+	 * 
+	 * @param taktMsValue długość taktu w milisekundach (dokładność terminów)
+	 * @param terazMs     bieżący czas w milisekundach
+	 * @throws IllegalArgumentException jeśli takt nie jest dodatni
+	 */
+	public KoloCzasowe(long taktMsValue, long terazMs) {
+		if (taktMsValue <= 0) {
+			throw new IllegalArgumentException("Nieprawidlowy takt kola czasowego: " + taktMsValue);
+		}
+		taktMs = taktMsValue;
+		// W Javie nie można utworzyć tablicy typu generycznego; przegródki są
+		// prywatne i trafiają do nich tylko wpisy Wpis<T> tworzone przez dodaj.
+		@SuppressWarnings("unchecked")
+		Wpis<T>[][] tablica = (Wpis<T>[][]) new Wpis<?>[POZIOMOW][PRZEGRODEK];
+		przegrodki = tablica;
+		biezacyTakt = terazMs / taktMs;
+	}
+
+	/**
+	 * Dodaje wpis wygasający w podanym czasie (zaokrąglonym w górę do taktu).
+	 * Terminy z przeszłości wygasają przy najbliższym przetworzeniu.
+	 * 
+	 * @param terminMs czas wygaśnięcia w milisekundach
+	 * @param wartosc  wartość wpisu
+	 * @return uchwyt wpisu do anulowania
+	 */
+	public synchronized Wpis<T> dodaj(long terminMs, T wartosc) {
+		long takt = Math.max((terminMs + taktMs - 1) / taktMs, biezacyTakt + 1);
+		Wpis<T> wpis = new Wpis<>(wartosc, takt);
+		wstaw(wpis);
+		liczbaWpisow++;
+		return wpis;
+	}
+
+	/**
+	 * Usuwa wpis przed jego wygaśnięciem.
+	 * 
+	 * @param wpis uchwyt zwrócony przez {@link #dodaj(long, Object)}
+	 * @return true jeśli wpis był w kole, false jeśli już wygasł lub go anulowano
+	 */
+	public synchronized boolean anuluj(Wpis<T> wpis) {
+		if (wpis.poziom < 0) {
+			return false;
+		}
+		usun(wpis);
+		liczbaWpisow--;
+		return true;
+	}
+
+	/**
+	 * Zwraca liczbę oczekujących wpisów.
+	 * 
+	 * @return liczba wpisów
+	 */
+	public synchronized int dajLiczbeWpisow() {
+		return liczbaWpisow;
+	}
+
+	/**
+	 * Przesuwa wskazówkę do podanego czasu i przekazuje wartości wygasłych
+	 * wpisów odbiorcy. Odbiorca jest wywoływany poza blokadą koła, więc może
+	 * dodawać i anulować wpisy.
+	 * 
+	 * @param terazMs  bieżący czas w milisekundach
+	 * @param odbiorca odbiorca wartości wygasłych wpisów
+	 * @return liczba wygasłych wpisów
+	 */
+	public int przetworz(long terazMs, Consumer<T> odbiorca) {
+		List<T> wygasle = new ArrayList<>();
+		synchronized (this) {
+			long docelowy = terazMs / taktMs;
+			while (biezacyTakt < docelowy) {
+				if (liczbaWpisow == 0) {
+					biezacyTakt = docelowy;
+					break;
+				}
+				biezacyTakt++;
+				kaskaduj();
+				int indeks = (int) (biezacyTakt & MASKA);
+				Wpis<T> wpis = przegrodki[0][indeks];
+				przegrodki[0][indeks] = null;
+				while (wpis != null) {
+					Wpis<T> nastepny = wpis.nastepny;
+					wpis.poziom = -1;
+					wpis.poprzedni = null;
+					wpis.nastepny = null;
+					wygasle.add(wpis.wartosc);
+					liczbaWpisow--;
+					wpis = nastepny;
+				}
+			}
+		}
+		for (T wartosc : wygasle) {
+			odbiorca.accept(wartosc);
+		}
+		return wygasle.size();
+	}
+
+	/**
+	 * Gdy wskazówka niższego poziomu zatoczyła pełne koło, rozkłada wpisy
+	 * bieżącej przegródki wyższego poziomu na niższe poziomy. Poziomy są
+	 * rozkładane od najwyższego, żeby wpisy zstępujące o kilka poziomów
+	 * nie trafiły do przegródki, która została już w tym takcie opróżniona.
+	 */
+	private void kaskaduj() {
+		int najwyzszy = 0;
+		while (najwyzszy < POZIOMOW - 1
+				&& ((biezacyTakt >>> (BITY_PRZEGRODKI * najwyzszy)) & MASKA) == 0) {
+			najwyzszy++;
+		}
+		for (int poziom = najwyzszy; poziom >= 1; poziom--) {
+			int indeks = (int) ((biezacyTakt >>> (BITY_PRZEGRODKI * poziom)) & MASKA);
+			Wpis<T> wpis = przegrodki[poziom][indeks];
+			przegrodki[poziom][indeks] = null;
+			while (wpis != null) {
+				Wpis<T> nastepny = wpis.nastepny;
+				wpis.poprzedni = null;
+				wpis.nastepny = null;
+				wstaw(wpis);
+				wpis = nastepny;
+			}
+		}
+	}
+
+	/**
+	 * Wstawia wpis do przegródki odpowiadającej odległości jego terminu.
+	 * Terminy dalsze niż zasięg koła trafiają na najwyższy poziom i są
+	 * rozkładane ponownie, gdy wskazówka do nich dojdzie.
+	 * 
+	 * @param wpis wstawiany wpis
+	 */
+	private void wstaw(Wpis<T> wpis) {
+		long odleglosc = wpis.takt - biezacyTakt;
+		int poziom = 0;
+		while (poziom < POZIOMOW - 1 && odleglosc >= 1L << (BITY_PRZEGRODKI * (poziom + 1))) {
+			poziom++;
+		}
+		long takt = Math.min(wpis.takt, biezacyTakt + (1L << (BITY_PRZEGRODKI * POZIOMOW)) - 1);
+		int indeks = (int) ((takt >>> (BITY_PRZEGRODKI * poziom)) & MASKA);
+		wpis.poziom = poziom;
+		wpis.przegrodka = indeks;
+		wpis.nastepny = przegrodki[poziom][indeks];
+		if (wpis.nastepny != null) {
+			wpis.nastepny.poprzedni = wpis;
+		}
+		przegrodki[poziom][indeks] = wpis;
+	}
+
+	private void usun(Wpis<T> wpis) {
+		if (wpis.poprzedni != null) {
+			wpis.poprzedni.nastepny = wpis.nastepny;
+		} else {
+			przegrodki[wpis.poziom][wpis.przegrodka] = wpis.nastepny;
+		}
+		if (wpis.nastepny != null) {
+			wpis.nastepny.poprzedni = wpis.poprzedni;
+		}
+		wpis.poziom = -1;
+		wpis.poprzedni = null;
+		wpis.nastepny = null;
+	}
+}
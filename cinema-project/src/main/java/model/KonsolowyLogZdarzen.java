@@ -0,0 +1,17 @@
+package model;
+
+/**
+ * Dziennik zdarzeń wypisujący każdy wpis synchronicznie na konsolę.
+ * Domyślny odbiorca wpisów DAO, zachowujący dotychczasowe zachowanie.
+ */
+public class KonsolowyLogZdarzen implements ILogZdarzen {
+
+	/**
+	 * Wypisuje wpis zdarzenia na standardowe wyjście.
+	 * 
+	 * @param zdarzenie opis zdarzenia
+	 */
+	public void dodajWpis(String zdarzenie) {
+		System.out.println("[LOG] " + zdarzenie);
+	}
+}
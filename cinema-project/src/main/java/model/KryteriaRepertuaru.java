@@ -0,0 +1,142 @@
+package model;
+
+/**
+ * Niezmienne kryteria wyszukiwania seansów w repertuarze.
+ * Każde kryterium jest opcjonalne (null oznacza dowolną wartość), a seans
+ * musi spełniać wszystkie podane. Daty są porównywane jako tekst w formacie
+ * "yyyy-MM-dd HH:mm", a koniec zakresu obejmuje wszystkie seanse, których
+ * data się od niego zaczyna, więc "2024-12-20" oznacza cały dzień.
+ * Tytuł pasuje, gdy każde jego słowo jest początkiem któregoś słowa tytułu
+ * filmu, bez rozróżniania wielkości liter.
+ */
+public final class KryteriaRepertuaru {
+	private final String gatunek;
+	private final String odDaty;
+	private final String doDaty;
+	private final String sala;
+	private final Double maksCena;
+	private final String tytul;
+
+	/**
+	 * Tworzy kryteria wyszukiwania.
+	 * 
+	 * @param gatunekValue  gatunek filmu lub null
+	 * @param odDatyValue   początek zakresu dat (włącznie) lub null
+	 * @param doDatyValue   koniec zakresu dat (włącznie, jako prefiks) lub null
+	 * @param salaValue     identyfikator sali lub null
+	 * @param maksCenaValue największa cena seansów filmu lub null
+	 * @param tytulValue    słowa tytułu filmu lub null
+	 */
+	public KryteriaRepertuaru(String gatunekValue, String odDatyValue, String doDatyValue, String salaValue,
+			Double maksCenaValue, String tytulValue) {
+		gatunek = gatunekValue;
+		odDaty = odDatyValue;
+		doDaty = doDatyValue;
+		sala = salaValue;
+		maksCena = maksCenaValue;
+		tytul = tytulValue;
+	}
+
+	/**
+	 * Tworzy kryteria z danych rozdzielanych średnikami. Puste pole oznacza
+	 * dowolną wartość, a końcowe pola można pominąć.
+	 * 
+	 * @param dane dane w formacie: gatunek;odDaty;doDaty;sala;maksCena;tytul
+	 * @return kryteria wyszukiwania
+	 * @throws IllegalArgumentException jeśli dane mają nieprawidłowy format
+	 */
+	public static KryteriaRepertuaru parsuj(String dane) {
+		try {
+			KursorPol pola = new KursorPol(dane);
+			String gatunek = nastepnePole(pola);
+			String odDaty = nastepnePole(pola);
+			String doDaty = nastepnePole(pola);
+			String sala = nastepnePole(pola);
+			String cena = nastepnePole(pola);
+			String tytul = nastepnePole(pola);
+			pola.sprawdzKoniec();
+			return new KryteriaRepertuaru(gatunek, odDaty, doDaty, sala,
+					cena != null ? Double.valueOf(cena) : null, tytul);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Nieprawidlowe kryteria wyszukiwania: " + dane, e);
+		}
+	}
+
+	/**
+	 * Odczytuje kolejne pole kryteriów.
+	 * 
+	 * @param pola kursor pól kryteriów
+	 * @return treść pola lub null, jeśli pole jest puste albo go nie ma
+	 */
+	private static String nastepnePole(KursorPol pola) {
+		if (!pola.czyJestPole()) {
+			return null;
+		}
+		String pole = pola.nastepnyTekst().trim();
+		return pole.isEmpty() ? null : pole;
+	}
+
+	/**
+	 * Sprawdza, czy nie podano żadnego kryterium.
+	 * 
+	 * @return true jeśli wszystkie kryteria są dowolne
+	 */
+	public boolean czyPuste() {
+		return gatunek == null && odDaty == null && doDaty == null && sala == null && maksCena == null
+				&& tytul == null;
+	}
+
+	/**
+	 * Zwraca gatunek filmu.
+	 * 
+	 * @return gatunek lub null
+	 */
+	public String dajGatunek() {
+		return gatunek;
+	}
+
+	/**
+	 * Zwraca początek zakresu dat.
+	 * 
+	 * @return data początkowa lub null
+	 */
+	public String dajOdDaty() {
+		return odDaty;
+	}
+
+	/**
+	 * Zwraca koniec zakresu dat.
+	 * 
+	 * @return data końcowa lub null
+	 */
+	public String dajDoDaty() {
+		return doDaty;
+	}
+
+	/**
+	 * Zwraca identyfikator sali.
+	 * 
+	 * @return ID sali lub null
+	 */
+	public String dajSale() {
+		return sala;
+	}
+
+	/**
+	 * Zwraca największą cenę seansów filmu.
+	 * 
+	 * @return cena lub null
+	 */
+	public Double dajMaksCene() {
+		return maksCena;
+	}
+
+	/**
+	 * Zwraca słowa tytułu filmu.
+	 * 
+	 * @return tytuł lub null
+	 */
+	public String dajTytul() {
+		return tytul;
+	}
+}
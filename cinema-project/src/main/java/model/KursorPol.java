@@ -0,0 +1,257 @@
+package model;
+
+/**
+ * Kursor po polach rekordu rozdzielanego średnikami (np. "F1;Matrix;...;28.0").
+ * Przechodzi po danych w miejscu, bez dzielenia ich na tablicę napisów:
+ * liczby całkowite i dziesiętne są odczytywane wprost ze znaków, a napis
+ * powstaje tylko dla pól tekstowych, o które wywołujący prosi. Kursor jest
+ * mały i nie wycieka z metody, która go tworzy, więc JIT zwykle w ogóle
+ * nie alokuje go na stercie; można też użyć jednego kursora dla wielu
+ * rekordów przez {@link #ustaw(CharSequence)}. Nieprawidłowe pole jest
+ * zgłaszane z numerem pola i pozycją znaku w rekordzie.
+ * Kursor nie jest bezpieczny wątkowo.
+ */
+public final class KursorPol {
+
+	private static final char SEPARATOR = ';';
+	private static final char SEPARATOR_LISTY = ',';
+
+	/** Potęgi 10 dokładnie reprezentowalne jako double. */
+	private static final double[] POTEGI_10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/** Największa mantysa, którą double przechowuje dokładnie (2^53). */
+	private static final long MAKS_DOKLADNA_MANTYSA = 1L << 53;
+
+	private CharSequence dane;
+	private int pozycja;
+	private int numerPola;
+	private int poczatekPola;
+	private int koniecPola;
+
+	/**
+	 * Tworzy kursor ustawiony na pierwszym polu rekordu.
+	 * 
+	 * @param daneValue rekord rozdzielany średnikami
+	 */
+	public KursorPol(CharSequence daneValue) {
+		ustaw(daneValue);
+	}
+
+	/**
+	 * Ustawia kursor na pierwszym polu nowego rekordu.
+	 * 
+	 * @param daneValue rekord rozdzielany średnikami
+	 * @return ten kursor
+	 */
+	public KursorPol ustaw(CharSequence daneValue) {
+		dane = daneValue;
+		pozycja = 0;
+		numerPola = 0;
+		return this;
+	}
+
+	/**
+	 * Sprawdza, czy rekord ma jeszcze pola do odczytania.
+	 * 
+	 * @return true jeśli jest kolejne pole (także puste)
+	 */
+	public boolean czyJestPole() {
+		return pozycja <= dane.length();
+	}
+
+	/**
+	 * Zwraca numer następnego pola (od 1), np. do komunikatów błędów.
+	 * 
+	 * @return numer pola
+	 */
+	public int dajNumerPola() {
+		return numerPola + 1;
+	}
+
+	/**
+	 * Odczytuje kolejne pole jako napis.
+	 * 
+	 * @return treść pola
+	 * @throws IllegalArgumentException jeśli rekord nie ma kolejnego pola
+	 */
+	public String nastepnyTekst() {
+		przejdzDoPola();
+		return dane.subSequence(poczatekPola, koniecPola).toString();
+	}
+
+	/**
+	 * Pomija kolejne pole.
+	 * 
+	 * @throws IllegalArgumentException jeśli rekord nie ma kolejnego pola
+	 */
+	public void pominPole() {
+		przejdzDoPola();
+	}
+
+	/**
+	 * Odczytuje kolejne pole jako liczbę całkowitą.
+	 * 
+	 * @return wartość pola
+	 * @throws IllegalArgumentException jeśli rekord nie ma kolejnego pola
+	 * @throws NumberFormatException    jeśli pole nie jest liczbą całkowitą
+	 */
+	public int nastepnyInt() {
+		przejdzDoPola();
+		return parsujInt(poczatekPola, koniecPola);
+	}
+
+	/**
+	 * Odczytuje kolejne pole jako liczbę dziesiętną, np. cenę "28.50".
+	 * Zwykłe zapisy dziesiętne są przeliczane bez tworzenia napisu; pozostałe
+	 * (wykładnik, bardzo długie mantysy) przechodzą przez
+	 * {@link Double#parseDouble(String)}.
+	 * 
+	 * @return wartość pola
+	 * @throws IllegalArgumentException jeśli rekord nie ma kolejnego pola
+	 * @throws NumberFormatException    jeśli pole nie jest liczbą
+	 */
+	public double nastepnyDouble() {
+		przejdzDoPola();
+		int i = poczatekPola;
+		boolean ujemna = false;
+		if (i < koniecPola && (dane.charAt(i) == '-' || dane.charAt(i) == '+')) {
+			ujemna = dane.charAt(i) == '-';
+			i++;
+		}
+		long mantysa = 0;
+		int cyfr = 0;
+		int poPrzecinku = -1;
+		for (; i < koniecPola; i++) {
+			char znak = dane.charAt(i);
+			if (znak == '.' && poPrzecinku < 0) {
+				poPrzecinku = 0;
+				continue;
+			}
+			if (znak < '0' || znak > '9' || mantysa >= MAKS_DOKLADNA_MANTYSA / 10) {
+				return parsujDoubleWolno();
+			}
+			mantysa = mantysa * 10 + (znak - '0');
+			cyfr++;
+			if (poPrzecinku >= 0) {
+				poPrzecinku++;
+			}
+		}
+		if (cyfr == 0) {
+			throw bladLiczby();
+		}
+		if (poPrzecinku >= POTEGI_10.length) {
+			return parsujDoubleWolno();
+		}
+		// Mantysa i potęga 10 są dokładne, więc jedno dzielenie daje poprawnie zaokrąglony wynik.
+		double wartosc = poPrzecinku > 0 ? mantysa / POTEGI_10[poPrzecinku] : mantysa;
+		return ujemna ? -wartosc : wartosc;
+	}
+
+	/**
+	 * Odczytuje kolejne pole jako listę liczb całkowitych rozdzielonych
+	 * przecinkami, np. numery miejsc "4,5,6". Spacje wokół liczb są pomijane.
+	 * 
+	 * @return wartości z pola
+	 * @throws IllegalArgumentException jeśli rekord nie ma kolejnego pola
+	 * @throws NumberFormatException    jeśli któryś element nie jest liczbą całkowitą
+	 */
+	public int[] nastepneInty() {
+		przejdzDoPola();
+		int liczba = 1;
+		for (int i = poczatekPola; i < koniecPola; i++) {
+			if (dane.charAt(i) == SEPARATOR_LISTY) {
+				liczba++;
+			}
+		}
+		int[] wartosci = new int[liczba];
+		int poczatek = poczatekPola;
+		for (int n = 0; n < liczba; n++) {
+			int koniec = poczatek;
+			while (koniec < koniecPola && dane.charAt(koniec) != SEPARATOR_LISTY) {
+				koniec++;
+			}
+			int poczatekLiczby = poczatek;
+			int koniecLiczby = koniec;
+			while (poczatekLiczby < koniecLiczby && dane.charAt(poczatekLiczby) == ' ') {
+				poczatekLiczby++;
+			}
+			while (koniecLiczby > poczatekLiczby && dane.charAt(koniecLiczby - 1) == ' ') {
+				koniecLiczby--;
+			}
+			wartosci[n] = parsujInt(poczatekLiczby, koniecLiczby);
+			poczatek = koniec + 1;
+		}
+		return wartosci;
+	}
+
+	/**
+	 * Sprawdza, że rekord nie ma więcej pól, np. po odczytaniu wszystkich
+	 * oczekiwanych pól rekordu o stałej długości.
+	 * 
+	 * @throws IllegalArgumentException jeśli zostały nieodczytane pola
+	 */
+	public void sprawdzKoniec() {
+		if (czyJestPole()) {
+			throw new IllegalArgumentException("Nadmiarowe pole " + dajNumerPola() + " (znak " + pozycja
+					+ ") w rekordzie: " + dane);
+		}
+	}
+
+	/**
+	 * Wyznacza granice kolejnego pola i przesuwa kursor za jego separator.
+	 */
+	private void przejdzDoPola() {
+		int dlugosc = dane.length();
+		if (pozycja > dlugosc) {
+			throw new IllegalArgumentException("Brak pola " + dajNumerPola() + " (znak " + dlugosc
+					+ ") w rekordzie: " + dane);
+		}
+		poczatekPola = pozycja;
+		int i = pozycja;
+		while (i < dlugosc && dane.charAt(i) != SEPARATOR) {
+			i++;
+		}
+		koniecPola = i;
+		pozycja = i + 1;
+		numerPola++;
+	}
+
+	private int parsujInt(int poczatek, int koniec) {
+		int i = poczatek;
+		boolean ujemna = false;
+		if (i < koniec && (dane.charAt(i) == '-' || dane.charAt(i) == '+')) {
+			ujemna = dane.charAt(i) == '-';
+			i++;
+		}
+		if (i == koniec) {
+			throw bladLiczby();
+		}
+		// Liczymy ujemnie, żeby zmieścić Integer.MIN_VALUE.
+		int wartosc = 0;
+		for (; i < koniec; i++) {
+			int cyfra = dane.charAt(i) - '0';
+			if (cyfra < 0 || cyfra > 9 || wartosc < (Integer.MIN_VALUE + cyfra) / 10) {
+				throw bladLiczby();
+			}
+			wartosc = wartosc * 10 - cyfra;
+		}
+		if (!ujemna && wartosc == Integer.MIN_VALUE) {
+			throw bladLiczby();
+		}
+		return ujemna ? wartosc : -wartosc;
+	}
+
+	private double parsujDoubleWolno() {
+		try {
+			return Double.parseDouble(dane.subSequence(poczatekPola, koniecPola).toString());
+		} catch (NumberFormatException e) {
+			throw bladLiczby();
+		}
+	}
+
+	private NumberFormatException bladLiczby() {
+		return new NumberFormatException("Nieprawidlowa liczba w polu " + numerPola + " (znak " + poczatekPola
+				+ "): \"" + dane.subSequence(poczatekPola, koniecPola) + "\" w rekordzie: " + dane);
+	}
+}
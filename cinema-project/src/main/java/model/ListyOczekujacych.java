@@ -0,0 +1,256 @@
+package model;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Listy klientów oczekujących na miejsca wyprzedanych seansów.
+ * Każdy seans ma własną kolejkę: klienci z wyższym priorytetem (np. z
+ * wyższego poziomu programu lojalnościowego) są obsługiwani pierwsi,
+ * a przy równym priorytecie decyduje kolejność zapisu. Gdy zwolnione
+ * miejsce zostanie przydzielone oczekującemu, przydział czeka tu, aż
+ * klient go odbierze albo blokada przydzielonego miejsca się skończy.
+ * Pusta kolejka jest usuwana, więc pamięć zależy od liczby oczekujących,
+ * a nie od liczby seansów, na które ktoś kiedyś oczekiwał.
+ */
+public class ListyOczekujacych {
+
+	private static final Comparator<Oczekujacy> KOLEJNOSC = (a, b) -> a.priorytet != b.priorytet
+			? Integer.compare(b.priorytet, a.priorytet)
+			: Long.compare(a.numer, b.numer);
+
+	private final ConcurrentHashMap<String, PriorityQueue<Oczekujacy>> kolejki = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Przydzial> przydzialy = new ConcurrentHashMap<>();
+	private final AtomicLong licznikZapisow = new AtomicLong();
+
+	/**
+	 * Klient oczekujący na miejsce.
+	 */
+	public static final class Oczekujacy {
+		private final String idKlienta;
+		private final int priorytet;
+		private final long numer;
+
+		private Oczekujacy(String idKlientaValue, int priorytetValue, long numerValue) {
+			idKlienta = idKlientaValue;
+			priorytet = priorytetValue;
+			numer = numerValue;
+		}
+
+		/**
+		 * Zwraca ID klienta.
+		 * 
+		 * @return ID klienta
+		 */
+		public String dajIdKlienta() {
+			return idKlienta;
+		}
+
+		/**
+		 * Zwraca priorytet klienta (wyższy jest obsługiwany wcześniej).
+		 * 
+		 * @return priorytet
+		 */
+		public int dajPriorytet() {
+			return priorytet;
+		}
+	}
+
+	/**
+	 * Przydział zwolnionego miejsca czekający na odebranie przez klienta.
+	 */
+	private static final class Przydzial {
+		private final String idBlokady;
+		private final String opis;
+
+		private Przydzial(String idBlokadyValue, String opisValue) {
+			idBlokady = idBlokadyValue;
+			opis = opisValue;
+		}
+	}
+
+	/**
+	 * Zapisuje klienta na listę oczekujących seansu.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param idKlienta ID klienta
+	 * @param priorytet priorytet klienta (wyższy jest obsługiwany wcześniej)
+	 * @return pozycja klienta w kolejce (od 1) lub 0, jeśli klient już oczekuje
+	 */
+	public int dodaj(String idSeansu, String idKlienta, int priorytet) {
+		while (true) {
+			PriorityQueue<Oczekujacy> kolejka = kolejki.computeIfAbsent(idSeansu,
+					k -> new PriorityQueue<>(KOLEJNOSC));
+			synchronized (kolejka) {
+				// Kolejka mogła zostać usunięta jako pusta przed zajęciem jej monitora
+				if (kolejki.get(idSeansu) != kolejka) {
+					continue;
+				}
+				if (znajdz(kolejka, idKlienta) != null) {
+					return 0;
+				}
+				Oczekujacy oczekujacy = new Oczekujacy(idKlienta, priorytet, licznikZapisow.incrementAndGet());
+				kolejka.add(oczekujacy);
+				return pozycja(kolejka, oczekujacy);
+			}
+		}
+	}
+
+	/**
+	 * Wypisuje klienta z listy oczekujących seansu.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param idKlienta ID klienta
+	 * @return true jeśli klient oczekiwał
+	 */
+	public boolean usun(String idSeansu, String idKlienta) {
+		PriorityQueue<Oczekujacy> kolejka = kolejki.get(idSeansu);
+		if (kolejka == null) {
+			return false;
+		}
+		synchronized (kolejka) {
+			Oczekujacy oczekujacy = znajdz(kolejka, idKlienta);
+			if (oczekujacy == null || !kolejka.remove(oczekujacy)) {
+				return false;
+			}
+			usunPusta(idSeansu, kolejka);
+			return true;
+		}
+	}
+
+	/**
+	 * Zdejmuje z kolejki seansu następnego klienta do obsłużenia.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @return następny oczekujący lub null, jeśli nikt nie oczekuje
+	 */
+	public Oczekujacy pobierzNastepnego(String idSeansu) {
+		PriorityQueue<Oczekujacy> kolejka = kolejki.get(idSeansu);
+		if (kolejka == null) {
+			return null;
+		}
+		synchronized (kolejka) {
+			Oczekujacy oczekujacy = kolejka.poll();
+			usunPusta(idSeansu, kolejka);
+			return oczekujacy;
+		}
+	}
+
+	/**
+	 * Zwraca pozycję klienta w kolejce seansu.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param idKlienta ID klienta
+	 * @return pozycja (od 1) lub 0, jeśli klient nie oczekuje
+	 */
+	public int dajPozycje(String idSeansu, String idKlienta) {
+		PriorityQueue<Oczekujacy> kolejka = kolejki.get(idSeansu);
+		if (kolejka == null) {
+			return 0;
+		}
+		synchronized (kolejka) {
+			Oczekujacy oczekujacy = znajdz(kolejka, idKlienta);
+			return oczekujacy == null ? 0 : pozycja(kolejka, oczekujacy);
+		}
+	}
+
+	/**
+	 * Zwraca liczbę klientów oczekujących na seans.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @return liczba oczekujących
+	 */
+	public int dajLiczbeOczekujacych(String idSeansu) {
+		PriorityQueue<Oczekujacy> kolejka = kolejki.get(idSeansu);
+		if (kolejka == null) {
+			return 0;
+		}
+		synchronized (kolejka) {
+			return kolejka.size();
+		}
+	}
+
+	/**
+	 * Zapamiętuje przydział zwolnionego miejsca do odebrania przez klienta.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param idKlienta ID klienta
+	 * @param idBlokady ID blokady przydzielonego miejsca
+	 * @param przydzial opis przydziału, np. numer miejsca i ID blokady
+	 */
+	public void zapiszPrzydzial(String idSeansu, String idKlienta, String idBlokady, String przydzial) {
+		przydzialy.put(idSeansu + ";" + idKlienta, new Przydzial(idBlokady, przydzial));
+	}
+
+	/**
+	 * Zwraca i usuwa przydział czekający na klienta.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param idKlienta ID klienta
+	 * @return opis przydziału lub null, jeśli klient nic nie dostał
+	 */
+	public String odbierzPrzydzial(String idSeansu, String idKlienta) {
+		Przydzial przydzial = przydzialy.remove(idSeansu + ";" + idKlienta);
+		return przydzial != null ? przydzial.opis : null;
+	}
+
+	/**
+	 * Usuwa nieodebrany przydział, jeśli dotyczy podanej blokady, np. gdy
+	 * blokada wygasła, została zwolniona albo kupiona. Nowszy przydział
+	 * tego klienta na ten seans zostaje.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param idKlienta ID klienta
+	 * @param idBlokady ID zakończonej blokady
+	 */
+	public void usunPrzydzial(String idSeansu, String idKlienta, String idBlokady) {
+		przydzialy.computeIfPresent(idSeansu + ";" + idKlienta,
+				(klucz, przydzial) -> przydzial.idBlokady.equals(idBlokady) ? null : przydzial);
+	}
+
+	/**
+	 * Usuwa kolejkę i nieodebrane przydziały seansu, np. po jego usunięciu.
+	 * 
+	 * @param idSeansu ID seansu
+	 */
+	public void usunSeans(String idSeansu) {
+		kolejki.remove(idSeansu);
+		String prefiks = idSeansu + ";";
+		przydzialy.keySet().removeIf(klucz -> klucz.startsWith(prefiks));
+	}
+
+	/**
+	 * Usuwa pustą kolejkę seansu z mapy kolejek. Wywoływana pod monitorem
+	 * kolejki, więc {@link #dodaj(String, String, int)} nie dopisze klienta
+	 * do kolejki, która właśnie znika.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @param kolejka  kolejka seansu
+	 */
+	private void usunPusta(String idSeansu, PriorityQueue<Oczekujacy> kolejka) {
+		if (kolejka.isEmpty()) {
+			kolejki.remove(idSeansu, kolejka);
+		}
+	}
+
+	private static Oczekujacy znajdz(PriorityQueue<Oczekujacy> kolejka, String idKlienta) {
+		for (Oczekujacy oczekujacy : kolejka) {
+			if (oczekujacy.idKlienta.equals(idKlienta)) {
+				return oczekujacy;
+			}
+		}
+		return null;
+	}
+
+	private static int pozycja(PriorityQueue<Oczekujacy> kolejka, Oczekujacy oczekujacy) {
+		int przed = 0;
+		for (Oczekujacy inny : kolejka) {
+			if (KOLEJNOSC.compare(inny, oczekujacy) < 0) {
+				przed++;
+			}
+		}
+		return przed + 1;
+	}
+}
@@ -0,0 +1,574 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bezpieczna wątkowo i nieblokująca mapa zajętości miejsc sali.
+ * Miejsca są bitami w tablicy atomowych słów long (bit n-1 oznacza
+ * miejsce n). Zajęcie i zwolnienie miejsca to pojedyncza operacja
+ * porównaj-i-zamień na słowie zawierającym jego bit, więc z dwóch
+ * kupujących to samo miejsce wygrywa dokładnie jeden, a kupujący różne
+ * miejsca nigdy na siebie nie czekają; ponawiają CAS tylko wtedy, gdy
+ * w międzyczasie zmienił się inny bit tego samego słowa.
+ * Grupa miejsc jest zajmowana słowo po słowie w rosnącej kolejności,
+ * a gdy któreś miejsce okaże się zajęte, zajęte już słowa są cofane,
+ * więc grupa dostaje wszystkie miejsca albo żadnego.
+ * Liczba zajętych miejsc jest licznikiem aktualizowanym po każdym udanym
+ * CAS, więc podsumowanie zajętości nie wymaga przeglądania słów.
+ * Każda zmiana miejsca dostaje kolejny numer wersji i trafia do
+ * ograniczonej historii (bufora cyklicznego), dzięki czemu klient, który
+ * zna wersję mapy, pobiera tylko miejsca zmienione od tamtej pory.
+ * Historia jest tworzona dopiero przy pierwszej zmianie jako mała tablica
+ * i podwaja się, gdy kolejna zmiana by ją zawinęła, aż do zadanego
+ * rozmiaru, więc mapa seansu, na który nikt jeszcze nie kupił biletu,
+ * zajmuje tylko słowa bitów i liczniki, a mapa z kilkoma sprzedanymi
+ * miejscami - o kilkaset bajtów więcej, a nie pełny bufor historii.
+ * Miejsca wyłączone z użytku są odczytywane ze współdzielonego
+ * {@link UkladSali}, więc mapy seansów jednej sali ich nie kopiują.
+ */
+public class MapaMiejsc {
+
+	/** Domyślna liczba ostatnich zmian pamiętanych w historii. */
+	public static final int DOMYSLNY_ROZMIAR_HISTORII = 256;
+
+	/** Rozmiar historii tworzonej przy pierwszej zmianie. */
+	private static final int POCZATKOWY_ROZMIAR_HISTORII = 16;
+
+	/** Największa obsługiwana liczba miejsc (numer miejsca zajmuje 24 bity wpisu historii). */
+	public static final int MAKS_LICZBA_MIEJSC = (1 << 24) - 1;
+
+	private static final int BITY_SLOWA = 64;
+	private static final int BITY_MIEJSCA = 24;
+
+	private static final AtomicReferenceFieldUpdater<MapaMiejsc, AtomicLongArray> HISTORIA = AtomicReferenceFieldUpdater
+			.newUpdater(MapaMiejsc.class, AtomicLongArray.class, "historia");
+
+	private final AtomicLongArray slowa;
+	private final int liczbaMiejsc;
+	private final LongAdder zajete = new LongAdder();
+	private final AtomicLong wersja = new AtomicLong();
+	private volatile AtomicLongArray historia;
+	private final int maskaHistorii;
+	private final UkladSali uklad;
+
+	/**
+	 * Tworzy mapę z wszystkimi miejscami wolnymi i domyślną historią zmian.
+	 * 
+	 * @param liczbaMiejscValue liczba miejsc w sali
+	 * @throws IllegalArgumentException jeśli liczba miejsc jest spoza zakresu
+	 */
+	public MapaMiejsc(int liczbaMiejscValue) {
+		this(liczbaMiejscValue, DOMYSLNY_ROZMIAR_HISTORII);
+	}
+
+	/**
+	 * Tworzy mapę z wszystkimi miejscami wolnymi.
+	 * 
+	 * @param liczbaMiejscValue liczba miejsc w sali
+	 * @param rozmiarHistorii   liczba ostatnich zmian pamiętanych do odświeżeń
+	 *                          przyrostowych (zaokrąglana w górę do potęgi 2)
+	 * @throws IllegalArgumentException jeśli liczba miejsc jest spoza zakresu
+	 *                                  lub rozmiar historii nie jest dodatni
+	 */
+	public MapaMiejsc(int liczbaMiejscValue, int rozmiarHistorii) {
+		this(liczbaMiejscValue, rozmiarHistorii, null);
+	}
+
+	/**
+	 * Tworzy mapę sali o podanym układzie z domyślną historią zmian.
+	 * 
+	 * @param ukladValue układ sali, np. współdzielony z {@link KatalogSal}
+	 * @throws IllegalArgumentException jeśli sala ma za dużo miejsc
+	 */
+	public MapaMiejsc(UkladSali ukladValue) {
+		this(ukladValue, DOMYSLNY_ROZMIAR_HISTORII);
+	}
+
+	/**
+	 * Tworzy mapę sali o podanym układzie, w której miejsca wyłączone
+	 * z użytku są od początku zajęte. Te miejsca nie trafiają do historii
+	 * zmian, a mapa startuje z wersją 0. Mapa trzyma referencję do układu
+	 * zamiast kopii jego miejsc.
+	 * 
+	 * @param ukladValue      układ sali, np. współdzielony z {@link KatalogSal}
+	 * @param rozmiarHistorii liczba ostatnich zmian pamiętanych do odświeżeń
+	 *                        przyrostowych (zaokrąglana w górę do potęgi 2)
+	 * @throws IllegalArgumentException jeśli sala ma za dużo miejsc lub
+	 *                                  rozmiar historii nie jest dodatni
+	 */
+	public MapaMiejsc(UkladSali ukladValue, int rozmiarHistorii) {
+		this(ukladValue.dajLiczbeMiejsc(), rozmiarHistorii, ukladValue);
+	}
+
+	private MapaMiejsc(int liczbaMiejscValue, int rozmiarHistorii, UkladSali ukladValue) {
+		if (liczbaMiejscValue < 0 || liczbaMiejscValue > MAKS_LICZBA_MIEJSC) {
+			throw new IllegalArgumentException("Nieprawidlowa liczba miejsc: " + liczbaMiejscValue);
+		}
+		if (rozmiarHistorii <= 0 || rozmiarHistorii > 1 << 30) {
+			throw new IllegalArgumentException("Nieprawidlowy rozmiar historii: " + rozmiarHistorii);
+		}
+		liczbaMiejsc = liczbaMiejscValue;
+		slowa = new AtomicLongArray((liczbaMiejscValue + BITY_SLOWA - 1) / BITY_SLOWA);
+		maskaHistorii = (rozmiarHistorii == 1 ? 1 : Integer.highestOneBit(rozmiarHistorii - 1) << 1) - 1;
+		uklad = ukladValue;
+		if (ukladValue != null) {
+			// Numery z układu są sprawdzone, posortowane i bez powtórzeń
+			for (int nr : ukladValue.dajZablokowane()) {
+				int indeks = (nr - 1) / BITY_SLOWA;
+				slowa.set(indeks, slowa.get(indeks) | 1L << ((nr - 1) % BITY_SLOWA));
+				zajete.increment();
+			}
+		}
+	}
+
+	/**
+	 * Zwraca liczbę miejsc w sali.
+	 * 
+	 * @return liczba miejsc
+	 */
+	public int dajLiczbeMiejsc() {
+		return liczbaMiejsc;
+	}
+
+	/**
+	 * Zwraca liczbę miejsc, które można sprzedać: miejsca sali bez zajętych
+	 * od początku (wyłączonych z użytku).
+	 * 
+	 * @return liczba dostępnych miejsc
+	 */
+	public int dajLiczbeDostepnych() {
+		return uklad == null ? liczbaMiejsc : uklad.dajLiczbeDostepnych();
+	}
+
+	/**
+	 * Zwraca układ sali, z którego pochodzą miejsca wyłączone z użytku.
+	 * 
+	 * @return układ sali lub null, jeśli mapa ma tylko liczbę miejsc
+	 */
+	public UkladSali dajUklad() {
+		return uklad;
+	}
+
+	/**
+	 * Atomowo zajmuje miejsce, jeśli jest wolne.
+	 * 
+	 * @param nrMiejsca numer miejsca (od 1)
+	 * @return true jeśli miejsce zostało zajęte przez to wywołanie, false jeśli
+	 *         numer jest spoza sali lub miejsce było już zajęte
+	 */
+	public boolean zajmij(int nrMiejsca) {
+		if (nrMiejsca < 1 || nrMiejsca > liczbaMiejsc) {
+			return false;
+		}
+		int indeks = (nrMiejsca - 1) / BITY_SLOWA;
+		long bit = 1L << ((nrMiejsca - 1) % BITY_SLOWA);
+		long stare = slowa.get(indeks);
+		while ((stare & bit) == 0) {
+			long odczytane = slowa.compareAndExchange(indeks, stare, stare | bit);
+			if (odczytane == stare) {
+				zajete.increment();
+				zapiszZmiane(nrMiejsca);
+				return true;
+			}
+			stare = odczytane;
+		}
+		return false;
+	}
+
+	/**
+	 * Zajmuje wszystkie podane miejsca albo żadnego.
+	 * Bity miejsc z jednego słowa są zajmowane jednym CAS; jeśli w którymś
+	 * słowie miejsce jest już zajęte, wcześniej zajęte słowa są zwalniane.
+	 * Inny wątek może przez chwilę widzieć część grupy jako zajętą, ale nigdy
+	 * nie dostanie miejsca z grupy, która ostatecznie się powiodła.
+	 * 
+	 * @param nrMiejsc numery miejsc (od 1)
+	 * @return true jeśli zajęto wszystkie miejsca, false jeśli któreś jest
+	 *         zajęte, spoza sali lub powtórzone albo lista jest pusta
+	 */
+	public boolean zajmijWszystkie(int... nrMiejsc) {
+		long[] maski = maskiSlow(nrMiejsc);
+		if (maski == null) {
+			return false;
+		}
+		for (int i = 0; i < maski.length; i++) {
+			if (maski[i] != 0 && !zajmijBity(i, maski[i])) {
+				for (int j = 0; j < i; j++) {
+					if (maski[j] != 0) {
+						zwolnijBity(j, maski[j]);
+					}
+				}
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Zwalnia wszystkie podane miejsca, np. po anulowaniu rezerwacji grupowej.
+	 * 
+	 * @param nrMiejsc numery miejsc (od 1); numery spoza sali są pomijane
+	 */
+	public void zwolnijWszystkie(int... nrMiejsc) {
+		for (int nr : nrMiejsc) {
+			zwolnij(nr);
+		}
+	}
+
+	/**
+	 * Atomowo zwalnia miejsce.
+	 * 
+	 * Miejsca zajęte od początku (wyłączone z użytku) nie są zwalniane.
+	 * 
+	 * @param nrMiejsca numer miejsca (od 1)
+	 * @return true jeśli miejsce było zajęte i zostało zwolnione przez to wywołanie
+	 */
+	public boolean zwolnij(int nrMiejsca) {
+		if (nrMiejsca < 1 || nrMiejsca > liczbaMiejsc || uklad != null && uklad.czyZablokowane(nrMiejsca)) {
+			return false;
+		}
+		int indeks = (nrMiejsca - 1) / BITY_SLOWA;
+		long bit = 1L << ((nrMiejsca - 1) % BITY_SLOWA);
+		long stare = slowa.get(indeks);
+		while ((stare & bit) != 0) {
+			long odczytane = slowa.compareAndExchange(indeks, stare, stare & ~bit);
+			if (odczytane == stare) {
+				zajete.decrement();
+				zapiszZmiane(nrMiejsca);
+				return true;
+			}
+			stare = odczytane;
+		}
+		return false;
+	}
+
+	/**
+	 * Zamyka mapę, na której nie ma sprzedanych ani zablokowanych miejsc,
+	 * np. przed zastąpieniem jej mapą sali innej wielkości: wszystkie wolne
+	 * miejsca zostają zajęte, więc wątek, który pobrał mapę wcześniej, nie
+	 * zarezerwuje już w niej miejsca. Każde słowo jest zamykane jednym CAS,
+	 * który udaje się tylko wtedy, gdy słowo ma zajęte wyłącznie miejsca
+	 * wyłączone z użytku; jeśli któreś słowo ma inne zajęte miejsce,
+	 * zamknięte wcześniej słowa są przywracane.
+	 * 
+	 * @return true jeśli mapa była pusta i została zamknięta, false jeśli ma
+	 *         zajęte miejsca (mapa pozostaje wtedy bez zmian)
+	 */
+	public boolean zamknijPusta() {
+		long[] poczatkowe = new long[slowa.length()];
+		if (uklad != null) {
+			for (int nr : uklad.dajZablokowane()) {
+				poczatkowe[(nr - 1) / BITY_SLOWA] |= 1L << ((nr - 1) % BITY_SLOWA);
+			}
+		}
+		for (int i = 0; i < poczatkowe.length; i++) {
+			int reszta = liczbaMiejsc - i * BITY_SLOWA;
+			long pelne = reszta >= BITY_SLOWA ? -1L : (1L << reszta) - 1;
+			if (!slowa.compareAndSet(i, poczatkowe[i], pelne)) {
+				// Zamkniętych słów nikt nie mógł zmienić: nie miały wolnych ani sprzedanych miejsc
+				for (int j = 0; j < i; j++) {
+					slowa.set(j, poczatkowe[j]);
+				}
+				return false;
+			}
+		}
+		zajete.add(dajLiczbeDostepnych());
+		return true;
+	}
+
+	/**
+	 * Sprawdza, czy miejsce jest zajęte.
+	 * 
+	 * @param nrMiejsca numer miejsca (od 1)
+	 * @return true jeśli miejsce jest zajęte; false także dla numerów spoza sali
+	 */
+	public boolean czyZajete(int nrMiejsca) {
+		if (nrMiejsca < 1 || nrMiejsca > liczbaMiejsc) {
+			return false;
+		}
+		return (slowa.get((nrMiejsca - 1) / BITY_SLOWA) & (1L << ((nrMiejsca - 1) % BITY_SLOWA))) != 0;
+	}
+
+	/**
+	 * Zwraca bity zajętości kolejnych miejsc, np. jednego rzędu sali.
+	 * Bit i wyniku odpowiada miejscu pierwszeMiejsce + i.
+	 * 
+	 * @param pierwszeMiejsce numer pierwszego miejsca (od 1)
+	 * @param liczba          liczba miejsc (1-64), mieszcząca się w sali
+	 * @return maska zajętych miejsc
+	 */
+	public long dajBity(int pierwszeMiejsce, int liczba) {
+		int przesuniecie = (pierwszeMiejsce - 1) % BITY_SLOWA;
+		int indeks = (pierwszeMiejsce - 1) / BITY_SLOWA;
+		long bity = slowa.get(indeks) >>> przesuniecie;
+		if (przesuniecie + liczba > BITY_SLOWA) {
+			bity |= slowa.get(indeks + 1) << (BITY_SLOWA - przesuniecie);
+		}
+		return liczba == BITY_SLOWA ? bity : bity & ((1L << liczba) - 1);
+	}
+
+	/**
+	 * Zwraca liczbę zajętych miejsc z licznika, bez przeglądania mapy.
+	 * Przy równoległych zmianach licznik może przez chwilę nie uwzględniać
+	 * trwającej rezerwacji, ale po jej zakończeniu zgadza się z mapą.
+	 * 
+	 * @return liczba zajętych miejsc
+	 */
+	public int dajLiczbeZajetych() {
+		return zajete.intValue();
+	}
+
+	/**
+	 * Zwraca liczbę wolnych miejsc z licznika, bez przeglądania mapy.
+	 * 
+	 * @return liczba wolnych miejsc
+	 */
+	public int dajLiczbeWolnych() {
+		return liczbaMiejsc - zajete.intValue();
+	}
+
+	/**
+	 * Zwraca numery wolnych miejsc w kolejności rosnącej.
+	 * Każde słowo jest odczytywane raz, więc wynik jest spójny w obrębie słowa
+	 * także przy równoległych rezerwacjach.
+	 * 
+	 * @return tablica numerów wolnych miejsc
+	 */
+	public int[] dajWolne() {
+		long[] migawka = new long[slowa.length()];
+		int wolnych = liczbaMiejsc;
+		for (int i = 0; i < migawka.length; i++) {
+			migawka[i] = slowa.get(i);
+			wolnych -= Long.bitCount(migawka[i]);
+		}
+		int[] wolne = new int[wolnych];
+		int idx = 0;
+		for (int i = 0; i < migawka.length; i++) {
+			long wolneBity = ~migawka[i];
+			if (i == migawka.length - 1 && liczbaMiejsc % BITY_SLOWA != 0) {
+				wolneBity &= (1L << (liczbaMiejsc % BITY_SLOWA)) - 1;
+			}
+			while (wolneBity != 0) {
+				wolne[idx++] = i * BITY_SLOWA + Long.numberOfTrailingZeros(wolneBity) + 1;
+				wolneBity &= wolneBity - 1;
+			}
+		}
+		return wolne;
+	}
+
+	/**
+	 * Zwraca bieżącą wersję mapy, czyli liczbę dotychczasowych zmian miejsc.
+	 * 
+	 * @return wersja mapy
+	 */
+	public long dajWersje() {
+		return wersja.get();
+	}
+
+	/**
+	 * Zwraca miejsca zmienione od podanej wersji wraz z ich bieżącym stanem.
+	 * Jeśli wersja klienta wypadła z historii (albo jest nieznana), zwraca
+	 * pełną migawkę wolnych miejsc. Ponieważ odpowiedź podaje bieżący stan
+	 * zmienionych miejsc, a nie kolejność zmian, klient dochodzi do stanu
+	 * mapy, stosując kolejne odpowiedzi w dowolnym tempie.
+	 * 
+	 * @param odWersji ostatnia wersja znana klientowi (-1 dla nowego klienta)
+	 * @return zmiany od podanej wersji albo pełna migawka
+	 */
+	public ZmianyMiejsc dajZmiany(long odWersji) {
+		long biezaca = wersja.get();
+		if (odWersji < 0 || odWersji > biezaca || biezaca - odWersji > maskaHistorii + 1) {
+			return dajMigawke();
+		}
+		AtomicLongArray historia = this.historia;
+		if (historia == null) {
+			// Pierwsza zmiana ma już numer, ale historia jeszcze nie powstała.
+			return new ZmianyMiejsc(odWersji, false, new int[0], new int[0]);
+		}
+		int[] zmienione = new int[(int) (biezaca - odWersji)];
+		int liczbaZmian = 0;
+		long doWersji = odWersji;
+		int maska = historia.length() - 1;
+		for (long v = odWersji + 1; v <= biezaca; v++) {
+			long wpis = historia.get((int) (v & maska));
+			long wersjaWpisu = wpis >>> BITY_MIEJSCA;
+			if (wersjaWpisu < v) {
+				// Zmiana ma już numer, ale jeszcze nie trafiła do historii (albo do
+				// jej powiększonej tablicy); zostanie zwrócona przy następnym
+				// odświeżeniu.
+				break;
+			}
+			if (wersjaWpisu > v) {
+				return dajMigawke();
+			}
+			zmienione[liczbaZmian++] = (int) (wpis & MAKS_LICZBA_MIEJSC);
+			doWersji = v;
+		}
+
+		// Koszt zależy od liczby zmian, a nie od wielkości sali.
+		Arrays.sort(zmienione, 0, liczbaZmian);
+		int[] wolne = new int[liczbaZmian];
+		int[] zajeteMiejsca = new int[liczbaZmian];
+		int w = 0;
+		int z = 0;
+		for (int i = 0; i < liczbaZmian; i++) {
+			if (i > 0 && zmienione[i] == zmienione[i - 1]) {
+				continue;
+			}
+			if (czyZajete(zmienione[i])) {
+				zajeteMiejsca[z++] = zmienione[i];
+			} else {
+				wolne[w++] = zmienione[i];
+			}
+		}
+		return new ZmianyMiejsc(doWersji, false, Arrays.copyOf(wolne, w), Arrays.copyOf(zajeteMiejsca, z));
+	}
+
+	/**
+	 * Zwraca pełną migawkę wolnych miejsc. Wersja jest odczytywana przed
+	 * słowami mapy, więc zmiany równoległe z migawką trafią też do
+	 * następnego odświeżenia przyrostowego.
+	 * 
+	 * @return migawka wolnych miejsc z jej wersją
+	 */
+	public ZmianyMiejsc dajMigawke() {
+		long v = wersja.get();
+		return new ZmianyMiejsc(v, true, dajWolne(), new int[0]);
+	}
+
+	/**
+	 * Nadaje zmianie miejsca kolejny numer wersji i zapisuje ją w historii.
+	 * Wersja i numer miejsca są spakowane w jedno słowo, więc czytelnik
+	 * nigdy nie zobaczy wersji jednej zmiany z miejscem innej. Jeśli
+	 * w międzyczasie historia została powiększona, wpis trafia także do
+	 * nowej tablicy, więc żadna zmiana nie ginie przy powiększaniu.
+	 * 
+	 * @param nrMiejsca numer zmienionego miejsca
+	 */
+	private void zapiszZmiane(int nrMiejsca) {
+		long v = wersja.incrementAndGet();
+		long wpis = (v << BITY_MIEJSCA) | nrMiejsca;
+		AtomicLongArray historia = dajHistorie(v);
+		zapiszWpis(historia, wpis);
+		AtomicLongArray biezaca = this.historia;
+		while (biezaca != historia) {
+			historia = biezaca;
+			zapiszWpis(historia, wpis);
+			biezaca = this.historia;
+		}
+	}
+
+	/**
+	 * Zwraca tablicę historii, w której zmiana o podanej wersji nie nadpisze
+	 * wcześniejszych zmian. Pierwsza tablica jest mała; gdy wersja zawinęłaby
+	 * ją przed osiągnięciem zadanego rozmiaru historii, tablica jest
+	 * podwajana. Nowa tablica jest publikowana przed przepisaniem wpisów,
+	 * więc wpis, który inny wątek zapisał jeszcze w starej tablicy, trafi do
+	 * nowej przy przepisywaniu albo przez ponowny zapis tego wątku.
+	 * 
+	 * @param v wersja zapisywanej zmiany
+	 * @return tablica historii
+	 */
+	private AtomicLongArray dajHistorie(long v) {
+		AtomicLongArray historia = this.historia;
+		while (historia == null || v >= historia.length() && historia.length() <= maskaHistorii) {
+			int rozmiar = historia == null ? Math.min(POCZATKOWY_ROZMIAR_HISTORII, maskaHistorii + 1)
+					: historia.length() * 2;
+			AtomicLongArray nowa = new AtomicLongArray(rozmiar);
+			if (HISTORIA.compareAndSet(this, historia, nowa)) {
+				if (historia != null) {
+					for (int i = 0; i < historia.length(); i++) {
+						zapiszWpis(nowa, historia.get(i));
+					}
+				}
+				historia = nowa;
+			} else {
+				historia = this.historia;
+			}
+		}
+		return historia;
+	}
+
+	/**
+	 * Zapisuje wpis historii, chyba że jego pozycję zajmuje już nowsza zmiana.
+	 * 
+	 * @param historia tablica historii
+	 * @param wpis     spakowana wersja i numer miejsca
+	 */
+	private static void zapiszWpis(AtomicLongArray historia, long wpis) {
+		int pozycja = (int) ((wpis >>> BITY_MIEJSCA) & (historia.length() - 1));
+		long stary = historia.get(pozycja);
+		while (stary >>> BITY_MIEJSCA < wpis >>> BITY_MIEJSCA) {
+			long odczytany = historia.compareAndExchange(pozycja, stary, wpis);
+			if (odczytany == stary) {
+				return;
+			}
+			stary = odczytany;
+		}
+	}
+
+	private void zapiszZmiany(int indeks, long maska) {
+		long bity = maska;
+		while (bity != 0) {
+			zapiszZmiane(indeks * BITY_SLOWA + Long.numberOfTrailingZeros(bity) + 1);
+			bity &= bity - 1;
+		}
+	}
+
+	/**
+	 * Buduje maski bitów grupy miejsc dla kolejnych słów.
+	 * 
+	 * @param nrMiejsc numery miejsc
+	 * @return maski słów lub null, jeśli lista jest pusta albo któryś numer
+	 *         jest spoza sali lub się powtarza
+	 */
+	private long[] maskiSlow(int[] nrMiejsc) {
+		if (nrMiejsc.length == 0) {
+			return null;
+		}
+		long[] maski = new long[slowa.length()];
+		for (int nr : nrMiejsc) {
+			if (nr < 1 || nr > liczbaMiejsc) {
+				return null;
+			}
+			long bit = 1L << ((nr - 1) % BITY_SLOWA);
+			int indeks = (nr - 1) / BITY_SLOWA;
+			if ((maski[indeks] & bit) != 0) {
+				return null;
+			}
+			maski[indeks] |= bit;
+		}
+		return maski;
+	}
+
+	private boolean zajmijBity(int indeks, long maska) {
+		long stare = slowa.get(indeks);
+		while ((stare & maska) == 0) {
+			long odczytane = slowa.compareAndExchange(indeks, stare, stare | maska);
+			if (odczytane == stare) {
+				zajete.add(Long.bitCount(maska));
+				zapiszZmiany(indeks, maska);
+				return true;
+			}
+			stare = odczytane;
+		}
+		return false;
+	}
+
+	private void zwolnijBity(int indeks, long maska) {
+		long stare = slowa.get(indeks);
+		while (true) {
+			long odczytane = slowa.compareAndExchange(indeks, stare, stare & ~maska);
+			if (odczytane == stare) {
+				zajete.add(-Long.bitCount(maska));
+				zapiszZmiany(indeks, maska);
+				return;
+			}
+			stare = odczytane;
+		}
+	}
+}
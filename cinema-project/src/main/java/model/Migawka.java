@@ -0,0 +1,253 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binarna migawka stanu DAO zapisana w katalogu dziennika.
+ * Plik migawka-N.bin zawiera stan po wszystkich operacjach z segmentów
+ * dziennika o numerach mniejszych niż N, więc przy starcie wystarczy
+ * wczytać migawkę i odtworzyć segmenty od N wzwyż.
+ * Migawka jest zapisywana do pliku tymczasowego i podmieniana atomowo,
+ * a jej koniec chroni suma CRC32.
+ */
+public class Migawka {
+
+	private static final int ZNACZNIK = 0x4B494E4F;
+	private static final int WERSJA = 1;
+	private static final String PREFIKS = "migawka-";
+	private static final String ROZSZERZENIE = ".bin";
+
+	private Migawka() {
+	}
+
+	/**
+	 * Zapisuje migawkę stanu DAO pokrywającą segmenty dziennika przed podanym.
+	 * 
+	 * @param katalog       katalog dziennika
+	 * @param numerSegmentu pierwszy segment dziennika, którego migawka nie obejmuje
+	 * @param dao           DAO, którego stan jest zapisywany
+	 * @return ścieżka zapisanej migawki
+	 */
+	public static Path zapisz(Path katalog, long numerSegmentu, IMigawkaDAO dao) {
+		Path plik = katalog.resolve(nazwa(numerSegmentu));
+		Path tymczasowy = katalog.resolve(nazwa(numerSegmentu) + ".tmp");
+		try (FileOutputStream strumien = new FileOutputStream(tymczasowy.toFile())) {
+			CRC32 crc = new CRC32();
+			DataOutputStream wyjscie = new DataOutputStream(
+					new CheckedOutputStream(new BufferedOutputStream(strumien, 64 * 1024), crc));
+			wyjscie.writeInt(ZNACZNIK);
+			wyjscie.writeInt(WERSJA);
+			wyjscie.writeLong(numerSegmentu);
+			dao.zapiszStan(wyjscie);
+			wyjscie.flush();
+			new DataOutputStream(strumien).writeLong(crc.getValue());
+			strumien.getChannel().force(true);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie zapisac migawki " + plik, e);
+		}
+		try {
+			Files.move(tymczasowy, plik, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie zapisac migawki " + plik, e);
+		}
+		return plik;
+	}
+
+	/**
+	 * Wczytuje najnowszą migawkę z katalogu do DAO.
+	 * 
+	 * @param katalog katalog dziennika
+	 * @param dao     DAO, do którego wczytywany jest stan
+	 * @return numer pierwszego segmentu dziennika do odtworzenia po migawce,
+	 *         lub 0 jeśli w katalogu nie ma migawki
+	 */
+	public static long wczytajNajnowsza(Path katalog, IMigawkaDAO dao) {
+		long numer = najnowszyNumer(katalog);
+		if (numer == 0) {
+			return 0;
+		}
+		Path plik = katalog.resolve(nazwa(numer));
+		try (InputStream strumien = new BufferedInputStream(Files.newInputStream(plik), 64 * 1024)) {
+			CRC32 crc = new CRC32();
+			DataInputStream wejscie = new DataInputStream(new CheckedInputStream(strumien, crc));
+			if (wejscie.readInt() != ZNACZNIK || wejscie.readInt() != WERSJA || wejscie.readLong() != numer) {
+				throw new IOException("Nieprawidlowy naglowek migawki");
+			}
+			dao.wczytajStan(wejscie);
+			long oczekiwana = crc.getValue();
+			if (new DataInputStream(strumien).readLong() != oczekiwana) {
+				throw new IOException("Niezgodna suma kontrolna migawki");
+			}
+			return numer;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie wczytac migawki " + plik, e);
+		}
+	}
+
+	/**
+	 * Usuwa migawki starsze niż podana.
+	 * 
+	 * @param katalog       katalog dziennika
+	 * @param numerSegmentu numer migawki, która ma zostać zachowana
+	 */
+	public static void usunStarsze(Path katalog, long numerSegmentu) {
+		try (DirectoryStream<Path> pliki = Files.newDirectoryStream(katalog, PREFIKS + "*" + ROZSZERZENIE)) {
+			for (Path plik : pliki) {
+				if (numer(plik) < numerSegmentu) {
+					Files.deleteIfExists(plik);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie usunac starych migawek", e);
+		}
+	}
+
+	/**
+	 * Zapisuje mapę jako liczbę wpisów i kolejne pary klucz-wartość.
+	 * 
+	 * @param wyjscie strumień wyjściowy
+	 * @param mapa    mapa do zapisania
+	 * @throws IOException jeśli zapis się nie powiedzie
+	 */
+	public static void zapiszMape(DataOutput wyjscie, Map<String, String> mapa) throws IOException {
+		wyjscie.writeInt(mapa.size());
+		for (Map.Entry<String, String> wpis : mapa.entrySet()) {
+			zapiszTekst(wyjscie, wpis.getKey());
+			zapiszTekst(wyjscie, wpis.getValue());
+		}
+	}
+
+	/**
+	 * Wczytuje mapę zapisaną przez {@link #zapiszMape(DataOutput, Map)}.
+	 * 
+	 * @param wejscie strumień wejściowy
+	 * @param mapa    mapa, do której dodawane są wpisy
+	 * @throws IOException jeśli odczyt się nie powiedzie
+	 */
+	public static void wczytajMape(DataInput wejscie, Map<String, String> mapa) throws IOException {
+		int rozmiar = wejscie.readInt();
+		for (int i = 0; i < rozmiar; i++) {
+			String klucz = czytajTekst(wejscie);
+			mapa.put(klucz, czytajTekst(wejscie));
+		}
+	}
+
+	/**
+	 * Zapisuje indeks jako liczbę kluczy, a dla każdego klucza listę wartości.
+	 * 
+	 * @param wyjscie strumień wyjściowy
+	 * @param indeks  indeks do zapisania
+	 * @throws IOException jeśli zapis się nie powiedzie
+	 */
+	public static void zapiszIndeks(DataOutput wyjscie, Map<String, ? extends Collection<String>> indeks)
+			throws IOException {
+		wyjscie.writeInt(indeks.size());
+		for (Map.Entry<String, ? extends Collection<String>> wpis : indeks.entrySet()) {
+			String[] wartosci = wpis.getValue().toArray(new String[0]);
+			zapiszTekst(wyjscie, wpis.getKey());
+			wyjscie.writeInt(wartosci.length);
+			for (String wartosc : wartosci) {
+				zapiszTekst(wyjscie, wartosc);
+			}
+		}
+	}
+
+	/**
+	 * Wczytuje indeks zapisany przez {@link #zapiszIndeks(DataOutput, Map)}.
+	 * 
+	 * @param wejscie   strumień wejściowy
+	 * @param indeks    indeks, do którego dodawane są wpisy
+	 * @param nowyZbior fabryka zbiorów wartości właściwa dla danego DAO
+	 * @throws IOException jeśli odczyt się nie powiedzie
+	 */
+	public static void wczytajIndeks(DataInput wejscie, Map<String, Set<String>> indeks,
+			Supplier<Set<String>> nowyZbior) throws IOException {
+		int rozmiar = wejscie.readInt();
+		for (int i = 0; i < rozmiar; i++) {
+			String klucz = czytajTekst(wejscie);
+			int liczba = wejscie.readInt();
+			Set<String> wartosci = nowyZbior.get();
+			for (int j = 0; j < liczba; j++) {
+				wartosci.add(czytajTekst(wejscie));
+			}
+			indeks.put(klucz, wartosci);
+		}
+	}
+
+	/**
+	 * Zapisuje tekst jako długość i bajty UTF-8 (bez limitu 64 KB z writeUTF).
+	 * 
+	 * @param wyjscie strumień wyjściowy
+	 * @param tekst   tekst do zapisania
+	 * @throws IOException jeśli zapis się nie powiedzie
+	 */
+	public static void zapiszTekst(DataOutput wyjscie, String tekst) throws IOException {
+		byte[] bajty = tekst.getBytes(StandardCharsets.UTF_8);
+		wyjscie.writeInt(bajty.length);
+		wyjscie.write(bajty);
+	}
+
+	/**
+	 * Odczytuje tekst zapisany przez {@link #zapiszTekst(DataOutput, String)}.
+	 * 
+	 * @param wejscie strumień wejściowy
+	 * @return odczytany tekst
+	 * @throws IOException jeśli odczyt się nie powiedzie
+	 */
+	public static String czytajTekst(DataInput wejscie) throws IOException {
+		byte[] bajty = new byte[wejscie.readInt()];
+		wejscie.readFully(bajty);
+		return new String(bajty, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Zwraca numer najnowszej migawki w katalogu.
+	 * 
+	 * @param katalog katalog dziennika
+	 * @return numer najnowszej migawki lub 0, jeśli nie ma żadnej
+	 */
+	private static long najnowszyNumer(Path katalog) {
+		long najnowszy = 0;
+		if (!Files.isDirectory(katalog)) {
+			return najnowszy;
+		}
+		try (DirectoryStream<Path> pliki = Files.newDirectoryStream(katalog, PREFIKS + "*" + ROZSZERZENIE)) {
+			for (Path plik : pliki) {
+				najnowszy = Math.max(najnowszy, numer(plik));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Nie udalo sie odczytac katalogu " + katalog, e);
+		}
+		return najnowszy;
+	}
+
+	private static String nazwa(long numerSegmentu) {
+		return String.format("%s%08d%s", PREFIKS, numerSegmentu, ROZSZERZENIE);
+	}
+
+	private static long numer(Path plik) {
+		String nazwa = plik.getFileName().toString();
+		return Long.parseLong(nazwa.substring(PREFIKS.length(), nazwa.length() - ROZSZERZENIE.length()));
+	}
+}
@@ -1,5 +1,14 @@
 package model;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Główna klasa modelu koordynująca operacje zarządzania kinem.
  * Działa jako fasada między kontrolerami a warstwą dostępu do danych.
@@ -7,6 +16,48 @@ package model;
 public class Model implements IModel {
 	private Oferta oferta;
 	private IDAO dao;
+	private final RejestrMiejsc rejestrMiejsc;
+	private final BlokadyMiejsc blokadyMiejsc;
+	private final ListyOczekujacych listyOczekujacych = new ListyOczekujacych();
+	private final PamiecPodrecznaLRU<String, Repertuar> repertuary = new PamiecPodrecznaLRU<>(
+			POJEMNOSC_REPERTUAROW);
+	private final IndeksRepertuaru indeksRepertuaru = new IndeksRepertuaru();
+	private final Set<String> pominieteSeanse = ConcurrentHashMap.newKeySet();
+
+	/** Czas, przez jaki wybrane miejsca czekają na zakup (10 minut). */
+	public static final long CZAS_BLOKADY_MS = 10 * 60 * 1000L;
+
+	/** Liczba zapamiętanych repertuarów filmów. */
+	public static final int POJEMNOSC_REPERTUAROW = 1024;
+
+	/** Pula renderująca repertuar kina, po jednym wątku na rdzeń. */
+	private static final ForkJoinPool PULA_REPERTUARU = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Wyrenderowany repertuar filmu wraz z wersjami map miejsc jego seansów
+	 * z chwili renderowania. Zmiana zajętości któregoś seansu zmienia wersję
+	 * jego mapy, więc nieaktualny tekst jest rozpoznawany bez renderowania.
+	 */
+	private static final class Repertuar {
+		private final String tekst;
+		private final MapaMiejsc[] mapy;
+		private final long[] wersje;
+
+		private Repertuar(String tekstValue, MapaMiejsc[] mapyValue, long[] wersjeValue) {
+			tekst = tekstValue;
+			mapy = mapyValue;
+			wersje = wersjeValue;
+		}
+
+		private boolean czyAktualny() {
+			for (int i = 0; i < mapy.length; i++) {
+				if (mapy[i] != null && mapy[i].dajWersje() != wersje[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
 
 	/**
 	 * Tworzy Model z określoną ofertą i DAO.
@@ -15,8 +66,43 @@ public class Model implements IModel {
 	 * @param daoValue    obiekt dostępu do danych dla trwałości
 	 */
 	public Model(Oferta ofertaValue, IDAO daoValue) {
+		this(ofertaValue, daoValue, new BlokadyMiejsc());
+	}
+
+	/**
+	 * Tworzy Model z określoną ofertą, DAO i rejestrem blokad miejsc.
+	 * 
+	 * @param ofertaValue        instancja oferty kina
+	 * @param daoValue           obiekt dostępu do danych dla trwałości
+	 * @param blokadyMiejscValue rejestr czasowych blokad miejsc, np. z zegarem
+	 *                           sterowanym w testach, lub null dla rejestru
+	 *                           z zegarem systemowym
+	 */
+	public Model(Oferta ofertaValue, IDAO daoValue, BlokadyMiejsc blokadyMiejscValue) {
+		this(ofertaValue, daoValue, blokadyMiejscValue, null);
+	}
+
+	/**
+	 * Tworzy Model z określoną ofertą, DAO, rejestrem blokad miejsc i
+	 * katalogiem układów sal. Mapa miejsc seansu w sali z katalogu ma
+	 * wielkość układu sali, a miejsc wyłączonych z użytku nie można
+	 * zarezerwować ani zablokować. Układ jest brany przy tworzeniu mapy,
+	 * więc salę trzeba zarejestrować przed pierwszą rezerwacją jej seansów.
+	 * 
+	 * @param ofertaValue        instancja oferty kina
+	 * @param daoValue           obiekt dostępu do danych dla trwałości
+	 * @param blokadyMiejscValue rejestr czasowych blokad miejsc lub null dla
+	 *                           rejestru z zegarem systemowym
+	 * @param katalogSalValue    katalog układów sal lub null, jeśli seanse mają
+	 *                           tylko liczbę miejsc z danych seansu
+	 */
+	public Model(Oferta ofertaValue, IDAO daoValue, BlokadyMiejsc blokadyMiejscValue,
+			KatalogSal katalogSalValue) {
 		oferta = ofertaValue;
 		dao = daoValue;
+		rejestrMiejsc = new RejestrMiejsc(daoValue, katalogSalValue);
+		blokadyMiejsc = blokadyMiejscValue != null ? blokadyMiejscValue : new BlokadyMiejsc();
+		blokadyMiejsc.ustawOdbiorceZwolnionychMiejsc(this::zwolnijBlokade);
 	}
 
 	/**
@@ -35,20 +121,35 @@ public class Model implements IModel {
 				film.dajGatunek() + ";" + film.dajCeneSeansow();
 
 		String idFilmu = dao.dodajFilm(opis);
+		indeksRepertuaru.dodajFilm(opis);
 		dao.dodajWpisDoLogu("Dodano film: " + idFilmu);
 
 		return "Film dodany pomyslnie. ID: " + idFilmu;
 	}
 
 	/**
-	 * Edytuje istniejący film w systemie kina.
+	 * Edytuje istniejący film w systemie kina i unieważnia jego repertuar.
+	 * Dane są sprawdzane przed zapisem, więc nieprawidłowe dane nie trafiają
+	 * do DAO ani do indeksu repertuaru.
 	 * 
 	 * @param idFilmu   ID filmu do edycji
-	 * @param daneFilmu nowe dane filmu
-	 * @return komunikat potwierdzenia
+	 * @param daneFilmu nowe dane filmu w formacie: tytul;opis;czas;gatunek;cena
+	 * @return komunikat potwierdzenia lub komunikat błędu
 	 */
 	public String edytujFilm(String idFilmu, String daneFilmu) {
-		throw new UnsupportedOperationException();
+		if (dao.znajdzFilm(idFilmu) == null) {
+			return "Blad: Film o ID " + idFilmu + " nie istnieje";
+		}
+		try {
+			RekordFilmu.parsuj(idFilmu + ";" + daneFilmu);
+		} catch (IllegalArgumentException e) {
+			return "Blad: " + e.getMessage();
+		}
+		dao.edytujFilm(idFilmu + ";" + daneFilmu);
+		indeksRepertuaru.dodajFilm(idFilmu + ";" + daneFilmu);
+		repertuary.uniewaznij(idFilmu);
+		dao.dodajWpisDoLogu("Edytowano film: " + idFilmu);
+		return "Film zaktualizowany pomyslnie. ID: " + idFilmu;
 	}
 
 	/**
@@ -62,125 +163,611 @@ public class Model implements IModel {
 	}
 
 	/**
-	 * Dodaje nowy seans do systemu kina.
+	 * Dodaje nowy seans do systemu kina i unieważnia repertuar jego filmu.
+	 * Dane są sprawdzane przed zapisem, więc seans z nieprawidłowymi danymi
+	 * nie trafia do DAO.
 	 * 
 	 * @param daneSeansu dane seansu w formacie rozdzielanym średnikami
-	 * @return komunikat potwierdzenia z ID seansu
+	 * @return komunikat potwierdzenia z ID seansu lub komunikat błędu
 	 */
 	public String dodajSeans(String daneSeansu) {
+		RekordSeansu rekord;
+		try {
+			rekord = RekordSeansu.parsuj(daneSeansu);
+		} catch (IllegalArgumentException e) {
+			return "Blad: " + e.getMessage();
+		}
 		String id = dao.dodajSeans(daneSeansu);
+		zaindeksujSeans(id, daneSeansu);
+		repertuary.uniewaznij(rekord.dajIdFilmu());
 		dao.dodajWpisDoLogu("Dodano seans: " + id);
 		return "Seans dodany pomyslnie. ID: " + id;
 	}
 
 	/**
-	 * Edytuje istniejący seans w systemie kina.
+	 * Edytuje istniejący seans w systemie kina. Unieważnia repertuar
+	 * poprzedniego i nowego filmu seansu. Gdy nowe dane zmieniają kształt
+	 * sali (liczbę miejsc lub układ), zmiana jest możliwa tylko dla seansu
+	 * bez sprzedanych i zablokowanych miejsc: jego mapa miejsc jest
+	 * zamykana, żeby nikt nie zarezerwował w niej miejsca w trakcie zmiany,
+	 * a potem zastępowana mapą nowej sali.
 	 * 
 	 * @param idSeansu   ID seansu do edycji
-	 * @param daneSeansu nowe dane seansu
-	 * @return komunikat potwierdzenia
+	 * @param daneSeansu nowe dane seansu w formacie: idFilmu;data;sala;miejsca
+	 * @return komunikat potwierdzenia lub komunikat błędu
 	 */
 	public String edytujSeans(String idSeansu, String daneSeansu) {
-		throw new UnsupportedOperationException();
+		String stareDane = dao.znajdzSeans(idSeansu);
+		if (stareDane == null) {
+			return "Blad: Seans o ID " + idSeansu + " nie istnieje";
+		}
+		RekordSeansu nowy;
+		try {
+			nowy = RekordSeansu.parsuj(daneSeansu);
+		} catch (IllegalArgumentException e) {
+			return "Blad: " + e.getMessage();
+		}
+		// Mapa odtworzona z DAO obejmuje też rezerwacje sprzed ponownego uruchomienia
+		MapaMiejsc mapa = znajdzMape(idSeansu, stareDane);
+		boolean nowaSala = mapa != null && !rejestrMiejsc.czyPasuje(mapa, daneSeansu);
+		if (nowaSala && !mapa.zamknijPusta()) {
+			return "Blad: Seans o ID " + idSeansu + " ma sprzedane lub zablokowane miejsca, nie mozna zmienic sali";
+		}
+		dao.edytujSeans(idSeansu + ";" + daneSeansu);
+		zaindeksujSeans(idSeansu, daneSeansu);
+		repertuary.uniewaznij(new KursorPol(stareDane).nastepnyTekst());
+		repertuary.uniewaznij(nowy.dajIdFilmu());
+		if (nowaSala) {
+			rejestrMiejsc.usunMape(idSeansu);
+		}
+		dao.dodajWpisDoLogu("Edytowano seans: " + idSeansu);
+		return "Seans zaktualizowany pomyslnie. ID: " + idSeansu;
 	}
 
 	/**
-	 * Usuwa seans z systemu kina.
+	 * Usuwa seans z systemu kina wraz z jego mapą miejsc, blokadami miejsc,
+	 * listą oczekujących i nieodebranymi przydziałami oraz unieważnia
+	 * repertuar jego filmu.
 	 * 
 	 * @param idSeansu ID seansu do usunięcia
-	 * @return komunikat potwierdzenia
+	 * @return komunikat potwierdzenia lub komunikat błędu
 	 */
 	public String usunSeans(String idSeansu) {
-		throw new UnsupportedOperationException();
+		String seansData = dao.znajdzSeans(idSeansu);
+		if (seansData == null) {
+			return "Blad: Seans o ID " + idSeansu + " nie istnieje";
+		}
+		dao.usunSeans(idSeansu);
+		indeksRepertuaru.usunSeans(idSeansu);
+		pominieteSeanse.remove(idSeansu);
+		repertuary.uniewaznij(new KursorPol(seansData).nastepnyTekst());
+		blokadyMiejsc.usunBlokadySeansu(idSeansu);
+		listyOczekujacych.usunSeans(idSeansu);
+		rejestrMiejsc.usunMape(idSeansu);
+		dao.dodajWpisDoLogu("Usunieto seans: " + idSeansu);
+		return "Seans usuniety pomyslnie. ID: " + idSeansu;
+	}
+
+	/**
+	 * Importuje partiami filmy z pliku CSV.
+	 * Zamiast wpisu w dzienniku dla każdego filmu zapisywany jest jeden
+	 * wpis na partię. Po każdej partii zaimportowane filmy trafiają do
+	 * indeksu repertuaru, a ich zapamiętane repertuary są unieważniane.
+	 * 
+	 * @param plik plik z wierszami w formacie: id;tytul;opis;czas;gatunek;cena
+	 * @return komunikat z liczbą zaimportowanych i odrzuconych wierszy
+	 */
+	public String importujFilmy(Path plik) {
+		WynikImportu wynik = new ImportKatalogu(dao, ImportKatalogu.DOMYSLNY_ROZMIAR_PARTII, (id, partia) -> {
+			for (int i = 0; i < id.length; i++) {
+				indeksRepertuaru.dodajFilm(partia.get(i));
+				repertuary.uniewaznij(id[i]);
+			}
+		}).importujFilmy(plik);
+		return "Zaimportowano filmow: " + wynik.dajLiczbeZaimportowanych() + ", odrzucono wierszy: "
+				+ wynik.dajLiczbeOdrzuconych();
+	}
+
+	/**
+	 * Importuje partiami seanse z pliku CSV.
+	 * Zamiast wpisu w dzienniku dla każdego seansu zapisywany jest jeden
+	 * wpis na partię. Po każdej partii seanse trafiają do indeksu
+	 * repertuaru, a zapamiętane repertuary ich filmów są unieważniane,
+	 * bo wersje map miejsc nie obejmują seansów dodanych po renderowaniu.
+	 * 
+	 * @param plik plik z wierszami w formacie: idFilmu;data;sala;miejsca
+	 * @return komunikat z liczbą zaimportowanych i odrzuconych wierszy
+	 */
+	public String importujSeanse(Path plik) {
+		WynikImportu wynik = new ImportKatalogu(dao, ImportKatalogu.DOMYSLNY_ROZMIAR_PARTII, (id, partia) -> {
+			for (int i = 0; i < id.length; i++) {
+				zaindeksujSeans(id[i], partia.get(i));
+				repertuary.uniewaznij(new KursorPol(partia.get(i)).nastepnyTekst());
+			}
+		}).importujSeanse(plik);
+		return "Zaimportowano seansow: " + wynik.dajLiczbeZaimportowanych() + ", odrzucono wierszy: "
+				+ wynik.dajLiczbeOdrzuconych();
 	}
 
 	/**
 	 * Pobiera repertuar kina na podstawie kryteriów wyszukiwania.
+	 * Przy każdym seansie podaje liczbę wolnych miejsc i oznaczenie
+	 * wyprzedanego seansu, odczytane z liczników mapy miejsc bez jej
+	 * przeglądania.
+	 * Wyrenderowany repertuar jest zapamiętywany dla kryteriów, więc kolejne
+	 * przeglądanie popularnego filmu to jedno wyszukanie w pamięci i
+	 * porównanie wersji map miejsc. Wpis jest unieważniany przez zmiany
+	 * seansów i filmu wykonywane przez Model oraz przez każdą zmianę
+	 * zajętości miejsc jego seansów.
 	 * 
 	 * @param kryteria kryteria wyszukiwania (np. ID filmu)
 	 * @return sformatowany ciąg znaków pasujących seansów lub komunikat jeśli nie
 	 *         znaleziono
 	 */
 	public String pobierzRepertuar(String kryteria) {
-		String[] seansyIds = dao.znajdzSeansyFilmu(kryteria);
+		blokadyMiejsc.przetworzWygasle();
+		Repertuar repertuar = repertuary.pobierz(kryteria, this::wyrenderujRepertuar);
+		if (repertuar != null && !repertuar.czyAktualny()) {
+			repertuary.uniewaznij(kryteria);
+			repertuar = repertuary.pobierz(kryteria, this::wyrenderujRepertuar);
+		}
+		return repertuar != null ? repertuar.tekst : "Brak seansow dla filmu: " + kryteria;
+	}
+
+	/**
+	 * Renderuje repertuar filmu i zapamiętuje wersje map miejsc jego seansów.
+	 * Wersja mapy jest odczytywana przed licznikami, więc zmiana w trakcie
+	 * renderowania unieważni wynik przy następnym odczycie.
+	 * 
+	 * @param kryteria kryteria wyszukiwania (np. ID filmu)
+	 * @return repertuar lub null, jeśli film nie ma seansów
+	 */
+	private Repertuar wyrenderujRepertuar(String kryteria) {
+		String[] seansyIds = posortowaneSeansyFilmu(kryteria);
 
-		if (seansyIds == null || seansyIds.length == 0) {
-			return "Brak seansow dla filmu: " + kryteria;
+		if (seansyIds.length == 0) {
+			return null;
 		}
 
+		MapaMiejsc[] mapy = new MapaMiejsc[seansyIds.length];
+		long[] wersje = new long[seansyIds.length];
+		StronaRepertuaru strona = wyrenderujStrone(seansyIds, 0, seansyIds.length, null, mapy, wersje);
+
 		StringBuilder repertuar = new StringBuilder();
 		repertuar.append("Repertuar dla filmu ").append(kryteria).append(":\n");
+		for (int i = 0; i < strona.dajLiczbeSeansow(); i++) {
+			repertuar.append("  - Seans: ").append(strona.dajOpis(i)).append("\n");
+		}
+
+		return new Repertuar(repertuar.toString(), mapy, wersje);
+	}
 
+	/**
+	 * Pobiera jedną stronę repertuaru filmu. Seanse są uporządkowane według
+	 * ID, a kursor to ID ostatniego seansu strony, więc kolejne strony nie
+	 * gubią ani nie powtarzają seansów, nawet gdy w międzyczasie seans
+	 * zostanie usunięty lub dodany. Strona jest brana z uporządkowanego
+	 * zbioru seansów filmu w indeksie repertuaru od pozycji kursora, więc jej
+	 * koszt zależy od rozmiaru strony, a nie od liczby seansów filmu.
+	 * 
+	 * @param kryteria      kryteria wyszukiwania (np. ID filmu)
+	 * @param kursor        kursor z poprzedniej strony lub null dla pierwszej
+	 * @param rozmiarStrony największa liczba seansów na stronie
+	 * @return strona repertuaru (pusta, jeśli film nie ma seansów)
+	 * @throws IllegalArgumentException jeśli rozmiar strony nie jest dodatni
+	 */
+	public StronaRepertuaru pobierzStroneRepertuaru(String kryteria, String kursor, int rozmiarStrony) {
+		sprawdzRozmiarStrony(rozmiarStrony);
+		blokadyMiejsc.przetworzWygasle();
+		zaindeksujSeanseFilmu(kryteria);
+		// Jeden seans ponad stronę mówi, czy jest następna strona.
+		int limit = rozmiarStrony == Integer.MAX_VALUE ? rozmiarStrony : rozmiarStrony + 1;
+		String[] seansyIds = indeksRepertuaru.dajSeanseFilmu(kryteria, kursor, limit);
+		int koniec = Math.min(seansyIds.length, rozmiarStrony);
+		String nastepnyKursor = seansyIds.length > rozmiarStrony ? seansyIds[koniec - 1] : null;
+		return wyrenderujStrone(seansyIds, 0, koniec, nastepnyKursor, null, null);
+	}
+
+	/**
+	 * Pobiera jedną stronę repertuaru całego kina. Seanse wszystkich filmów
+	 * są uporządkowane według daty i ID, a kursor wskazuje datę i ID
+	 * ostatniego seansu strony. Strona powstaje z indeksu dat bez
+	 * odczytywania pozostałych seansów. Seanse zapisane w DAO z pominięciem
+	 * Modelu są najpierw dopisywane do indeksu.
+	 * 
+	 * @param idKina        ID kina (system obsługuje jedno kino)
+	 * @param kursor        kursor z poprzedniej strony w formacie data;idSeansu
+	 *                      lub null dla pierwszej
+	 * @param rozmiarStrony największa liczba seansów na stronie
+	 * @return strona repertuaru
+	 * @throws IllegalArgumentException jeśli rozmiar strony nie jest dodatni
+	 *                                  lub kursor jest nieprawidłowy
+	 */
+	public StronaRepertuaru pobierzStroneRepertuaruKina(String idKina, String kursor, int rozmiarStrony) {
+		sprawdzRozmiarStrony(rozmiarStrony);
+		String poDacie = null;
+		String poId = null;
+		if (kursor != null) {
+			KursorPol pola = new KursorPol(kursor);
+			poDacie = pola.nastepnyTekst();
+			poId = pola.nastepnyTekst();
+			pola.sprawdzKoniec();
+		}
+		blokadyMiejsc.przetworzWygasle();
+		uzgodnijIndeks();
+		// Jeden seans ponad stronę mówi, czy jest następna strona.
+		int limit = rozmiarStrony == Integer.MAX_VALUE ? rozmiarStrony : rozmiarStrony + 1;
+		List<String> daty = new ArrayList<>();
+		String[] seansyIds = indeksRepertuaru.dajStrone(poDacie, poId, limit, daty);
+		int koniec = Math.min(seansyIds.length, rozmiarStrony);
+		String nastepnyKursor = seansyIds.length > rozmiarStrony
+				? daty.get(koniec - 1) + ";" + seansyIds[koniec - 1]
+				: null;
+		return wyrenderujStrone(seansyIds, 0, koniec, nastepnyKursor, null, null);
+	}
+
+	/**
+	 * Wyszukuje seanse według gatunku, zakresu dat, sali, ceny i tytułu filmu.
+	 * Kandydaci pochodzą z indeksu najbardziej selektywnego kryterium, a
+	 * pozostałe kryteria są sprawdzane tylko dla nich (zob.
+	 * {@link IndeksRepertuaru}). Seanse zapisane w DAO z pominięciem Modelu
+	 * są przed zapytaniem dopisywane do indeksu. Przy każdym seansie
+	 * podawana jest liczba wolnych miejsc, jak w
+	 * {@link #pobierzRepertuar(String)}.
+	 * 
+	 * @param kryteria kryteria w formacie: gatunek;odDaty;doDaty;sala;maksCena;tytul
+	 *                 (puste pole oznacza dowolną wartość)
+	 * @return sformatowana lista pasujących seansów lub komunikat błędu
+	 */
+	public String wyszukajSeanse(String kryteria) {
+		KryteriaRepertuaru zapytanie = KryteriaRepertuaru.parsuj(kryteria);
+		if (zapytanie.czyPuste()) {
+			return "Blad: Podaj co najmniej jedno kryterium wyszukiwania";
+		}
+		uzgodnijIndeks();
+		String[] seansyIds = indeksRepertuaru.znajdz(zapytanie);
+		if (seansyIds.length == 0) {
+			return "Brak seansow spelniajacych kryteria: " + kryteria;
+		}
+
+		StringBuilder wynik = new StringBuilder();
+		wynik.append("Znalezione seanse (").append(seansyIds.length).append("):\n");
+		blokadyMiejsc.przetworzWygasle();
 		for (String seansId : seansyIds) {
 			String seansData = dao.znajdzSeans(seansId);
 			if (seansData != null) {
-				repertuar.append("  - Seans: ").append(seansData).append("\n");
+				wynik.append("  - Seans ").append(seansId).append(": ").append(seansData);
+				dopiszZajetosc(wynik, znajdzMape(seansId, seansData));
+				wynik.append("\n");
 			}
 		}
-
-		return repertuar.toString();
+		return wynik.toString();
 	}
 
 	/**
-	 * Pobiera pełny repertuar dla określonego kina.
+	 * Pobiera pełny repertuar dla określonego kina, np. do nocnego eksportu.
+	 * Seanse zapisane w DAO z pominięciem Modelu są najpierw dopisywane do
+	 * indeksu. Repertuar jest dzielony na dni z indeksu dat: każdy dzień
+	 * jest jedną częścią, która pobiera z indeksu tylko swoje seanse
+	 * w porządku stron {@link #pobierzStroneRepertuaruKina(String, String, int)},
+	 * więc indeks jest blokowany na czas odczytu jednego dnia, a nie całego
+	 * repertuaru. Części są renderowane równolegle w puli fork/join, a potem
+	 * łączone w kolejności dni, więc wynik nie zależy od liczby wątków.
 	 * 
-	 * @param idKina ID kina
-	 * @return pełny repertuar kina
+	 * @param idKina ID kina (system obsługuje jedno kino)
+	 * @return pełny repertuar kina lub komunikat, jeśli kino nie ma seansów
 	 */
 	public String pobierzRepertuarKina(String idKina) {
-		throw new UnsupportedOperationException();
+		uzgodnijIndeks();
+		List<String> dni = indeksRepertuaru.dajDni();
+		if (dni.isEmpty()) {
+			return "Brak seansow w kinie: " + idKina;
+		}
+		blokadyMiejsc.przetworzWygasle();
+
+		String[] czesci = new String[dni.size()];
+		PULA_REPERTUARU.invoke(new RenderowanieCzesci(dni, czesci, 0, czesci.length));
+
+		String naglowek = "Repertuar kina " + idKina + ":\n";
+		int dlugosc = naglowek.length();
+		for (String czesc : czesci) {
+			dlugosc += czesc.length();
+		}
+		StringBuilder repertuar = new StringBuilder(dlugosc);
+		repertuar.append(naglowek);
+		for (String czesc : czesci) {
+			repertuar.append(czesc);
+		}
+		return repertuar.toString();
+	}
+
+	/**
+	 * Zadanie fork/join renderujące przedział dni repertuaru kina.
+	 * Przedział jest dzielony na połowy aż do pojedynczego dnia, a każdy
+	 * dzień trafia na swoją pozycję tablicy wyników.
+	 */
+	private final class RenderowanieCzesci extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final List<String> dni;
+		private final String[] czesci;
+		private final int od;
+		private final int koniec;
+
+		private RenderowanieCzesci(List<String> dniValue, String[] czesciValue, int odValue, int koniecValue) {
+			dni = dniValue;
+			czesci = czesciValue;
+			od = odValue;
+			koniec = koniecValue;
+		}
+
+		@Override
+		protected void compute() {
+			if (koniec - od > 1) {
+				int srodek = (od + koniec) >>> 1;
+				invokeAll(new RenderowanieCzesci(dni, czesci, od, srodek),
+						new RenderowanieCzesci(dni, czesci, srodek, koniec));
+				return;
+			}
+			String[] seansyIds = indeksRepertuaru.dajSeanseDnia(dni.get(od));
+			StronaRepertuaru strona = wyrenderujStrone(seansyIds, 0, seansyIds.length, null, null, null);
+			StringBuilder czesc = new StringBuilder(strona.dajLiczbeSeansow() * 64);
+			for (int i = 0; i < strona.dajLiczbeSeansow(); i++) {
+				czesc.append("  - Seans ").append(strona.dajIdSeansu(i)).append(": ").append(strona.dajOpis(i))
+						.append("\n");
+			}
+			czesci[od] = czesc.toString();
+		}
 	}
 
 	/**
 	 * Tworzy rezerwację na seans.
-	 * Parsuje dane rezerwacji, tworzy obiekt rezerwacji, zapisuje go i loguje
-	 * operację.
+	 * Parsuje dane rezerwacji, atomowo zajmuje miejsce w mapie miejsc seansu,
+	 * a dopiero potem tworzy obiekt rezerwacji, zapisuje go i loguje operację.
+	 * Miejsce zajęte już przez inną rezerwację lub blokadę jest odrzucane.
 	 * 
 	 * @param daneRezerwacji dane rezerwacji w formacie:
 	 *                       idSeansu;idKlienta;nrMiejsca;cena
-	 * @return komunikat potwierdzenia ze szczegółami rezerwacji
+	 * @return komunikat potwierdzenia ze szczegółami rezerwacji lub komunikat błędu
 	 */
 	public String zarezerwujMiejsce(String daneRezerwacji) {
-		String[] dane = daneRezerwacji.split(";");
-		String idSeansu = dane[0];
-		String idKlienta = dane[1];
-		int nrMiejsca = Integer.parseInt(dane[2]);
-		double cena = Double.parseDouble(dane[3]);
+		KursorPol dane = new KursorPol(daneRezerwacji);
+		String idSeansu = dane.nastepnyTekst();
+		String idKlienta = dane.nastepnyTekst();
+		int nrMiejsca = dane.nastepnyInt();
+		double cena = dane.nastepnyDouble();
 
 		// Sprawdzenie czy seans istnieje (Fix #6)
 		String seansData = dao.znajdzSeans(idSeansu);
 		if (seansData == null) {
 			return "Blad: Seans o ID " + idSeansu + " nie istnieje";
 		}
+		MapaMiejsc mapa = rejestrMiejsc.dajMape(idSeansu, seansData);
+		blokadyMiejsc.przetworzWygasle();
+		if (!mapa.zajmij(nrMiejsca)) {
+			return "Blad: Miejsce " + nrMiejsca + " nie jest dostepne na seansie " + idSeansu;
+		}
 
 		// ID rezerwacji będzie wygenerowane przez DAO (Fix #4)
 		Rezerwacja rezerwacja = new Rezerwacja(null, idSeansu, idKlienta, nrMiejsca, cena);
 
 		String opis = rezerwacja.dajOpis();
-		String id = dao.dodajRezerwacje(opis);
-		dao.dodajWpisDoLogu("Zarezerwowano bilet: " + id + " dla klienta: " + idKlienta);
+		String id;
+		try {
+			id = dao.dodajRezerwacje(opis);
+		} catch (RuntimeException e) {
+			mapa.zwolnij(nrMiejsca);
+			throw e;
+		}
+		dao.dodajWpisDoLogu("Zarezerwowano bilet: " + id + " na seans: " + idSeansu + " dla klienta: " + idKlienta);
 
 		return "Rezerwacja wykonana pomyslnie. ID: " + id + ", cena: " + cena + " PLN";
 	}
 
 	/**
-	 * Anuluje istniejącą rezerwację.
+	 * Rezerwuje grupę miejsc na seans: wszystkie albo żadne.
+	 * Miejsca są zajmowane atomowo w mapie miejsc seansu, bez blokady
+	 * globalnej, a dopiero potem zapisywana jest rezerwacja każdego miejsca.
+	 * 
+	 * @param daneRezerwacji dane w formacie: idSeansu;idKlienta;nr1,nr2,...;cena
+	 *                       (cena dotyczy jednego miejsca)
+	 * @return komunikat potwierdzenia z ID rezerwacji lub komunikat błędu
+	 */
+	public String zarezerwujMiejsca(String daneRezerwacji) {
+		KursorPol dane = new KursorPol(daneRezerwacji);
+		String idSeansu = dane.nastepnyTekst();
+		String idKlienta = dane.nastepnyTekst();
+		int[] nrMiejsc = dane.nastepneInty();
+		double cena = dane.nastepnyDouble();
+
+		String seansData = dao.znajdzSeans(idSeansu);
+		if (seansData == null) {
+			return "Blad: Seans o ID " + idSeansu + " nie istnieje";
+		}
+		MapaMiejsc mapa = rejestrMiejsc.dajMape(idSeansu, seansData);
+		blokadyMiejsc.przetworzWygasle();
+		if (!mapa.zajmijWszystkie(nrMiejsc)) {
+			return "Blad: Miejsca " + polaczNumery(nrMiejsc) + " nie sa dostepne na seansie " + idSeansu;
+		}
+
+		return "Rezerwacja grupowa wykonana pomyslnie. ID: "
+				+ zapiszRezerwacje(idSeansu, idKlienta, nrMiejsc, cena, mapa) + ", cena: "
+				+ cena * nrMiejsc.length + " PLN";
+	}
+
+	/**
+	 * Zwraca zmiany miejsc seansu od wersji znanej klientowi, np. dla strony
+	 * wyboru miejsc odpytującej serwer co kilka sekund. Gdy nic się nie
+	 * zmieniło, odpowiedź zawiera tylko wersję; pełna lista wolnych miejsc
+	 * jest wysyłana tylko wtedy, gdy wersja klienta wypadła z historii.
+	 * 
+	 * @param daneZapytania dane w formacie: idSeansu;wersja (-1 dla nowego klienta)
+	 * @return nowa wersja i zmienione miejsca, pełna lista wolnych miejsc albo
+	 *         komunikat błędu
+	 */
+	public String pobierzZmianyMiejsc(String daneZapytania) {
+		KursorPol dane = new KursorPol(daneZapytania);
+		String idSeansu = dane.nastepnyTekst();
+		long wersja = Long.parseLong(dane.nastepnyTekst());
+
+		String seansData = dao.znajdzSeans(idSeansu);
+		if (seansData == null) {
+			return "Blad: Seans o ID " + idSeansu + " nie istnieje";
+		}
+		blokadyMiejsc.przetworzWygasle();
+		ZmianyMiejsc zmiany = rejestrMiejsc.dajMape(idSeansu, seansData).dajZmiany(wersja);
+		if (zmiany.czyPelna()) {
+			return "Seans " + idSeansu + ", wersja: " + zmiany.dajWersje() + ", wolne miejsca: "
+					+ polaczNumery(zmiany.dajWolne());
+		}
+		return "Seans " + idSeansu + ", wersja: " + zmiany.dajWersje() + ", zwolnione: "
+				+ polaczNumery(zmiany.dajWolne()) + ", zajete: " + polaczNumery(zmiany.dajZajete());
+	}
+
+	/**
+	 * Blokuje wybrane miejsca na czas zakupu ({@link #CZAS_BLOKADY_MS}).
+	 * Zablokowane miejsca są niedostępne dla innych klientów, a jeśli zakup
+	 * nie zostanie sfinalizowany na czas, wracają do sprzedaży.
+	 * 
+	 * @param daneMiejsc dane w formacie: idSeansu;idKlienta;nr1,nr2,...
+	 * @return komunikat z ID blokady lub komunikat błędu
+	 */
+	public String zablokujMiejsca(String daneMiejsc) {
+		KursorPol dane = new KursorPol(daneMiejsc);
+		String idSeansu = dane.nastepnyTekst();
+		String idKlienta = dane.nastepnyTekst();
+		int[] nrMiejsc = dane.nastepneInty();
+
+		String seansData = dao.znajdzSeans(idSeansu);
+		if (seansData == null) {
+			return "Blad: Seans o ID " + idSeansu + " nie istnieje";
+		}
+		MapaMiejsc mapa = rejestrMiejsc.dajMape(idSeansu, seansData);
+		String idBlokady = blokadyMiejsc.zablokuj(idSeansu, idKlienta, mapa, nrMiejsc, CZAS_BLOKADY_MS);
+		if (idBlokady == null) {
+			return "Blad: Miejsca " + polaczNumery(nrMiejsc) + " nie sa dostepne na seansie " + idSeansu;
+		}
+		return "Miejsca zablokowane do zakupu. ID blokady: " + idBlokady;
+	}
+
+	/**
+	 * Anuluje istniejącą rezerwację. Zwolnione miejsce trafia od razu do
+	 * pierwszego klienta z listy oczekujących seansu, jeśli ktoś oczekuje.
 	 * 
 	 * @param idRezerwacji ID rezerwacji do anulowania
-	 * @return komunikat potwierdzenia
+	 * @return komunikat potwierdzenia lub komunikat błędu
 	 */
 	public String anulujRezerwacje(String idRezerwacji) {
-		throw new UnsupportedOperationException();
+		String rezerwacjaData = dao.znajdzRezerwacje(idRezerwacji);
+		if (rezerwacjaData == null) {
+			return "Blad: Rezerwacja o ID " + idRezerwacji + " nie istnieje";
+		}
+		KursorPol dane = new KursorPol(rezerwacjaData);
+		dane.pominPole();
+		String idSeansu = dane.nastepnyTekst();
+		String idKlienta = dane.nastepnyTekst();
+		int nrMiejsca = dane.nastepnyInt();
+
+		// Mapa musi powstać przed usunięciem, żeby miejsce było w niej jeszcze zajęte
+		String seansData = dao.znajdzSeans(idSeansu);
+		MapaMiejsc mapa = seansData != null ? rejestrMiejsc.dajMape(idSeansu, seansData) : null;
+		dao.usunRezerwacje(idRezerwacji);
+		dao.dodajWpisDoLogu("Anulowano rezerwacje: " + idRezerwacji + " na seans: " + idSeansu + " dla klienta: "
+				+ idKlienta);
+		if (mapa != null) {
+			zwolnijMiejsca(idSeansu, mapa, new int[] { nrMiejsca });
+		}
+		return "Rezerwacja " + idRezerwacji + " anulowana";
 	}
 
 	/**
-	 * Finalizuje transakcję zakupu.
+	 * Zapisuje klienta na listę oczekujących wyprzedanego seansu. Gdy ktoś
+	 * zwolni miejsce, oczekujący z najwyższym priorytetem (przy równym -
+	 * zapisany najwcześniej) dostaje je jako blokadę ważną
+	 * {@link #CZAS_BLOKADY_MS}, którą kupuje przez {@link #finalizujZakup(String)}.
 	 * 
-	 * @param daneZakupu dane zakupu
-	 * @return komunikat potwierdzenia
+	 * @param daneOczekiwania dane w formacie: idSeansu;idKlienta;priorytet
+	 *                        (wyższy priorytet jest obsługiwany wcześniej)
+	 * @return komunikat z pozycją w kolejce lub komunikat błędu
+	 */
+	public String zapiszNaListeOczekujacych(String daneOczekiwania) {
+		KursorPol dane = new KursorPol(daneOczekiwania);
+		String idSeansu = dane.nastepnyTekst();
+		String idKlienta = dane.nastepnyTekst();
+		int priorytet = dane.nastepnyInt();
+
+		String seansData = dao.znajdzSeans(idSeansu);
+		if (seansData == null) {
+			return "Blad: Seans o ID " + idSeansu + " nie istnieje";
+		}
+		MapaMiejsc mapa = rejestrMiejsc.dajMape(idSeansu, seansData);
+		blokadyMiejsc.przetworzWygasle();
+		int pozycja = listyOczekujacych.dodaj(idSeansu, idKlienta, priorytet);
+		if (pozycja == 0) {
+			return "Blad: Klient " + idKlienta + " juz oczekuje na seans " + idSeansu;
+		}
+		// Sprawdzenie po zapisie: miejsce zwolnione wcześniej nie trafiło do nikogo
+		if (mapa.dajLiczbeWolnych() > 0 && listyOczekujacych.usun(idSeansu, idKlienta)) {
+			return "Blad: Seans " + idSeansu + " ma wolne miejsca, zarezerwuj je bezposrednio";
+		}
+		return "Zapisano na liste oczekujacych seansu " + idSeansu + ", pozycja: " + pozycja;
+	}
+
+	/**
+	 * Sprawdza stan oczekiwania klienta na miejsce. Przydzielone miejsce jest
+	 * zwracane raz, razem z ID blokady do sfinalizowania zakupu.
+	 * 
+	 * @param daneOczekiwania dane w formacie: idSeansu;idKlienta
+	 * @return przydzielone miejsce, pozycja w kolejce lub komunikat błędu
+	 */
+	public String sprawdzOczekiwanie(String daneOczekiwania) {
+		KursorPol dane = new KursorPol(daneOczekiwania);
+		String idSeansu = dane.nastepnyTekst();
+		String idKlienta = dane.nastepnyTekst();
+
+		blokadyMiejsc.przetworzWygasle();
+		String przydzial = listyOczekujacych.odbierzPrzydzial(idSeansu, idKlienta);
+		if (przydzial != null) {
+			return przydzial;
+		}
+		int pozycja = listyOczekujacych.dajPozycje(idSeansu, idKlienta);
+		if (pozycja == 0) {
+			return "Blad: Klient " + idKlienta + " nie oczekuje na seans " + idSeansu;
+		}
+		return "Oczekiwanie na seans " + idSeansu + ", pozycja: " + pozycja;
+	}
+
+	/**
+	 * Finalizuje transakcję zakupu: zamienia aktywną blokadę miejsc na
+	 * rezerwacje. Blokada, która zdążyła wygasnąć, nie może zostać kupiona,
+	 * podobnie jak blokada seansu usuniętego w trakcie zakupu.
+	 * 
+	 * @param daneZakupu dane zakupu w formacie: idBlokady;cena (cena dotyczy
+	 *                   jednego miejsca)
+	 * @return komunikat potwierdzenia z ID rezerwacji lub komunikat błędu
 	 */
 	public String finalizujZakup(String daneZakupu) {
-		throw new UnsupportedOperationException();
+		KursorPol dane = new KursorPol(daneZakupu);
+		String idBlokady = dane.nastepnyTekst();
+		double cena = dane.nastepnyDouble();
+
+		BlokadyMiejsc.Blokada blokada = blokadyMiejsc.potwierdz(idBlokady);
+		if (blokada == null) {
+			return "Blad: Blokada " + idBlokady + " wygasla lub nie istnieje";
+		}
+		int[] nrMiejsc = blokada.dajMiejsca();
+		String idSeansu = blokada.dajIdSeansu();
+		MapaMiejsc mapa = blokada.dajMape();
+		listyOczekujacych.usunPrzydzial(idSeansu, blokada.dajIdKlienta(), idBlokady);
+		// Blokada założona tuż przed usunięciem seansu trzyma mapę, której nie ma już w rejestrze
+		if (rejestrMiejsc.znajdzMape(idSeansu) != mapa || dao.znajdzSeans(idSeansu) == null) {
+			mapa.zwolnijWszystkie(nrMiejsc);
+			return "Blad: Seans o ID " + idSeansu + " nie istnieje";
+		}
+
+		return "Zakup sfinalizowany. ID: "
+				+ zapiszRezerwacje(idSeansu, blokada.dajIdKlienta(), nrMiejsc, cena, mapa)
+				+ ", cena: " + cena * nrMiejsc.length + " PLN";
 	}
 
 	/**
@@ -191,4 +778,292 @@ public class Model implements IModel {
 	public void zarejestrujZdarzenie(String zdarzenie) {
 		throw new UnsupportedOperationException();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Zwraca ID seansów filmu w porządku {@link IndeksRepertuaru#PORZADEK_ID}.
+	 * 
+	 * @param idFilmu ID filmu
+	 * @return posortowana kopia ID seansów (pusta, jeśli film nie ma seansów)
+	 */
+	private String[] posortowaneSeansyFilmu(String idFilmu) {
+		String[] seansyIds = dao.znajdzSeansyFilmu(idFilmu);
+		if (seansyIds == null) {
+			return new String[0];
+		}
+		seansyIds = seansyIds.clone();
+		Arrays.sort(seansyIds, IndeksRepertuaru.PORZADEK_ID);
+		return seansyIds;
+	}
+
+	/**
+	 * Renderuje seanse z podanego przedziału tablicy ID jako stronę
+	 * repertuaru. Seanse usunięte w międzyczasie są pomijane. Wersja mapy
+	 * miejsc jest odczytywana przed licznikami, więc zmiana w trakcie
+	 * renderowania unieważni zapamiętany repertuar przy następnym odczycie.
+	 * 
+	 * @param seansyIds      ID seansów
+	 * @param od             pierwsza pozycja (włącznie)
+	 * @param koniec         ostatnia pozycja (wyłącznie)
+	 * @param nastepnyKursor kursor następnej strony lub null
+	 * @param mapy           tablica na mapy miejsc seansów (wg pozycji w
+	 *                       seansyIds) lub null, jeśli nie są potrzebne
+	 * @param wersje         tablica na wersje tych map lub null
+	 * @return strona repertuaru
+	 */
+	private StronaRepertuaru wyrenderujStrone(String[] seansyIds, int od, int koniec, String nastepnyKursor,
+			MapaMiejsc[] mapy, long[] wersje) {
+		String[] ids = new String[koniec - od];
+		String[] opisy = new String[koniec - od];
+		int liczba = 0;
+		for (int i = od; i < koniec; i++) {
+			String seansData = dao.znajdzSeans(seansyIds[i]);
+			if (seansData == null) {
+				continue;
+			}
+			MapaMiejsc mapa = znajdzMape(seansyIds[i], seansData);
+			if (mapy != null && mapa != null) {
+				mapy[i] = mapa;
+				wersje[i] = mapa.dajWersje();
+			}
+			StringBuilder opis = new StringBuilder(seansData);
+			dopiszZajetosc(opis, mapa);
+			ids[liczba] = seansyIds[i];
+			opisy[liczba++] = opis.toString();
+		}
+		if (liczba < ids.length) {
+			ids = Arrays.copyOf(ids, liczba);
+			opisy = Arrays.copyOf(opisy, liczba);
+		}
+		return new StronaRepertuaru(ids, opisy, nastepnyKursor);
+	}
+
+	/**
+	 * Zwraca mapę miejsc seansu, tworząc ją przy pierwszym użyciu.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param seansData dane seansu w formacie: idFilmu;data;sala;miejsca
+	 * @return mapa miejsc lub null, jeśli dane seansu są nieprawidłowe
+	 */
+	private MapaMiejsc znajdzMape(String idSeansu, String seansData) {
+		try {
+			return rejestrMiejsc.dajMape(idSeansu, seansData);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Dopisuje do opisu seansu liczbę wolnych miejsc i oznaczenie wyprzedania.
+	 * Miejsca wyłączone z użytku w układzie sali nie liczą się ani do
+	 * wolnych, ani do wszystkich miejsc. Seans z nieprawidłowymi danymi (bez
+	 * mapy miejsc) jest pokazywany bez zajętości.
+	 * 
+	 * @param repertuar budowany opis
+	 * @param mapa      mapa miejsc seansu lub null
+	 */
+	private static void dopiszZajetosc(StringBuilder repertuar, MapaMiejsc mapa) {
+		if (mapa == null) {
+			return;
+		}
+		int wolne = mapa.dajLiczbeWolnych();
+		repertuar.append(" | wolne miejsca: ").append(wolne).append('/').append(mapa.dajLiczbeDostepnych());
+		if (wolne == 0) {
+			repertuar.append(" | WYPRZEDANY");
+		}
+	}
+
+	/**
+	 * Sprawdza rozmiar strony repertuaru.
+	 * 
+	 * @param rozmiarStrony największa liczba seansów na stronie
+	 * @throws IllegalArgumentException jeśli rozmiar nie jest dodatni
+	 */
+	private static void sprawdzRozmiarStrony(int rozmiarStrony) {
+		if (rozmiarStrony < 1) {
+			throw new IllegalArgumentException("Nieprawidlowy rozmiar strony: " + rozmiarStrony);
+		}
+	}
+
+	/**
+	 * Zwalnia zajęte miejsca seansu: każde miejsce trafia do następnego
+	 * klienta z listy oczekujących jako nowa blokada, bez chwili, w której
+	 * byłoby wolne, a gdy nikt nie oczekuje - wraca do sprzedaży. Wywoływane
+	 * także dla wygasłych i porzuconych blokad, więc nieodebrany przydział
+	 * przechodzi na kolejnego oczekującego.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @param mapa     mapa miejsc seansu, w której miejsca są zajęte
+	 * @param miejsca  numery zwalnianych miejsc
+	 */
+	private void zwolnijMiejsca(String idSeansu, MapaMiejsc mapa, int[] miejsca) {
+		for (int nrMiejsca : miejsca) {
+			ListyOczekujacych.Oczekujacy oczekujacy = listyOczekujacych.pobierzNastepnego(idSeansu);
+			if (oczekujacy == null) {
+				mapa.zwolnij(nrMiejsca);
+				continue;
+			}
+			String idKlienta = oczekujacy.dajIdKlienta();
+			String idBlokady = blokadyMiejsc.przekaz(idSeansu, idKlienta, mapa, new int[] { nrMiejsca },
+					CZAS_BLOKADY_MS);
+			listyOczekujacych.zapiszPrzydzial(idSeansu, idKlienta, idBlokady, "Przydzielono miejsce " + nrMiejsca
+					+ " na seansie " + idSeansu + ". ID blokady: " + idBlokady);
+			// Blokada mogła się skończyć przed zapisem przydziału
+			if (!blokadyMiejsc.czyAktywna(idBlokady)) {
+				listyOczekujacych.usunPrzydzial(idSeansu, idKlienta, idBlokady);
+			}
+			dao.dodajWpisDoLogu("Przydzielono miejsce: " + nrMiejsca + " na seansie: " + idSeansu
+					+ " dla klienta: " + idKlienta);
+		}
+	}
+
+	/**
+	 * Przejmuje miejsca wygasłej lub porzuconej blokady. Nieodebrany
+	 * przydział tej blokady przestaje obowiązywać, a miejsca przechodzą na
+	 * kolejnego oczekującego albo wracają do sprzedaży.
+	 * 
+	 * @param blokada zakończona blokada
+	 */
+	private void zwolnijBlokade(BlokadyMiejsc.Blokada blokada) {
+		listyOczekujacych.usunPrzydzial(blokada.dajIdSeansu(), blokada.dajIdKlienta(), blokada.dajId());
+		zwolnijMiejsca(blokada.dajIdSeansu(), blokada.dajMape(), blokada.dajMiejsca());
+	}
+
+	/**
+	 * Dodaje seans do indeksu repertuaru. Film seansu, którego indeks jeszcze
+	 * nie zna (np. dodany wprost do DAO), jest najpierw odczytywany z DAO.
+	 * 
+	 * @param idSeansu  ID seansu nadane przez DAO
+	 * @param seansData dane seansu w formacie: idFilmu;data;sala;miejsca
+	 */
+	private void zaindeksujSeans(String idSeansu, String seansData) {
+		if (idSeansu == null) {
+			return;
+		}
+		String idFilmu = new KursorPol(seansData).nastepnyTekst();
+		if (!indeksRepertuaru.czyZawieraFilm(idFilmu)) {
+			String filmData = dao.znajdzFilm(idFilmu);
+			if (filmData != null) {
+				indeksRepertuaru.dodajFilm(filmData);
+			}
+		}
+		indeksRepertuaru.dodajSeans(idSeansu, seansData);
+		pominieteSeanse.remove(idSeansu);
+	}
+
+	/**
+	 * Dodaje do indeksu repertuaru seans odczytany z DAO. Seans
+	 * z nieprawidłowymi danymi nie trafia do indeksu, tylko do zbioru
+	 * pominiętych, żeby nie był odczytywany przy każdym uzgadnianiu.
+	 * 
+	 * @param idSeansu ID seansu
+	 */
+	private void zaindeksujZDao(String idSeansu) {
+		String seansData = dao.znajdzSeans(idSeansu);
+		if (seansData == null) {
+			return;
+		}
+		try {
+			zaindeksujSeans(idSeansu, seansData);
+		} catch (IllegalArgumentException e) {
+			pominieteSeanse.add(idSeansu);
+		}
+	}
+
+	/**
+	 * Uzgadnia indeks repertuaru z seansami zapisanymi w DAO z pominięciem
+	 * Modelu, np. odtworzonymi z dziennika po ponownym uruchomieniu albo
+	 * dodanymi wprost do DAO. Seanse są przeglądane tylko wtedy, gdy liczba
+	 * seansów w DAO różni się od liczby seansów znanych indeksowi (wraz
+	 * z pominiętymi), więc zwykle kosztuje to odczyt dwóch liczników.
+	 * Brakujące seanse są dopisywane, a seanse usunięte z DAO znikają
+	 * z indeksu.
+	 */
+	private void uzgodnijIndeks() {
+		if (dao.dajLiczbeSeansow() == indeksRepertuaru.dajLiczbeSeansow() + pominieteSeanse.size()) {
+			return;
+		}
+		String[] seansyIds = dao.znajdzSeanse();
+		if (seansyIds == null) {
+			return;
+		}
+		for (String idSeansu : seansyIds) {
+			if (!indeksRepertuaru.czyZawieraSeans(idSeansu) && !pominieteSeanse.contains(idSeansu)) {
+				zaindeksujZDao(idSeansu);
+			}
+		}
+		// Ponowny odczyt z DAO, bo seans dodany przez Model po pobraniu listy jest już w indeksie
+		for (String idSeansu : indeksRepertuaru.dajIdSeansow()) {
+			if (dao.znajdzSeans(idSeansu) == null) {
+				indeksRepertuaru.usunSeans(idSeansu);
+			}
+		}
+		pominieteSeanse.removeIf(idSeansu -> dao.znajdzSeans(idSeansu) == null);
+	}
+
+	/**
+	 * Dodaje do indeksu repertuaru seanse filmu zapisane w DAO z pominięciem
+	 * Modelu (np. odtworzone z dziennika po ponownym uruchomieniu), jeśli
+	 * indeks nie zna jeszcze żadnego seansu tego filmu. Seanse
+	 * z nieprawidłowymi danymi są pomijane.
+	 * 
+	 * @param idFilmu ID filmu
+	 */
+	private void zaindeksujSeanseFilmu(String idFilmu) {
+		if (indeksRepertuaru.czyZawieraSeanseFilmu(idFilmu)) {
+			return;
+		}
+		String[] seansyIds = dao.znajdzSeansyFilmu(idFilmu);
+		if (seansyIds == null) {
+			return;
+		}
+		for (String idSeansu : seansyIds) {
+			zaindeksujZDao(idSeansu);
+		}
+	}
+
+	/**
+	 * Łączy numery miejsc przecinkami; pustą listę oznacza myślnikiem.
+	 * 
+	 * @param numery numery miejsc
+	 * @return numery rozdzielone przecinkami lub "-"
+	 */
+	private static String polaczNumery(int[] numery) {
+		if (numery.length == 0) {
+			return "-";
+		}
+		StringBuilder wynik = new StringBuilder();
+		for (int i = 0; i < numery.length; i++) {
+			wynik.append(i == 0 ? "" : ",").append(numery[i]);
+		}
+		return wynik.toString();
+	}
+
+	/**
+	 * Zapisuje rezerwację każdego z zajętych już miejsc i loguje ją.
+	 * Jeśli zapis się nie powiedzie, niezapisane miejsca są zwalniane.
+	 * 
+	 * @param idSeansu  ID seansu
+	 * @param idKlienta ID klienta
+	 * @param nrMiejsc  numery zajętych miejsc
+	 * @param cena      cena jednego miejsca
+	 * @param mapa      mapa miejsc seansu, w której miejsca są zajęte
+	 * @return ID rezerwacji rozdzielone przecinkami
+	 */
+	private String zapiszRezerwacje(String idSeansu, String idKlienta, int[] nrMiejsc, double cena,
+			MapaMiejsc mapa) {
+		StringBuilder identyfikatory = new StringBuilder();
+		for (int i = 0; i < nrMiejsc.length; i++) {
+			Rezerwacja rezerwacja = new Rezerwacja(null, idSeansu, idKlienta, nrMiejsc[i], cena);
+			String id;
+			try {
+				id = dao.dodajRezerwacje(rezerwacja.dajOpis());
+			} catch (RuntimeException e) {
+				mapa.zwolnijWszystkie(Arrays.copyOfRange(nrMiejsc, i, nrMiejsc.length));
+				throw e;
+			}
+			dao.dodajWpisDoLogu("Zarezerwowano bilet: " + id + " na seans: " + idSeansu + " dla klienta: " + idKlienta);
+			identyfikatory.append(i == 0 ? "" : ",").append(id);
+		}
+		return identyfikatory.toString();
+	}
+}
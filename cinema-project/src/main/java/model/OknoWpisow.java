@@ -0,0 +1,69 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Okno ostatnich wpisów dziennika trzymane w pamięci do szybkiego podglądu.
+ * Ma stałą pojemność: nowy wpis nadpisuje najstarszy, więc zużycie pamięci
+ * nie rośnie z czasem działania systemu. Dodawanie jest bezpieczne wątkowo
+ * i nie blokuje; pełną historię przechowuje dziennik zdarzeń w plikach.
+ */
+public class OknoWpisow {
+
+	private final AtomicReferenceArray<String> wpisy;
+	private final AtomicLong licznik = new AtomicLong();
+
+	/**
+	 * Tworzy okno o określonej pojemności.
+	 * 
+	 * @param pojemnoscValue liczba ostatnich wpisów trzymanych w pamięci
+	 * @throws IllegalArgumentException jeśli pojemność nie jest dodatnia
+	 */
+	public OknoWpisow(int pojemnoscValue) {
+		if (pojemnoscValue < 1) {
+			throw new IllegalArgumentException("Nieprawidlowa pojemnosc okna: " + pojemnoscValue);
+		}
+		wpisy = new AtomicReferenceArray<>(pojemnoscValue);
+	}
+
+	/**
+	 * Dodaje wpis, nadpisując najstarszy, jeśli okno jest pełne.
+	 * 
+	 * @param wpis treść wpisu
+	 */
+	public void dodaj(String wpis) {
+		long numer = licznik.getAndIncrement();
+		wpisy.set((int) (numer % wpisy.length()), wpis);
+	}
+
+	/**
+	 * Zwraca wpisy z okna od najstarszego do najnowszego.
+	 * Przy równoległym dodawaniu wynik jest przybliżony.
+	 * 
+	 * @return lista ostatnich wpisów
+	 */
+	public List<String> dajWpisy() {
+		long koniec = licznik.get();
+		long poczatek = Math.max(0, koniec - wpisy.length());
+		List<String> wynik = new ArrayList<>((int) (koniec - poczatek));
+		for (long numer = poczatek; numer < koniec; numer++) {
+			String wpis = wpisy.get((int) (numer % wpisy.length()));
+			if (wpis != null) {
+				wynik.add(wpis);
+			}
+		}
+		return wynik;
+	}
+
+	/**
+	 * Zwraca liczbę wszystkich wpisów dodanych od utworzenia okna.
+	 * 
+	 * @return liczba dodanych wpisów
+	 */
+	public long dajLiczbeDodanych() {
+		return licznik.get();
+	}
+}
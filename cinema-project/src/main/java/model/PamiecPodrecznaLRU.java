@@ -0,0 +1,163 @@
+package model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Ograniczona pamięć podręczna wypierająca najdawniej używane wpisy (LRU).
+ * Klucze są rozdzielone na segmenty, każdy z własną blokadą i własną
+ * listą LRU, więc równoległe odczyty różnych kluczy rzadko na siebie czekają.
+ * Małe pamięci mają jeden segment, dzięki czemu wypieranie jest dokładnym LRU.
+ * Wartość ładowana jest poza blokadą; jeśli w tym czasie klucz został
+ * unieważniony, załadowana wartość nie trafia do pamięci, co chroni
+ * przed zapamiętaniem danych sprzed zapisu.
+ * 
+ * @param <K> typ klucza
+ * @param <V> typ wartości
+ */
+public class PamiecPodrecznaLRU<K, V> {
+
+	private static final int LICZBA_SEGMENTOW = 16;
+
+	private final Segment<K, V>[] segmenty;
+	private final LongAdder trafienia = new LongAdder();
+	private final LongAdder chybienia = new LongAdder();
+	private final LongAdder wyparcia = new LongAdder();
+
+	/**
+	 * Tworzy pamięć podręczną o określonej pojemności.
+	 * 
+	 * @param pojemnoscValue maksymalna liczba zapamiętanych wpisów
+	 * @throws IllegalArgumentException jeśli pojemność nie jest dodatnia
+	 */
+	public PamiecPodrecznaLRU(int pojemnoscValue) {
+		if (pojemnoscValue < 1) {
+			throw new IllegalArgumentException("Nieprawidlowa pojemnosc pamieci podrecznej: " + pojemnoscValue);
+		}
+		int liczba = pojemnoscValue >= LICZBA_SEGMENTOW * 64 ? LICZBA_SEGMENTOW : 1;
+		// W Javie nie można utworzyć tablicy typu generycznego; tablica jest prywatna
+		// i trafiają do niej tylko segmenty Segment<K, V> tworzone poniżej.
+		@SuppressWarnings("unchecked")
+		Segment<K, V>[] tablica = (Segment<K, V>[]) new Segment<?, ?>[liczba];
+		for (int i = 0; i < liczba; i++) {
+			tablica[i] = new Segment<>(pojemnoscValue / liczba, wyparcia);
+		}
+		segmenty = tablica;
+	}
+
+	/**
+	 * Zwraca zapamiętaną wartość lub ładuje ją i zapamiętuje.
+	 * Wartości null nie są zapamiętywane.
+	 * 
+	 * @param klucz     szukany klucz
+	 * @param ladowanie funkcja ładująca wartość przy chybieniu
+	 * @return wartość dla klucza lub null
+	 */
+	public V pobierz(K klucz, Function<K, V> ladowanie) {
+		Segment<K, V> segment = segment(klucz);
+		long generacja;
+		synchronized (segment) {
+			V wartosc = segment.wpisy.get(klucz);
+			if (wartosc != null) {
+				trafienia.increment();
+				return wartosc;
+			}
+			generacja = segment.generacja;
+		}
+		chybienia.increment();
+		V wartosc = ladowanie.apply(klucz);
+		if (wartosc != null) {
+			synchronized (segment) {
+				if (segment.generacja == generacja) {
+					segment.wpisy.put(klucz, wartosc);
+				}
+			}
+		}
+		return wartosc;
+	}
+
+	/**
+	 * Usuwa klucz z pamięci i odrzuca trwające dla niego ładowania.
+	 * 
+	 * @param klucz unieważniany klucz
+	 */
+	public void uniewaznij(K klucz) {
+		Segment<K, V> segment = segment(klucz);
+		synchronized (segment) {
+			segment.wpisy.remove(klucz);
+			segment.generacja++;
+		}
+	}
+
+	/**
+	 * Zwraca liczbę zapamiętanych wpisów.
+	 * 
+	 * @return liczba wpisów
+	 */
+	public int dajRozmiar() {
+		int rozmiar = 0;
+		for (Segment<K, V> segment : segmenty) {
+			synchronized (segment) {
+				rozmiar += segment.wpisy.size();
+			}
+		}
+		return rozmiar;
+	}
+
+	/**
+	 * Zwraca liczbę odczytów obsłużonych z pamięci.
+	 * 
+	 * @return liczba trafień
+	 */
+	public long dajLiczbeTrafien() {
+		return trafienia.sum();
+	}
+
+	/**
+	 * Zwraca liczbę odczytów, które wymagały załadowania wartości.
+	 * 
+	 * @return liczba chybień
+	 */
+	public long dajLiczbeChybien() {
+		return chybienia.sum();
+	}
+
+	/**
+	 * Zwraca liczbę wpisów wypartych z powodu braku miejsca.
+	 * 
+	 * @return liczba wyparć
+	 */
+	public long dajLiczbeWyparc() {
+		return wyparcia.sum();
+	}
+
+	private Segment<K, V> segment(K klucz) {
+		int h = klucz.hashCode();
+		return segmenty[(h ^ (h >>> 16)) & (segmenty.length - 1)];
+	}
+
+	/**
+	 * Segment pamięci: mapa w kolejności dostępu z limitem rozmiaru.
+	 */
+	private static final class Segment<K, V> {
+		private final LinkedHashMap<K, V> wpisy;
+		private long generacja;
+
+		Segment(int pojemnosc, LongAdder wyparcia) {
+			wpisy = new LinkedHashMap<K, V>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<K, V> najstarszy) {
+					if (size() > pojemnosc) {
+						wyparcia.increment();
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+	}
+}
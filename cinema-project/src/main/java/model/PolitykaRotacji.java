@@ -0,0 +1,80 @@
+package model;
+
+/**
+ * Niezmienna polityka rotacji i retencji plików dziennika zdarzeń.
+ * Bieżący plik jest zamykany po przekroczeniu rozmiaru lub wieku,
+ * a najstarsze pliki są usuwane, gdy jest ich za dużo lub zajmują
+ * łącznie za dużo miejsca. Wartość 0 wyłącza dany limit.
+ */
+public final class PolitykaRotacji {
+	private final long maksRozmiarPliku;
+	private final long maksWiekPlikuMs;
+	private final int maksLiczbaPlikow;
+	private final long maksLacznyRozmiar;
+
+	/**
+	 * Tworzy politykę rotacji i retencji.
+	 * 
+	 * @param maksRozmiarPlikuValue  rozmiar pliku w bajtach, po którym zaczyna się kolejny
+	 * @param maksWiekPlikuMsValue   wiek pliku w milisekundach, po którym zaczyna się kolejny
+	 * @param maksLiczbaPlikowValue  maksymalna liczba zachowywanych plików
+	 * @param maksLacznyRozmiarValue maksymalny łączny rozmiar zachowywanych plików w bajtach
+	 */
+	public PolitykaRotacji(long maksRozmiarPlikuValue, long maksWiekPlikuMsValue, int maksLiczbaPlikowValue,
+			long maksLacznyRozmiarValue) {
+		maksRozmiarPliku = maksRozmiarPlikuValue;
+		maksWiekPlikuMs = maksWiekPlikuMsValue;
+		maksLiczbaPlikow = maksLiczbaPlikowValue;
+		maksLacznyRozmiar = maksLacznyRozmiarValue;
+	}
+
+	/**
+	 * Zwraca rozmiar pliku, po którym zaczyna się kolejny.
+	 * 
+	 * @return rozmiar w bajtach lub 0 bez limitu
+	 */
+	public long dajMaksRozmiarPliku() {
+		return maksRozmiarPliku;
+	}
+
+	/**
+	 * Zwraca wiek pliku, po którym zaczyna się kolejny.
+	 * 
+	 * @return wiek w milisekundach lub 0 bez limitu
+	 */
+	public long dajMaksWiekPlikuMs() {
+		return maksWiekPlikuMs;
+	}
+
+	/**
+	 * Zwraca maksymalną liczbę zachowywanych plików.
+	 * 
+	 * @return liczba plików lub 0 bez limitu
+	 */
+	public int dajMaksLiczbePlikow() {
+		return maksLiczbaPlikow;
+	}
+
+	/**
+	 * Zwraca maksymalny łączny rozmiar zachowywanych plików.
+	 * 
+	 * @return rozmiar w bajtach lub 0 bez limitu
+	 */
+	public long dajMaksLacznyRozmiar() {
+		return maksLacznyRozmiar;
+	}
+
+	/**
+	 * Sprawdza, czy bieżący plik należy zamknąć i rozpocząć kolejny.
+	 * 
+	 * @param rozmiar rozmiar bieżącego pliku w bajtach
+	 * @param wiekMs  czas od otwarcia bieżącego pliku w milisekundach
+	 * @return true jeśli przekroczono limit rozmiaru lub wieku niepustego pliku
+	 */
+	public boolean czyRotowac(long rozmiar, long wiekMs) {
+		if (maksRozmiarPliku > 0 && rozmiar >= maksRozmiarPliku) {
+			return true;
+		}
+		return maksWiekPlikuMs > 0 && rozmiar > 0 && wiekMs >= maksWiekPlikuMs;
+	}
+}
@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * Preferencja bloków w wybranym rzędzie lub jak najbliżej niego;
+ * w obrębie rzędu wygrywa blok bliżej środka.
+ */
+public class PreferencjaRzedu implements IPreferencjaMiejsc {
+	private final int preferowanyRzad;
+
+	/**
+	 * Tworzy preferencję rzędu.
+	 * 
+	 * @param rzadValue preferowany rząd (od 1)
+	 */
+	public PreferencjaRzedu(int rzadValue) {
+		preferowanyRzad = rzadValue;
+	}
+
+	/**
+	 * Ocenia blok odległością od preferowanego rzędu, a następnie od środka rzędu.
+	 * 
+	 * @param uklad           układ sali
+	 * @param rzad            rząd bloku (od 1)
+	 * @param pierwszaPozycja pozycja pierwszego miejsca bloku w rzędzie (od 1)
+	 * @param liczbaMiejsc    liczba miejsc w bloku
+	 * @return ocena bloku
+	 */
+	public double ocen(UkladSali uklad, int rzad, int pierwszaPozycja, int liczbaMiejsc) {
+		double dx = Math.abs(pierwszaPozycja + (liczbaMiejsc - 1) / 2.0 - (uklad.dajMiejscWRzedzie() + 1) / 2.0);
+		return Math.abs(rzad - preferowanyRzad) * (double) UkladSali.MAKS_MIEJSC_W_RZEDZIE + dx;
+	}
+}
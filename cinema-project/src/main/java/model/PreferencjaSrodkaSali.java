@@ -0,0 +1,41 @@
+package model;
+
+/**
+ * Preferencja bloków jak najbliżej środka sali.
+ * Oceną jest kwadrat odległości środka bloku od środka sali, przy czym
+ * odległość w rzędach może mieć większą wagę niż odległość w miejscach.
+ */
+public class PreferencjaSrodkaSali implements IPreferencjaMiejsc {
+	private final double wagaRzedu;
+
+	/**
+	 * Tworzy preferencję środka sali.
+	 * 
+	 * @param wagaRzeduValue ile razy odległość o rząd waży więcej niż o miejsce
+	 */
+	public PreferencjaSrodkaSali(double wagaRzeduValue) {
+		wagaRzedu = wagaRzeduValue;
+	}
+
+	/**
+	 * Tworzy preferencję środka sali z równą wagą rzędów i miejsc.
+	 */
+	public PreferencjaSrodkaSali() {
+		this(1.0);
+	}
+
+	/**
+	 * Ocenia blok odległością od środka sali.
+	 * 
+	 * @param uklad           układ sali
+	 * @param rzad            rząd bloku (od 1)
+	 * @param pierwszaPozycja pozycja pierwszego miejsca bloku w rzędzie (od 1)
+	 * @param liczbaMiejsc    liczba miejsc w bloku
+	 * @return kwadrat ważonej odległości od środka sali
+	 */
+	public double ocen(UkladSali uklad, int rzad, int pierwszaPozycja, int liczbaMiejsc) {
+		double dx = pierwszaPozycja + (liczbaMiejsc - 1) / 2.0 - (uklad.dajMiejscWRzedzie() + 1) / 2.0;
+		double dy = (rzad - (uklad.dajLiczbeRzedow() + 1) / 2.0) * wagaRzedu;
+		return dx * dx + dy * dy;
+	}
+}
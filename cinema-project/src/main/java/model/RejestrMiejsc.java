@@ -0,0 +1,145 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rejestr map zajętości miejsc seansów używany przez Model.
+ * Mapa seansu jest tworzona leniwie przy pierwszej rezerwacji i
+ * współdzielona przez wszystkie wątki. Jeśli sala seansu jest w
+ * {@link KatalogSal}, mapa ma wielkość jej układu, a miejsca wyłączone
+ * z użytku są w niej zajęte od początku i nie liczą się do miejsc
+ * dostępnych; w przeciwnym razie mapa ma liczbę miejsc z danych seansu.
+ * Jeśli rejestr ma dostęp do DAO, nowa mapa jest od razu wypełniana
+ * miejscami z zapisanych rezerwacji seansu, więc po ponownym uruchomieniu
+ * sprzedane wcześniej miejsca pozostają zajęte.
+ */
+public class RejestrMiejsc {
+
+	private final ConcurrentHashMap<String, MapaMiejsc> mapy = new ConcurrentHashMap<>();
+	private final IDAO dao;
+	private final KatalogSal katalogSal;
+
+	/**
+	 * Tworzy rejestr z pustymi mapami miejsc.
+	 */
+	public RejestrMiejsc() {
+		this(null);
+	}
+
+	/**
+	 * Tworzy rejestr odtwarzający zajętość miejsc z rezerwacji zapisanych w DAO.
+	 * 
+	 * @param daoValue DAO z rezerwacjami lub null
+	 */
+	public RejestrMiejsc(IDAO daoValue) {
+		this(daoValue, null);
+	}
+
+	/**
+	 * Tworzy rejestr budujący mapy miejsc z układów sal katalogu.
+	 * 
+	 * @param daoValue        DAO z rezerwacjami lub null
+	 * @param katalogSalValue katalog układów sal lub null, jeśli mapy mają
+	 *                        tylko liczbę miejsc z danych seansu
+	 */
+	public RejestrMiejsc(IDAO daoValue, KatalogSal katalogSalValue) {
+		dao = daoValue;
+		katalogSal = katalogSalValue;
+	}
+
+	/**
+	 * Zwraca mapę miejsc seansu, tworząc ją przy pierwszym użyciu.
+	 * 
+	 * @param idSeansu   ID seansu
+	 * @param daneSeansu dane seansu w formacie: idFilmu;data;sala;miejsca
+	 * @return mapa miejsc seansu
+	 * @throws IllegalArgumentException jeśli dane seansu są nieprawidłowe
+	 */
+	public MapaMiejsc dajMape(String idSeansu, String daneSeansu) {
+		MapaMiejsc mapa = mapy.get(idSeansu);
+		if (mapa != null) {
+			return mapa;
+		}
+		RekordSeansu seans = RekordSeansu.parsuj(daneSeansu);
+		return mapy.computeIfAbsent(idSeansu, id -> odtworzMape(id, seans));
+	}
+
+	/**
+	 * Sprawdza, czy mapa miejsc ma kształt wynikający z danych seansu:
+	 * tę samą liczbę miejsc i te same miejsca wyłączone z użytku.
+	 * 
+	 * @param mapa       mapa miejsc seansu
+	 * @param daneSeansu dane seansu w formacie: idFilmu;data;sala;miejsca
+	 * @return true jeśli mapa pasuje do danych seansu
+	 * @throws IllegalArgumentException jeśli dane seansu są nieprawidłowe
+	 */
+	public boolean czyPasuje(MapaMiejsc mapa, String daneSeansu) {
+		RekordSeansu seans = RekordSeansu.parsuj(daneSeansu);
+		UkladSali uklad = dajUklad(seans);
+		if (uklad == null) {
+			return mapa.dajLiczbeMiejsc() == seans.dajLiczbeMiejsc()
+					&& mapa.dajLiczbeDostepnych() == seans.dajLiczbeMiejsc();
+		}
+		UkladSali ukladMapy = mapa.dajUklad();
+		if (ukladMapy == uklad) {
+			return true;
+		}
+		return mapa.dajLiczbeMiejsc() == uklad.dajLiczbeMiejsc()
+				&& Arrays.equals(ukladMapy == null ? new int[0] : ukladMapy.dajZablokowane(), uklad.dajZablokowane());
+	}
+
+	/**
+	 * Zwraca mapę miejsc seansu, jeśli została już utworzona.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @return mapa miejsc lub null
+	 */
+	public MapaMiejsc znajdzMape(String idSeansu) {
+		return mapy.get(idSeansu);
+	}
+
+	/**
+	 * Usuwa mapę miejsc seansu, np. po jego usunięciu.
+	 * 
+	 * @param idSeansu ID seansu
+	 */
+	public void usunMape(String idSeansu) {
+		mapy.remove(idSeansu);
+	}
+
+	/**
+	 * Tworzy mapę miejsc seansu i zajmuje w niej miejsca zapisanych rezerwacji.
+	 * Wywoływana wewnątrz computeIfAbsent, więc inne wątki czekają na
+	 * odtworzoną mapę zamiast rezerwować w pustej.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @param seans    rekord seansu
+	 * @return mapa miejsc seansu
+	 */
+	private MapaMiejsc odtworzMape(String idSeansu, RekordSeansu seans) {
+		UkladSali uklad = dajUklad(seans);
+		MapaMiejsc mapa = uklad == null ? new MapaMiejsc(seans.dajLiczbeMiejsc()) : new MapaMiejsc(uklad);
+		String[] rezerwacje = dao == null ? null : dao.znajdzRezerwacjeSeansu(idSeansu);
+		if (rezerwacje == null) {
+			return mapa;
+		}
+		for (String idRezerwacji : rezerwacje) {
+			String daneRezerwacji = dao.znajdzRezerwacje(idRezerwacji);
+			if (daneRezerwacji != null) {
+				mapa.zajmij(RekordRezerwacji.parsuj(daneRezerwacji).dajNrMiejsca());
+			}
+		}
+		return mapa;
+	}
+
+	/**
+	 * Zwraca układ sali seansu z katalogu.
+	 * 
+	 * @param seans rekord seansu
+	 * @return układ sali lub null, jeśli rejestr nie ma katalogu albo sali w nim nie ma
+	 */
+	private UkladSali dajUklad(RekordSeansu seans) {
+		return katalogSal == null ? null : katalogSal.dajUklad(seans.dajSale());
+	}
+}
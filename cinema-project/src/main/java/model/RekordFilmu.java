@@ -0,0 +1,117 @@
+package model;
+
+/**
+ * Niezmienny rekord filmu przechowywany przez IRekordyDAO.
+ * Pola są trzymane w typowanej postaci, więc odczyt np. ceny nie wymaga
+ * ponownego dzielenia napisu i parsowania liczby.
+ */
+public final class RekordFilmu {
+	private final String id;
+	private final String tytul;
+	private final String opis;
+	private final int czasTrwania;
+	private final String gatunek;
+	private final double cena;
+
+	/**
+	 * Tworzy rekord filmu.
+	 * 
+	 * @param idValue      unikalny identyfikator filmu
+	 * @param tytulValue   tytuł filmu
+	 * @param opisValue    opis filmu
+	 * @param czasValue    czas trwania w minutach
+	 * @param gatunekValue gatunek filmu
+	 * @param cenaValue    cena podstawowa seansów
+	 */
+	public RekordFilmu(String idValue, String tytulValue, String opisValue, int czasValue, String gatunekValue,
+			double cenaValue) {
+		id = idValue;
+		tytul = tytulValue;
+		opis = opisValue;
+		czasTrwania = czasValue;
+		gatunek = gatunekValue;
+		cena = cenaValue;
+	}
+
+	/**
+	 * Tworzy rekord z danych filmu rozdzielanych średnikami.
+	 * 
+	 * @param dane dane w formacie: id;tytul;opis;czas;gatunek;cena
+	 * @return rekord filmu
+	 * @throws IllegalArgumentException jeśli dane mają nieprawidłowy format
+	 */
+	public static RekordFilmu parsuj(String dane) {
+		try {
+			KursorPol pola = new KursorPol(dane);
+			RekordFilmu rekord = new RekordFilmu(pola.nastepnyTekst(), pola.nastepnyTekst(), pola.nastepnyTekst(),
+					pola.nastepnyInt(), pola.nastepnyTekst(), pola.nastepnyDouble());
+			pola.sprawdzKoniec();
+			return rekord;
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Nieprawidlowe dane filmu: " + dane, e);
+		}
+	}
+
+	/**
+	 * Zwraca unikalny identyfikator filmu.
+	 * 
+	 * @return ID filmu
+	 */
+	public String dajId() {
+		return id;
+	}
+
+	/**
+	 * Zwraca tytuł filmu.
+	 * 
+	 * @return tytuł filmu
+	 */
+	public String dajTytul() {
+		return tytul;
+	}
+
+	/**
+	 * Zwraca opis filmu.
+	 * 
+	 * @return opis filmu
+	 */
+	public String dajOpis() {
+		return opis;
+	}
+
+	/**
+	 * Zwraca czas trwania filmu w minutach.
+	 * 
+	 * @return czas trwania w minutach
+	 */
+	public int dajCzasTrwania() {
+		return czasTrwania;
+	}
+
+	/**
+	 * Zwraca gatunek filmu.
+	 * 
+	 * @return gatunek filmu
+	 */
+	public String dajGatunek() {
+		return gatunek;
+	}
+
+	/**
+	 * Zwraca cenę podstawową seansów.
+	 * 
+	 * @return cena seansu
+	 */
+	public double dajCene() {
+		return cena;
+	}
+
+	/**
+	 * Zwraca dane filmu w formacie rozdzielanym średnikami, zgodnym z IDAO.
+	 * 
+	 * @return dane w formacie: id;tytul;opis;czas;gatunek;cena
+	 */
+	public String dajDane() {
+		return id + ";" + tytul + ";" + opis + ";" + czasTrwania + ";" + gatunek + ";" + cena;
+	}
+}
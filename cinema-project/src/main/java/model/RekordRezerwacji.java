@@ -0,0 +1,106 @@
+package model;
+
+/**
+ * Niezmienny rekord rezerwacji przechowywany przez IRekordyDAO.
+ * Numer miejsca i cena są trzymane jako liczby, a nie fragmenty napisu.
+ */
+public final class RekordRezerwacji {
+	private final String id;
+	private final String idSeansu;
+	private final String idKlienta;
+	private final int nrMiejsca;
+	private final double cena;
+
+	/**
+	 * Tworzy rekord rezerwacji.
+	 * 
+	 * @param idValue        identyfikator rezerwacji (null przed nadaniem ID przez DAO)
+	 * @param idSeansuValue  ID seansu
+	 * @param idKlientaValue ID klienta
+	 * @param nrMiejscaValue numer miejsca
+	 * @param cenaValue      cena biletu
+	 */
+	public RekordRezerwacji(String idValue, String idSeansuValue, String idKlientaValue, int nrMiejscaValue,
+			double cenaValue) {
+		id = idValue;
+		idSeansu = idSeansuValue;
+		idKlienta = idKlientaValue;
+		nrMiejsca = nrMiejscaValue;
+		cena = cenaValue;
+	}
+
+	/**
+	 * Tworzy rekord z opisu rezerwacji rozdzielanego średnikami.
+	 * Pole ID o wartości "null" (jak w {@link Rezerwacja#dajOpis()}) oznacza brak ID.
+	 * 
+	 * @param dane dane w formacie: id;idSeansu;idKlienta;nrMiejsca;cena
+	 * @return rekord rezerwacji
+	 * @throws IllegalArgumentException jeśli dane mają nieprawidłowy format
+	 */
+	public static RekordRezerwacji parsuj(String dane) {
+		try {
+			KursorPol pola = new KursorPol(dane);
+			String id = pola.nastepnyTekst();
+			RekordRezerwacji rekord = new RekordRezerwacji("null".equals(id) ? null : id, pola.nastepnyTekst(),
+					pola.nastepnyTekst(), pola.nastepnyInt(), pola.nastepnyDouble());
+			pola.sprawdzKoniec();
+			return rekord;
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Nieprawidlowe dane rezerwacji: " + dane, e);
+		}
+	}
+
+	/**
+	 * Zwraca identyfikator rezerwacji z danych.
+	 * 
+	 * @return ID rezerwacji lub null
+	 */
+	public String dajId() {
+		return id;
+	}
+
+	/**
+	 * Zwraca ID seansu.
+	 * 
+	 * @return ID seansu
+	 */
+	public String dajIdSeansu() {
+		return idSeansu;
+	}
+
+	/**
+	 * Zwraca ID klienta.
+	 * 
+	 * @return ID klienta
+	 */
+	public String dajIdKlienta() {
+		return idKlienta;
+	}
+
+	/**
+	 * Zwraca numer miejsca.
+	 * 
+	 * @return numer miejsca
+	 */
+	public int dajNrMiejsca() {
+		return nrMiejsca;
+	}
+
+	/**
+	 * Zwraca cenę biletu.
+	 * 
+	 * @return cena biletu
+	 */
+	public double dajCene() {
+		return cena;
+	}
+
+	/**
+	 * Zwraca dane rezerwacji w formacie rozdzielanym średnikami, zgodnym z IDAO.
+	 * 
+	 * @return dane w formacie: id;idSeansu;idKlienta;nrMiejsca;cena
+	 */
+	public String dajDane() {
+		return id + ";" + idSeansu + ";" + idKlienta + ";" + nrMiejsca + ";" + cena;
+	}
+}
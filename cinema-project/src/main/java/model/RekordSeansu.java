@@ -0,0 +1,92 @@
+package model;
+
+/**
+ * Niezmienny rekord seansu przechowywany przez IRekordyDAO.
+ * Liczba miejsc jest trzymana jako int, a ID filmu jako osobne pole,
+ * więc indeks film → seanse nie musi dzielić danych seansu.
+ */
+public final class RekordSeansu {
+	private final String idFilmu;
+	private final String data;
+	private final String sala;
+	private final int liczbaMiejsc;
+
+	/**
+	 * Tworzy rekord seansu.
+	 * 
+	 * @param idFilmuValue ID wyświetlanego filmu
+	 * @param dataValue    data i godzina seansu
+	 * @param salaValue    identyfikator sali
+	 * @param miejscaValue całkowita liczba miejsc
+	 */
+	public RekordSeansu(String idFilmuValue, String dataValue, String salaValue, int miejscaValue) {
+		idFilmu = idFilmuValue;
+		data = dataValue;
+		sala = salaValue;
+		liczbaMiejsc = miejscaValue;
+	}
+
+	/**
+	 * Tworzy rekord z danych seansu rozdzielanych średnikami.
+	 * 
+	 * @param dane dane w formacie: idFilmu;data;sala;miejsca
+	 * @return rekord seansu
+	 * @throws IllegalArgumentException jeśli dane mają nieprawidłowy format
+	 */
+	public static RekordSeansu parsuj(String dane) {
+		try {
+			KursorPol pola = new KursorPol(dane);
+			RekordSeansu rekord = new RekordSeansu(pola.nastepnyTekst(), pola.nastepnyTekst(), pola.nastepnyTekst(),
+					pola.nastepnyInt());
+			pola.sprawdzKoniec();
+			return rekord;
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Nieprawidlowe dane seansu: " + dane, e);
+		}
+	}
+
+	/**
+	 * Zwraca ID wyświetlanego filmu.
+	 * 
+	 * @return ID filmu
+	 */
+	public String dajIdFilmu() {
+		return idFilmu;
+	}
+
+	/**
+	 * Zwraca datę i godzinę seansu.
+	 * 
+	 * @return data seansu
+	 */
+	public String dajDate() {
+		return data;
+	}
+
+	/**
+	 * Zwraca identyfikator sali.
+	 * 
+	 * @return ID sali
+	 */
+	public String dajSale() {
+		return sala;
+	}
+
+	/**
+	 * Zwraca całkowitą liczbę miejsc.
+	 * 
+	 * @return liczba miejsc
+	 */
+	public int dajLiczbeMiejsc() {
+		return liczbaMiejsc;
+	}
+
+	/**
+	 * Zwraca dane seansu w formacie rozdzielanym średnikami, zgodnym z IDAO.
+	 * 
+	 * @return dane w formacie: idFilmu;data;sala;miejsca
+	 */
+	public String dajDane() {
+		return idFilmu + ";" + data + ";" + sala + ";" + liczbaMiejsc;
+	}
+}
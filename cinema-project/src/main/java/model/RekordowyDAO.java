@@ -0,0 +1,244 @@
+package model;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementacja IRekordyDAO przechowująca niezmienne, typowane rekordy.
+ * Dane są parsowane najwyżej raz przy zapisie, a odczyty zwracają gotowe
+ * obiekty. Podobnie jak DAO nie jest bezpieczna wątkowo.
+ */
+public class RekordowyDAO implements IRekordyDAO {
+
+  private Map<String, RekordFilmu> bazyFilmow;
+  private Map<String, RekordSeansu> bazySeans;
+  private Map<String, Set<String>> indeksSeansowFilmu;
+  private Map<String, RekordRezerwacji> bazyRezerwacji;
+  private Map<String, Set<String>> indeksRezerwacjiSeansu;
+  private int nextSeansId;
+  private int nextRezerwacjaId;
+  private ILogZdarzen logZdarzen;
+
+  /**
+   * Tworzy nowy RekordowyDAO z pustymi strukturami danych.
+   * Wpisy dziennika są wypisywane na konsolę.
+   */
+  public RekordowyDAO() {
+    this(new KonsolowyLogZdarzen());
+  }
+
+  /**
+   * Tworzy nowy RekordowyDAO przekazujący wpisy dziennika do podanego odbiorcy.
+   * 
+   * @param logZdarzenValue odbiorca wpisów dziennika zdarzeń
+   */
+  public RekordowyDAO(ILogZdarzen logZdarzenValue) {
+    logZdarzen = logZdarzenValue;
+    bazyFilmow = new HashMap<>();
+    bazySeans = new HashMap<>();
+    indeksSeansowFilmu = new HashMap<>();
+    bazyRezerwacji = new HashMap<>();
+    indeksRezerwacjiSeansu = new HashMap<>();
+    nextSeansId = 1;
+    nextRezerwacjaId = 1;
+  }
+
+  /**
+   * Dodaje wpis zdarzenia do dziennika systemowego.
+   * 
+   * @param zdarzenie opis zdarzenia do zapisania
+   */
+  public void dodajWpisDoLogu(String zdarzenie) {
+    logZdarzen.dodajWpis(zdarzenie);
+  }
+
+  /**
+   * Pobiera rekord filmu według ID.
+   * 
+   * @param idFilmu ID filmu do znalezienia
+   * @return rekord filmu, lub null jeśli nie znaleziono
+   */
+  public RekordFilmu znajdzRekordFilmu(String idFilmu) {
+    return bazyFilmow.get(idFilmu);
+  }
+
+  /**
+   * Dodaje film do bazy danych.
+   * 
+   * @param film rekord filmu do zapisania
+   * @return ID filmu z rekordu
+   */
+  public String dodajRekordFilmu(RekordFilmu film) {
+    bazyFilmow.put(film.dajId(), film);
+    return film.dajId();
+  }
+
+  /**
+   * Zastępuje rekord istniejącego filmu.
+   * 
+   * @param film nowy rekord filmu (z ID edytowanego filmu)
+   * @throws IllegalArgumentException jeśli film o podanym ID nie istnieje
+   */
+  public void edytujRekordFilmu(RekordFilmu film) {
+    if (bazyFilmow.replace(film.dajId(), film) == null) {
+      throw new IllegalArgumentException("Film o ID " + film.dajId() + " nie istnieje");
+    }
+  }
+
+  /**
+   * Pobiera rekord seansu według ID.
+   * 
+   * @param idSeansu ID seansu do znalezienia
+   * @return rekord seansu, lub null jeśli nie znaleziono
+   */
+  public RekordSeansu znajdzRekordSeansu(String idSeansu) {
+    return bazySeans.get(idSeansu);
+  }
+
+  /**
+   * Znajduje wszystkie seanse dla określonego filmu.
+   * 
+   * @param idFilmu ID filmu
+   * @return tablica ID seansów dla określonego filmu
+   */
+  public String[] znajdzSeansyFilmu(String idFilmu) {
+    Set<String> seansyFilmu = indeksSeansowFilmu.get(idFilmu);
+    if (seansyFilmu == null) {
+      return new String[0];
+    }
+    return seansyFilmu.toArray(new String[0]);
+  }
+
+  /**
+   * Znajduje wszystkie seanse w bazie danych.
+   * 
+   * @return tablica ID wszystkich seansów
+   */
+  public String[] znajdzSeanse() {
+    return bazySeans.keySet().toArray(new String[0]);
+  }
+
+  /**
+   * Zwraca liczbę seansów w bazie danych.
+   * 
+   * @return liczba seansów
+   */
+  public int dajLiczbeSeansow() {
+    return bazySeans.size();
+  }
+
+  /**
+   * Dodaje nowy seans do bazy danych i generuje unikalny ID.
+   * 
+   * @param seans rekord seansu do zapisania
+   * @return wygenerowane ID seansu
+   */
+  public String dodajRekordSeansu(RekordSeansu seans) {
+    String id = "S" + nextSeansId++;
+    bazySeans.put(id, seans);
+    indeksSeansowFilmu.computeIfAbsent(seans.dajIdFilmu(), k -> new LinkedHashSet<>()).add(id);
+    return id;
+  }
+
+  /**
+   * Zastępuje rekord istniejącego seansu i przepina indeks filmów,
+   * jeśli seans przypisano do innego filmu.
+   * 
+   * @param idSeansu ID edytowanego seansu
+   * @param seans    nowy rekord seansu
+   * @throws IllegalArgumentException jeśli seans o podanym ID nie istnieje
+   */
+  public void edytujRekordSeansu(String idSeansu, RekordSeansu seans) {
+    RekordSeansu stary = bazySeans.get(idSeansu);
+    if (stary == null) {
+      throw new IllegalArgumentException("Seans o ID " + idSeansu + " nie istnieje");
+    }
+    bazySeans.put(idSeansu, seans);
+    if (!stary.dajIdFilmu().equals(seans.dajIdFilmu())) {
+      usunZIndeksu(stary.dajIdFilmu(), idSeansu);
+      indeksSeansowFilmu.computeIfAbsent(seans.dajIdFilmu(), k -> new LinkedHashSet<>()).add(idSeansu);
+    }
+  }
+
+  /**
+   * Usuwa seans z bazy danych.
+   * 
+   * @param idSeansu ID seansu do usunięcia
+   */
+  public void usunSeans(String idSeansu) {
+    RekordSeansu seans = bazySeans.remove(idSeansu);
+    if (seans != null) {
+      usunZIndeksu(seans.dajIdFilmu(), idSeansu);
+    }
+  }
+
+  /**
+   * Pobiera rekord rezerwacji według ID.
+   * 
+   * @param idRezerwacji ID rezerwacji do znalezienia
+   * @return rekord rezerwacji, lub null jeśli nie znaleziono
+   */
+  public RekordRezerwacji znajdzRekordRezerwacji(String idRezerwacji) {
+    return bazyRezerwacji.get(idRezerwacji);
+  }
+
+  /**
+   * Znajduje wszystkie rezerwacje na określony seans.
+   * 
+   * @param idSeansu ID seansu
+   * @return tablica ID rezerwacji na określony seans
+   */
+  public String[] znajdzRezerwacjeSeansu(String idSeansu) {
+    Set<String> rezerwacjeSeansu = indeksRezerwacjiSeansu.get(idSeansu);
+    if (rezerwacjeSeansu == null) {
+      return new String[0];
+    }
+    return rezerwacjeSeansu.toArray(new String[0]);
+  }
+
+  /**
+   * Dodaje nową rezerwację do bazy danych i generuje unikalny ID.
+   * 
+   * @param rezerwacja rekord rezerwacji do zapisania
+   * @return wygenerowane ID rezerwacji
+   */
+  public String dodajRekordRezerwacji(RekordRezerwacji rezerwacja) {
+    String id = "R" + nextRezerwacjaId++;
+    bazyRezerwacji.put(id, rezerwacja);
+    indeksRezerwacjiSeansu.computeIfAbsent(rezerwacja.dajIdSeansu(), k -> new LinkedHashSet<>()).add(id);
+    return id;
+  }
+
+  /**
+   * Usuwa rezerwację z bazy danych i z indeksu rezerwacji seansu.
+   * 
+   * @param idRezerwacji ID rezerwacji do usunięcia
+   */
+  public void usunRezerwacje(String idRezerwacji) {
+    RekordRezerwacji rezerwacja = bazyRezerwacji.remove(idRezerwacji);
+    if (rezerwacja != null) {
+      Set<String> rezerwacjeSeansu = indeksRezerwacjiSeansu.get(rezerwacja.dajIdSeansu());
+      if (rezerwacjeSeansu != null) {
+        rezerwacjeSeansu.remove(idRezerwacji);
+      }
+    }
+  }
+
+  /**
+   * Usuwa seans z indeksu seansów filmu, a pusty wpis filmu z indeksu.
+   * 
+   * @param idFilmu  ID filmu
+   * @param idSeansu ID seansu
+   */
+  private void usunZIndeksu(String idFilmu, String idSeansu) {
+    Set<String> seansyFilmu = indeksSeansowFilmu.get(idFilmu);
+    if (seansyFilmu != null) {
+      seansyFilmu.remove(idSeansu);
+      if (seansyFilmu.isEmpty()) {
+        indeksSeansowFilmu.remove(idFilmu);
+      }
+    }
+  }
+}
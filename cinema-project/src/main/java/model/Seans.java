@@ -1,18 +1,25 @@
 package model;
 
-import java.util.Set;
-import java.util.HashSet;
-
 /**
  * Reprezentuje seans filmowy w systemie zarządzania kinem.
  * Zarządza dostępnością miejsc i informacjami o seansie.
+ * Zajęte miejsca są trzymane w spakowanej mapie bitów (bit n-1 oznacza
+ * miejsce n), więc mapa sali 100 miejsc zajmuje dwa słowa long, wolne
+ * miejsca wylicza się skanem bitów, a liczniki są aktualizowane przy
+ * każdej zmianie. Klient odświeżający widok sali może pobrać tylko
+ * miejsca zmienione od znanej mu wersji mapy.
+ * Rezerwacja i zwolnienie miejsca są atomowe i nieblokujące, więc seans
+ * może być współdzielony przez wielu kupujących naraz.
+ * Układ sali (rzędy, kategorie, miejsca wyłączone z użytku) jest wspólny
+ * dla wszystkich seansów sali i pobierany z {@link KatalogSal}; seans
+ * trzyma tylko referencję do niego i własne bity zajętości.
  */
 public class Seans implements ISeans {
 	private String id;
 	private IFilm film;
 	private String idSali;
-	private Set<Integer> miejscaZajete;
-	private int liczbaMiejsc;
+	private final MapaMiejsc miejscaZajete;
+	private final UkladSali uklad;
 	private String data;
 
 	/**
@@ -28,8 +35,38 @@ public class Seans implements ISeans {
 		film = filmValue;
 		data = dataValue;
 		idSali = salaValue;
-		liczbaMiejsc = miejscaValue;
-		miejscaZajete = new HashSet<>();
+		uklad = null;
+		miejscaZajete = new MapaMiejsc(miejscaValue);
+	}
+
+	/**
+	 * Tworzy Seans w sali o określonym układzie rzędów i przejść.
+	 * @param idValue unikalny identyfikator seansu
+	 * @param filmValue film wyświetlany na seansie
+	 * @param dataValue data i godzina seansu
+	 * @param salaValue identyfikator sali/pokoju
+	 * @param ukladValue układ miejsc sali
+	 */
+	public Seans(String idValue, IFilm filmValue, String dataValue, String salaValue, UkladSali ukladValue) {
+		id = idValue;
+		film = filmValue;
+		data = dataValue;
+		idSali = salaValue;
+		uklad = ukladValue;
+		miejscaZajete = new MapaMiejsc(ukladValue);
+	}
+
+	/**
+	 * Tworzy Seans w sali zarejestrowanej w katalogu, ze współdzielonym układem.
+	 * @param idValue unikalny identyfikator seansu
+	 * @param filmValue film wyświetlany na seansie
+	 * @param dataValue data i godzina seansu
+	 * @param salaValue identyfikator sali/pokoju
+	 * @param katalog katalog układów sal
+	 * @throws IllegalArgumentException jeśli sali nie ma w katalogu
+	 */
+	public Seans(String idValue, IFilm filmValue, String dataValue, String salaValue, KatalogSal katalog) {
+		this(idValue, filmValue, dataValue, salaValue, ukladSali(katalog, salaValue));
 	}
 
 	/**
@@ -58,18 +95,56 @@ public class Seans implements ISeans {
 
 	/**
 	 * Próbuje zarezerwować określone miejsce na tym seansie.
+	 * Z równoległych rezerwacji tego samego miejsca udaje się dokładnie jedna.
 	 * @param nrMiejsca numer miejsca do zarezerwowania
 	 * @return true jeśli miejsce zostało pomyślnie zarezerwowane, false jeśli nieprawidłowe lub już zajęte
 	 */
 	public boolean zarezerwujMiejsce(int nrMiejsca) {
-		if (nrMiejsca < 1 || nrMiejsca > liczbaMiejsc) {
-			return false;
+		return miejscaZajete.zajmij(nrMiejsca);
+	}
+
+	/**
+	 * Rezerwuje grupę miejsc na tym seansie: wszystkie albo żadne.
+	 * Równoległe rezerwacje innych miejsc nie są przy tym blokowane.
+	 * @param nrMiejsc numery miejsc do zarezerwowania
+	 * @return true jeśli zarezerwowano wszystkie miejsca, false jeśli któreś
+	 *         jest nieprawidłowe lub już zajęte (wtedy nie rezerwuje się żadnego)
+	 */
+	public boolean zarezerwujMiejsca(int... nrMiejsc) {
+		return miejscaZajete.zajmijWszystkie(nrMiejsc);
+	}
+
+	/**
+	 * Znajduje najlepszy według preferencji blok sąsiednich wolnych miejsc
+	 * w jednym rzędzie, niepodzielony przejściem.
+	 * @param liczbaMiejsc liczba miejsc w bloku
+	 * @param preferencja kryterium oceny bloków
+	 * @return numery miejsc bloku lub null, jeśli takiego bloku nie ma
+	 * @throws IllegalStateException jeśli seans nie ma układu sali
+	 */
+	public int[] znajdzNajlepszyBlok(int liczbaMiejsc, IPreferencjaMiejsc preferencja) {
+		if (uklad == null) {
+			throw new IllegalStateException("Seans " + id + " nie ma ukladu sali");
 		}
-		if (miejscaZajete.contains(nrMiejsca)) {
-			return false;
+		return WyszukiwarkaMiejsc.znajdzBlok(uklad, miejscaZajete, liczbaMiejsc, preferencja);
+	}
+
+	/**
+	 * Znajduje i atomowo rezerwuje najlepszy blok sąsiednich miejsc.
+	 * Jeśli inny kupujący zajmie część bloku między wyszukaniem a rezerwacją,
+	 * wyszukiwanie jest ponawiane na aktualnym stanie sali.
+	 * @param liczbaMiejsc liczba miejsc w bloku
+	 * @param preferencja kryterium oceny bloków
+	 * @return numery zarezerwowanych miejsc lub null, jeśli nie ma wolnego bloku
+	 * @throws IllegalStateException jeśli seans nie ma układu sali
+	 */
+	public int[] zarezerwujNajlepszyBlok(int liczbaMiejsc, IPreferencjaMiejsc preferencja) {
+		while (true) {
+			int[] blok = znajdzNajlepszyBlok(liczbaMiejsc, preferencja);
+			if (blok == null || miejscaZajete.zajmijWszystkie(blok)) {
+				return blok;
+			}
 		}
-		miejscaZajete.add(nrMiejsca);
-		return true;
 	}
 
 	/**
@@ -77,7 +152,53 @@ public class Seans implements ISeans {
 	 * @param nrMiejsca numer miejsca do zwolnienia
 	 */
 	public void zwolnijMiejsce(int nrMiejsca) {
-		miejscaZajete.remove(nrMiejsca);
+		if (uklad != null && uklad.czyZablokowane(nrMiejsca)) {
+			return;
+		}
+		miejscaZajete.zwolnij(nrMiejsca);
+	}
+
+	/**
+	 * Zwraca liczbę wolnych miejsc bez wyliczania ich numerów.
+	 * @return liczba wolnych miejsc
+	 */
+	public int dajLiczbeWolnychMiejsc() {
+		return miejscaZajete.dajLiczbeWolnych();
+	}
+
+	/**
+	 * Zwraca liczbę zajętych miejsc.
+	 * @return liczba zajętych miejsc
+	 */
+	public int dajLiczbeZajetychMiejsc() {
+		int zablokowane = uklad == null ? 0 : uklad.dajLiczbeMiejsc() - uklad.dajLiczbeDostepnych();
+		return miejscaZajete.dajLiczbeZajetych() - zablokowane;
+	}
+
+	/**
+	 * Zwraca układ sali seansu.
+	 * @return układ sali lub null, jeśli seans ma tylko liczbę miejsc
+	 */
+	public UkladSali dajUklad() {
+		return uklad;
+	}
+
+	/**
+	 * Zwraca bieżącą wersję mapy miejsc seansu.
+	 * @return wersja mapy miejsc
+	 */
+	public long dajWersjeMiejsc() {
+		return miejscaZajete.dajWersje();
+	}
+
+	/**
+	 * Zwraca miejsca zmienione od wersji znanej klientowi albo pełną listę
+	 * wolnych miejsc, jeśli ta wersja wypadła z historii zmian.
+	 * @param odWersji ostatnia wersja znana klientowi (-1 dla nowego klienta)
+	 * @return zmiany miejsc lub pełna migawka
+	 */
+	public ZmianyMiejsc dajZmianyMiejsc(long odWersji) {
+		return miejscaZajete.dajZmiany(odWersji);
 	}
 
 	/**
@@ -85,14 +206,14 @@ public class Seans implements ISeans {
 	 * @return tablica dostępnych numerów miejsc
 	 */
 	public int[] dajWolneMiejsca() {
-		int wolnych = liczbaMiejsc - miejscaZajete.size();
-		int[] wolne = new int[wolnych];
-		int idx = 0;
-		for (int i = 1; i <= liczbaMiejsc; i++) {
-			if (!miejscaZajete.contains(i)) {
-				wolne[idx++] = i;
-			}
+		return miejscaZajete.dajWolne();
+	}
+
+	private static UkladSali ukladSali(KatalogSal katalog, String idSali) {
+		UkladSali uklad = katalog.dajUklad(idSali);
+		if (uklad == null) {
+			throw new IllegalArgumentException("Nieznana sala: " + idSali);
 		}
-		return wolne;
+		return uklad;
 	}
 }
\ No newline at end of file
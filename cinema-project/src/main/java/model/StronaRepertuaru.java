@@ -0,0 +1,75 @@
+package model;
+
+/**
+ * Niezmienna strona repertuaru: kolejne seanse w stałym porządku i kursor,
+ * od którego zaczyna się następna strona. Klient przekazuje kursor
+ * z powrotem bez zmian, więc pamięć potrzebna na jedno żądanie zależy od
+ * rozmiaru strony, a nie od liczby seansów.
+ */
+public final class StronaRepertuaru {
+	private final String[] idSeansow;
+	private final String[] opisy;
+	private final String nastepnyKursor;
+
+	/**
+	 * Tworzy stronę repertuaru.
+	 * 
+	 * @param idSeansowValue      ID seansów na stronie
+	 * @param opisyValue          opisy seansów z zajętością, w tej samej kolejności
+	 * @param nastepnyKursorValue kursor następnej strony lub null, jeśli to
+	 *                            ostatnia strona
+	 */
+	public StronaRepertuaru(String[] idSeansowValue, String[] opisyValue, String nastepnyKursorValue) {
+		idSeansow = idSeansowValue;
+		opisy = opisyValue;
+		nastepnyKursor = nastepnyKursorValue;
+	}
+
+	/**
+	 * Zwraca liczbę seansów na stronie.
+	 * 
+	 * @return liczba seansów
+	 */
+	public int dajLiczbeSeansow() {
+		return idSeansow.length;
+	}
+
+	/**
+	 * Zwraca ID seansu na podanej pozycji strony.
+	 * 
+	 * @param pozycja pozycja na stronie (od 0)
+	 * @return ID seansu
+	 */
+	public String dajIdSeansu(int pozycja) {
+		return idSeansow[pozycja];
+	}
+
+	/**
+	 * Zwraca opis seansu na podanej pozycji strony: dane seansu w formacie
+	 * idFilmu;data;sala;miejsca i liczbę wolnych miejsc.
+	 * 
+	 * @param pozycja pozycja na stronie (od 0)
+	 * @return opis seansu
+	 */
+	public String dajOpis(int pozycja) {
+		return opisy[pozycja];
+	}
+
+	/**
+	 * Zwraca kursor następnej strony.
+	 * 
+	 * @return kursor lub null, jeśli to ostatnia strona
+	 */
+	public String dajNastepnyKursor() {
+		return nastepnyKursor;
+	}
+
+	/**
+	 * Informuje, czy po tej stronie są kolejne seanse.
+	 * 
+	 * @return true jeśli jest następna strona
+	 */
+	public boolean czyJestNastepna() {
+		return nastepnyKursor != null;
+	}
+}
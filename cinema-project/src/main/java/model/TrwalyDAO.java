@@ -0,0 +1,429 @@
+package model;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Trwały tryb pracy DAO oparty o dziennik zapisu z wyprzedzeniem.
+ * Opakowuje dowolną implementację IDAO: każda operacja modyfikująca jest
+ * wykonywana na opakowanym DAO i dopisywana do dziennika, a przy starcie
+ * dziennik jest odtwarzany, co odbudowuje mapy i liczniki ID.
+ * Operacje modyfikujące są serializowane krótką blokadą, więc kolejność
+ * w dzienniku odpowiada kolejności nadawania ID; na utrwalenie na dysku
+ * wątki czekają już poza blokadą, co pozwala łączyć ich zapisy w grupy.
+ * Do pracy wielowątkowej należy opakować ConcurrentDAO.
+ * Jeśli opakowane DAO implementuje IMigawkaDAO, stan może być okresowo
+ * zapisywany w migawce, po której starsze segmenty dziennika są usuwane,
+ * a start wymaga jedynie wczytania migawki i odtworzenia krótkiego ogona.
+ */
+public class TrwalyDAO implements IDAO, Closeable {
+
+	private IDAO dao;
+	private DziennikZapisu dziennik;
+	private final Object blokadaZapisu = new Object();
+	private final long migawkaCoOperacji;
+	private long operacjeOdMigawki;
+
+	/**
+	 * Tworzy trwałe DAO i odtwarza jego stan z najnowszej migawki i dziennika.
+	 * 
+	 * @param daoValue               puste DAO, do którego odtwarzany jest stan
+	 * @param dziennikValue          dziennik operacji modyfikujących
+	 * @param migawkaCoOperacjiValue liczba operacji, po której automatycznie
+	 *                               zapisywana jest migawka (0 wyłącza)
+	 * @throws IllegalStateException jeśli włączono migawki, a DAO nie
+	 *                               implementuje IMigawkaDAO
+	 */
+	public TrwalyDAO(IDAO daoValue, DziennikZapisu dziennikValue, long migawkaCoOperacjiValue) {
+		dao = daoValue;
+		dziennik = dziennikValue;
+		migawkaCoOperacji = migawkaCoOperacjiValue;
+		long odSegmentu = 0;
+		if (dao instanceof IMigawkaDAO) {
+			odSegmentu = Migawka.wczytajNajnowsza(dziennik.dajKatalog(), (IMigawkaDAO) dao);
+		} else if (migawkaCoOperacji > 0) {
+			throw new IllegalStateException("Migawki wymagaja DAO implementujacego IMigawkaDAO");
+		}
+		dziennik.odtworz(odSegmentu, this::zastosuj);
+	}
+
+	/**
+	 * Tworzy trwałe DAO bez automatycznych migawek.
+	 * 
+	 * @param daoValue      puste DAO, do którego odtwarzany jest stan
+	 * @param dziennikValue dziennik operacji modyfikujących
+	 */
+	public TrwalyDAO(IDAO daoValue, DziennikZapisu dziennikValue) {
+		this(daoValue, dziennikValue, 0);
+	}
+
+	/**
+	 * Zapisuje migawkę bieżącego stanu i usuwa pokryte nią segmenty dziennika.
+	 * Na czas przełączenia segmentu i zapisu migawki operacje modyfikujące
+	 * są wstrzymywane, odczyty działają bez przerwy.
+	 * 
+	 * @return numer segmentu dziennika, od którego zaczyna się ogon po migawce
+	 * @throws IllegalStateException jeśli opakowane DAO nie implementuje IMigawkaDAO
+	 */
+	public long zapiszMigawke() {
+		if (!(dao instanceof IMigawkaDAO)) {
+			throw new IllegalStateException("Migawki wymagaja DAO implementujacego IMigawkaDAO");
+		}
+		long numer;
+		synchronized (blokadaZapisu) {
+			numer = dziennik.rozpocznijNowySegment();
+			Migawka.zapisz(dziennik.dajKatalog(), numer, (IMigawkaDAO) dao);
+			operacjeOdMigawki = 0;
+		}
+		dziennik.usunSegmentyPrzed(numer);
+		Migawka.usunStarsze(dziennik.dajKatalog(), numer);
+		return numer;
+	}
+
+	/**
+	 * Dodaje wpis zdarzenia do dziennika systemowego.
+	 * Wpisy zdarzeń nie są częścią stanu i nie trafiają do dziennika zapisu.
+	 * 
+	 * @param zdarzenie opis zdarzenia do zapisania
+	 */
+	public void dodajWpisDoLogu(String zdarzenie) {
+		dao.dodajWpisDoLogu(zdarzenie);
+	}
+
+	/**
+	 * Pobiera dane filmu według ID.
+	 * 
+	 * @param idFilmu ID filmu do znalezienia
+	 * @return dane filmu jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzFilm(String idFilmu) {
+		return dao.znajdzFilm(idFilmu);
+	}
+
+	/**
+	 * Dodaje nowy film do bazy danych i zapisuje operację w dzienniku.
+	 * 
+	 * @param filmData dane filmu do zapisania (pierwsze pole to ID)
+	 * @return ID filmu z danych
+	 */
+	public String dodajFilm(String filmData) {
+		String id;
+		long numer;
+		synchronized (blokadaZapisu) {
+			id = dao.dodajFilm(filmData);
+			numer = dziennik.dopisz(DziennikZapisu.Operacja.DODAJ_FILM, filmData);
+			operacjeOdMigawki++;
+		}
+		dziennik.czekajNaUtrwalenie(numer);
+		zapiszMigawkeJesliTrzeba();
+		return id;
+	}
+
+	/**
+	 * Dodaje partię filmów i zapisuje ją w dzienniku.
+	 * Na utrwalenie czeka się raz, po ostatnim wpisie partii.
+	 * 
+	 * @param filmyData dane kolejnych filmów do zapisania
+	 * @return ID filmów z danych, w kolejności danych
+	 */
+	public String[] dodajFilmy(List<String> filmyData) {
+		return dodajPartie(DziennikZapisu.Operacja.DODAJ_FILM, filmyData);
+	}
+
+	/**
+	 * Aktualizuje istniejące dane filmu i zapisuje operację w dzienniku.
+	 * 
+	 * @param filmData zaktualizowane dane filmu
+	 */
+	public void edytujFilm(String filmData) {
+		zapisz(DziennikZapisu.Operacja.EDYTUJ_FILM, filmData);
+	}
+
+	/**
+	 * Usuwa film z bazy danych i zapisuje operację w dzienniku.
+	 * 
+	 * @param idFilmu ID filmu do usunięcia
+	 */
+	public void usunFilm(String idFilmu) {
+		zapisz(DziennikZapisu.Operacja.USUN_FILM, idFilmu);
+	}
+
+	/**
+	 * Pobiera dane seansu według ID.
+	 * 
+	 * @param idSeansu ID seansu do znalezienia
+	 * @return dane seansu jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzSeans(String idSeansu) {
+		return dao.znajdzSeans(idSeansu);
+	}
+
+	/**
+	 * Znajduje wszystkie seanse dla określonego filmu.
+	 * 
+	 * @param idFilmu ID filmu
+	 * @return tablica ID seansów dla określonego filmu
+	 */
+	public String[] znajdzSeansyFilmu(String idFilmu) {
+		return dao.znajdzSeansyFilmu(idFilmu);
+	}
+
+	/**
+	 * Znajduje wszystkie seanse w bazie danych.
+	 * 
+	 * @return tablica ID wszystkich seansów
+	 */
+	public String[] znajdzSeanse() {
+		return dao.znajdzSeanse();
+	}
+
+	/**
+	 * Zwraca liczbę seansów w bazie danych.
+	 * 
+	 * @return liczba seansów
+	 */
+	public int dajLiczbeSeansow() {
+		return dao.dajLiczbeSeansow();
+	}
+
+	/**
+	 * Dodaje nowy seans do bazy danych i zapisuje operację w dzienniku.
+	 * 
+	 * @param seansData dane seansu do zapisania
+	 * @return wygenerowane ID seansu
+	 */
+	public String dodajSeans(String seansData) {
+		String id;
+		long numer;
+		synchronized (blokadaZapisu) {
+			id = dao.dodajSeans(seansData);
+			numer = dziennik.dopisz(DziennikZapisu.Operacja.DODAJ_SEANS, seansData);
+			operacjeOdMigawki++;
+		}
+		dziennik.czekajNaUtrwalenie(numer);
+		zapiszMigawkeJesliTrzeba();
+		return id;
+	}
+
+	/**
+	 * Dodaje partię seansów i zapisuje ją w dzienniku.
+	 * Na utrwalenie czeka się raz, po ostatnim wpisie partii.
+	 * 
+	 * @param seanseData dane kolejnych seansów do zapisania
+	 * @return wygenerowane ID seansów w kolejności danych
+	 */
+	public String[] dodajSeanse(List<String> seanseData) {
+		return dodajPartie(DziennikZapisu.Operacja.DODAJ_SEANS, seanseData);
+	}
+
+	/**
+	 * Aktualizuje istniejące dane seansu i zapisuje operację w dzienniku.
+	 * 
+	 * @param seansData zaktualizowane dane seansu w formacie:
+	 *                  idSeansu;idFilmu;data;sala;miejsca
+	 */
+	public void edytujSeans(String seansData) {
+		zapisz(DziennikZapisu.Operacja.EDYTUJ_SEANS, seansData);
+	}
+
+	/**
+	 * Usuwa seans z bazy danych i zapisuje operację w dzienniku.
+	 * 
+	 * @param idSeansu ID seansu do usunięcia
+	 */
+	public void usunSeans(String idSeansu) {
+		zapisz(DziennikZapisu.Operacja.USUN_SEANS, idSeansu);
+	}
+
+	/**
+	 * Pobiera dane rezerwacji według ID.
+	 * 
+	 * @param idRezerwacji ID rezerwacji do znalezienia
+	 * @return dane rezerwacji jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzRezerwacje(String idRezerwacji) {
+		return dao.znajdzRezerwacje(idRezerwacji);
+	}
+
+	/**
+	 * Znajduje wszystkie rezerwacje na określony seans.
+	 * 
+	 * @param idSeansu ID seansu
+	 * @return tablica ID rezerwacji na określony seans
+	 */
+	public String[] znajdzRezerwacjeSeansu(String idSeansu) {
+		return dao.znajdzRezerwacjeSeansu(idSeansu);
+	}
+
+	/**
+	 * Dodaje nową rezerwację do bazy danych i zapisuje operację w dzienniku.
+	 * 
+	 * @param rezerwacjaData dane rezerwacji do zapisania
+	 * @return wygenerowane ID rezerwacji
+	 */
+	public String dodajRezerwacje(String rezerwacjaData) {
+		String id;
+		long numer;
+		synchronized (blokadaZapisu) {
+			id = dao.dodajRezerwacje(rezerwacjaData);
+			numer = dziennik.dopisz(DziennikZapisu.Operacja.DODAJ_REZERWACJE, rezerwacjaData);
+			operacjeOdMigawki++;
+		}
+		dziennik.czekajNaUtrwalenie(numer);
+		zapiszMigawkeJesliTrzeba();
+		return id;
+	}
+
+	/**
+	 * Usuwa rezerwację z bazy danych i zapisuje operację w dzienniku.
+	 * 
+	 * @param idRezerwacji ID rezerwacji do usunięcia
+	 */
+	public void usunRezerwacje(String idRezerwacji) {
+		zapisz(DziennikZapisu.Operacja.USUN_REZERWACJE, idRezerwacji);
+	}
+
+	/**
+	 * Pobiera dane klienta według ID.
+	 * 
+	 * @param idKlienta ID klienta do znalezienia
+	 * @return dane klienta jako string, lub null jeśli nie znaleziono
+	 */
+	public String znajdzKlienta(String idKlienta) {
+		return dao.znajdzKlienta(idKlienta);
+	}
+
+	/**
+	 * Dodaje nowego klienta do bazy danych i zapisuje operację w dzienniku.
+	 * 
+	 * @param klientData dane klienta do zapisania
+	 * @return wygenerowane ID klienta
+	 */
+	public String dodajKlienta(String klientData) {
+		String id;
+		long numer;
+		synchronized (blokadaZapisu) {
+			id = dao.dodajKlienta(klientData);
+			numer = dziennik.dopisz(DziennikZapisu.Operacja.DODAJ_KLIENTA, klientData);
+			operacjeOdMigawki++;
+		}
+		dziennik.czekajNaUtrwalenie(numer);
+		zapiszMigawkeJesliTrzeba();
+		return id;
+	}
+
+	/**
+	 * Utrwala zaległe zapisy i zamyka dziennik.
+	 */
+	public void close() {
+		dziennik.close();
+	}
+
+	/**
+	 * Wykonuje operację bez wyniku na opakowanym DAO i zapisuje ją w dzienniku.
+	 * Operacja, która rzuci wyjątek, nie trafia do dziennika.
+	 * 
+	 * @param operacja typ operacji
+	 * @param argument argument operacji
+	 */
+	private void zapisz(DziennikZapisu.Operacja operacja, String argument) {
+		long numer;
+		synchronized (blokadaZapisu) {
+			zastosuj(operacja, argument);
+			numer = dziennik.dopisz(operacja, argument);
+			operacjeOdMigawki++;
+		}
+		dziennik.czekajNaUtrwalenie(numer);
+		zapiszMigawkeJesliTrzeba();
+	}
+
+	/**
+	 * Dodaje partię filmów lub seansów pod jedną blokadą i czeka na
+	 * utrwalenie ostatniego wpisu, a więc całej partii.
+	 * Jeśli któraś operacja rzuci wyjątek, wcześniejsze operacje partii
+	 * pozostają zapisane, tak jak przy osobnych wywołaniach.
+	 * 
+	 * @param operacja DODAJ_FILM albo DODAJ_SEANS
+	 * @param dane     dane kolejnych encji
+	 * @return ID dodanych encji w kolejności danych
+	 */
+	private String[] dodajPartie(DziennikZapisu.Operacja operacja, List<String> dane) {
+		String[] id = new String[dane.size()];
+		long numer = 0;
+		try {
+			synchronized (blokadaZapisu) {
+				for (int i = 0; i < id.length; i++) {
+					String wpis = dane.get(i);
+					id[i] = operacja == DziennikZapisu.Operacja.DODAJ_FILM ? dao.dodajFilm(wpis) : dao.dodajSeans(wpis);
+					numer = dziennik.dopisz(operacja, wpis);
+					operacjeOdMigawki++;
+				}
+			}
+		} finally {
+			if (numer > 0) {
+				dziennik.czekajNaUtrwalenie(numer);
+			}
+		}
+		zapiszMigawkeJesliTrzeba();
+		return id;
+	}
+
+	/**
+	 * Zapisuje migawkę, jeśli od poprzedniej wykonano zadaną liczbę operacji.
+	 * Licznik jest sprawdzany pod blokadą, więc migawkę zapisuje tylko jeden wątek.
+	 */
+	private void zapiszMigawkeJesliTrzeba() {
+		if (migawkaCoOperacji <= 0) {
+			return;
+		}
+		synchronized (blokadaZapisu) {
+			if (operacjeOdMigawki < migawkaCoOperacji) {
+				return;
+			}
+			operacjeOdMigawki = 0;
+		}
+		zapiszMigawke();
+	}
+
+	/**
+	 * Wykonuje operację z dziennika na opakowanym DAO.
+	 * Używana przy odtwarzaniu stanu i przez operacje bez wyniku.
+	 * 
+	 * @param operacja typ operacji
+	 * @param argument argument operacji
+	 */
+	private void zastosuj(DziennikZapisu.Operacja operacja, String argument) {
+		switch (operacja) {
+			case DODAJ_FILM:
+				dao.dodajFilm(argument);
+				break;
+			case EDYTUJ_FILM:
+				dao.edytujFilm(argument);
+				break;
+			case USUN_FILM:
+				dao.usunFilm(argument);
+				break;
+			case DODAJ_SEANS:
+				dao.dodajSeans(argument);
+				break;
+			case EDYTUJ_SEANS:
+				dao.edytujSeans(argument);
+				break;
+			case USUN_SEANS:
+				dao.usunSeans(argument);
+				break;
+			case DODAJ_REZERWACJE:
+				dao.dodajRezerwacje(argument);
+				break;
+			case USUN_REZERWACJE:
+				dao.usunRezerwacje(argument);
+				break;
+			case DODAJ_KLIENTA:
+				dao.dodajKlienta(argument);
+				break;
+			default:
+				throw new IllegalArgumentException("Nieznana operacja dziennika: " + operacja);
+		}
+	}
+}
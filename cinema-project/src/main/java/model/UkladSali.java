@@ -0,0 +1,214 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Niezmienny układ miejsc sali: rzędy o równej liczbie miejsc i przejścia
+ * między miejscami. Miejsca są numerowane rzędami od 1, czyli miejsce na
+ * pozycji p w rzędzie r ma numer (r - 1) * miejscWRzedzie + p.
+ * Rząd mieści się w jednym słowie long (do 64 miejsc), dzięki czemu
+ * wyszukiwanie sąsiednich wolnych miejsc działa na całych słowach.
+ * Układ opisuje też kategorie rzędów i miejsca wyłączone z użytku.
+ * Jest niezmienny, więc jeden obiekt układu może być współdzielony przez
+ * wszystkie seanse w danej sali (zob. {@link KatalogSal}); seans
+ * przechowuje wtedy tylko własne bity zajętości.
+ */
+public final class UkladSali {
+
+	/** Największa obsługiwana liczba miejsc w rzędzie. */
+	public static final int MAKS_MIEJSC_W_RZEDZIE = 64;
+
+	/**
+	 * Kategoria miejsc rzędu.
+	 */
+	public enum Kategoria {
+		STANDARD, PREMIUM, VIP
+	}
+
+	private final int liczbaRzedow;
+	private final int miejscWRzedzie;
+	private final long maskaPrzejsc;
+	private final Kategoria[] kategorieRzedow;
+	private final int[] zablokowane;
+
+	/**
+	 * Tworzy układ sali.
+	 * 
+	 * @param liczbaRzedowValue   liczba rzędów
+	 * @param miejscWRzedzieValue liczba miejsc w każdym rzędzie (1-64)
+	 * @param przejsciaPoValue    pozycje w rzędzie (od 1), za którymi jest przejście
+	 * @throws IllegalArgumentException jeśli wymiary lub pozycje przejść są nieprawidłowe
+	 */
+	public UkladSali(int liczbaRzedowValue, int miejscWRzedzieValue, int... przejsciaPoValue) {
+		this(liczbaRzedowValue, miejscWRzedzieValue, przejsciaPoValue, null, new int[0]);
+	}
+
+	/**
+	 * Tworzy układ sali z kategoriami rzędów i miejscami wyłączonymi z użytku.
+	 * 
+	 * @param liczbaRzedowValue    liczba rzędów
+	 * @param miejscWRzedzieValue  liczba miejsc w każdym rzędzie (1-64)
+	 * @param przejsciaPoValue     pozycje w rzędzie (od 1), za którymi jest przejście
+	 * @param kategorieRzedowValue kategoria każdego rzędu lub null, jeśli
+	 *                             wszystkie rzędy są standardowe
+	 * @param zablokowaneValue     numery miejsc wyłączonych z użytku
+	 * @throws IllegalArgumentException jeśli wymiary, pozycje przejść, liczba
+	 *                                  kategorii lub numery miejsc są nieprawidłowe
+	 */
+	public UkladSali(int liczbaRzedowValue, int miejscWRzedzieValue, int[] przejsciaPoValue,
+			Kategoria[] kategorieRzedowValue, int[] zablokowaneValue) {
+		if (liczbaRzedowValue < 1 || miejscWRzedzieValue < 1 || miejscWRzedzieValue > MAKS_MIEJSC_W_RZEDZIE) {
+			throw new IllegalArgumentException(
+					"Nieprawidlowy uklad sali: " + liczbaRzedowValue + "x" + miejscWRzedzieValue);
+		}
+		long maska = 0;
+		for (int pozycja : przejsciaPoValue) {
+			if (pozycja < 1 || pozycja >= miejscWRzedzieValue) {
+				throw new IllegalArgumentException("Nieprawidlowa pozycja przejscia: " + pozycja);
+			}
+			maska |= 1L << (pozycja - 1);
+		}
+		if (kategorieRzedowValue != null && kategorieRzedowValue.length != liczbaRzedowValue) {
+			throw new IllegalArgumentException(
+					"Nieprawidlowa liczba kategorii rzedow: " + kategorieRzedowValue.length);
+		}
+		int[] miejsca = Arrays.stream(zablokowaneValue).sorted().distinct().toArray();
+		for (int nr : miejsca) {
+			if (nr < 1 || nr > liczbaRzedowValue * miejscWRzedzieValue) {
+				throw new IllegalArgumentException("Nieprawidlowy numer miejsca: " + nr);
+			}
+		}
+		liczbaRzedow = liczbaRzedowValue;
+		miejscWRzedzie = miejscWRzedzieValue;
+		maskaPrzejsc = maska;
+		kategorieRzedow = kategorieRzedowValue != null ? kategorieRzedowValue.clone() : null;
+		zablokowane = miejsca;
+	}
+
+	/**
+	 * Zwraca liczbę rzędów.
+	 * 
+	 * @return liczba rzędów
+	 */
+	public int dajLiczbeRzedow() {
+		return liczbaRzedow;
+	}
+
+	/**
+	 * Zwraca liczbę miejsc w rzędzie.
+	 * 
+	 * @return liczba miejsc w rzędzie
+	 */
+	public int dajMiejscWRzedzie() {
+		return miejscWRzedzie;
+	}
+
+	/**
+	 * Zwraca łączną liczbę miejsc sali.
+	 * 
+	 * @return liczba miejsc
+	 */
+	public int dajLiczbeMiejsc() {
+		return liczbaRzedow * miejscWRzedzie;
+	}
+
+	/**
+	 * Zwraca maskę przejść: bit i oznacza przejście między pozycjami i+1 oraz i+2.
+	 * 
+	 * @return maska przejść
+	 */
+	public long dajMaskePrzejsc() {
+		return maskaPrzejsc;
+	}
+
+	/**
+	 * Zwraca numer miejsca na podanej pozycji.
+	 * 
+	 * @param rzad    numer rzędu (od 1)
+	 * @param pozycja pozycja w rzędzie (od 1)
+	 * @return numer miejsca
+	 */
+	public int numerMiejsca(int rzad, int pozycja) {
+		return (rzad - 1) * miejscWRzedzie + pozycja;
+	}
+
+	/**
+	 * Zwraca rząd miejsca o podanym numerze.
+	 * 
+	 * @param nrMiejsca numer miejsca (od 1)
+	 * @return numer rzędu (od 1)
+	 */
+	public int dajRzad(int nrMiejsca) {
+		return (nrMiejsca - 1) / miejscWRzedzie + 1;
+	}
+
+	/**
+	 * Zwraca pozycję w rzędzie miejsca o podanym numerze.
+	 * 
+	 * @param nrMiejsca numer miejsca (od 1)
+	 * @return pozycja w rzędzie (od 1)
+	 */
+	public int dajPozycje(int nrMiejsca) {
+		return (nrMiejsca - 1) % miejscWRzedzie + 1;
+	}
+
+	/**
+	 * Zwraca kategorię miejsca o podanym numerze.
+	 * 
+	 * @param nrMiejsca numer miejsca (od 1)
+	 * @return kategoria rzędu, w którym jest miejsce
+	 */
+	public Kategoria dajKategorie(int nrMiejsca) {
+		return kategorieRzedow == null ? Kategoria.STANDARD : kategorieRzedow[dajRzad(nrMiejsca) - 1];
+	}
+
+	/**
+	 * Sprawdza, czy miejsce jest wyłączone z użytku.
+	 * 
+	 * @param nrMiejsca numer miejsca (od 1)
+	 * @return true jeśli miejsca nie można sprzedać
+	 */
+	public boolean czyZablokowane(int nrMiejsca) {
+		return Arrays.binarySearch(zablokowane, nrMiejsca) >= 0;
+	}
+
+	/**
+	 * Zwraca numery miejsc wyłączonych z użytku w kolejności rosnącej.
+	 * 
+	 * @return kopia tablicy numerów miejsc
+	 */
+	public int[] dajZablokowane() {
+		return zablokowane.clone();
+	}
+
+	/**
+	 * Zwraca liczbę miejsc, które można sprzedać.
+	 * 
+	 * @return liczba miejsc bez wyłączonych z użytku
+	 */
+	public int dajLiczbeDostepnych() {
+		return dajLiczbeMiejsc() - zablokowane.length;
+	}
+
+	@Override
+	public boolean equals(Object obiekt) {
+		if (this == obiekt) {
+			return true;
+		}
+		if (!(obiekt instanceof UkladSali)) {
+			return false;
+		}
+		UkladSali inny = (UkladSali) obiekt;
+		return liczbaRzedow == inny.liczbaRzedow && miejscWRzedzie == inny.miejscWRzedzie
+				&& maskaPrzejsc == inny.maskaPrzejsc && Arrays.equals(kategorieRzedow, inny.kategorieRzedow)
+				&& Arrays.equals(zablokowane, inny.zablokowane);
+	}
+
+	@Override
+	public int hashCode() {
+		int wynik = 31 * liczbaRzedow + miejscWRzedzie;
+		wynik = 31 * wynik + Long.hashCode(maskaPrzejsc);
+		wynik = 31 * wynik + Arrays.hashCode(kategorieRzedow);
+		return 31 * wynik + Arrays.hashCode(zablokowane);
+	}
+}
@@ -0,0 +1,165 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ustrukturyzowany wpis dziennika zdarzeń: czas, typ zdarzenia i ID encji,
+ * których dotyczy. Typ i ID są rozpoznawane z komunikatów zapisywanych
+ * przez Model i import katalogu (np. "Zarezerwowano bilet: R1 na seans: S1
+ * dla klienta: K001"). Wpis importu dotyczy pierwszego i ostatniego ID
+ * partii, a wpis przydziału miejsca - seansu i klienta, bez numeru miejsca.
+ */
+public final class WpisLogu {
+
+	/**
+	 * Typy zdarzeń rozpoznawane w treści wpisów po jej początku.
+	 */
+	public enum Typ {
+		DODANO_FILM("Dodano film: "), EDYTOWANO_FILM("Edytowano film: "), DODANO_SEANS("Dodano seans: "),
+		EDYTOWANO_SEANS("Edytowano seans: "), USUNIETO_SEANS("Usunieto seans: "),
+		ZAREZERWOWANO_BILET("Zarezerwowano bilet: "), ANULOWANO_REZERWACJE("Anulowano rezerwacje: "),
+		PRZYDZIELONO_MIEJSCE("Przydzielono miejsce: "), ZAIMPORTOWANO_FILMY("Zaimportowano filmy: "),
+		ZAIMPORTOWANO_SEANSE("Zaimportowano seanse: "), INNE(null);
+
+		private final String poczatek;
+
+		Typ(String poczatekValue) {
+			poczatek = poczatekValue;
+		}
+	}
+
+	private static final Typ[] TYPY = Typ.values();
+	/** Etykiety kolejnych ID encji w treści wpisu. */
+	private static final String[] ETYKIETY = { " na seans: ", " na seansie: ", " dla klienta: " };
+	private static final String[] BRAK_ENCJI = new String[0];
+
+	private final long czas;
+	private final Typ typ;
+	private final List<String> idEncji;
+	private final String tresc;
+
+	/**
+	 * Tworzy wpis dziennika.
+	 * 
+	 * @param czasValue    czas zdarzenia w milisekundach epoki
+	 * @param typValue     typ zdarzenia
+	 * @param idEncjiValue ID encji, których dotyczy zdarzenie
+	 * @param trescValue   oryginalna treść wpisu
+	 */
+	public WpisLogu(long czasValue, Typ typValue, String[] idEncjiValue, String trescValue) {
+		czas = czasValue;
+		typ = typValue;
+		idEncji = Collections.unmodifiableList(Arrays.asList(idEncjiValue.clone()));
+		tresc = trescValue;
+	}
+
+	/**
+	 * Tworzy wpis, rozpoznając typ zdarzenia i ID encji z treści.
+	 * Treść w nieznanym formacie daje wpis typu INNE bez encji.
+	 * 
+	 * @param czas  czas zdarzenia w milisekundach epoki
+	 * @param tresc treść wpisu przekazana do dodajWpisDoLogu
+	 * @return ustrukturyzowany wpis
+	 */
+	public static WpisLogu rozpoznaj(long czas, String tresc) {
+		for (Typ typ : TYPY) {
+			if (typ.poczatek != null && tresc.startsWith(typ.poczatek)) {
+				return new WpisLogu(czas, typ, wyodrebnijEncje(typ, tresc, typ.poczatek.length()), tresc);
+			}
+		}
+		return new WpisLogu(czas, Typ.INNE, BRAK_ENCJI, tresc);
+	}
+
+	/**
+	 * Wyodrębnia ID encji z treści wpisu za jego początkiem.
+	 * 
+	 * @param typ   typ zdarzenia
+	 * @param tresc treść wpisu
+	 * @param od    pozycja za początkiem typu
+	 * @return ID encji w kolejności występowania w treści
+	 */
+	private static String[] wyodrebnijEncje(Typ typ, String tresc, int od) {
+		if (typ == Typ.ZAIMPORTOWANO_FILMY || typ == Typ.ZAIMPORTOWANO_SEANSE) {
+			// Format: liczba (pierwszeId - ostatnieId)
+			int nawias = tresc.indexOf(" (", od);
+			int myslnik = tresc.indexOf(" - ", nawias + 2);
+			if (nawias < 0 || myslnik < 0 || !tresc.endsWith(")")) {
+				return BRAK_ENCJI;
+			}
+			return new String[] { tresc.substring(nawias + 2, myslnik),
+					tresc.substring(myslnik + 3, tresc.length() - 1) };
+		}
+		List<String> encje = new ArrayList<>(3);
+		int poczatek = od;
+		while (true) {
+			int etykieta = -1;
+			int dlugosc = 0;
+			for (String kandydat : ETYKIETY) {
+				int pozycja = tresc.indexOf(kandydat, poczatek);
+				if (pozycja >= 0 && (etykieta < 0 || pozycja < etykieta)) {
+					etykieta = pozycja;
+					dlugosc = kandydat.length();
+				}
+			}
+			encje.add(tresc.substring(poczatek, etykieta < 0 ? tresc.length() : etykieta));
+			if (etykieta < 0) {
+				break;
+			}
+			poczatek = etykieta + dlugosc;
+		}
+		if (typ == Typ.PRZYDZIELONO_MIEJSCE) {
+			// Pierwsze pole to numer miejsca, a nie ID encji
+			encje.remove(0);
+		}
+		return encje.toArray(new String[0]);
+	}
+
+	/**
+	 * Zwraca czas zdarzenia.
+	 * 
+	 * @return czas w milisekundach epoki
+	 */
+	public long dajCzas() {
+		return czas;
+	}
+
+	/**
+	 * Zwraca typ zdarzenia.
+	 * 
+	 * @return typ zdarzenia
+	 */
+	public Typ dajTyp() {
+		return typ;
+	}
+
+	/**
+	 * Zwraca ID encji, których dotyczy zdarzenie.
+	 * 
+	 * @return niemodyfikowalna lista ID encji
+	 */
+	public List<String> dajIdEncji() {
+		return idEncji;
+	}
+
+	/**
+	 * Sprawdza, czy zdarzenie dotyczy podanej encji.
+	 * 
+	 * @param id ID encji
+	 * @return true jeśli ID występuje we wpisie
+	 */
+	public boolean dotyczy(String id) {
+		return idEncji.contains(id);
+	}
+
+	/**
+	 * Zwraca oryginalną treść wpisu.
+	 * 
+	 * @return treść wpisu
+	 */
+	public String dajTresc() {
+		return tresc;
+	}
+}
@@ -0,0 +1,50 @@
+package model;
+
+/**
+ * Niezmienne podsumowanie importu katalogu z pliku CSV.
+ */
+public final class WynikImportu {
+	private final long liczbaZaimportowanych;
+	private final long liczbaOdrzuconych;
+	private final int liczbaPartii;
+
+	/**
+	 * Tworzy podsumowanie importu.
+	 * 
+	 * @param zaimportowaneValue liczba dodanych wierszy
+	 * @param odrzuconeValue     liczba wierszy pominiętych z powodu błędnych danych
+	 * @param partieValue        liczba zapisanych partii
+	 */
+	public WynikImportu(long zaimportowaneValue, long odrzuconeValue, int partieValue) {
+		liczbaZaimportowanych = zaimportowaneValue;
+		liczbaOdrzuconych = odrzuconeValue;
+		liczbaPartii = partieValue;
+	}
+
+	/**
+	 * Zwraca liczbę dodanych wierszy.
+	 * 
+	 * @return liczba zaimportowanych wierszy
+	 */
+	public long dajLiczbeZaimportowanych() {
+		return liczbaZaimportowanych;
+	}
+
+	/**
+	 * Zwraca liczbę wierszy pominiętych z powodu błędnych danych.
+	 * 
+	 * @return liczba odrzuconych wierszy
+	 */
+	public long dajLiczbeOdrzuconych() {
+		return liczbaOdrzuconych;
+	}
+
+	/**
+	 * Zwraca liczbę partii zapisanych do DAO.
+	 * 
+	 * @return liczba partii
+	 */
+	public int dajLiczbePartii() {
+		return liczbaPartii;
+	}
+}
@@ -0,0 +1,84 @@
+package model;
+
+/**
+ * Wyszukiwanie najlepszego bloku sąsiednich wolnych miejsc w sali.
+ * Dla każdego rzędu pobierana jest jedna maska zajętości, a pozycje, od
+ * których zaczyna się N wolnych miejsc bez przejścia pomiędzy nimi,
+ * wyznacza kilka przesunięć i koniunkcji tej maski (log N kroków).
+ * Ocenie według preferencji podlegają tylko tak znalezione bloki.
+ */
+public class WyszukiwarkaMiejsc {
+
+	private WyszukiwarkaMiejsc() {
+	}
+
+	/**
+	 * Znajduje najlepszy według preferencji blok sąsiednich wolnych miejsc.
+	 * Przy równych ocenach wygrywa blok w niższym rzędzie i na niższej pozycji.
+	 * 
+	 * @param uklad        układ sali
+	 * @param mapa         mapa zajętości miejsc sali
+	 * @param liczbaMiejsc liczba miejsc w bloku
+	 * @param preferencja  kryterium oceny bloków
+	 * @return numery miejsc bloku w kolejności rosnącej lub null, jeśli takiego
+	 *         bloku nie ma
+	 */
+	public static int[] znajdzBlok(UkladSali uklad, MapaMiejsc mapa, int liczbaMiejsc,
+			IPreferencjaMiejsc preferencja) {
+		int miejscWRzedzie = uklad.dajMiejscWRzedzie();
+		if (liczbaMiejsc < 1 || liczbaMiejsc > miejscWRzedzie) {
+			return null;
+		}
+		long pelnyRzad = miejscWRzedzie == 64 ? -1L : (1L << miejscWRzedzie) - 1;
+		long bezPrzejsc = poczatkiSerii(~uklad.dajMaskePrzejsc() & pelnyRzad, liczbaMiejsc - 1);
+
+		int najlepszyRzad = 0;
+		int najlepszaPozycja = 0;
+		double najlepszaOcena = Double.POSITIVE_INFINITY;
+		for (int rzad = 1; rzad <= uklad.dajLiczbeRzedow(); rzad++) {
+			long wolne = ~mapa.dajBity(uklad.numerMiejsca(rzad, 1), miejscWRzedzie) & pelnyRzad;
+			long poczatki = poczatkiSerii(wolne, liczbaMiejsc) & bezPrzejsc;
+			while (poczatki != 0) {
+				int pozycja = Long.numberOfTrailingZeros(poczatki) + 1;
+				double ocena = preferencja.ocen(uklad, rzad, pozycja, liczbaMiejsc);
+				if (ocena < najlepszaOcena) {
+					najlepszaOcena = ocena;
+					najlepszyRzad = rzad;
+					najlepszaPozycja = pozycja;
+				}
+				poczatki &= poczatki - 1;
+			}
+		}
+		if (najlepszyRzad == 0) {
+			return null;
+		}
+		int[] blok = new int[liczbaMiejsc];
+		for (int i = 0; i < liczbaMiejsc; i++) {
+			blok[i] = uklad.numerMiejsca(najlepszyRzad, najlepszaPozycja + i);
+		}
+		return blok;
+	}
+
+	/**
+	 * Zwraca maskę pozycji, od których zaczyna się seria co najmniej
+	 * podanej liczby ustawionych bitów. Po kroku z przesunięciem k bit i
+	 * oznacza serię o długości dotychczasowej + k, więc wystarczy log N kroków.
+	 * 
+	 * @param bity    maska wejściowa
+	 * @param dlugosc wymagana długość serii (0 oznacza dowolną pozycję)
+	 * @return maska początków serii
+	 */
+	private static long poczatkiSerii(long bity, int dlugosc) {
+		if (dlugosc == 0) {
+			return -1L;
+		}
+		long wynik = bity;
+		int dlugoscSerii = 1;
+		while (dlugoscSerii < dlugosc) {
+			int krok = Math.min(dlugoscSerii, dlugosc - dlugoscSerii);
+			wynik &= wynik >>> krok;
+			dlugoscSerii += krok;
+		}
+		return wynik;
+	}
+}
@@ -0,0 +1,65 @@
+package model;
+
+/**
+ * Niezmienna odpowiedź na odświeżenie mapy miejsc przez klienta.
+ * Zawiera albo zmiany od wersji znanej klientowi (miejsca zwolnione
+ * i zajęte od tamtej pory), albo pełną listę wolnych miejsc, gdy wersja
+ * klienta wypadła już z ograniczonej historii zmian.
+ */
+public final class ZmianyMiejsc {
+	private final long wersja;
+	private final boolean pelna;
+	private final int[] wolne;
+	private final int[] zajete;
+
+	/**
+	 * Tworzy odpowiedź.
+	 * 
+	 * @param wersjaValue wersja mapy, do której odpowiedź doprowadza klienta
+	 * @param pelnaValue  true dla pełnej migawki wolnych miejsc
+	 * @param wolneValue  miejsca wolne (w migawce wszystkie, w zmianach zwolnione)
+	 * @param zajeteValue miejsca zajęte od wersji klienta (w migawce puste)
+	 */
+	public ZmianyMiejsc(long wersjaValue, boolean pelnaValue, int[] wolneValue, int[] zajeteValue) {
+		wersja = wersjaValue;
+		pelna = pelnaValue;
+		wolne = wolneValue;
+		zajete = zajeteValue;
+	}
+
+	/**
+	 * Zwraca wersję mapy, którą klient powinien podać przy następnym odświeżeniu.
+	 * 
+	 * @return wersja mapy miejsc
+	 */
+	public long dajWersje() {
+		return wersja;
+	}
+
+	/**
+	 * Informuje, czy odpowiedź jest pełną migawką zamiast listy zmian.
+	 * 
+	 * @return true dla pełnej migawki
+	 */
+	public boolean czyPelna() {
+		return pelna;
+	}
+
+	/**
+	 * Zwraca wolne miejsca: wszystkie w migawce, a w zmianach tylko zwolnione.
+	 * 
+	 * @return kopia tablicy numerów miejsc
+	 */
+	public int[] dajWolne() {
+		return wolne.clone();
+	}
+
+	/**
+	 * Zwraca miejsca zajęte od wersji klienta; w migawce tablica jest pusta.
+	 * 
+	 * @return kopia tablicy numerów miejsc
+	 */
+	public int[] dajZajete() {
+		return zajete.clone();
+	}
+}
@@ -0,0 +1,85 @@
+package benchmark;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import model.Film;
+import model.Seans;
+
+/**
+ * Benchmark mapy miejsc seansu.
+ * Porównuje wyliczanie wolnych miejsc i liczby wolnych miejsc w Seans
+ * (zbiór bitów) z poprzednią implementacją opartą o HashSet&lt;Integer&gt;,
+ * przy zajętej połowie miejsc wybranych losowo.
+ *
+ * Sposób uruchomienia opisano w README.md (sekcja "Benchmarki").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkMapaMiejsc {
+
+    @Param({ "100", "2000" })
+    private int liczbaMiejsc;
+
+    private Seans seans;
+    private Set<Integer> miejscaZajete;
+
+    @Setup(Level.Trial)
+    public void przygotuj() {
+        seans = new Seans("S1", new Film("F1", "Matrix", "SciFi", 136, "Akcja", 28.0),
+                "2024-12-20 18:00", "Sala1", liczbaMiejsc);
+        miejscaZajete = new HashSet<>();
+        Random losowe = new Random(42);
+        while (miejscaZajete.size() < liczbaMiejsc / 2) {
+            int nr = 1 + losowe.nextInt(liczbaMiejsc);
+            miejscaZajete.add(nr);
+            seans.zarezerwujMiejsce(nr);
+        }
+    }
+
+    @Benchmark
+    public int[] wolneMiejscaZbiorBitow() {
+        return seans.dajWolneMiejsca();
+    }
+
+    @Benchmark
+    public int[] wolneMiejscaHashSet() {
+        int[] wolne = new int[liczbaMiejsc - miejscaZajete.size()];
+        int idx = 0;
+        for (int i = 1; i <= liczbaMiejsc; i++) {
+            if (!miejscaZajete.contains(i)) {
+                wolne[idx++] = i;
+            }
+        }
+        return wolne;
+    }
+
+    @Benchmark
+    public int liczbaWolnychZbiorBitow() {
+        return seans.dajLiczbeWolnychMiejsc();
+    }
+
+    @Benchmark
+    public int liczbaWolnychHashSet() {
+        return liczbaMiejsc - miejscaZajete.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opcje = new OptionsBuilder()
+                .include(BenchmarkMapaMiejsc.class.getSimpleName())
+                .build();
+        new Runner(opcje).run();
+    }
+}
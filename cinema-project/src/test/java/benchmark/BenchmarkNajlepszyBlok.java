@@ -0,0 +1,103 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import model.Film;
+import model.PreferencjaSrodkaSali;
+import model.Seans;
+import model.UkladSali;
+
+/**
+ * Benchmark wyszukiwania najlepszego bloku sąsiednich miejsc.
+ * Arena 3000 miejsc (50 rzędów po 60 miejsc, dwa przejścia) z losowo
+ * zajętą częścią miejsc. Porównuje wyszukiwanie na maskach rzędów
+ * z przeszukiwaniem tablicy z dajWolneMiejsca po stronie klienta.
+ *
+ * Sposób uruchomienia opisano w README.md (sekcja "Benchmarki").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkNajlepszyBlok {
+
+    private static final int RZEDY = 50;
+    private static final int MIEJSC_W_RZEDZIE = 60;
+
+    @Param({ "2", "6" })
+    private int liczbaMiejsc;
+
+    @Param({ "0.5", "0.9" })
+    private double zajetosc;
+
+    private Seans seans;
+    private UkladSali uklad;
+    private PreferencjaSrodkaSali preferencja;
+
+    @Setup(Level.Trial)
+    public void przygotuj() {
+        uklad = new UkladSali(RZEDY, MIEJSC_W_RZEDZIE, 15, 45);
+        seans = new Seans("S1", new Film("F1", "Matrix", "SciFi", 136, "Akcja", 28.0),
+                "2024-12-20 18:00", "Arena", uklad);
+        preferencja = new PreferencjaSrodkaSali();
+        Random losowe = new Random(42);
+        for (int nr = 1; nr <= uklad.dajLiczbeMiejsc(); nr++) {
+            if (losowe.nextDouble() < zajetosc) {
+                seans.zarezerwujMiejsce(nr);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] maskiRzedow() {
+        return seans.znajdzNajlepszyBlok(liczbaMiejsc, preferencja);
+    }
+
+    @Benchmark
+    public int[] tablicaWolnychMiejsc() {
+        int[] wolne = seans.dajWolneMiejsca();
+        long przejscia = uklad.dajMaskePrzejsc();
+        int najlepszy = -1;
+        double najlepszaOcena = Double.POSITIVE_INFINITY;
+        int seria = 0;
+        for (int i = 0; i < wolne.length; i++) {
+            int pozycja = uklad.dajPozycje(wolne[i]);
+            boolean ciagla = i > 0 && wolne[i] == wolne[i - 1] + 1 && pozycja != 1
+                    && (przejscia & (1L << (pozycja - 2))) == 0;
+            seria = ciagla ? seria + 1 : 1;
+            if (seria >= liczbaMiejsc) {
+                int pierwszy = wolne[i] - liczbaMiejsc + 1;
+                double ocena = preferencja.ocen(uklad, uklad.dajRzad(pierwszy), uklad.dajPozycje(pierwszy),
+                        liczbaMiejsc);
+                if (ocena < najlepszaOcena) {
+                    najlepszaOcena = ocena;
+                    najlepszy = pierwszy;
+                }
+            }
+        }
+        if (najlepszy < 0) {
+            return null;
+        }
+        int[] blok = new int[liczbaMiejsc];
+        for (int i = 0; i < liczbaMiejsc; i++) {
+            blok[i] = najlepszy + i;
+        }
+        return blok;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opcje = new OptionsBuilder()
+                .include(BenchmarkNajlepszyBlok.class.getSimpleName())
+                .build();
+        new Runner(opcje).run();
+    }
+}
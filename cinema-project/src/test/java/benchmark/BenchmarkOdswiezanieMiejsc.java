@@ -0,0 +1,80 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import model.MapaMiejsc;
+import model.ZmianyMiejsc;
+
+/**
+ * Benchmark odświeżania widoku sali przez odpytującego klienta.
+ * Między kolejnymi odpytaniami zmieniają się dwa miejsca (zwrot i sprzedaż).
+ * Porównuje pobieranie pełnej listy wolnych miejsc z pobieraniem zmian
+ * od ostatniej wersji znanej klientowi.
+ *
+ * Sposób uruchomienia opisano w README.md (sekcja "Benchmarki").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkOdswiezanieMiejsc {
+
+    @Param({ "2000", "10000" })
+    private int liczbaMiejsc;
+
+    private MapaMiejsc mapa;
+    private Random losowe;
+    private long wersjaKlienta;
+
+    @Setup(Level.Trial)
+    public void przygotuj() {
+        mapa = new MapaMiejsc(liczbaMiejsc);
+        losowe = new Random(42);
+        for (int nr = 1; nr <= liczbaMiejsc; nr += 2) {
+            mapa.zajmij(nr);
+        }
+        wersjaKlienta = mapa.dajWersje();
+    }
+
+    /**
+     * Zwraca losowe zajęte miejsce i sprzedaje losowe wolne.
+     */
+    private void zmienDwaMiejsca() {
+        int nr = 1 + losowe.nextInt(liczbaMiejsc);
+        if (mapa.zwolnij(nr)) {
+            while (!mapa.zajmij(1 + losowe.nextInt(liczbaMiejsc))) {
+                // szukamy wolnego miejsca
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] pelnaLista() {
+        zmienDwaMiejsca();
+        return mapa.dajWolne();
+    }
+
+    @Benchmark
+    public ZmianyMiejsc zmianyOdWersji() {
+        zmienDwaMiejsca();
+        ZmianyMiejsc zmiany = mapa.dajZmiany(wersjaKlienta);
+        wersjaKlienta = zmiany.dajWersje();
+        return zmiany;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opcje = new OptionsBuilder()
+                .include(BenchmarkOdswiezanieMiejsc.class.getSimpleName())
+                .build();
+        new Runner(opcje).run();
+    }
+}
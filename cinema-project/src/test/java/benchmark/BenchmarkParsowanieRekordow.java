@@ -0,0 +1,76 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import model.KursorPol;
+
+/**
+ * Benchmark parsowania rekordów rozdzielanych średnikami: danych rezerwacji
+ * (idSeansu;idKlienta;nrMiejsca;cena) i rekordu filmu. Porównuje
+ * String.split z Integer.parseInt/Double.parseDouble z kursorem pól.
+ * Alokację na rekord pokazuje profiler GC (-prof gc, metryka
+ * gc.alloc.rate.norm w bajtach na operację).
+ *
+ * Sposób uruchomienia opisano w README.md (sekcja "Benchmarki").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkParsowanieRekordow {
+
+    private String rezerwacja = "S12;K0042;17;25.50";
+    private String film = "F7;Matrix;Film SciFi;136;Akcja;28.99";
+
+    @Benchmark
+    public void rezerwacjaSplit(Blackhole bh) {
+        String[] dane = rezerwacja.split(";");
+        bh.consume(Integer.parseInt(dane[2]));
+        bh.consume(Double.parseDouble(dane[3]));
+    }
+
+    @Benchmark
+    public void rezerwacjaKursor(Blackhole bh) {
+        KursorPol dane = new KursorPol(rezerwacja);
+        dane.pominPole();
+        dane.pominPole();
+        bh.consume(dane.nastepnyInt());
+        bh.consume(dane.nastepnyDouble());
+    }
+
+    @Benchmark
+    public void filmSplit(Blackhole bh) {
+        String[] dane = film.split(";");
+        bh.consume(dane[0]);
+        bh.consume(Integer.parseInt(dane[3]));
+        bh.consume(Double.parseDouble(dane[5]));
+    }
+
+    @Benchmark
+    public void filmKursor(Blackhole bh) {
+        KursorPol dane = new KursorPol(film);
+        bh.consume(dane.nastepnyTekst());
+        dane.pominPole();
+        dane.pominPole();
+        bh.consume(dane.nastepnyInt());
+        dane.pominPole();
+        bh.consume(dane.nastepnyDouble());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opcje = new OptionsBuilder()
+                .include(BenchmarkParsowanieRekordow.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(opcje).run();
+    }
+}
@@ -0,0 +1,82 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import model.ConcurrentDAO;
+import model.Model;
+import model.Oferta;
+import model.StronaRepertuaru;
+
+/**
+ * Benchmark składania pełnego repertuaru kina (300 filmów, 30 dni).
+ * Porównuje równoległe renderowanie dni repertuaru w puli fork/join
+ * (Model.pobierzRepertuarKina) z renderowaniem w jednym wątku,
+ * strona po stronie przez Model.pobierzStroneRepertuaruKina.
+ *
+ * Sposób uruchomienia opisano w README.md (sekcja "Benchmarki").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkRepertuarKina {
+
+    /** Liczba filmów, między które rozkładane są seanse. */
+    private static final int LICZBA_FILMOW = 300;
+
+    /** Rozmiar strony przy renderowaniu w jednym wątku. */
+    private static final int ROZMIAR_STRONY = 256;
+
+    @Param({ "5000", "50000" })
+    private int liczbaSeansow;
+
+    private Model model;
+
+    @Setup(Level.Trial)
+    public void przygotuj() {
+        ConcurrentDAO dao = new ConcurrentDAO(zdarzenie -> { });
+        model = new Model(new Oferta(dao), dao);
+        for (int i = 0; i < liczbaSeansow; i++) {
+            int dzien = i % 30 + 1;
+            model.dodajSeans("F" + (i % LICZBA_FILMOW) + ";2025-01-" + (dzien < 10 ? "0" + dzien : dzien) + " "
+                    + (10 + i % 12) + ":00;Sala" + (i % 20) + ";200");
+        }
+        // Mapy miejsc powstają przy pierwszym odczycie, więc nie wliczamy ich do pomiaru.
+        model.pobierzRepertuarKina("K1");
+    }
+
+    @Benchmark
+    public String forkJoin() {
+        return model.pobierzRepertuarKina("K1");
+    }
+
+    @Benchmark
+    public String jedenWatek() {
+        StringBuilder repertuar = new StringBuilder("Repertuar kina K1:\n");
+        String kursor = null;
+        do {
+            StronaRepertuaru strona = model.pobierzStroneRepertuaruKina("K1", kursor, ROZMIAR_STRONY);
+            for (int i = 0; i < strona.dajLiczbeSeansow(); i++) {
+                repertuar.append("  - Seans ").append(strona.dajIdSeansu(i)).append(": ")
+                        .append(strona.dajOpis(i)).append("\n");
+            }
+            kursor = strona.dajNastepnyKursor();
+        } while (kursor != null);
+        return repertuar.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opcje = new OptionsBuilder()
+                .include(BenchmarkRepertuarKina.class.getSimpleName())
+                .build();
+        new Runner(opcje).run();
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import java.util.BitSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import model.MapaMiejsc;
+
+/**
+ * Benchmark rezerwacji miejsc przy dużej współbieżności.
+ * 64 wątki jednocześnie zajmują i zwalniają losowe miejsca jednego seansu
+ * premierowego. Porównuje nieblokującą MapaMiejsc (CAS na słowie)
+ * z mapą bitów chronioną jedną blokadą.
+ *
+ * Sposób uruchomienia opisano w README.md (sekcja "Benchmarki").
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class BenchmarkRezerwacjaMiejsc {
+
+    @Param({ "100", "2000" })
+    private int liczbaMiejsc;
+
+    private MapaMiejsc mapa;
+    private BitSet zajete;
+
+    @Setup(Level.Iteration)
+    public void przygotuj() {
+        mapa = new MapaMiejsc(liczbaMiejsc);
+        zajete = new BitSet(liczbaMiejsc);
+    }
+
+    @Benchmark
+    public boolean nieblokujaca() {
+        int nr = 1 + ThreadLocalRandom.current().nextInt(liczbaMiejsc);
+        if (mapa.zajmij(nr)) {
+            return mapa.zwolnij(nr);
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean zBlokada() {
+        int nr = 1 + ThreadLocalRandom.current().nextInt(liczbaMiejsc);
+        synchronized (zajete) {
+            if (zajete.get(nr - 1)) {
+                return false;
+            }
+            zajete.set(nr - 1);
+        }
+        synchronized (zajete) {
+            zajete.clear(nr - 1);
+        }
+        return true;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opcje = new OptionsBuilder()
+                .include(BenchmarkRezerwacjaMiejsc.class.getSimpleName())
+                .build();
+        new Runner(opcje).run();
+    }
+}
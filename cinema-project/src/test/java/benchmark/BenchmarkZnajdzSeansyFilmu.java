@@ -0,0 +1,82 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import model.DAO;
+
+/**
+ * Benchmark wyszukiwania seansów filmu w DAO.
+ * Porównuje wyszukiwanie przez indeks film → seanse z pełnym skanem
+ * wszystkich seansów (poprzednia implementacja DAO.znajdzSeansyFilmu).
+ *
+ * Sposób uruchomienia opisano w README.md (sekcja "Benchmarki").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkZnajdzSeansyFilmu {
+
+    /** Liczba filmów, między które rozkładane są seanse. */
+    private static final int LICZBA_FILMOW = 1000;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int liczbaSeansow;
+
+    private DAO dao;
+    private Map<String, String> bazySeans;
+    private int licznik;
+
+    @Setup(Level.Trial)
+    public void przygotuj() {
+        dao = new DAO();
+        bazySeans = new HashMap<>();
+        for (int i = 0; i < liczbaSeansow; i++) {
+            String daneSeansu = "F" + (i % LICZBA_FILMOW) + ";2024-12-20 18:00;Sala" + (i % 10) + ";100";
+            String id = dao.dodajSeans(daneSeansu);
+            bazySeans.put(id, daneSeansu);
+        }
+    }
+
+    @Benchmark
+    public String[] zIndeksem() {
+        return dao.znajdzSeansyFilmu(nastepnyFilm());
+    }
+
+    @Benchmark
+    public String[] pelnySkan() {
+        String idFilmu = nastepnyFilm();
+        List<String> seansyFilmu = new ArrayList<>();
+        for (Map.Entry<String, String> entry : bazySeans.entrySet()) {
+            String[] parts = entry.getValue().split(";");
+            if (parts.length > 0 && parts[0].equals(idFilmu)) {
+                seansyFilmu.add(entry.getKey());
+            }
+        }
+        return seansyFilmu.toArray(new String[0]);
+    }
+
+    private String nastepnyFilm() {
+        licznik = (licznik + 1) % LICZBA_FILMOW;
+        return "F" + licznik;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opcje = new OptionsBuilder()
+                .include(BenchmarkZnajdzSeansyFilmu.class.getSimpleName())
+                .build();
+        new Runner(opcje).run();
+    }
+}
@@ -0,0 +1,395 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla bufora pierścieniowego i asynchronicznego
+ * dziennika zdarzeń. Testuje kolejność wpisów, polityki przepełnienia,
+ * liczniki, podział na pliki, retencję oraz okno ostatnich wpisów.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy asynchronicznego dziennika zdarzeń")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("wspolbieznosc")
+class TestAsynchronicznyLogZdarzen {
+
+    @TempDir
+    Path katalog;
+
+    private AsynchronicznyLogZdarzen log;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów AsynchronicznyLogZdarzen");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów AsynchronicznyLogZdarzen");
+    }
+
+    private List<String> wczytajWiersze() throws Exception {
+        List<Path> pliki = new ArrayList<>();
+        try (DirectoryStream<Path> strumien = Files.newDirectoryStream(katalog, "zdarzenia-*.log")) {
+            strumien.forEach(pliki::add);
+        }
+        pliki.sort(null);
+        List<String> wiersze = new ArrayList<>();
+        for (Path plik : pliki) {
+            wiersze.addAll(Files.readAllLines(plik, StandardCharsets.UTF_8));
+        }
+        return wiersze;
+    }
+
+    // ========== TESTY BUFORA ==========
+
+    @Test
+    @Order(1)
+    @DisplayName("Test kolejności i przepełnienia bufora pierścieniowego")
+    void testBuforKolejnoscIPrzepelnienie() {
+        // Jeśli: Bufor o pojemności zaokrąglanej do 4
+        BuforZdarzen bufor = new BuforZdarzen(3);
+        List<String> pobrane = new ArrayList<>();
+
+        // Gdy: Wstawiamy 5 wpisów i pobieramy je partiami
+        boolean[] wyniki = new boolean[5];
+        for (int i = 0; i < 5; i++) {
+            wyniki[i] = bufor.wstaw(i, "W" + i);
+        }
+        int pierwsza = bufor.pobierzPartie((tresc, czas) -> pobrane.add(tresc + "@" + czas), 2);
+        boolean poZwolnieniu = bufor.wstaw(9, "W9");
+        bufor.pobierzPartie((tresc, czas) -> pobrane.add(tresc + "@" + czas), 10);
+
+        // Wtedy: Piąty wpis odrzucono, a kolejność jest zachowana
+        assertEquals(4, bufor.dajPojemnosc());
+        assertArrayEquals(new boolean[] { true, true, true, true, false }, wyniki);
+        assertEquals(2, pierwsza);
+        assertTrue(poZwolnieniu);
+        assertEquals(List.of("W0@0", "W1@1", "W2@2", "W3@3", "W9@9"), pobrane);
+        assertEquals(0, bufor.dajRozmiar());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test bufora przy wielu producentach i równoległym konsumencie")
+    void testBuforWieluProducentow() throws Exception {
+        // Jeśli: Mały bufor, 8 producentów i konsument pobierający równolegle
+        BuforZdarzen bufor = new BuforZdarzen(64);
+        int producenci = 8;
+        int wpisow = 10000;
+        long[] ostatni = new long[producenci];
+        Arrays.fill(ostatni, -1);
+        ExecutorService pula = Executors.newFixedThreadPool(producenci);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Producenci wstawiają wpisy (ponawiając przy pełnym buforze)
+        for (int p = 0; p < producenci; p++) {
+            final int producent = p;
+            zadania.add(pula.submit(() -> {
+                start.await();
+                for (int i = 0; i < wpisow; i++) {
+                    while (!bufor.wstaw(i, "P" + producent)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        long[] odebrane = new long[1];
+        long termin = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (odebrane[0] < (long) producenci * wpisow && System.nanoTime() < termin) {
+            int pobrane = bufor.pobierzPartie((tresc, czas) -> {
+                int producent = Integer.parseInt(tresc.substring(1));
+                assertEquals(ostatni[producent] + 1, czas, "Wpisy producenta nie są po kolei");
+                ostatni[producent] = czas;
+                odebrane[0]++;
+            }, 128);
+            if (pobrane == 0) {
+                Thread.yield();
+            }
+        }
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(10, TimeUnit.SECONDS);
+        }
+        pula.shutdown();
+
+        // Wtedy: Konsument odebrał każdy wpis dokładnie raz, w kolejności producenta
+        assertEquals((long) producenci * wpisow, odebrane[0]);
+        for (long wartosc : ostatni) {
+            assertEquals(wpisow - 1, wartosc);
+        }
+    }
+
+    // ========== TESTY DZIENNIKA ==========
+
+    @Test
+    @Order(3)
+    @DisplayName("Test zapisu wpisów do pliku w kolejności dodania")
+    void testZapisDoPliku() throws Exception {
+        // Jeśli: Dziennik z domyślnymi ustawieniami
+        log = new AsynchronicznyLogZdarzen(katalog);
+
+        // Gdy: Dodajemy wpisy i czekamy na ich zapis
+        log.dodajWpis("Dodano film: F1");
+        log.dodajWpis("Dodano seans: S1");
+        log.dodajWpis("Zarezerwowano bilet: R1 dla klienta: K001");
+        assertTrue(log.czekajNaZapis(5000));
+
+        // Wtedy: Plik zawiera wiersze z czasem i treścią
+        List<String> wiersze = wczytajWiersze();
+        assertEquals(3, wiersze.size());
+        assertTrue(wiersze.get(0).endsWith(" Dodano film: F1"));
+        assertTrue(wiersze.get(2).endsWith(" Zarezerwowano bilet: R1 dla klienta: K001"));
+        assertEquals(3, log.dajLiczbeZakolejkowanych());
+        assertEquals(3, log.dajLiczbeZapisanych());
+        assertEquals(0, log.dajLiczbeOdrzuconych());
+    }
+
+    @ParameterizedTest
+    @Order(4)
+    @DisplayName("Test liczników przy przepełnieniu w każdej polityce - @EnumSource")
+    @EnumSource(AsynchronicznyLogZdarzen.PolitykaPrzepelnienia.class)
+    void testPolitykiPrzepelnienia(AsynchronicznyLogZdarzen.PolitykaPrzepelnienia polityka) throws Exception {
+        // Jeśli: Dziennik z bardzo małym buforem i 4 producentami
+        log = new AsynchronicznyLogZdarzen(katalog, 4, polityka, 1L << 30, 10);
+        ExecutorService pula = Executors.newFixedThreadPool(4);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Producenci dodają wpisy szybciej, niż wątek zapisu je zapisuje
+        for (int p = 0; p < 4; p++) {
+            final int producent = p;
+            zadania.add(pula.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    log.dodajWpis("P" + producent + " " + i);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+        pula.shutdown();
+        assertTrue(log.czekajNaZapis(10000));
+
+        // Wtedy: Każdy wpis jest zapisany albo policzony jako odrzucony
+        assertEquals(20000, log.dajLiczbeZakolejkowanych() + log.dajLiczbeOdrzuconych());
+        assertEquals(log.dajLiczbeZakolejkowanych(), log.dajLiczbeZapisanych());
+        assertEquals(log.dajLiczbeZapisanych(), wczytajWiersze().size());
+        if (polityka == AsynchronicznyLogZdarzen.PolitykaPrzepelnienia.BLOKUJ) {
+            assertEquals(0, log.dajLiczbeOdrzuconych(), "Polityka BLOKUJ nie powinna gubić wpisów");
+        }
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test podziału dziennika na pliki po przekroczeniu rozmiaru")
+    void testPodzialNaPliki() throws Exception {
+        // Jeśli: Dziennik z plikami po 1 KB
+        log = new AsynchronicznyLogZdarzen(katalog, 64,
+                AsynchronicznyLogZdarzen.PolitykaPrzepelnienia.BLOKUJ, 1024, 1);
+
+        // Gdy: Zapisujemy wpisy o łącznym rozmiarze kilku plików
+        for (int i = 0; i < 500; i++) {
+            log.dodajWpis("Dodano seans: S" + i);
+        }
+        log.close();
+
+        // Wtedy: Powstało kilka plików, a razem zawierają wszystkie wpisy
+        long liczbaPlikow;
+        try (DirectoryStream<Path> pliki = Files.newDirectoryStream(katalog, "zdarzenia-*.log")) {
+            liczbaPlikow = StreamSupport.stream(pliki.spliterator(), false).count();
+        }
+        assertTrue(liczbaPlikow > 1, "Dziennik powinien zostać podzielony na pliki");
+        List<String> wiersze = wczytajWiersze();
+        assertEquals(500, wiersze.size());
+        assertTrue(wiersze.get(499).endsWith("Dodano seans: S499"));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test że wpis po zamknięciu jest liczony jako odrzucony")
+    void testWpisPoZamknieciu() {
+        // Jeśli: Zamknięty dziennik
+        log = new AsynchronicznyLogZdarzen(katalog);
+        log.close();
+
+        // Gdy: Dodajemy wpis
+        log.dodajWpis("Dodano film: F1");
+
+        // Wtedy: Wpis jest odrzucony, a nie zgubiony bez śladu
+        assertEquals(0, log.dajLiczbeZakolejkowanych());
+        assertEquals(1, log.dajLiczbeOdrzuconych());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test że DAO przekazuje wpisy do dziennika zdarzeń")
+    void testDAOPrzekazujeWpisy() throws Exception {
+        // Jeśli: Model na DAO z asynchronicznym dziennikiem
+        log = new AsynchronicznyLogZdarzen(katalog);
+        DAO dao = new DAO(log);
+        Model model = new Model(new Oferta(dao), dao);
+
+        // Gdy: Dodajemy film i seans
+        model.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        assertTrue(log.czekajNaZapis(5000));
+
+        // Wtedy: Wpisy modelu trafiły do pliku dziennika
+        List<String> wiersze = wczytajWiersze();
+        assertEquals(2, wiersze.size());
+        assertTrue(wiersze.get(0).endsWith("Dodano film: F1"));
+        assertTrue(wiersze.get(1).endsWith("Dodano seans: S1"));
+    }
+
+    // ========== TESTY ROTACJI I RETENCJI ==========
+
+    private List<Path> plikiDziennika() throws Exception {
+        List<Path> pliki = new ArrayList<>();
+        try (DirectoryStream<Path> strumien = Files.newDirectoryStream(katalog, "zdarzenia-*.log")) {
+            strumien.forEach(pliki::add);
+        }
+        pliki.sort(null);
+        return pliki;
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Test rotacji pliku po przekroczeniu wieku")
+    void testRotacjaWedlugCzasu() throws Exception {
+        // Jeśli: Dziennik z plikami zamykanymi po 50 ms
+        log = new AsynchronicznyLogZdarzen(katalog, 64, AsynchronicznyLogZdarzen.PolitykaPrzepelnienia.BLOKUJ,
+                1, new PolitykaRotacji(0, 50, 0, 0));
+
+        // Gdy: Dwa wpisy dzieli dłuższa przerwa
+        log.dodajWpis("Dodano film: F1");
+        assertTrue(log.czekajNaZapis(5000));
+        Thread.sleep(200);
+        log.dodajWpis("Dodano film: F2");
+        log.close();
+
+        // Wtedy: Każdy wpis trafił do innego pliku
+        List<Path> pliki = plikiDziennika();
+        assertTrue(pliki.size() >= 2, "Powinien powstać nowy plik po upływie czasu");
+        assertTrue(Files.readString(pliki.get(0)).endsWith("Dodano film: F1\n"));
+        assertEquals(2, wczytajWiersze().size());
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Test retencji według liczby plików")
+    void testRetencjaLiczbyPlikow() throws Exception {
+        // Jeśli: Pliki po 256 B, zachowywane są najwyżej 3
+        log = new AsynchronicznyLogZdarzen(katalog, 16, AsynchronicznyLogZdarzen.PolitykaPrzepelnienia.BLOKUJ,
+                1, new PolitykaRotacji(256, 0, 3, 0));
+
+        // Gdy: Zapisujemy wpisy na kilkanaście plików
+        for (int i = 0; i < 400; i++) {
+            log.dodajWpis("Zarezerwowano bilet: R" + i + " dla klienta: K001");
+        }
+        log.close();
+
+        // Wtedy: Zostały 3 najnowsze pliki z ostatnim wpisem na końcu
+        List<Path> pliki = plikiDziennika();
+        assertEquals(3, pliki.size());
+        List<String> wiersze = wczytajWiersze();
+        assertTrue(wiersze.size() < 400, "Najstarsze wpisy powinny zostać usunięte");
+        assertTrue(wiersze.get(wiersze.size() - 1).endsWith("R399 dla klienta: K001"));
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Test retencji według łącznego rozmiaru")
+    void testRetencjaLacznegoRozmiaru() throws Exception {
+        // Jeśli: Pliki po 512 B o łącznym rozmiarze najwyżej 2 KB
+        log = new AsynchronicznyLogZdarzen(katalog, 16, AsynchronicznyLogZdarzen.PolitykaPrzepelnienia.BLOKUJ,
+                1, new PolitykaRotacji(512, 0, 0, 2048));
+
+        // Gdy: Zapisujemy kilkakrotnie więcej danych
+        for (int i = 0; i < 500; i++) {
+            log.dodajWpis("Dodano seans: S" + i);
+        }
+        log.close();
+
+        // Wtedy: Łączny rozmiar plików mieści się w limicie z zapasem jednej partii
+        long lacznie = 0;
+        for (Path plik : plikiDziennika()) {
+            lacznie += Files.size(plik);
+        }
+        assertTrue(lacznie <= 2048 + 1024, "Łączny rozmiar plików: " + lacznie);
+    }
+
+    // ========== TESTY OKNA WPISÓW ==========
+
+    @Test
+    @Order(11)
+    @DisplayName("Test że okno trzyma tylko ostatnie wpisy")
+    void testOknoWpisow() {
+        // Jeśli: Okno na 3 wpisy
+        OknoWpisow okno = new OknoWpisow(3);
+
+        // Gdy: Dodajemy 5 wpisów
+        for (int i = 1; i <= 5; i++) {
+            okno.dodaj("W" + i);
+        }
+
+        // Wtedy: Zostają 3 najnowsze w kolejności dodania
+        assertEquals(List.of("W3", "W4", "W5"), okno.dajWpisy());
+        assertEquals(5, okno.dajLiczbeDodanych());
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Test że pamięć wpisów DAO jest ograniczona")
+    void testOgraniczonaPamiecWpisowDAO() {
+        // Jeśli: DAO z odbiorcą zliczającym wpisy
+        long[] przekazane = new long[1];
+        DAO dao = new DAO(zdarzenie -> przekazane[0]++);
+
+        // Gdy: Dodajemy znacznie więcej wpisów niż rozmiar okna
+        for (int i = 0; i < 10000; i++) {
+            dao.dodajWpisDoLogu("Dodano seans: S" + i);
+        }
+
+        // Wtedy: Wszystkie wpisy trafiły do odbiorcy, a w pamięci zostało okno
+        assertEquals(10000, przekazane[0]);
+        List<String> ostatnie = dao.dajOstatnieWpisy();
+        assertEquals(DAO.ROZMIAR_OKNA_WPISOW, ostatnie.size());
+        assertEquals("Dodano seans: S9999", ostatnie.get(ostatnie.size() - 1));
+    }
+}
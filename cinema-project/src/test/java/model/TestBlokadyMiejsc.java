@@ -0,0 +1,229 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla czasowych blokad miejsc i koła czasowego.
+ * Testuje wygasanie blokad, potwierdzanie zakupu przed wygaśnięciem
+ * oraz rozkładanie odległych terminów między poziomami koła.
+ * Czas jest sterowany ręcznie, więc testy nie czekają na zegar.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy czasowych blokad miejsc")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("wspolbieznosc")
+class TestBlokadyMiejsc {
+
+    private static final long TAKT_MS = 10;
+
+    private AtomicLong czas;
+    private BlokadyMiejsc blokady;
+    private MapaMiejsc mapa;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów blokad miejsc");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Zegar sterowany ręcznie i sala na 100 miejsc
+        czas = new AtomicLong(1_000_000);
+        blokady = new BlokadyMiejsc(czas::get, TAKT_MS);
+        mapa = new MapaMiejsc(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        blokady = null;
+        mapa = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów blokad miejsc");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test że wygasła blokada zwalnia miejsca")
+    void testWygasniecieZwalniaMiejsca() {
+        // Jeśli: Blokada miejsc 5-7 na minutę
+        String id = blokady.zablokuj("S1", "K001", mapa, new int[] { 5, 6, 7 }, 60_000);
+
+        // Gdy: Mija mniej, a potem więcej niż minuta
+        czas.addAndGet(59_000);
+        int przedTerminem = blokady.przetworzWygasle();
+        boolean zajetePrzedTerminem = mapa.czyZajete(6);
+        czas.addAndGet(1_000);
+        int poTerminie = blokady.przetworzWygasle();
+
+        // Wtedy: Miejsca były zajęte do terminu, a potem wróciły do puli
+        assertEquals("B1", id);
+        assertEquals(0, przedTerminem);
+        assertTrue(zajetePrzedTerminem);
+        assertEquals(1, poTerminie);
+        assertEquals(0, mapa.dajLiczbeZajetych());
+        assertEquals(0, blokady.dajLiczbeAktywnych());
+        assertNull(blokady.potwierdz(id), "Wygasłej blokady nie można potwierdzić");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test potwierdzenia i zwolnienia blokady przed terminem")
+    void testPotwierdzenieIZwolnienie() {
+        // Jeśli: Dwie blokady i próba zablokowania zajętego miejsca
+        String kupiona = blokady.zablokuj("S1", "K001", mapa, new int[] { 1, 2 }, 60_000);
+        String porzucona = blokady.zablokuj("S1", "K002", mapa, new int[] { 3 }, 60_000);
+        String kolizja = blokady.zablokuj("S1", "K003", mapa, new int[] { 2, 4 }, 60_000);
+
+        // Gdy: Pierwsza jest potwierdzona, druga zwolniona, a termin mija
+        BlokadyMiejsc.Blokada potwierdzona = blokady.potwierdz(kupiona);
+        boolean zwolniona = blokady.zwolnij(porzucona);
+        czas.addAndGet(120_000);
+        int wygasle = blokady.przetworzWygasle();
+
+        // Wtedy: Kupione miejsca zostają zajęte, porzucone wracają do puli
+        assertNull(kolizja);
+        assertArrayEquals(new int[] { 1, 2 }, potwierdzona.dajMiejsca());
+        assertEquals("K001", potwierdzona.dajIdKlienta());
+        assertTrue(zwolniona);
+        assertEquals(0, wygasle);
+        assertTrue(mapa.czyZajete(1) && mapa.czyZajete(2));
+        assertFalse(mapa.czyZajete(3));
+        assertFalse(mapa.czyZajete(4), "Nieudana blokada nie może zająć żadnego miejsca");
+        assertFalse(blokady.zwolnij(kupiona), "Potwierdzonej blokady nie można zwolnić");
+    }
+
+    @ParameterizedTest
+    @Order(3)
+    @DisplayName("Test terminów na różnych poziomach koła - @ValueSource")
+    @ValueSource(longs = { 1, 63, 64, 65, 4095, 4096, 300_000, 20_000_000 })
+    void testTerminyNaPoziomachKola(long taktow) {
+        // Jeśli: Koło z wpisem wygasającym za podaną liczbę taktów
+        long start = 123_456 * TAKT_MS;
+        KoloCzasowe<String> kolo = new KoloCzasowe<>(TAKT_MS, start);
+        kolo.dodaj(start + taktow * TAKT_MS, "wpis");
+        List<String> wygasle = new ArrayList<>();
+
+        // Gdy: Zegar dochodzi do takt przed terminem, a potem do terminu
+        kolo.przetworz(start + (taktow - 1) * TAKT_MS, wygasle::add);
+        int przedTerminem = wygasle.size();
+        kolo.przetworz(start + taktow * TAKT_MS, wygasle::add);
+
+        // Wtedy: Wpis wygasa dokładnie w swoim takcie
+        assertEquals(0, przedTerminem);
+        assertEquals(List.of("wpis"), wygasle);
+        assertEquals(0, kolo.dajLiczbeWpisow());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test wielu blokad wygasających w różnych chwilach")
+    void testWieleBlokad() {
+        // Jeśli: 100 blokad po jednym miejscu, co sekundę dłuższych
+        for (int nr = 1; nr <= 100; nr++) {
+            assertNotNull(blokady.zablokuj("S1", "K" + nr, mapa, new int[] { nr }, nr * 1_000L));
+        }
+
+        // Gdy: Co sekundę przetwarzamy wygasłe blokady, anulując co dziesiątą wcześniej
+        for (int nr = 10; nr <= 100; nr += 10) {
+            assertTrue(blokady.zwolnij("B" + nr));
+        }
+        int wygaslych = 0;
+        for (int sekunda = 1; sekunda <= 100; sekunda++) {
+            czas.addAndGet(1_000);
+            wygaslych += blokady.przetworzWygasle();
+            assertEquals(100 - sekunda - (10 - sekunda / 10), mapa.dajLiczbeZajetych(),
+                    "Po " + sekunda + " s");
+        }
+
+        // Wtedy: Wygasły wszystkie nieanulowane blokady i sala jest pusta
+        assertEquals(90, wygaslych);
+        assertEquals(0, blokady.dajLiczbeAktywnych());
+        assertEquals(0, mapa.dajLiczbeZajetych());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test zakupu przez model z blokadą miejsc")
+    void testZakupPrzezModel() {
+        // Jeśli: Model z seansem na 10 miejsc i blokadami na ręcznym zegarze
+        ConcurrentDAO dao = new ConcurrentDAO(zdarzenie -> { });
+        Model model = new Model(new Oferta(dao), dao, blokady);
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;10");
+
+        // Gdy: Klient blokuje miejsca 4-5, inny próbuje je zarezerwować, a pierwszy kupuje
+        String blokada = model.zablokujMiejsca("S1;K001;4,5");
+        String konkurent = model.zarezerwujMiejsca("S1;K002;5,6;25.0");
+        String zakup = model.finalizujZakup("B1;25.0");
+
+        // Wtedy: Zablokowanych miejsc nie można kupić, a zakup zapisuje rezerwacje
+        assertEquals("Miejsca zablokowane do zakupu. ID blokady: B1", blokada);
+        assertTrue(konkurent.startsWith("Blad"), konkurent);
+        assertEquals("Zakup sfinalizowany. ID: R1,R2, cena: 50.0 PLN", zakup);
+        assertEquals("null;S1;K001;5;25.0", dao.znajdzRezerwacje("R2"));
+        assertTrue(model.finalizujZakup("B1;25.0").contains("wygasla"), "Blokady nie można kupić dwa razy");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test że wygasłej blokady nie można kupić przez model")
+    void testWygaslaBlokadaWModelu() {
+        // Jeśli: Model z blokadą miejsc 1-2
+        ConcurrentDAO dao = new ConcurrentDAO(zdarzenie -> { });
+        Model model = new Model(new Oferta(dao), dao, blokady);
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;10");
+        model.zablokujMiejsca("S1;K001;1,2");
+
+        // Gdy: Czas blokady mija, a inny klient rezerwuje te miejsca
+        czas.addAndGet(Model.CZAS_BLOKADY_MS);
+        String rezerwacja = model.zarezerwujMiejsca("S1;K002;1,2;25.0");
+        String spozniony = model.finalizujZakup("B1;25.0");
+
+        // Wtedy: Miejsca dostał drugi klient, a spóźniony zakup jest odrzucony
+        assertTrue(rezerwacja.startsWith("Rezerwacja grupowa wykonana"), rezerwacja);
+        assertEquals("Blad: Blokada B1 wygasla lub nie istnieje", spozniony);
+        assertNull(dao.znajdzRezerwacje("R3"));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test że blokady usuniętego seansu nie można kupić")
+    void testBlokadaUsunietegoSeansu() {
+        // Jeśli: Model z blokadą miejsc 1-2 na seansie S1
+        ConcurrentDAO dao = new ConcurrentDAO(zdarzenie -> { });
+        Model model = new Model(new Oferta(dao), dao, blokady);
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;10");
+        model.zablokujMiejsca("S1;K001;1,2");
+
+        // Gdy: Seans zostaje usunięty, a potem ktoś zakłada blokadę na jego starej mapie
+        model.usunSeans("S1");
+        String poUsunieciu = model.finalizujZakup("B1;25.0");
+        MapaMiejsc staraMapa = new MapaMiejsc(10);
+        staraMapa.zajmijWszystkie(3);
+        String idBlokady = blokady.przekaz("S1", "K002", staraMapa, new int[] { 3 }, Model.CZAS_BLOKADY_MS);
+        String spozniona = model.finalizujZakup(idBlokady + ";25.0");
+
+        // Wtedy: Blokady seansu zniknęły z nim, a zakup na starej mapie jest odrzucony bez zapisu
+        assertEquals("Blad: Blokada B1 wygasla lub nie istnieje", poUsunieciu);
+        assertEquals("Blad: Seans o ID S1 nie istnieje", spozniona);
+        assertEquals(0, blokady.dajLiczbeAktywnych());
+        assertEquals(0, staraMapa.dajLiczbeZajetych());
+        assertNull(dao.znajdzRezerwacje("R1"));
+    }
+}
@@ -0,0 +1,153 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testy jednostkowe dla klasy CachingDAO z mockowaniem opakowanego DAO.
+ * Testuje trafienia i chybienia pamięci podręcznej, unieważnianie przy
+ * zapisach, wypieranie najdawniej używanych wpisów oraz metryki.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy klasy CachingDAO z mockowaniem")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(MockitoExtension.class)
+@Tag("encja")
+@Tag("mock")
+class TestCachingDAO {
+
+    @Mock
+    private IDAO mockDao;
+
+    private CachingDAO dao;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów CachingDAO");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Pamięć podręczna na 3 wpisy każdego rodzaju
+        dao = new CachingDAO(mockDao, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        dao = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów CachingDAO");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test że powtórny odczyt nie trafia do opakowanego DAO")
+    void testPowtornyOdczytZPamieci() {
+        // Jeśli: Film w opakowanym DAO
+        when(mockDao.znajdzFilm("F1")).thenReturn("F1;Matrix;SciFi;136;Akcja;28.0");
+
+        // Gdy: Odczytujemy film trzy razy
+        for (int i = 0; i < 3; i++) {
+            assertEquals("F1;Matrix;SciFi;136;Akcja;28.0", dao.znajdzFilm("F1"));
+        }
+
+        // Wtedy: DAO odczytano raz, a metryki to odzwierciedlają
+        verify(mockDao, times(1)).znajdzFilm("F1");
+        assertEquals(2, dao.dajLiczbeTrafien());
+        assertEquals(1, dao.dajLiczbeChybien());
+        assertEquals(2.0 / 3, dao.dajWspolczynnikTrafien(), 1e-9);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test że brak encji nie jest zapamiętywany")
+    void testBrakEncjiNieJestZapamietywany() {
+        // Jeśli: Rezerwacja, której jeszcze nie ma
+        when(mockDao.dodajRezerwacje("null;S1;K001;5;25.0")).thenReturn("R1");
+
+        // Gdy: Odczytujemy ją przed i po dodaniu
+        assertNull(dao.znajdzRezerwacje("R1"));
+        dao.dodajRezerwacje("null;S1;K001;5;25.0");
+        when(mockDao.znajdzRezerwacje("R1")).thenReturn("null;S1;K001;5;25.0");
+
+        // Wtedy: Drugi odczyt widzi dodaną rezerwację
+        assertEquals("null;S1;K001;5;25.0", dao.znajdzRezerwacje("R1"));
+        verify(mockDao, times(2)).znajdzRezerwacje("R1");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test unieważniania seansu przy edycji i usunięciu")
+    void testUniewaznianieSeansu() {
+        // Jeśli: Zapamiętany seans
+        when(mockDao.znajdzSeans("S1")).thenReturn("F1;2024-12-20 18:00;Sala1;100",
+                "F1;2024-12-20 20:00;Sala2;80", (String) null);
+        dao.znajdzSeans("S1");
+
+        // Gdy: Edytujemy, a potem usuwamy seans
+        dao.edytujSeans("S1;F1;2024-12-20 20:00;Sala2;80");
+        String poEdycji = dao.znajdzSeans("S1");
+        dao.usunSeans("S1");
+        String poUsunieciu = dao.znajdzSeans("S1");
+
+        // Wtedy: Każdy zapis wymusza ponowny odczyt z DAO
+        verify(mockDao).edytujSeans("S1;F1;2024-12-20 20:00;Sala2;80");
+        verify(mockDao).usunSeans("S1");
+        assertEquals("F1;2024-12-20 20:00;Sala2;80", poEdycji);
+        assertNull(poUsunieciu);
+        verify(mockDao, times(3)).znajdzSeans("S1");
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test wypierania najdawniej używanego wpisu")
+    void testWypieranieLRU() {
+        // Jeśli: Trzy zapamiętane seanse, z których S1 był użyty ostatnio
+        when(mockDao.znajdzSeans(anyString())).thenAnswer(w -> "F1;" + w.getArgument(0) + ";Sala1;100");
+        dao.znajdzSeans("S1");
+        dao.znajdzSeans("S2");
+        dao.znajdzSeans("S3");
+        dao.znajdzSeans("S1");
+
+        // Gdy: Odczytujemy czwarty seans
+        dao.znajdzSeans("S4");
+
+        // Wtedy: Wyparty jest S2, a S1 nadal jest w pamięci
+        assertEquals(1, dao.dajLiczbeWyparc());
+        dao.znajdzSeans("S1");
+        dao.znajdzSeans("S2");
+        verify(mockDao, times(1)).znajdzSeans("S1");
+        verify(mockDao, times(2)).znajdzSeans("S2");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test spójności z prawdziwym DAO w modelu")
+    void testZPrawdziwymDAO() {
+        // Jeśli: Model na CachingDAO opakowującym DAO
+        CachingDAO caching = new CachingDAO(new DAO(zdarzenie -> { }));
+        Model model = new Model(new Oferta(caching), caching);
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        model.pobierzRepertuar("F1");
+
+        // Gdy: Seans zostaje przeniesiony na inną godzinę przez model
+        model.edytujSeans("S1", "F1;2024-12-20 21:00;Sala1;100");
+
+        // Wtedy: Repertuar pokazuje nowe dane, a nie zapamiętane
+        assertTrue(model.pobierzRepertuar("F1").contains("2024-12-20 21:00"));
+        verifyNoInteractions(mockDao);
+    }
+}
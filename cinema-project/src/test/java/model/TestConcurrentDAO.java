@@ -0,0 +1,210 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla klasy ConcurrentDAO.
+ * Testuje zgodność z DAO oraz poprawność przy równoległych zapisach
+ * z wielu wątków (unikalność ID i widoczność zapisów).
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy klasy ConcurrentDAO")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("wspolbieznosc")
+class TestConcurrentDAO {
+
+    private static final int LICZBA_WATKOW = 16;
+    private static final int OPERACJI_NA_WATEK = 5000;
+
+    private ConcurrentDAO dao;
+    private ExecutorService pula;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów ConcurrentDAO");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Nowe DAO i pula wątków przed każdym testem
+        dao = new ConcurrentDAO();
+        pula = Executors.newFixedThreadPool(LICZBA_WATKOW);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        // Sprzątanie po każdym teście
+        pula.shutdownNow();
+        pula.awaitTermination(10, TimeUnit.SECONDS);
+        dao = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów ConcurrentDAO");
+    }
+
+    // ========== TESTY ZGODNOŚCI Z DAO ==========
+
+    @Test
+    @Order(1)
+    @DisplayName("Test dodawania i znajdowania filmu")
+    void testDodajIZnajdzFilm() {
+        // Jeśli: Dane filmu
+        String daneFilmu = "F1;Matrix;SciFi;136;Akcja;28.0";
+
+        // Gdy: Dodajemy film
+        String id = dao.dodajFilm(daneFilmu);
+
+        // Wtedy: ID pochodzi z danych, a film jest dostępny
+        assertEquals("F1", id);
+        assertEquals(daneFilmu, dao.znajdzFilm(id));
+        assertNull(dao.znajdzFilm("F999"), "Nieistniejący film powinien zwrócić null");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test indeksu seansów filmu przy dodawaniu, edycji i usuwaniu")
+    void testIndeksSeansowFilmu() {
+        // Jeśli: Dwa seanse filmu F1
+        String id1 = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String id2 = dao.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+
+        // Gdy: Przenosimy pierwszy seans do F2 i usuwamy drugi
+        dao.edytujSeans(id1 + ";F2;2024-12-20 18:00;Sala1;100");
+        dao.usunSeans(id2);
+
+        // Wtedy: F1 nie ma seansów, a F2 ma przeniesiony seans
+        assertEquals(0, dao.znajdzSeansyFilmu("F1").length);
+        assertArrayEquals(new String[] { id1 }, dao.znajdzSeansyFilmu("F2"));
+        assertThrows(IllegalArgumentException.class,
+                () -> dao.edytujSeans(id2 + ";F1;2024-12-20 21:00;Sala2;80"),
+                "Edycja usuniętego seansu powinna się nie udać");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test że wpisy dziennika są zbierane w kolejności dodania")
+    void testDodajWpisDoLogu() {
+        // Jeśli: Dwa zdarzenia
+
+        // Gdy: Dodajemy je do dziennika
+        dao.dodajWpisDoLogu("Dodano film: F1");
+        dao.dodajWpisDoLogu("Dodano seans: S1");
+
+        // Wtedy: Dziennik zawiera oba wpisy w kolejności
+        assertEquals(List.of("Dodano film: F1", "Dodano seans: S1"), dao.dajOstatnieWpisy());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test że ConcurrentDAO zastępuje DAO w modelu")
+    void testZastepujeDAOWModelu() {
+        // Jeśli: Model zbudowany na ConcurrentDAO
+        Model model = new Model(new Oferta(dao), dao);
+
+        // Gdy: Dodajemy film i seans oraz pobieramy repertuar
+        model.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String repertuar = model.pobierzRepertuar("F1");
+
+        // Wtedy: Repertuar zawiera dodany seans
+        assertTrue(repertuar.contains("2024-12-20 18:00"), "Repertuar powinien zawierać seans");
+    }
+
+    // ========== TESTY WSPÓŁBIEŻNOŚCI ==========
+
+    @Test
+    @Order(5)
+    @DisplayName("Test unikalności ID rezerwacji przy równoległych zapisach")
+    void testUnikalneIdRezerwacjiWielowatkowo() throws Exception {
+        // Jeśli: Wiele wątków gotowych do jednoczesnego startu
+        Set<String> identyfikatory = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Każdy wątek dodaje wiele rezerwacji
+        for (int w = 0; w < LICZBA_WATKOW; w++) {
+            final int watek = w;
+            zadania.add(pula.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERACJI_NA_WATEK; i++) {
+                    String dane = "null;S1;K" + watek + ";" + i + ";25.0";
+                    String id = dao.dodajRezerwacje(dane);
+                    assertTrue(identyfikatory.add(id), "Zduplikowane ID: " + id);
+                    assertEquals(dane, dao.znajdzRezerwacje(id), "Zapis powinien być widoczny");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+
+        // Wtedy: Wszystkie ID są unikalne i każda rezerwacja jest dostępna
+        assertEquals(LICZBA_WATKOW * OPERACJI_NA_WATEK, identyfikatory.size());
+        for (String id : identyfikatory) {
+            assertNotNull(dao.znajdzRezerwacje(id), "Rezerwacja " + id + " powinna istnieć");
+        }
+    }
+
+    @ParameterizedTest
+    @Order(6)
+    @DisplayName("Test równoległego dodawania seansów dla wspólnych filmów - @ValueSource")
+    @ValueSource(ints = { 1, 7, 100 })
+    void testDodajSeansWielowatkowo(int liczbaFilmow) throws Exception {
+        // Jeśli: Wiele wątków dodaje seanse rozłożone na kilka filmów
+        Set<String> identyfikatory = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Wątki jednocześnie dodają seanse
+        for (int w = 0; w < LICZBA_WATKOW; w++) {
+            zadania.add(pula.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERACJI_NA_WATEK; i++) {
+                    String dane = "F" + (i % liczbaFilmow) + ";2024-12-20 18:00;Sala1;100";
+                    String id = dao.dodajSeans(dane);
+                    assertTrue(identyfikatory.add(id), "Zduplikowane ID: " + id);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+
+        // Wtedy: Indeks filmów zawiera dokładnie wszystkie dodane seanse
+        int suma = 0;
+        for (int f = 0; f < liczbaFilmow; f++) {
+            for (String id : dao.znajdzSeansyFilmu("F" + f)) {
+                assertTrue(identyfikatory.contains(id), "Nieznany seans w indeksie: " + id);
+                assertTrue(dao.znajdzSeans(id).startsWith("F" + f + ";"));
+                suma++;
+            }
+        }
+        assertEquals(LICZBA_WATKOW * OPERACJI_NA_WATEK, identyfikatory.size());
+        assertEquals(identyfikatory.size(), suma, "Każdy seans powinien być w indeksie dokładnie raz");
+    }
+}
@@ -333,4 +333,82 @@ class TestDAOSeansy {
         assertEquals(wynik2, wynik3, "Wyniki powinny być identyczne");
         assertEquals(daneSeansu, wynik1, "Dane powinny odpowiadać oryginalnym");
     }
+
+    // ========== TESTY INDEKSU FILM -> SEANSE ==========
+
+    @Test
+    @Order(16)
+    @DisplayName("Test że usunięty seans znika z wyników znajdzSeansyFilmu")
+    void testUsunSeansAktualizujeIndeks() {
+        // Jeśli: Film ma dwa seanse
+        String id1 = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String id2 = dao.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+
+        // Gdy: Usuwamy pierwszy seans
+        dao.usunSeans(id1);
+
+        // Wtedy: Indeks filmu powinien zawierać tylko drugi seans
+        assertArrayEquals(new String[] { id2 }, dao.znajdzSeansyFilmu("F1"),
+                "Po usunięciu powinien zostać tylko drugi seans");
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Test edycji seansu z przeniesieniem do innego filmu")
+    void testEdytujSeansPrzenosiMiedzyFilmami() {
+        // Jeśli: Seans należy do filmu F1
+        String id = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+
+        // Gdy: Edytujemy seans tak, aby należał do filmu F2
+        dao.edytujSeans(id + ";F2;2024-12-20 19:00;Sala3;120");
+
+        // Wtedy: Seans powinien być widoczny tylko dla filmu F2
+        assertEquals(0, dao.znajdzSeansyFilmu("F1").length, "F1 nie powinien mieć seansów");
+        assertArrayEquals(new String[] { id }, dao.znajdzSeansyFilmu("F2"),
+                "Seans powinien należeć do F2");
+        assertEquals("F2;2024-12-20 19:00;Sala3;120", dao.znajdzSeans(id),
+                "Dane seansu powinny być zaktualizowane");
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Test edycji seansu bez zmiany filmu")
+    void testEdytujSeansTenSamFilm() {
+        // Jeśli: Seans należy do filmu F1
+        String id = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+
+        // Gdy: Zmieniamy tylko godzinę seansu
+        dao.edytujSeans(id + ";F1;2024-12-20 20:00;Sala1;100");
+
+        // Wtedy: Seans nadal należy do F1 i ma nowe dane
+        assertArrayEquals(new String[] { id }, dao.znajdzSeansyFilmu("F1"));
+        assertTrue(dao.znajdzSeans(id).contains("20:00"), "Godzina powinna być zmieniona");
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Test edycji nieistniejącego seansu")
+    void testEdytujSeansNieistniejacy() {
+        // Jeśli: DAO jest puste
+
+        // Gdy/Wtedy: Edycja nieistniejącego seansu powinna rzucić wyjątek
+        assertThrows(IllegalArgumentException.class,
+                () -> dao.edytujSeans("S999;F1;2024-12-20 18:00;Sala1;100"));
+        assertEquals(0, dao.znajdzSeansyFilmu("F1").length, "Indeks nie powinien się zmienić");
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Test że ID filmu musi być równe, a nie tylko zawarte w danych")
+    void testIndeksPorownujeCaleIdFilmu() {
+        // Jeśli: Seanse filmów F1 i F10
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        dao.dodajSeans("F10;2024-12-20 18:00;Sala2;100");
+
+        // Gdy: Szukamy seansów filmu F1
+        String[] seanse = dao.znajdzSeansyFilmu("F1");
+
+        // Wtedy: Seans filmu F10 nie powinien zostać dopasowany
+        assertEquals(1, seanse.length, "Tylko jeden seans należy do F1");
+    }
 }
@@ -0,0 +1,177 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla strumieniowego importu katalogu.
+ * Testuje podział na partie, jeden wpis dziennika na partię,
+ * odrzucanie błędnych wierszy oraz trwałość importu w TrwalyDAO.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy importu katalogu z pliku CSV")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("dodawanie")
+class TestImportKatalogu {
+
+    @TempDir
+    Path katalog;
+
+    private List<String> wpisy;
+    private DAO dao;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów importu katalogu");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: DAO zbierające wpisy dziennika w liście
+        wpisy = new ArrayList<>();
+        dao = new DAO(wpisy::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        dao = null;
+        wpisy = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów importu katalogu");
+    }
+
+    /**
+     * Zapisuje plik z podaną liczbą seansów filmów F0..F9.
+     */
+    private Path zapiszSeanse(int liczba) throws IOException {
+        Path plik = katalog.resolve("seanse.csv");
+        try (BufferedWriter pisarz = Files.newBufferedWriter(plik)) {
+            for (int i = 0; i < liczba; i++) {
+                pisarz.write("F" + (i % 10) + ";2024-12-20 18:00;Sala" + (i % 4) + ";100\n");
+            }
+        }
+        return plik;
+    }
+
+    @ParameterizedTest
+    @Order(1)
+    @DisplayName("Test liczby partii i wpisów dziennika - @ValueSource")
+    @ValueSource(ints = { 1, 7, 1000 })
+    void testPartieIWpisyDziennika(int rozmiarPartii) throws IOException {
+        // Jeśli: Plik z 25 seansami
+        Path plik = zapiszSeanse(25);
+
+        // Gdy: Importujemy seanse
+        WynikImportu wynik = new ImportKatalogu(dao, rozmiarPartii).importujSeanse(plik);
+
+        // Wtedy: Wszystkie seanse są dodane, a dziennik ma wpis na partię
+        int oczekiwanePartie = (25 + rozmiarPartii - 1) / rozmiarPartii;
+        assertEquals(25, wynik.dajLiczbeZaimportowanych());
+        assertEquals(0, wynik.dajLiczbeOdrzuconych());
+        assertEquals(oczekiwanePartie, wynik.dajLiczbePartii());
+        assertEquals(oczekiwanePartie, wpisy.size());
+        assertEquals(3, dao.znajdzSeansyFilmu("F0").length);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test odrzucania błędnych wierszy filmów")
+    void testOdrzucanieBlednychWierszy() {
+        // Jeśli: Dane z komentarzem, pustym wierszem i dwoma błędnymi wierszami
+        String csv = "# id;tytul;opis;czas;gatunek;cena\n"
+                + "F1;Matrix;SciFi;136;Akcja;28\n"
+                + "\n"
+                + "F2;Incepcja;Sen;dlugi;Thriller;30.0\n"
+                + "F3;Diuna\n"
+                + "F4;Interstellar;Kosmos;169;SciFi;32.5\n";
+
+        // Gdy: Importujemy filmy
+        WynikImportu wynik = new ImportKatalogu(dao).importujFilmy(new StringReader(csv));
+
+        // Wtedy: Dodano tylko poprawne filmy w postaci zgodnej z Model.dodajFilm
+        assertEquals(2, wynik.dajLiczbeZaimportowanych());
+        assertEquals(2, wynik.dajLiczbeOdrzuconych());
+        assertEquals("F1;Matrix;SciFi;136;Akcja;28.0", dao.znajdzFilm("F1"));
+        assertNull(dao.znajdzFilm("F2"));
+        assertEquals(List.of("Zaimportowano filmy: 2 (F1 - F4)"), wpisy);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test importu przez model")
+    void testImportPrzezModel() throws IOException {
+        // Jeśli: Model i plik z seansami
+        Model model = new Model(new Oferta(dao), dao);
+        Path plik = zapiszSeanse(10);
+
+        // Gdy: Importujemy seanse przez model
+        String komunikat = model.importujSeanse(plik);
+
+        // Wtedy: Komunikat podaje liczby, a repertuar zawiera seans
+        assertEquals("Zaimportowano seansow: 10, odrzucono wierszy: 0", komunikat);
+        assertTrue(model.pobierzRepertuar("F3").contains("2024-12-20 18:00;Sala3;100"));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test trwałości partii w TrwalyDAO")
+    void testImportDoTrwalegoDAO() throws IOException {
+        // Jeśli: Trwałe DAO z grupowym utrwalaniem
+        Path katalogDziennika = katalog.resolve("dziennik");
+        Path plik = zapiszSeanse(5000);
+        TrwalyDAO trwale = new TrwalyDAO(new DAO(wpisy::add),
+                new DziennikZapisu(katalogDziennika, DziennikZapisu.TrybSynchronizacji.GRUPOWY, 5));
+
+        // Gdy: Importujemy seanse i uruchamiamy DAO ponownie
+        WynikImportu wynik = new ImportKatalogu(trwale, 512).importujSeanse(plik);
+        trwale.close();
+        trwale = new TrwalyDAO(new DAO(wpisy::add),
+                new DziennikZapisu(katalogDziennika, DziennikZapisu.TrybSynchronizacji.GRUPOWY, 5));
+
+        // Wtedy: Wszystkie seanse są odtworzone z dziennika
+        assertEquals(5000, wynik.dajLiczbeZaimportowanych());
+        assertEquals(500, trwale.znajdzSeansyFilmu("F7").length);
+        assertEquals("F9;2024-12-20 18:00;Sala3;100", trwale.znajdzSeans("S5000"));
+        trwale.close();
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test że import unieważnia zapamiętany repertuar filmu")
+    void testImportUniewaznaRepertuar() throws IOException {
+        // Jeśli: Model z seansem filmu F3, którego repertuar został już wyrenderowany
+        Model model = new Model(new Oferta(dao), dao);
+        model.dodajSeans("F3;2024-12-19 16:00;Sala9;50");
+        String przed = model.pobierzRepertuar("F3");
+
+        // Gdy: Importujemy plik z kolejnymi seansami i ponownie pobieramy repertuar
+        model.importujSeanse(zapiszSeanse(10));
+        String po = model.pobierzRepertuar("F3");
+
+        // Wtedy: Repertuar zawiera seans z importu obok wcześniejszego
+        assertFalse(przed.contains("Sala3;100"), przed);
+        assertTrue(po.contains("  - Seans: F3;2024-12-19 16:00;Sala9;50"), po);
+        assertTrue(po.contains("  - Seans: F3;2024-12-20 18:00;Sala3;100"), po);
+    }
+}
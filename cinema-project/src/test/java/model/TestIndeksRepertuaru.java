@@ -0,0 +1,124 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla wyszukiwania seansów według wielu kryteriów.
+ * Testuje łączenie kryteriów filmu (gatunek, cena, tytuł) i seansu
+ * (zakres dat, sala), aktualizację indeksów przy zmianach filmów
+ * i seansów wykonywanych przez model oraz komunikaty wyszukiwania.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy wyszukiwania seansów według kryteriów")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("repertuar")
+class TestIndeksRepertuaru {
+
+    private DAO dao;
+    private Model model;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów wyszukiwania seansów");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Trzy filmy w dwóch gatunkach i pięć seansów w dwóch salach
+        dao = new DAO();
+        model = new Model(new Oferta(dao), dao);
+        model.dodajFilm("F1;Matrix;Film o symulacji;136;SciFi;28.0");
+        model.dodajFilm("F2;Matrix Reaktywacja;Kontynuacja;138;SciFi;32.0");
+        model.dodajFilm("F3;Amelia;Komedia z Paryza;122;Komedia;22.0");
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        model.dodajSeans("F2;2024-12-20 21:00;Sala2;80");
+        model.dodajSeans("F1;2024-12-21 18:00;Sala2;80");
+        model.dodajSeans("F3;2024-12-20 16:00;Sala1;100");
+        model.dodajSeans("F2;2024-12-22 20:00;Sala1;100");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        model = null;
+        dao = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów wyszukiwania seansów");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test łączenia kryteriów filmu i seansu")
+    void testLaczenieKryteriow() {
+        // Gdy: Szukamy SciFi do 30 zł, samego dnia 2024-12-20 i samej sali
+        String scifiTanie = model.wyszukajSeanse("scifi;;;;30");
+        String dzien = model.wyszukajSeanse(";2024-12-20;2024-12-20");
+        String sala = model.wyszukajSeanse("SciFi;2024-12-21;;Sala1");
+
+        // Wtedy: Każdy wynik zawiera tylko seanse spełniające wszystkie kryteria, po dacie
+        assertEquals("Znalezione seanse (2):\n"
+                + "  - Seans S1: F1;2024-12-20 18:00;Sala1;100 | wolne miejsca: 100/100\n"
+                + "  - Seans S3: F1;2024-12-21 18:00;Sala2;80 | wolne miejsca: 80/80\n", scifiTanie);
+        assertTrue(dzien.startsWith("Znalezione seanse (3):\n  - Seans S4:"), dzien);
+        assertFalse(dzien.contains("S3") || dzien.contains("S5"), dzien);
+        assertEquals("Znalezione seanse (1):\n"
+                + "  - Seans S5: F2;2024-12-22 20:00;Sala1;100 | wolne miejsca: 100/100\n", sala);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test wyszukiwania po początkach słów tytułu")
+    void testWyszukiwaniePoTytule() {
+        // Gdy: Szukamy po fragmentach słów tytułu, bez względu na wielkość liter
+        String matrix = model.wyszukajSeanse(";;;;;matr");
+        String reaktywacja = model.wyszukajSeanse(";;;;;MATRIX reakt");
+        String brak = model.wyszukajSeanse(";;;;;atrix");
+
+        // Wtedy: Każde słowo zapytania musi zaczynać któreś słowo tytułu
+        assertTrue(matrix.startsWith("Znalezione seanse (4):"), matrix);
+        assertTrue(reaktywacja.startsWith("Znalezione seanse (2):"), reaktywacja);
+        assertFalse(reaktywacja.contains("F1;"), reaktywacja);
+        assertEquals("Brak seansow spelniajacych kryteria: ;;;;;atrix", brak);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test aktualizacji indeksów przy zmianach filmów i seansów")
+    void testAktualizacjaIndeksow() {
+        // Gdy: Film zmienia gatunek i cenę, seans zmienia salę, inny seans jest usuwany
+        model.edytujFilm("F3", "Amelia;Komedia z Paryza;122;Dramat;35.0");
+        model.edytujSeans("S1", "F1;2024-12-20 18:00;Sala3;100");
+        model.usunSeans("S3");
+
+        // Wtedy: Wyszukiwanie widzi nowe wartości, a nie stare
+        assertTrue(model.wyszukajSeanse("Komedia").startsWith("Brak seansow"));
+        assertTrue(model.wyszukajSeanse("dramat;;;;40").contains("  - Seans S4: "));
+        assertTrue(model.wyszukajSeanse(";;;;25").startsWith("Brak seansow"));
+        assertEquals("Znalezione seanse (1):\n"
+                + "  - Seans S1: F1;2024-12-20 18:00;Sala3;100 | wolne miejsca: 100/100\n",
+                model.wyszukajSeanse(";;;Sala3"));
+        assertTrue(model.wyszukajSeanse(";;;;;matrix").startsWith("Znalezione seanse (3):"));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test pustych i nieprawidłowych kryteriów")
+    void testNieprawidloweKryteria() {
+        // Gdy/Wtedy: Brak kryteriów jest odrzucany zamiast przeglądania wszystkich seansów
+        assertEquals("Blad: Podaj co najmniej jedno kryterium wyszukiwania", model.wyszukajSeanse(";;;;"));
+        assertTrue(model.wyszukajSeanse(";2024-12-23;2024-12-21").startsWith("Brak seansow"));
+        IllegalArgumentException wyjatek = assertThrows(IllegalArgumentException.class,
+                () -> model.wyszukajSeanse(";;;;tanio"));
+        assertEquals("Nieprawidlowe kryteria wyszukiwania: ;;;;tanio", wyjatek.getMessage());
+    }
+}
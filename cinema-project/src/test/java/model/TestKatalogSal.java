@@ -0,0 +1,156 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla katalogu sal ze współdzielonymi układami.
+ * Testuje współdzielenie jednego układu przez seanse i bliźniacze sale,
+ * kategorie rzędów, miejsca wyłączone z użytku oraz mapę miejsc bez
+ * historii zmian, dopóki nic się nie zmieniło.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy katalogu sal")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("repertuar")
+class TestKatalogSal {
+
+    private Film film;
+    private KatalogSal katalog;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów katalogu sal");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Katalog z salą 10x20, ostatnim rzędem VIP i dwoma wyłączonymi miejscami
+        film = new Film("F1", "Matrix", "SciFi", 136, "Akcja", 28.0);
+        katalog = new KatalogSal();
+        UkladSali.Kategoria[] kategorie = new UkladSali.Kategoria[10];
+        Arrays.fill(kategorie, UkladSali.Kategoria.STANDARD);
+        kategorie[9] = UkladSali.Kategoria.VIP;
+        katalog.zarejestruj("Sala1", new UkladSali(10, 20, new int[] { 10 }, kategorie, new int[] { 5, 6 }));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        katalog = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów katalogu sal");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test że seanse i bliźniacze sale współdzielą jeden układ")
+    void testWspoldzielenieUkladu() {
+        // Gdy: Rejestrujemy bliźniaczą salę i tworzymy miesiąc seansów w obu
+        UkladSali.Kategoria[] kategorie = new UkladSali.Kategoria[10];
+        Arrays.fill(kategorie, UkladSali.Kategoria.STANDARD);
+        kategorie[9] = UkladSali.Kategoria.VIP;
+        UkladSali blizniaczy = katalog.zarejestruj("Sala2",
+                new UkladSali(10, 20, new int[] { 10 }, kategorie, new int[] { 6, 5 }));
+        Seans pierwszy = new Seans("S1", film, "2024-12-01 18:00", "Sala1", katalog);
+        Seans ostatni = new Seans("S60", film, "2024-12-30 21:00", "Sala2", katalog);
+
+        // Wtedy: Wszystkie seanse odwołują się do tego samego obiektu układu
+        assertSame(katalog.dajUklad("Sala1"), blizniaczy);
+        assertSame(pierwszy.dajUklad(), ostatni.dajUklad());
+        assertEquals(2, katalog.dajLiczbeSal());
+        assertEquals(1, katalog.dajLiczbeUkladow());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test kategorii rzędów i miejsc wyłączonych z użytku")
+    void testKategorieIMiejscaWylaczone() {
+        // Jeśli: Seans w sali z katalogu
+        Seans seans = new Seans("S1", film, "2024-12-20 18:00", "Sala1", katalog);
+        UkladSali uklad = seans.dajUklad();
+
+        // Gdy: Próbujemy kupić i zwolnić wyłączone miejsce oraz kupujemy zwykłe
+        boolean wylaczone = seans.zarezerwujMiejsce(5);
+        seans.zwolnijMiejsce(5);
+        boolean zwykle = seans.zarezerwujMiejsce(7);
+
+        // Wtedy: Wyłączonych miejsc nie można kupić ani zwolnić, nie są też liczone jako sprzedane
+        assertFalse(wylaczone);
+        assertTrue(zwykle);
+        assertFalse(Arrays.stream(seans.dajWolneMiejsca()).anyMatch(nr -> nr == 5 || nr == 6));
+        assertEquals(197, seans.dajLiczbeWolnychMiejsc());
+        assertEquals(1, seans.dajLiczbeZajetychMiejsc());
+        assertEquals(198, uklad.dajLiczbeDostepnych());
+        assertEquals(UkladSali.Kategoria.VIP, uklad.dajKategorie(181));
+        assertEquals(UkladSali.Kategoria.STANDARD, uklad.dajKategorie(180));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test seansu w nieznanej sali")
+    void testNieznanaSala() {
+        // Gdy/Wtedy: Seans w sali spoza katalogu jest odrzucany
+        IllegalArgumentException wyjatek = assertThrows(IllegalArgumentException.class,
+                () -> new Seans("S1", film, "2024-12-20 18:00", "Sala9", katalog));
+        assertEquals("Nieznana sala: Sala9", wyjatek.getMessage());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test odświeżeń mapy, która nie ma jeszcze historii zmian")
+    void testMapaBezHistorii() {
+        // Jeśli: Seans, w którym jeszcze nic nie sprzedano (wyłączone miejsca nie są zmianą)
+        Seans seans = new Seans("S1", film, "2024-12-20 18:00", "Sala1", katalog);
+
+        // Gdy: Klient odświeża mapę przed pierwszą sprzedażą i po niej
+        ZmianyMiejsc przed = seans.dajZmianyMiejsc(0);
+        seans.zarezerwujMiejsce(7);
+        ZmianyMiejsc po = seans.dajZmianyMiejsc(przed.dajWersje());
+
+        // Wtedy: Mapa startuje z wersją 0, a pierwsza sprzedaż przychodzi jako zmiana
+        assertFalse(przed.czyPelna());
+        assertEquals(0, przed.dajWersje());
+        assertEquals(0, przed.dajZajete().length);
+        assertFalse(po.czyPelna());
+        assertEquals(1, po.dajWersje());
+        assertArrayEquals(new int[] { 7 }, po.dajZajete());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test że model sprzedaje miejsca według układu sali z katalogu")
+    void testModelZUklademSali() {
+        // Jeśli: Model z katalogiem sal, seans w Sali1 (200 miejsc, 5 i 6 wyłączone) i w sali spoza katalogu
+        DAO dao = new DAO();
+        Model model = new Model(new Oferta(dao), dao, null, katalog);
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        model.dodajSeans("F1;2024-12-21 18:00;Sala2;100");
+
+        // Gdy: Klienci próbują kupić i zablokować wyłączone miejsca oraz miejsce z tylnych rzędów
+        String wylaczone = model.zarezerwujMiejsce("S1;K001;5;28.0");
+        String grupa = model.zarezerwujMiejsca("S1;K001;4,5;28.0");
+        String blokada = model.zablokujMiejsca("S1;K002;6");
+        String tylne = model.zarezerwujMiejsce("S1;K003;150;28.0");
+        String repertuar = model.pobierzRepertuar("F1");
+
+        // Wtedy: Wyłączonych miejsc nie można sprzedać, a sala ma wielkość układu bez nich
+        assertEquals("Blad: Miejsce 5 nie jest dostepne na seansie S1", wylaczone);
+        assertTrue(grupa.startsWith("Blad"), grupa);
+        assertTrue(blokada.startsWith("Blad"), blokada);
+        assertEquals("Rezerwacja wykonana pomyslnie. ID: R1, cena: 28.0 PLN", tylne);
+        assertTrue(repertuar.contains("Sala1;100 | wolne miejsca: 197/198\n"), repertuar);
+        assertTrue(repertuar.contains("Sala2;100 | wolne miejsca: 100/100\n"), repertuar);
+    }
+}
@@ -0,0 +1,117 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla kursora pól rekordów rozdzielanych średnikami.
+ * Testuje odczyt pól tekstowych i liczbowych bez dzielenia rekordu,
+ * zgodność liczb z Integer.parseInt i Double.parseDouble oraz
+ * komunikaty o nieprawidłowych polach z ich pozycją.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy kursora pól rekordu")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+class TestKursorPol {
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów kursora pól");
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów kursora pól");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test odczytu wszystkich pól rekordu filmu")
+    void testOdczytRekordu() {
+        // Jeśli: Rekord filmu z pustym polem opisu
+        KursorPol kursor = new KursorPol("F1;Matrix;;136;SciFi;28.50");
+
+        // Gdy: Odczytujemy kolejne pola
+        String id = kursor.nastepnyTekst();
+        String tytul = kursor.nastepnyTekst();
+        String opis = kursor.nastepnyTekst();
+        int czas = kursor.nastepnyInt();
+        kursor.pominPole();
+        double cena = kursor.nastepnyDouble();
+
+        // Wtedy: Pola mają poprawne wartości, a rekord się skończył
+        assertEquals("F1", id);
+        assertEquals("Matrix", tytul);
+        assertEquals("", opis);
+        assertEquals(136, czas);
+        assertEquals(28.5, cena);
+        assertFalse(kursor.czyJestPole());
+        assertDoesNotThrow(kursor::sprawdzKoniec);
+    }
+
+    @ParameterizedTest
+    @Order(2)
+    @DisplayName("Test zgodności liczb dziesiętnych z Double.parseDouble - @ValueSource")
+    @ValueSource(strings = { "0", "-0", "28.0", "18.99", "0.1", "-27.5", "1.", ".5", "+3.25",
+            "123456789.123456789", "9007199254740993", "1e3", "0.0000000000000000000000001" })
+    void testLiczbyDziesietne(String liczba) {
+        // Gdy: Odczytujemy liczbę jako pole rekordu
+        double wartosc = new KursorPol(liczba + ";X").nastepnyDouble();
+
+        // Wtedy: Wynik jest identyczny z Double.parseDouble (co do bitu)
+        assertEquals(Double.doubleToLongBits(Double.parseDouble(liczba)), Double.doubleToLongBits(wartosc),
+                liczba);
+    }
+
+    @ParameterizedTest
+    @Order(3)
+    @DisplayName("Test zgodności liczb całkowitych z Integer.parseInt - @ValueSource")
+    @ValueSource(strings = { "0", "7", "-42", "+15", "2147483647", "-2147483648" })
+    void testLiczbyCalkowite(String liczba) {
+        // Gdy/Wtedy: Wynik jest identyczny z Integer.parseInt
+        assertEquals(Integer.parseInt(liczba), new KursorPol(liczba).nastepnyInt());
+    }
+
+    @ParameterizedTest
+    @Order(4)
+    @DisplayName("Test odrzucania nieprawidłowych liczb - @ValueSource")
+    @ValueSource(strings = { "", "-", "12a", "2147483648", "-2147483649", "1.5", " 7" })
+    void testNieprawidloweLiczby(String liczba) {
+        // Gdy/Wtedy: Pole nie jest poprawną liczbą całkowitą
+        KursorPol kursor = new KursorPol("S1;" + liczba + ";25.0");
+        kursor.pominPole();
+        NumberFormatException wyjatek = assertThrows(NumberFormatException.class, kursor::nastepnyInt);
+        assertTrue(wyjatek.getMessage().contains("w polu 2 (znak 3)"), wyjatek.getMessage());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test listy numerów miejsc i granic rekordu")
+    void testListaIGraniceRekordu() {
+        // Jeśli: Dane grupowej rezerwacji ze spacjami na liście miejsc
+        KursorPol kursor = new KursorPol("S1;K001;4, 5 ,6;25.0");
+        kursor.pominPole();
+        kursor.pominPole();
+
+        // Gdy: Odczytujemy listę, cenę i próbujemy czytać dalej
+        int[] miejsca = kursor.nastepneInty();
+        double cena = kursor.nastepnyDouble();
+        IllegalArgumentException brak = assertThrows(IllegalArgumentException.class, kursor::nastepnyTekst);
+
+        // Wtedy: Lista ma trzy numery, a brakujące pole jest zgłaszane z numerem
+        assertArrayEquals(new int[] { 4, 5, 6 }, miejsca);
+        assertEquals(25.0, cena);
+        assertTrue(brak.getMessage().startsWith("Brak pola 5"), brak.getMessage());
+        IllegalArgumentException nadmiar = assertThrows(IllegalArgumentException.class,
+                () -> RekordSeansu.parsuj("F1;2024-12-20 18:00;Sala1;100;X"));
+        assertTrue(nadmiar.getCause().getMessage().startsWith("Nadmiarowe pole 5"));
+    }
+}
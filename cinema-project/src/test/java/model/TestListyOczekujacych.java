@@ -0,0 +1,207 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla list oczekujących na miejsca wyprzedanych seansów.
+ * Testuje kolejność obsługi (priorytet, a potem kolejność zapisu) oraz
+ * przekazywanie zwolnionych miejsc oczekującym przy wygaśnięciu blokady
+ * i anulowaniu rezerwacji oraz usuwanie list i przydziałów usuniętego
+ * seansu. Czas jest sterowany ręcznie.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy list oczekujących na miejsca")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("repertuar")
+class TestListyOczekujacych {
+
+    private AtomicLong czas;
+    private ConcurrentDAO dao;
+    private Model model;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów list oczekujących");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Model z blokadami na ręcznym zegarze i wyprzedanym seansem na 2 miejsca
+        czas = new AtomicLong(1_000_000);
+        dao = new ConcurrentDAO(zdarzenie -> { });
+        model = new Model(new Oferta(dao), dao, new BlokadyMiejsc(czas::get, 10));
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;2");
+        model.zarezerwujMiejsca("S1;K001;1;25.0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        model = null;
+        dao = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów list oczekujących");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test kolejności: wyższy priorytet pierwszy, potem kolejność zapisu")
+    void testKolejnoscObslugi() {
+        // Jeśli: Czterech klientów z dwoma poziomami priorytetu
+        ListyOczekujacych listy = new ListyOczekujacych();
+        listy.dodaj("S1", "K1", 0);
+        listy.dodaj("S1", "K2", 1);
+        listy.dodaj("S1", "K3", 0);
+        int pozycjaK4 = listy.dodaj("S1", "K4", 1);
+
+        // Gdy: Sprawdzamy pozycje i zdejmujemy klientów z kolejki
+        int pozycjaK3 = listy.dajPozycje("S1", "K3");
+        int ponownie = listy.dodaj("S1", "K1", 5);
+        StringBuilder kolejnosc = new StringBuilder();
+        ListyOczekujacych.Oczekujacy oczekujacy;
+        while ((oczekujacy = listy.pobierzNastepnego("S1")) != null) {
+            kolejnosc.append(oczekujacy.dajIdKlienta()).append(' ');
+        }
+
+        // Wtedy: Priorytet 1 przed 0, a w obrębie priorytetu - kto pierwszy
+        assertEquals(2, pozycjaK4);
+        assertEquals(4, pozycjaK3);
+        assertEquals(0, ponownie, "Klient nie może zapisać się dwa razy");
+        assertEquals("K2 K4 K1 K3 ", kolejnosc.toString());
+        assertEquals(0, listy.dajLiczbeOczekujacych("S1"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test przekazania miejsca z wygasłej blokady oczekującemu")
+    void testPrzekazanieZWygaslejBlokady() {
+        // Jeśli: Ostatnie miejsce jest zablokowane, a dwóch klientów czeka
+        model.zablokujMiejsca("S1;K002;2");
+        String zapis = model.zapiszNaListeOczekujacych("S1;K003;0");
+        model.zapiszNaListeOczekujacych("S1;K004;0");
+
+        // Gdy: Blokada wygasa, a pierwszy oczekujący sprawdza stan i kupuje
+        czas.addAndGet(Model.CZAS_BLOKADY_MS);
+        String przydzial = model.sprawdzOczekiwanie("S1;K003");
+        String drugi = model.sprawdzOczekiwanie("S1;K004");
+        String zakup = model.finalizujZakup("B2;25.0");
+
+        // Wtedy: Miejsce przeszło na K003 bez powrotu do sprzedaży
+        assertEquals("Zapisano na liste oczekujacych seansu S1, pozycja: 1", zapis);
+        assertEquals("Przydzielono miejsce 2 na seansie S1. ID blokady: B2", przydzial);
+        assertEquals("Oczekiwanie na seans S1, pozycja: 1", drugi);
+        assertEquals("Zakup sfinalizowany. ID: R2, cena: 25.0 PLN", zakup);
+        assertEquals("null;S1;K003;2;25.0", dao.znajdzRezerwacje("R2"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test przekazania miejsca z anulowanej rezerwacji oczekującemu")
+    void testPrzekazanieZAnulowanejRezerwacji() {
+        // Jeśli: Seans wyprzedany, klient zwykły i klient z wyższym priorytetem czekają
+        model.zarezerwujMiejsca("S1;K002;2;25.0");
+        model.zapiszNaListeOczekujacych("S1;K003;0");
+        model.zapiszNaListeOczekujacych("S1;K004;2");
+
+        // Gdy: Pierwsza rezerwacja jest anulowana, a ktoś próbuje kupić miejsce
+        String anulowanie = model.anulujRezerwacje("R1");
+        String konkurent = model.zarezerwujMiejsce("S1;K005;1;25.0");
+
+        // Wtedy: Miejsce dostał klient z wyższym priorytetem
+        assertEquals("Rezerwacja R1 anulowana", anulowanie);
+        assertNull(dao.znajdzRezerwacje("R1"));
+        assertTrue(konkurent.startsWith("Blad"), konkurent);
+        assertEquals("Przydzielono miejsce 1 na seansie S1. ID blokady: B1", model.sprawdzOczekiwanie("S1;K004"));
+        assertEquals("Oczekiwanie na seans S1, pozycja: 1", model.sprawdzOczekiwanie("S1;K003"));
+        assertEquals("Blad: Rezerwacja o ID R1 nie istnieje", model.anulujRezerwacje("R1"));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test że nieodebrany przydział przechodzi na następnego oczekującego")
+    void testNieodebranyPrzydzial() {
+        // Jeśli: Seans wyprzedany, dwóch oczekujących, rezerwacja anulowana
+        model.zarezerwujMiejsca("S1;K002;2;25.0");
+        model.zapiszNaListeOczekujacych("S1;K003;0");
+        model.zapiszNaListeOczekujacych("S1;K004;0");
+        model.anulujRezerwacje("R2");
+
+        // Gdy: Blokada K003 wygasa, a potem wygasa także blokada K004
+        czas.addAndGet(Model.CZAS_BLOKADY_MS);
+        String przydzialK003 = model.sprawdzOczekiwanie("S1;K003");
+        String przydzialK004 = model.sprawdzOczekiwanie("S1;K004");
+        czas.addAndGet(Model.CZAS_BLOKADY_MS);
+        String rezerwacja = model.zarezerwujMiejsce("S1;K005;2;25.0");
+
+        // Wtedy: Wygasły przydział K003 przepadł, miejsce przeszło na K004, a gdy
+        // kolejka się skończyła - wróciło do sprzedaży
+        assertEquals("Blad: Klient K003 nie oczekuje na seans S1", przydzialK003);
+        assertEquals("Przydzielono miejsce 2 na seansie S1. ID blokady: B2", przydzialK004);
+        assertTrue(rezerwacja.startsWith("Rezerwacja wykonana pomyslnie"), rezerwacja);
+        assertEquals(2, dao.znajdzRezerwacjeSeansu("S1").length);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test że nie można oczekiwać na seans z wolnymi miejscami")
+    void testZapisNaSeansZWolnymiMiejscami() {
+        // Gdy: Klient zapisuje się na seans z wolnym miejscem i na nieistniejący
+        String zapis = model.zapiszNaListeOczekujacych("S1;K002;0");
+        String nieistniejacy = model.zapiszNaListeOczekujacych("S9;K002;0");
+
+        // Wtedy: Oba zapisy są odrzucone, a klient nie czeka
+        assertEquals("Blad: Seans S1 ma wolne miejsca, zarezerwuj je bezposrednio", zapis);
+        assertEquals("Blad: Seans o ID S9 nie istnieje", nieistniejacy);
+        assertEquals("Blad: Klient K002 nie oczekuje na seans S1", model.sprawdzOczekiwanie("S1;K002"));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test usunięcia listy oczekujących i przydziałów razem z seansem")
+    void testUsuniecieSeansuZOczekujacymi() {
+        // Jeśli: Seans wyprzedany, K003 dostał przydział, a K004 nadal czeka
+        model.zarezerwujMiejsca("S1;K002;2;25.0");
+        model.zapiszNaListeOczekujacych("S1;K003;0");
+        model.zapiszNaListeOczekujacych("S1;K004;0");
+        model.anulujRezerwacje("R2");
+
+        // Gdy: Seans zostaje usunięty
+        model.usunSeans("S1");
+
+        // Wtedy: Ani przydział, ani miejsce w kolejce nie przetrwały usunięcia
+        assertEquals("Blad: Klient K003 nie oczekuje na seans S1", model.sprawdzOczekiwanie("S1;K003"));
+        assertEquals("Blad: Klient K004 nie oczekuje na seans S1", model.sprawdzOczekiwanie("S1;K004"));
+        assertEquals("Blad: Blokada B1 wygasla lub nie istnieje", model.finalizujZakup("B1;25.0"));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test usuwania pustej kolejki i ponownego zapisu")
+    void testPustaKolejka() {
+        // Jeśli: Lista oczekujących z jednym klientem
+        ListyOczekujacych listy = new ListyOczekujacych();
+        listy.dodaj("S1", "K001", 0);
+
+        // Gdy: Klient zostaje obsłużony, a potem zapisuje się kolejny
+        ListyOczekujacych.Oczekujacy pierwszy = listy.pobierzNastepnego("S1");
+        int pozycja = listy.dodaj("S1", "K002", 0);
+
+        // Wtedy: Pusta kolejka nie blokuje nowego zapisu
+        assertEquals("K001", pierwszy.dajIdKlienta());
+        assertNull(listy.pobierzNastepnego("S9"));
+        assertEquals(1, pozycja);
+        assertEquals(1, listy.dajLiczbeOczekujacych("S1"));
+    }
+}
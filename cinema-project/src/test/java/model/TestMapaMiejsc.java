@@ -0,0 +1,505 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla klasy MapaMiejsc.
+ * Testuje zajmowanie i zwalnianie miejsc na granicach słów oraz
+ * atomowość rezerwacji przy wielu kupujących to samo miejsce.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy klasy MapaMiejsc")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("wspolbieznosc")
+class TestMapaMiejsc {
+
+    private static final int LICZBA_WATKOW = 8;
+
+    private ExecutorService pula;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów MapaMiejsc");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Pula wątków kupujących
+        pula = Executors.newFixedThreadPool(LICZBA_WATKOW);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        // Sprzątanie po każdym teście
+        pula.shutdownNow();
+        pula.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów MapaMiejsc");
+    }
+
+    @ParameterizedTest
+    @Order(1)
+    @DisplayName("Test miejsc na granicach słów - @ValueSource")
+    @ValueSource(ints = { 1, 63, 64, 65, 128 })
+    void testGraniceSlow(int nrMiejsca) {
+        // Jeśli: Sala na 130 miejsc
+        MapaMiejsc mapa = new MapaMiejsc(130);
+
+        // Gdy: Zajmujemy miejsce dwukrotnie
+        boolean pierwsze = mapa.zajmij(nrMiejsca);
+        boolean drugie = mapa.zajmij(nrMiejsca);
+
+        // Wtedy: Udaje się tylko pierwsze, a zwolnienie przywraca miejsce
+        assertTrue(pierwsze);
+        assertFalse(drugie);
+        assertTrue(mapa.czyZajete(nrMiejsca));
+        assertEquals(129, mapa.dajWolne().length);
+        assertEquals(1, mapa.dajLiczbeZajetych());
+        assertTrue(mapa.zwolnij(nrMiejsca));
+        assertFalse(mapa.zwolnij(nrMiejsca), "Ponowne zwolnienie powinno się nie udać");
+        assertEquals(130, mapa.dajWolne().length);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test że wolne miejsca nie wychodzą poza salę")
+    void testWolneMiejscaWOstatnimSlowie() {
+        // Jeśli: Sala na 70 miejsc z zajętym miejscem 70
+        MapaMiejsc mapa = new MapaMiejsc(70);
+        mapa.zajmij(70);
+
+        // Gdy: Pobieramy wolne miejsca
+        int[] wolne = mapa.dajWolne();
+
+        // Wtedy: Są to miejsca 1..69
+        assertEquals(69, wolne.length);
+        assertEquals(1, wolne[0]);
+        assertEquals(69, wolne[68]);
+        assertFalse(mapa.zajmij(71));
+        assertFalse(mapa.zajmij(0));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test że każde miejsce ma dokładnie jednego kupującego")
+    void testJedenZwyciezcaNaMiejsce() throws Exception {
+        // Jeśli: Wszyscy kupujący próbują zająć wszystkie miejsca sali
+        int liczbaMiejsc = 2000;
+        MapaMiejsc mapa = new MapaMiejsc(liczbaMiejsc);
+        AtomicIntegerArray zwyciezcy = new AtomicIntegerArray(liczbaMiejsc + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Wątki zaczynają od różnych miejsc i zajmują wszystkie po kolei
+        for (int w = 0; w < LICZBA_WATKOW; w++) {
+            final int przesuniecie = w * 37;
+            zadania.add(pula.submit(() -> {
+                start.await();
+                for (int i = 0; i < liczbaMiejsc; i++) {
+                    int nr = 1 + (i + przesuniecie) % liczbaMiejsc;
+                    if (mapa.zajmij(nr)) {
+                        zwyciezcy.incrementAndGet(nr);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+
+        // Wtedy: Każde miejsce zajęto dokładnie raz
+        for (int nr = 1; nr <= liczbaMiejsc; nr++) {
+            assertEquals(1, zwyciezcy.get(nr), "Miejsce " + nr + " powinno mieć jednego kupującego");
+        }
+        assertEquals(liczbaMiejsc, mapa.dajLiczbeZajetych());
+        assertEquals(0, mapa.dajWolne().length);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test równoległych rezerwacji na współdzielonym seansie")
+    void testSeansWspoldzielony() throws Exception {
+        // Jeśli: Jeden seans i kupujący rezerwujący i zwalniający własne miejsca
+        Seans seans = new Seans("S1", new Film("F1", "Matrix", "SciFi", 136, "Akcja", 28.0),
+                "2024-12-20 18:00", "Sala1", 100);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Każdy wątek wielokrotnie rezerwuje i zwalnia miejsca sąsiadujące z innymi
+        for (int w = 0; w < LICZBA_WATKOW; w++) {
+            final int nr = w + 1;
+            zadania.add(pula.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    assertTrue(seans.zarezerwujMiejsce(nr), "Własne miejsce powinno być wolne");
+                    seans.zwolnijMiejsce(nr);
+                }
+                assertTrue(seans.zarezerwujMiejsce(nr));
+                return null;
+            }));
+        }
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+
+        // Wtedy: Żadna zmiana sąsiada nie nadpisała zmian innego wątku
+        assertEquals(LICZBA_WATKOW, seans.dajLiczbeZajetychMiejsc());
+        assertEquals(100 - LICZBA_WATKOW, seans.dajWolneMiejsca().length);
+    }
+
+    // ========== TESTY REZERWACJI GRUPOWEJ ==========
+
+    @Test
+    @Order(5)
+    @DisplayName("Test że grupa z zajętym miejscem nie zajmuje żadnego")
+    void testGrupaWszystkoAlboNic() {
+        // Jeśli: Zajęte miejsce 70 w drugim słowie mapy
+        MapaMiejsc mapa = new MapaMiejsc(130);
+        mapa.zajmij(70);
+
+        // Gdy: Rezerwujemy grupy obejmujące i nieobejmujące zajętego miejsca
+        boolean zZajetym = mapa.zajmijWszystkie(5, 6, 70, 71);
+        boolean wolne = mapa.zajmijWszystkie(5, 6, 69, 128);
+
+        // Wtedy: Pierwsza grupa niczego nie zajęła, druga zajęła wszystko
+        assertFalse(zZajetym);
+        assertTrue(wolne);
+        assertEquals(5, mapa.dajLiczbeZajetych());
+        assertFalse(mapa.czyZajete(71));
+        assertFalse(mapa.zajmijWszystkie(1, 1), "Powtórzone miejsce powinno odrzucić grupę");
+        assertFalse(mapa.zajmijWszystkie(1, 131), "Miejsce spoza sali powinno odrzucić grupę");
+        assertFalse(mapa.zajmijWszystkie(), "Pusta grupa powinna zostać odrzucona");
+        assertFalse(mapa.czyZajete(1));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test równoległych grup rywalizujących o wspólne miejsca")
+    void testRownolegleGrupy() throws Exception {
+        // Jeśli: Rodziny chcące czwórek miejsc zachodzących na siebie o dwa
+        int liczbaMiejsc = 200;
+        MapaMiejsc mapa = new MapaMiejsc(liczbaMiejsc);
+        AtomicIntegerArray wlasciciel = new AtomicIntegerArray(liczbaMiejsc + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Każdy wątek próbuje wszystkich czwórek od innego miejsca
+        for (int w = 0; w < LICZBA_WATKOW; w++) {
+            final int watek = w + 1;
+            zadania.add(pula.submit(() -> {
+                start.await();
+                for (int i = 0; i + 4 <= liczbaMiejsc; i += 2) {
+                    int pierwsze = 1 + (i + watek * 2) % (liczbaMiejsc - 3);
+                    int[] grupa = { pierwsze, pierwsze + 1, pierwsze + 2, pierwsze + 3 };
+                    if (mapa.zajmijWszystkie(grupa)) {
+                        for (int nr : grupa) {
+                            assertTrue(wlasciciel.compareAndSet(nr, 0, watek),
+                                    "Miejsce " + nr + " sprzedano dwa razy");
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+
+        // Wtedy: Mapa zgadza się z właścicielami, a każda grupa jest pełna
+        int sprzedane = 0;
+        for (int nr = 1; nr <= liczbaMiejsc; nr++) {
+            assertEquals(wlasciciel.get(nr) != 0, mapa.czyZajete(nr), "Niespójne miejsce " + nr);
+            if (wlasciciel.get(nr) != 0) {
+                sprzedane++;
+            }
+        }
+        assertEquals(sprzedane, mapa.dajLiczbeZajetych());
+        assertEquals(0, sprzedane % 4, "Sprzedawane są tylko pełne czwórki");
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test rezerwacji grupowej przez model")
+    void testRezerwacjaGrupowaWModelu() {
+        // Jeśli: Model z seansem na 10 miejsc i zajętym miejscem 4
+        ConcurrentDAO dao = new ConcurrentDAO(zdarzenie -> { });
+        Model model = new Model(new Oferta(dao), dao);
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;10");
+        model.zarezerwujMiejsca("S1;K001;4;25.0");
+
+        // Gdy: Rodzina próbuje zająć miejsca 3-6, a potem 5-8
+        String nieudana = model.zarezerwujMiejsca("S1;K002;3,4,5,6;25.0");
+        String udana = model.zarezerwujMiejsca("S1;K002;5,6,7,8;25.0");
+
+        // Wtedy: Pierwsza próba niczego nie zapisała, druga zapisała cztery rezerwacje
+        assertTrue(nieudana.startsWith("Blad"), nieudana);
+        assertEquals("Rezerwacja grupowa wykonana pomyslnie. ID: R2,R3,R4,R5, cena: 100.0 PLN", udana);
+        assertEquals("null;S1;K002;8;25.0", dao.znajdzRezerwacje("R5"));
+        assertNull(dao.znajdzRezerwacje("R6"));
+        assertTrue(model.zarezerwujMiejsca("S9;K002;1;25.0").contains("nie istnieje"));
+    }
+
+    // ========== TESTY PODWÓJNEJ SPRZEDAŻY ==========
+
+    @Test
+    @Order(8)
+    @DisplayName("Test że model nie sprzedaje miejsca dwa razy")
+    void testModelBezPodwojnejSprzedazy() throws Exception {
+        // Jeśli: Model z seansem na 50 miejsc i kupujący chcący wszystkich miejsc
+        ConcurrentDAO dao = new ConcurrentDAO(zdarzenie -> { });
+        Model model = new Model(new Oferta(dao), dao);
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;50");
+        AtomicInteger udane = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Wszystkie wątki jednocześnie rezerwują każde miejsce
+        for (int w = 0; w < LICZBA_WATKOW; w++) {
+            final String idKlienta = "K" + w;
+            zadania.add(pula.submit(() -> {
+                start.await();
+                for (int nr = 1; nr <= 50; nr++) {
+                    if (model.zarezerwujMiejsce("S1;" + idKlienta + ";" + nr + ";25.0").startsWith("Rezerwacja")) {
+                        udane.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+
+        // Wtedy: Każde miejsce sprzedano raz i zapisano dokładnie 50 rezerwacji
+        assertEquals(50, udane.get());
+        assertEquals(50, dao.znajdzRezerwacjeSeansu("S1").length);
+        assertNull(dao.znajdzRezerwacje("R51"));
+        assertEquals("Blad: Miejsce 7 nie jest dostepne na seansie S1",
+                model.zarezerwujMiejsce("S1;K9;7;25.0"));
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Test odtworzenia zajętych miejsc z zapisanych rezerwacji")
+    void testOdtworzenieZRezerwacji() throws Exception {
+        // Jeśli: Rezerwacje zapisane przez pierwszy model i migawka stanu DAO
+        ConcurrentDAO dao = new ConcurrentDAO(zdarzenie -> { });
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;10");
+        new Model(new Oferta(dao), dao).zarezerwujMiejsca("S1;K001;3,4;25.0");
+        ByteArrayOutputStream bufor = new ByteArrayOutputStream();
+        dao.zapiszStan(new DataOutputStream(bufor));
+
+        // Gdy: Po ponownym uruchomieniu nowy model rezerwuje te same miejsca
+        ConcurrentDAO odtworzony = new ConcurrentDAO(zdarzenie -> { });
+        odtworzony.wczytajStan(new DataInputStream(new ByteArrayInputStream(bufor.toByteArray())));
+        Model model = new Model(new Oferta(odtworzony), odtworzony);
+        String zajete = model.zarezerwujMiejsce("S1;K002;4;25.0");
+        String wolne = model.zarezerwujMiejsce("S1;K002;5;25.0");
+
+        // Wtedy: Sprzedane wcześniej miejsce jest zajęte, a kolejne ID są kontynuowane
+        String[] rezerwacje = odtworzony.znajdzRezerwacjeSeansu("S1");
+        Arrays.sort(rezerwacje);
+        assertArrayEquals(new String[] { "R1", "R2", "R3" }, rezerwacje);
+        assertTrue(zajete.startsWith("Blad"), zajete);
+        assertEquals("Rezerwacja wykonana pomyslnie. ID: R3, cena: 25.0 PLN", wolne);
+    }
+
+    // ========== TESTY ODŚWIEŻANIA PRZYROSTOWEGO ==========
+
+    @Test
+    @Order(10)
+    @DisplayName("Test zmian od wersji klienta i powrotu do pełnej migawki")
+    void testZmianyOdWersji() {
+        // Jeśli: Mapa na 200 miejsc z historią 8 zmian i klient znający wersję po 2 zmianach
+        MapaMiejsc mapa = new MapaMiejsc(200, 8);
+        mapa.zajmij(5);
+        mapa.zajmij(70);
+        long wersjaKlienta = mapa.dajMigawke().dajWersje();
+
+        // Gdy: Miejsce 70 jest zwalniane, grupa zajmowana, a potem historia się przepełnia
+        mapa.zwolnij(70);
+        mapa.zajmijWszystkie(100, 101, 150);
+        ZmianyMiejsc zmiany = mapa.dajZmiany(wersjaKlienta);
+        ZmianyMiejsc bezZmian = mapa.dajZmiany(zmiany.dajWersje());
+        mapa.zajmijWszystkie(1, 2, 3, 4, 6);
+        ZmianyMiejsc przestarzala = mapa.dajZmiany(wersjaKlienta);
+
+        // Wtedy: Klient dostaje tylko zmienione miejsca, a po przepełnieniu pełną listę
+        assertEquals(2, wersjaKlienta);
+        assertFalse(zmiany.czyPelna());
+        assertEquals(6, zmiany.dajWersje());
+        assertArrayEquals(new int[] { 70 }, zmiany.dajWolne());
+        assertArrayEquals(new int[] { 100, 101, 150 }, zmiany.dajZajete());
+        assertEquals(0, bezZmian.dajWolne().length + bezZmian.dajZajete().length);
+        assertTrue(przestarzala.czyPelna());
+        assertEquals(11, przestarzala.dajWersje());
+        assertEquals(191, przestarzala.dajWolne().length);
+        assertTrue(mapa.dajZmiany(99).czyPelna(), "Wersja z przyszłości wymaga migawki");
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Test że odpytujący klient nadąża za równoległymi zmianami")
+    void testKlientNadazaZaZmianami() throws Exception {
+        // Jeśli: Kupujący rezerwujący i zwalniający miejsca oraz klient z pełną migawką
+        int liczbaMiejsc = 300;
+        MapaMiejsc mapa = new MapaMiejsc(liczbaMiejsc, 64);
+        ZmianyMiejsc migawka = mapa.dajMigawke();
+        boolean[] wolneUKlienta = new boolean[liczbaMiejsc + 1];
+        for (int nr : migawka.dajWolne()) {
+            wolneUKlienta[nr] = true;
+        }
+        long wersja = migawka.dajWersje();
+        List<Future<?>> zadania = new ArrayList<>();
+        for (int w = 0; w < LICZBA_WATKOW - 1; w++) {
+            final int przesuniecie = w * 41;
+            zadania.add(pula.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    int nr = 1 + (i * 7 + przesuniecie) % liczbaMiejsc;
+                    if (!mapa.zajmij(nr)) {
+                        mapa.zwolnij(nr);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Gdy: Klient odpytuje mapę w trakcie zmian i raz po ich zakończeniu
+        boolean koniec = false;
+        while (!koniec) {
+            koniec = zadania.stream().allMatch(Future::isDone);
+            ZmianyMiejsc zmiany = mapa.dajZmiany(wersja);
+            if (zmiany.czyPelna()) {
+                Arrays.fill(wolneUKlienta, false);
+            }
+            for (int nr : zmiany.dajWolne()) {
+                wolneUKlienta[nr] = true;
+            }
+            for (int nr : zmiany.dajZajete()) {
+                wolneUKlienta[nr] = false;
+            }
+            wersja = zmiany.dajWersje();
+            Thread.yield();
+        }
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+        ZmianyMiejsc ostatnie = mapa.dajZmiany(wersja);
+        for (int nr : ostatnie.dajWolne()) {
+            wolneUKlienta[nr] = true;
+        }
+        for (int nr : ostatnie.dajZajete()) {
+            wolneUKlienta[nr] = false;
+        }
+
+        // Wtedy: Widok klienta zgadza się z mapą, a wersja z liczbą zmian
+        for (int nr = 1; nr <= liczbaMiejsc; nr++) {
+            assertEquals(!mapa.czyZajete(nr), wolneUKlienta[nr], "Niespójne miejsce " + nr);
+        }
+        assertEquals(mapa.dajWersje(), ostatnie.dajWersje());
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Test odświeżania miejsc przez model")
+    void testOdswiezanieWModelu() {
+        // Jeśli: Model z seansem na 10 miejsc i klient z pełną listą wolnych miejsc
+        ConcurrentDAO dao = new ConcurrentDAO(zdarzenie -> { });
+        Model model = new Model(new Oferta(dao), dao);
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;10");
+        String pelna = model.pobierzZmianyMiejsc("S1;-1");
+
+        // Gdy: Ktoś rezerwuje dwa miejsca, a klient odświeża od swojej i od nowej wersji
+        model.zarezerwujMiejsca("S1;K001;3,4;25.0");
+        String zmiany = model.pobierzZmianyMiejsc("S1;0");
+        String bezZmian = model.pobierzZmianyMiejsc("S1;2");
+
+        // Wtedy: Odpowiedzi zawierają tylko to, co się zmieniło
+        assertEquals("Seans S1, wersja: 0, wolne miejsca: 1,2,3,4,5,6,7,8,9,10", pelna);
+        assertEquals("Seans S1, wersja: 2, zwolnione: -, zajete: 3,4", zmiany);
+        assertEquals("Seans S1, wersja: 2, zwolnione: -, zajete: -", bezZmian);
+        assertEquals("Seans S1, wersja: 2, wolne miejsca: 1,2,5,6,7,8,9,10",
+                model.pobierzZmianyMiejsc("S1;-1"));
+        assertTrue(model.pobierzZmianyMiejsc("S9;0").contains("nie istnieje"));
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Test zamykania pustej mapy przed zmianą sali")
+    void testZamykaniePustejMapy() {
+        // Jeśli: Mapa 70 miejsc (dwa słowa) z wyłączonym miejscem 66 i druga z miejscem sprzedanym
+        MapaMiejsc pusta = new MapaMiejsc(new UkladSali(2, 35, new int[0], null, new int[] { 66 }));
+        MapaMiejsc sprzedana = new MapaMiejsc(70);
+        sprzedana.zajmij(68);
+
+        // Gdy: Zamykamy obie mapy
+        boolean zamknieta = pusta.zamknijPusta();
+        boolean odrzucona = sprzedana.zamknijPusta();
+
+        // Wtedy: Pusta mapa nie ma już wolnych miejsc, a mapa ze sprzedanym miejscem jest bez zmian
+        assertTrue(zamknieta);
+        assertEquals(0, pusta.dajLiczbeWolnych());
+        assertFalse(pusta.zajmij(1));
+        assertFalse(pusta.zajmij(70));
+        assertFalse(odrzucona);
+        assertEquals(69, sprzedana.dajLiczbeWolnych());
+        assertTrue(sprzedana.zajmij(1));
+        assertFalse(sprzedana.czyZajete(2));
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Test współdzielonego układu i historii rosnącej z liczbą zmian")
+    void testUkladIRosnacaHistoria() {
+        // Jeśli: Dwie mapy sali z wyłączonymi miejscami 5 i 6 i klient znający wersję 0
+        UkladSali uklad = new UkladSali(10, 20, new int[0], null, new int[] { 6, 5 });
+        MapaMiejsc mapa = new MapaMiejsc(uklad);
+        MapaMiejsc druga = new MapaMiejsc(uklad);
+
+        // Gdy: Zajmujemy po kolei 100 miejsc, co kilka razy powiększa historię
+        for (int nr = 7; nr < 107; nr++) {
+            mapa.zajmij(nr);
+        }
+        ZmianyMiejsc zmiany = mapa.dajZmiany(0);
+
+        // Wtedy: Mapy odwołują się do jednego układu, a historia ma wszystkie zmiany
+        assertSame(uklad, mapa.dajUklad());
+        assertSame(mapa.dajUklad(), druga.dajUklad());
+        assertEquals(198, mapa.dajLiczbeDostepnych());
+        assertFalse(mapa.zwolnij(5), "Miejsce wyłączone z użytku nie jest zwalniane");
+        assertFalse(zmiany.czyPelna());
+        assertEquals(100, zmiany.dajWersje());
+        assertEquals(100, zmiany.dajZajete().length);
+        assertEquals(7, zmiany.dajZajete()[0]);
+        assertEquals(106, zmiany.dajZajete()[99]);
+    }
+}
@@ -331,4 +331,125 @@ class TestModelPobierzRepertuar {
         assertEquals(repertuar1, repertuar2, "Repertuar powinien być spójny");
         assertEquals(repertuar2, repertuar3, "Repertuar powinien być spójny");
     }
+
+    // ========== TESTY ZAJĘTOŚCI SEANSÓW ==========
+
+    @Test
+    @Order(15)
+    @DisplayName("Test liczby wolnych miejsc i wyprzedania w repertuarze")
+    void testZajetoscWRepertuarze() {
+        // Jeśli: Dwa seanse, w tym mała sala na 3 miejsca
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        dao.dodajSeans("F1;2024-12-20 21:00;Kameralna;3");
+
+        // Gdy: Sprzedajemy 2 miejsca na pierwszy seans i całą małą salę, a potem blokujemy jedno
+        model.zarezerwujMiejsca("S1;K001;10,11;25.0");
+        model.zarezerwujMiejsca("S2;K002;1,2,3;25.0");
+        String wyprzedany = model.pobierzRepertuar("F1");
+        model.zablokujMiejsca("S1;K003;12");
+
+        // Wtedy: Repertuar pokazuje wolne miejsca, a wyprzedany seans jest oznaczony
+        assertTrue(wyprzedany.contains("Sala1;100 | wolne miejsca: 98/100\n"), wyprzedany);
+        assertTrue(wyprzedany.contains("Kameralna;3 | wolne miejsca: 0/3 | WYPRZEDANY\n"), wyprzedany);
+        assertTrue(model.pobierzRepertuar("F1").contains("wolne miejsca: 97/100"),
+                "Zablokowane miejsce nie jest wolne");
+    }
+
+    // ========== TESTY PAMIĘCI REPERTUARU ==========
+
+    @Test
+    @Order(16)
+    @DisplayName("Test ponownego użycia wyrenderowanego repertuaru do zmiany zajętości")
+    void testPamiecRepertuaru() {
+        // Jeśli: Film z seansem, którego repertuar był już przeglądany
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String pierwszy = model.pobierzRepertuar("F1");
+
+        // Gdy: Przeglądamy ponownie, a potem ktoś kupuje miejsce
+        String drugi = model.pobierzRepertuar("F1");
+        model.zarezerwujMiejsce("S1;K001;5;25.0");
+        String poZakupie = model.pobierzRepertuar("F1");
+
+        // Wtedy: Drugie przeglądanie zwraca ten sam tekst, a zakup go odświeża
+        assertSame(pierwszy, drugi, "Repertuar powinien pochodzić z pamięci");
+        assertTrue(poZakupie.contains("wolne miejsca: 99/100"), poZakupie);
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Test unieważniania repertuaru przez zmiany seansów i filmu w modelu")
+    void testUniewaznianieRepertuaru() {
+        // Jeśli: Dwa filmy, z których F1 ma przeglądany już repertuar
+        dao.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        model.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+        model.pobierzRepertuar("F1");
+        model.pobierzRepertuar("F2");
+
+        // Gdy: Seans przechodzi na film F2, inny seans jest usuwany, a film edytowany
+        String edycja = model.edytujSeans("S2", "F2;2024-12-21 21:00;Sala2;80");
+        String repertuarF2 = model.pobierzRepertuar("F2");
+        String usuniecie = model.usunSeans("S1");
+        String edycjaFilmu = model.edytujFilm("F1", "Matrix Reloaded;SciFi;138;Akcja;30.0");
+
+        // Wtedy: Oba repertuary pokazują stan po zmianach
+        assertEquals("Seans zaktualizowany pomyslnie. ID: S2", edycja);
+        assertTrue(repertuarF2.contains("2024-12-21 21:00"), repertuarF2);
+        assertEquals("Seans usuniety pomyslnie. ID: S1", usuniecie);
+        assertEquals("Brak seansow dla filmu: F1", model.pobierzRepertuar("F1"));
+        assertEquals("Film zaktualizowany pomyslnie. ID: F1", edycjaFilmu);
+        assertEquals("F1;Matrix Reloaded;SciFi;138;Akcja;30.0", dao.znajdzFilm("F1"));
+        assertEquals("Blad: Seans o ID S1 nie istnieje", model.usunSeans("S1"));
+        assertEquals("Blad: Film o ID F9 nie istnieje", model.edytujFilm("F9", "X;Y;1;Z;1.0"));
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Test zmiany liczby miejsc seansu z blokadą i bez sprzedanych miejsc")
+    void testZmianaLiczbyMiejscSeansu() {
+        // Jeśli: Seans S1 z zablokowanym miejscem i przeglądany seans S2 bez sprzedaży
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;10");
+        model.dodajSeans("F1;2024-12-20 21:00;Sala2;10");
+        model.zablokujMiejsca("S1;K001;4");
+        model.pobierzRepertuar("F1");
+
+        // Gdy: Obu seansom zmieniamy salę na większą
+        String zBlokada = model.edytujSeans("S1", "F1;2024-12-20 18:00;Sala3;20");
+        String bezSprzedazy = model.edytujSeans("S2", "F1;2024-12-20 21:00;Sala3;20");
+
+        // Wtedy: Seans z blokadą zostaje w starej sali, a blokadę można kupić; drugi ma nową salę
+        assertEquals("Blad: Seans o ID S1 ma sprzedane lub zablokowane miejsca, nie mozna zmienic sali", zBlokada);
+        assertEquals("F1;2024-12-20 18:00;Sala1;10", dao.znajdzSeans("S1"));
+        assertEquals("Zakup sfinalizowany. ID: R1, cena: 25.0 PLN", model.finalizujZakup("B1;25.0"));
+        assertEquals("Seans zaktualizowany pomyslnie. ID: S2", bezSprzedazy);
+        String repertuar = model.pobierzRepertuar("F1");
+        assertTrue(repertuar.contains("Sala1;10 | wolne miejsca: 9/10"), repertuar);
+        assertTrue(repertuar.contains("Sala3;20 | wolne miejsca: 20/20"), repertuar);
+        assertTrue(model.zarezerwujMiejsce("S2;K002;20;25.0").startsWith("Rezerwacja wykonana"));
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Test odrzucania nieprawidłowych danych seansu i filmu przed zapisem")
+    void testNieprawidloweDaneBezZapisu() {
+        // Jeśli: Film F1 z jednym seansem
+        dao.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+
+        // Gdy: Dodajemy i edytujemy seans oraz film z nieprawidłowymi danymi
+        String dodanie = model.dodajSeans("F1;jutro;Sala1;duzo");
+        String edycja = model.edytujSeans("S1", "F1;2024-12-21 18:00;Sala1");
+        String edycjaFilmu = model.edytujFilm("F1", "Matrix;SciFi;dlugi;Akcja;30.0");
+
+        // Wtedy: Zwracany jest błąd, a DAO i indeks repertuaru pozostają bez zmian
+        assertEquals("Blad: Nieprawidlowe dane seansu: F1;jutro;Sala1;duzo", dodanie);
+        assertEquals("Blad: Nieprawidlowe dane seansu: F1;2024-12-21 18:00;Sala1", edycja);
+        assertEquals("Blad: Nieprawidlowe dane filmu: F1;Matrix;SciFi;dlugi;Akcja;30.0", edycjaFilmu);
+        assertNull(dao.znajdzSeans("S2"));
+        assertEquals(1, dao.znajdzSeansyFilmu("F1").length);
+        assertEquals("F1;2024-12-20 18:00;Sala1;100", dao.znajdzSeans("S1"));
+        assertEquals("F1;Matrix;SciFi;136;Akcja;28.0", dao.znajdzFilm("F1"));
+        assertTrue(model.wyszukajSeanse(";;;Sala1").startsWith("Znalezione seanse (1):"));
+        assertEquals("Seans dodany pomyslnie. ID: S2", model.dodajSeans("F1;2024-12-22 18:00;Sala1;100"));
+    }
 }
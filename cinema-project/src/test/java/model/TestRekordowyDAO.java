@@ -0,0 +1,192 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla klas RekordowyDAO i AdapterRekordowegoDAO.
+ * Testuje zgodność napisowego interfejsu IDAO z DAO oraz odczyt
+ * typowanych pól rekordów bez ponownego parsowania.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy klasy RekordowyDAO i adaptera IDAO")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("dodawanie")
+class TestRekordowyDAO {
+
+    private RekordowyDAO rekordy;
+    private AdapterRekordowegoDAO dao;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów RekordowyDAO");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Nowe DAO rekordów opakowane adapterem przed każdym testem
+        rekordy = new RekordowyDAO();
+        dao = new AdapterRekordowegoDAO(rekordy);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        dao = null;
+        rekordy = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów RekordowyDAO");
+    }
+
+    // ========== TESTY ZGODNOŚCI Z IDAO ==========
+
+    @ParameterizedTest
+    @Order(1)
+    @DisplayName("Test że dane filmu wracają w niezmienionej postaci - @ValueSource")
+    @ValueSource(strings = {
+            "F1;Matrix;SciFi;136;Akcja;28.0",
+            "F001;Avengers;Superbohaterowie;150;Akcja;30.0",
+            "FX;Film;Opis;120;Gatunek;25.99"
+    })
+    void testDodajIZnajdzFilm(String daneFilmu) {
+        // Jeśli: Dane filmu w formacie IDAO
+
+        // Gdy: Dodajemy film przez adapter
+        String id = dao.dodajFilm(daneFilmu);
+
+        // Wtedy: ID pochodzi z danych, a odczyt zwraca te same dane
+        assertEquals(daneFilmu.split(";")[0], id);
+        assertEquals(daneFilmu, dao.znajdzFilm(id));
+        assertNull(dao.znajdzFilm("F999"), "Nieistniejący film powinien zwrócić null");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test indeksu seansów przy dodawaniu, edycji i usuwaniu")
+    void testSeanseIIndeksFilmu() {
+        // Jeśli: Dwa seanse filmu F1
+        String s1 = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String s2 = dao.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+
+        // Gdy: Przenosimy pierwszy seans do F2 i usuwamy drugi
+        dao.edytujSeans(s1 + ";F2;2024-12-20 19:00;Sala1;100");
+        dao.usunSeans(s2);
+
+        // Wtedy: Dane i indeks odpowiadają zachowaniu DAO
+        assertEquals("S1", s1);
+        assertEquals("S2", s2);
+        assertEquals("F2;2024-12-20 19:00;Sala1;100", dao.znajdzSeans(s1));
+        assertNull(dao.znajdzSeans(s2));
+        assertEquals(0, dao.znajdzSeansyFilmu("F1").length);
+        assertArrayEquals(new String[] { s1 }, dao.znajdzSeansyFilmu("F2"));
+        assertThrows(IllegalArgumentException.class,
+                () -> dao.edytujSeans(s2 + ";F1;2024-12-20 21:00;Sala2;80"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test zapisu rezerwacji w formacie opisu Rezerwacji")
+    void testDodajIZnajdzRezerwacje() {
+        // Jeśli: Opis rezerwacji bez nadanego ID
+        String opis = new Rezerwacja(null, "S1", "K001", 15, 28.0).dajOpis();
+
+        // Gdy: Dodajemy rezerwację przez adapter
+        String id = dao.dodajRezerwacje(opis);
+
+        // Wtedy: Rezerwacja ma ID z DAO i te same dane
+        assertEquals("R1", id);
+        assertEquals(opis, dao.znajdzRezerwacje(id));
+    }
+
+    @ParameterizedTest
+    @Order(4)
+    @DisplayName("Test odrzucania danych o nieprawidłowym formacie - @ValueSource")
+    @ValueSource(strings = { "dane seansu", "F1;2024-12-20 18:00;Sala1", "F1;2024-12-20 18:00;Sala1;sto" })
+    void testNieprawidloweDaneSeansu(String dane) {
+        // Jeśli: Dane seansu o nieprawidłowym formacie
+
+        // Gdy: Próbujemy dodać seans
+        // Wtedy: Adapter zgłasza błąd, a nic nie zostaje zapisane
+        assertThrows(IllegalArgumentException.class, () -> dao.dodajSeans(dane));
+        assertEquals(0, dao.znajdzSeansyFilmu("F1").length);
+    }
+
+    // ========== TESTY REKORDÓW ==========
+
+    @Test
+    @Order(5)
+    @DisplayName("Test odczytu typowanych pól bez parsowania")
+    void testOdczytTypowanychPol() {
+        // Jeśli: Film, seans i rezerwacja zapisane przez adapter
+        dao.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        String idSeansu = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String idRezerwacji = dao.dodajRezerwacje("null;" + idSeansu + ";K001;15;28.0");
+
+        // Gdy: Czytamy rekordy z DAO rekordów
+        RekordFilmu film = rekordy.znajdzRekordFilmu("F1");
+        RekordSeansu seans = dao.dajDaoRekordow().znajdzRekordSeansu(idSeansu);
+        RekordRezerwacji rezerwacja = rekordy.znajdzRekordRezerwacji(idRezerwacji);
+
+        // Wtedy: Pola mają właściwe typy i wartości
+        assertEquals(136, film.dajCzasTrwania());
+        assertEquals(28.0, film.dajCene(), 0.001);
+        assertEquals("F1", seans.dajIdFilmu());
+        assertEquals(100, seans.dajLiczbeMiejsc());
+        assertNull(rezerwacja.dajId());
+        assertEquals(idSeansu, rezerwacja.dajIdSeansu());
+        assertEquals(15, rezerwacja.dajNrMiejsca());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test że adapter zastępuje DAO w modelu")
+    void testZastepujeDAOWModelu() {
+        // Jeśli: Model zbudowany na adapterze
+        Model model = new Model(new Oferta(dao), dao);
+
+        // Gdy: Dodajemy film, seans i rezerwację oraz pobieramy repertuar
+        model.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String wynik = model.zarezerwujMiejsce("S1;K001;15;28.0");
+        String repertuar = model.pobierzRepertuar("F1");
+
+        // Wtedy: Wyniki są takie same jak przy DAO
+        assertEquals("Rezerwacja wykonana pomyslnie. ID: R1, cena: 28.0 PLN", wynik);
+        assertTrue(repertuar.contains("  - Seans: F1;2024-12-20 18:00;Sala1;100"));
+        assertEquals(28.0, rekordy.znajdzRekordFilmu("F1").dajCene(), 0.001);
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test edycji filmu i anulowania rezerwacji przez model na adapterze")
+    void testEdycjaFilmuIAnulowanieRezerwacji() {
+        // Jeśli: Model na adapterze z filmem, seansem i rezerwacją
+        Model model = new Model(new Oferta(dao), dao);
+        model.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        model.zarezerwujMiejsce("S1;K001;15;28.0");
+
+        // Gdy: Edytujemy film i anulujemy rezerwację
+        String edycja = model.edytujFilm("F1", "Matrix;SciFi;140;Akcja;30.0");
+        String anulowanie = model.anulujRezerwacje("R1");
+
+        // Wtedy: Rekord filmu jest zastąpiony, a rezerwacja usunięta z indeksu seansu
+        assertEquals("Film zaktualizowany pomyslnie. ID: F1", edycja);
+        assertEquals("Rezerwacja R1 anulowana", anulowanie);
+        assertEquals(140, rekordy.znajdzRekordFilmu("F1").dajCzasTrwania());
+        assertNull(rekordy.znajdzRekordRezerwacji("R1"));
+        assertEquals(0, rekordy.znajdzRezerwacjeSeansu("S1").length);
+        assertThrows(IllegalArgumentException.class, () -> dao.edytujFilm("F9;X;Y;90;Akcja;20.0"));
+    }
+}
@@ -317,4 +317,48 @@ class TestSeans {
         assertSame(originalData, data2, "Data nie powinna się zmienić");
         assertSame(originalFilm, film2, "Film nie powinien się zmienić");
     }
+
+    // ========== TESTY MAPY MIEJSC ==========
+
+    @ParameterizedTest
+    @Order(16)
+    @DisplayName("Test liczników i kolejności wolnych miejsc w dużej sali - @ValueSource")
+    @ValueSource(ints = { 63, 64, 65, 2000 })
+    void testLicznikiIWolneMiejsca(int liczbaMiejsc) {
+        // Jeśli: Sala, w której zajęte jest co trzecie miejsce
+        Seans duzy = new Seans("S004", filmTestowy, TEST_DATA, TEST_SALA, liczbaMiejsc);
+        for (int nr = 3; nr <= liczbaMiejsc; nr += 3) {
+            duzy.zarezerwujMiejsce(nr);
+        }
+
+        // Gdy: Pobieramy liczniki i wolne miejsca
+        int[] wolne = duzy.dajWolneMiejsca();
+
+        // Wtedy: Liczniki są zgodne, a wolne miejsca rosną i pomijają zajęte
+        assertEquals(liczbaMiejsc / 3, duzy.dajLiczbeZajetychMiejsc());
+        assertEquals(liczbaMiejsc - liczbaMiejsc / 3, duzy.dajLiczbeWolnychMiejsc());
+        assertEquals(duzy.dajLiczbeWolnychMiejsc(), wolne.length);
+        for (int i = 0; i < wolne.length; i++) {
+            assertNotEquals(0, wolne[i] % 3, "Miejsce " + wolne[i] + " jest zajęte");
+            assertTrue(i == 0 || wolne[i] > wolne[i - 1], "Miejsca powinny być rosnąco");
+        }
+        assertTrue(wolne[wolne.length - 1] <= liczbaMiejsc);
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Test zwalniania miejsca spoza sali")
+    void testZwolnijMiejsceSpozaSali() {
+        // Jeśli: Jedno zarezerwowane miejsce
+        seans.zarezerwujMiejsce(1);
+
+        // Gdy: Zwalniamy numery spoza sali
+        seans.zwolnijMiejsce(0);
+        seans.zwolnijMiejsce(-1);
+        seans.zwolnijMiejsce(101);
+
+        // Wtedy: Stan miejsc się nie zmienia
+        assertEquals(1, seans.dajLiczbeZajetychMiejsc());
+        assertEquals(99, seans.dajWolneMiejsca().length);
+    }
 }
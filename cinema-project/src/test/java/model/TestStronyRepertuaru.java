@@ -0,0 +1,227 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla stronicowanego repertuaru filmu i kina.
+ * Testuje stały porządek seansów na kolejnych stronach, kursor odporny
+ * na usunięcie seansu, stronę od kursora w środku repertuaru, strony kina
+ * z seansami spoza Modelu, zgodność równolegle składanego repertuaru kina
+ * ze stronami oraz odrzucanie nieprawidłowego rozmiaru strony i kursora.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy stronicowanego repertuaru")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("repertuar")
+class TestStronyRepertuaru {
+
+    private DAO dao;
+    private Model model;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów stronicowanego repertuaru");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Model z pustym DAO
+        dao = new DAO();
+        model = new Model(new Oferta(dao), dao);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        model = null;
+        dao = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów stronicowanego repertuaru");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test przechodzenia po stronach repertuaru filmu w stałym porządku")
+    void testStronyFilmu() {
+        // Jeśli: Film z 12 seansami
+        for (int i = 1; i <= 12; i++) {
+            dao.dodajSeans("F1;2024-12-" + (10 + i) + " 18:00;Sala1;100");
+        }
+
+        // Gdy: Pobieramy kolejne strony po 5 seansów
+        List<String> ids = new ArrayList<>();
+        List<Integer> rozmiary = new ArrayList<>();
+        String kursor = null;
+        do {
+            StronaRepertuaru strona = model.pobierzStroneRepertuaru("F1", kursor, 5);
+            for (int i = 0; i < strona.dajLiczbeSeansow(); i++) {
+                ids.add(strona.dajIdSeansu(i));
+            }
+            rozmiary.add(strona.dajLiczbeSeansow());
+            kursor = strona.dajNastepnyKursor();
+        } while (kursor != null);
+
+        // Wtedy: Trzy strony obejmują każdy seans raz, w porządku numerów (S2 przed S10)
+        assertEquals(List.of(5, 5, 2), rozmiary);
+        assertEquals(List.of("S1", "S2", "S3", "S4", "S5", "S6", "S7", "S8", "S9", "S10", "S11", "S12"), ids);
+        assertEquals("F1;2024-12-11 18:00;Sala1;100 | wolne miejsca: 100/100",
+                model.pobierzStroneRepertuaru("F1", null, 1).dajOpis(0));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test kursora po usunięciu seansu, na którym skończyła się strona")
+    void testKursorPoUsunieciuSeansu() {
+        // Jeśli: Film z czterema seansami i pobrana pierwsza strona
+        for (int i = 1; i <= 4; i++) {
+            model.dodajSeans("F1;2024-12-2" + i + " 18:00;Sala1;100");
+        }
+        StronaRepertuaru pierwsza = model.pobierzStroneRepertuaru("F1", null, 2);
+
+        // Gdy: Ostatni seans strony zostaje usunięty przed pobraniem następnej
+        model.usunSeans(pierwsza.dajNastepnyKursor());
+        StronaRepertuaru druga = model.pobierzStroneRepertuaru("F1", pierwsza.dajNastepnyKursor(), 2);
+
+        // Wtedy: Następna strona zaczyna się od kolejnego seansu i jest ostatnia
+        assertEquals("S2", pierwsza.dajNastepnyKursor());
+        assertEquals(2, druga.dajLiczbeSeansow());
+        assertEquals("S3", druga.dajIdSeansu(0));
+        assertEquals("S4", druga.dajIdSeansu(1));
+        assertFalse(druga.czyJestNastepna());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test stron repertuaru kina w porządku dat i tekstowego repertuaru")
+    void testStronyKina() {
+        // Jeśli: Seanse dwóch filmów, w tym dwa o tej samej godzinie
+        model.dodajSeans("F2;2024-12-21 18:00;Sala1;100");
+        model.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+        model.dodajSeans("F1;2024-12-21 18:00;Sala2;80");
+        model.dodajSeans("F2;2024-12-20 16:00;Sala1;100");
+
+        // Gdy: Pobieramy repertuar kina stronami po 3 seanse i w całości
+        StronaRepertuaru pierwsza = model.pobierzStroneRepertuaruKina("K1", null, 3);
+        StronaRepertuaru druga = model.pobierzStroneRepertuaruKina("K1", pierwsza.dajNastepnyKursor(), 3);
+        String calosc = model.pobierzRepertuarKina("K1");
+
+        // Wtedy: Seanse są po dacie, a przy tej samej dacie po ID
+        assertEquals("2024-12-21 18:00;S1", pierwsza.dajNastepnyKursor());
+        assertEquals("S4", pierwsza.dajIdSeansu(0));
+        assertEquals("S2", pierwsza.dajIdSeansu(1));
+        assertEquals(1, druga.dajLiczbeSeansow());
+        assertEquals("S3", druga.dajIdSeansu(0));
+        assertNull(druga.dajNastepnyKursor());
+        assertEquals("Repertuar kina K1:\n"
+                + "  - Seans S4: F2;2024-12-20 16:00;Sala1;100 | wolne miejsca: 100/100\n"
+                + "  - Seans S2: F1;2024-12-20 21:00;Sala2;80 | wolne miejsca: 80/80\n"
+                + "  - Seans S1: F2;2024-12-21 18:00;Sala1;100 | wolne miejsca: 100/100\n"
+                + "  - Seans S3: F1;2024-12-21 18:00;Sala2;80 | wolne miejsca: 80/80\n", calosc);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test pustego kina, rozmiaru strony i nieprawidłowego kursora")
+    void testNieprawidloweStrony() {
+        // Gdy/Wtedy: Puste kino ma komunikat, a zły rozmiar strony lub kursor są odrzucane
+        assertEquals("Brak seansow w kinie: K1", model.pobierzRepertuarKina("K1"));
+        assertEquals(0, model.pobierzStroneRepertuaru("F9", null, 10).dajLiczbeSeansow());
+        IllegalArgumentException rozmiar = assertThrows(IllegalArgumentException.class,
+                () -> model.pobierzStroneRepertuaru("F1", null, 0));
+        assertEquals("Nieprawidlowy rozmiar strony: 0", rozmiar.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> model.pobierzStroneRepertuaruKina("K1", "S1", 10));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test równoległego repertuaru kina zgodnego ze stronami")
+    void testRownoleglyRepertuarKina() {
+        // Jeśli: 1000 seansów 10 filmów w 30 dniach, dodanych w przemieszanej kolejności
+        for (int i = 0; i < 1000; i++) {
+            int dzien = (i * 7) % 30 + 1;
+            String data = "2025-01-" + (dzien < 10 ? "0" + dzien : dzien) + " " + (10 + i % 12) + ":00";
+            model.dodajSeans("F" + (i % 10 + 1) + ";" + data + ";Sala" + (i % 5 + 1) + ";100");
+        }
+        model.zarezerwujMiejsca("S500;K001;1,2,3;25.0");
+
+        // Gdy: Pobieramy repertuar kina w całości (równolegle) i stronami po 37 seansów
+        String calosc = model.pobierzRepertuarKina("K1");
+        StringBuilder zeStron = new StringBuilder("Repertuar kina K1:\n");
+        String kursor = null;
+        do {
+            StronaRepertuaru strona = model.pobierzStroneRepertuaruKina("K1", kursor, 37);
+            for (int i = 0; i < strona.dajLiczbeSeansow(); i++) {
+                zeStron.append("  - Seans ").append(strona.dajIdSeansu(i)).append(": ")
+                        .append(strona.dajOpis(i)).append("\n");
+            }
+            kursor = strona.dajNastepnyKursor();
+        } while (kursor != null);
+
+        // Wtedy: Wynik równoległy jest identyczny z kolejnymi stronami i powtarzalny
+        assertEquals(zeStron.toString(), calosc);
+        assertEquals(1001, calosc.split("\n").length);
+        assertTrue(calosc.contains("  - Seans S500: "), "Brak seansu S500");
+        assertTrue(calosc.contains("wolne miejsca: 97/100"), "Brak zajętości S500");
+        assertEquals(calosc, model.pobierzRepertuarKina("K1"));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test strony filmu od kursora w środku wielu seansów")
+    void testStronaOdKursoraWSrodku() {
+        // Jeśli: Dwa filmy z przeplatanymi seansami, F1 ma 500 seansów
+        for (int i = 0; i < 1000; i++) {
+            model.dodajSeans("F" + (i % 2 + 1) + ";2025-02-01 18:00;Sala1;100");
+        }
+
+        // Gdy: Pobieramy stronę F1 od kursora S799 i ostatnią stronę od S997
+        StronaRepertuaru srodek = model.pobierzStroneRepertuaru("F1", "S799", 3);
+        StronaRepertuaru koniec = model.pobierzStroneRepertuaru("F1", "S997", 3);
+
+        // Wtedy: Strona zaczyna się za kursorem i ma tylko seanse F1
+        assertEquals("S801", srodek.dajIdSeansu(0));
+        assertEquals("S803", srodek.dajIdSeansu(1));
+        assertEquals("S805", srodek.dajIdSeansu(2));
+        assertEquals("S805", srodek.dajNastepnyKursor());
+        assertEquals(1, koniec.dajLiczbeSeansow());
+        assertEquals("S999", koniec.dajIdSeansu(0));
+        assertFalse(koniec.czyJestNastepna());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test strony i pełnego repertuaru kina z seansami dodanymi wprost do DAO")
+    void testStronaKinaZSeansamiZDAO() {
+        // Jeśli: Seanse zapisane w DAO z pominięciem Modelu i jeden dodany przez Model
+        dao.dodajSeans("F1;2024-12-21 18:00;Sala1;100");
+        dao.dodajSeans("F2;2024-12-20 18:00;Sala2;80");
+        model.dodajSeans("F1;2024-12-22 18:00;Sala1;100");
+
+        // Gdy: Pobieramy pierwszą stronę repertuaru kina i cały repertuar
+        StronaRepertuaru strona = model.pobierzStroneRepertuaruKina("K1", null, 10);
+        String calosc = model.pobierzRepertuarKina("K1");
+
+        // Wtedy: Strona i repertuar obejmują wszystkie seanse w porządku dat
+        assertEquals("Repertuar kina K1:\n"
+                + "  - Seans S2: F2;2024-12-20 18:00;Sala2;80 | wolne miejsca: 80/80\n"
+                + "  - Seans S1: F1;2024-12-21 18:00;Sala1;100 | wolne miejsca: 100/100\n"
+                + "  - Seans S3: F1;2024-12-22 18:00;Sala1;100 | wolne miejsca: 100/100\n", calosc);
+        assertEquals(3, strona.dajLiczbeSeansow());
+        assertEquals("S2", strona.dajIdSeansu(0));
+        assertEquals("S1", strona.dajIdSeansu(1));
+        assertEquals("S3", strona.dajIdSeansu(2));
+    }
+}
@@ -0,0 +1,382 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla klasy TrwalyDAO i dziennika zapisu.
+ * Testuje odtwarzanie stanu po ponownym uruchomieniu, odcinanie
+ * uszkodzonego końca dziennika, grupowe utrwalanie zapisów, migawki
+ * stanu z kompakcją segmentów dziennika oraz wyszukiwanie seansów przez
+ * Model po restarcie.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy klasy TrwalyDAO - dziennik zapisu")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("trwalosc")
+class TestTrwalyDAO {
+
+    @TempDir
+    Path katalog;
+
+    private Path katalogDziennika;
+    private Path pierwszySegment;
+    private TrwalyDAO dao;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów TrwalyDAO");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Nowe trwałe DAO w pustym katalogu tymczasowym
+        katalogDziennika = katalog.resolve("dziennik");
+        pierwszySegment = katalogDziennika.resolve("dziennik-00000001.log");
+        dao = otworz(new DAO(), DziennikZapisu.TrybSynchronizacji.GRUPOWY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        dao.close();
+        dao = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów TrwalyDAO");
+    }
+
+    private TrwalyDAO otworz(IDAO pusteDao, DziennikZapisu.TrybSynchronizacji tryb) {
+        return new TrwalyDAO(pusteDao, new DziennikZapisu(katalogDziennika, tryb, 5));
+    }
+
+    private TrwalyDAO uruchomPonownie() {
+        dao.close();
+        dao = otworz(new DAO(), DziennikZapisu.TrybSynchronizacji.GRUPOWY);
+        return dao;
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test odtworzenia filmów, seansów i rezerwacji po restarcie")
+    void testOdtworzenieStanuPoRestarcie() {
+        // Jeśli: Zapisano film, dwa seanse i rezerwację
+        dao.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        String s1 = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String s2 = dao.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+        String r1 = dao.dodajRezerwacje("null;" + s1 + ";K001;15;28.0");
+
+        // Gdy: Uruchamiamy DAO ponownie z tego samego dziennika
+        TrwalyDAO odtworzone = uruchomPonownie();
+
+        // Wtedy: Cały stan jest dostępny
+        assertEquals("F1;Matrix;SciFi;136;Akcja;28.0", odtworzone.znajdzFilm("F1"));
+        assertEquals("F1;2024-12-20 21:00;Sala2;80", odtworzone.znajdzSeans(s2));
+        assertEquals(2, odtworzone.znajdzSeansyFilmu("F1").length);
+        assertEquals("null;" + s1 + ";K001;15;28.0", odtworzone.znajdzRezerwacje(r1));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test że liczniki ID są kontynuowane po restarcie")
+    void testLicznikiIdPoRestarcie() {
+        // Jeśli: Zapisano dwa seanse i rezerwację
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        dao.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+        dao.dodajRezerwacje("null;S1;K001;15;28.0");
+
+        // Gdy: Po restarcie dodajemy kolejne obiekty
+        TrwalyDAO odtworzone = uruchomPonownie();
+        String s3 = odtworzone.dodajSeans("F2;2024-12-21 19:00;Sala1;100");
+        String r2 = odtworzone.dodajRezerwacje("null;S3;K002;1;20.0");
+
+        // Wtedy: Nowe ID nie powtarzają istniejących
+        assertEquals("S3", s3);
+        assertEquals("R2", r2);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test odtworzenia edycji i usunięcia seansu")
+    void testOdtworzenieEdycjiIUsuniecia() {
+        // Jeśli: Seans przeniesiono do innego filmu, a inny usunięto
+        String s1 = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String s2 = dao.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+        dao.edytujSeans(s1 + ";F2;2024-12-20 19:00;Sala1;100");
+        dao.usunSeans(s2);
+
+        // Gdy: Uruchamiamy DAO ponownie
+        TrwalyDAO odtworzone = uruchomPonownie();
+
+        // Wtedy: Stan odpowiada stanowi sprzed restartu
+        assertNull(odtworzone.znajdzSeans(s2), "Usunięty seans nie powinien wrócić");
+        assertEquals(0, odtworzone.znajdzSeansyFilmu("F1").length);
+        assertArrayEquals(new String[] { s1 }, odtworzone.znajdzSeansyFilmu("F2"));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test że nieudana operacja nie trafia do dziennika")
+    void testNieudanaOperacjaNieJestZapisywana() {
+        // Jeśli: Próba edycji nieistniejącego seansu
+        assertThrows(IllegalArgumentException.class,
+                () -> dao.edytujSeans("S9;F1;2024-12-20 18:00;Sala1;100"));
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+
+        // Gdy: Uruchamiamy DAO ponownie
+        // Wtedy: Odtworzenie nie powtarza nieudanej operacji
+        TrwalyDAO odtworzone = assertDoesNotThrow(this::uruchomPonownie);
+        assertEquals(1, odtworzone.znajdzSeansyFilmu("F1").length);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test odcięcia uszkodzonego końca dziennika po awarii")
+    void testOdciecieUszkodzonegoKonca() throws Exception {
+        // Jeśli: Dziennik zawiera dwa poprawne rekordy i niepełny trzeci
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        dao.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+        dao.close();
+        long dlugosc = Files.size(pierwszySegment);
+        Files.write(pierwszySegment, new byte[] { 0, 0, 0, 40, 3, 'F', '1' }, StandardOpenOption.APPEND);
+
+        // Gdy: Uruchamiamy DAO i dopisujemy kolejny seans
+        dao = otworz(new DAO(), DziennikZapisu.TrybSynchronizacji.GRUPOWY);
+        assertEquals(dlugosc, Files.size(pierwszySegment), "Uszkodzony koniec powinien być odcięty");
+        String s3 = dao.dodajSeans("F2;2024-12-21 19:00;Sala1;100");
+
+        // Wtedy: Kolejny restart widzi wszystkie poprawne seanse
+        TrwalyDAO odtworzone = uruchomPonownie();
+        assertEquals("S3", s3);
+        assertEquals(2, odtworzone.znajdzSeansyFilmu("F1").length);
+        assertNotNull(odtworzone.znajdzSeans(s3));
+    }
+
+    @ParameterizedTest
+    @Order(6)
+    @DisplayName("Test zapisu w każdym trybie synchronizacji - @EnumSource")
+    @EnumSource(DziennikZapisu.TrybSynchronizacji.class)
+    void testTrybySynchronizacji(DziennikZapisu.TrybSynchronizacji tryb) {
+        // Jeśli: DAO z określonym trybem utrwalania
+        dao.close();
+        dao = otworz(new DAO(), tryb);
+
+        // Gdy: Zapisujemy seans i zamykamy DAO
+        String id = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+
+        // Wtedy: Po restarcie seans jest dostępny
+        assertEquals("F1;2024-12-20 18:00;Sala1;100", uruchomPonownie().znajdzSeans(id));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test grupowego utrwalania rezerwacji z wielu wątków")
+    void testGrupoweUtrwalanieWielowatkowo() throws Exception {
+        // Jeśli: Trwałe DAO nad ConcurrentDAO i 8 wątków
+        dao.close();
+        dao = otworz(new ConcurrentDAO(), DziennikZapisu.TrybSynchronizacji.GRUPOWY);
+        Map<String, String> zapisane = new ConcurrentHashMap<>();
+        ExecutorService pula = Executors.newFixedThreadPool(8);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Wątki równolegle dodają rezerwacje (każda potwierdzona po utrwaleniu)
+        long start = System.nanoTime();
+        for (int w = 0; w < 8; w++) {
+            final int watek = w;
+            zadania.add(pula.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    String dane = "null;S1;K" + watek + ";" + i + ";25.0";
+                    zapisane.put(dao.dodajRezerwacje(dane), dane);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+        long czasMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        pula.shutdown();
+        System.out.println("Utrwalono " + zapisane.size() + " rezerwacji w " + czasMs + " ms");
+
+        // Wtedy: Po restarcie każda rezerwacja ma to samo ID i dane
+        dao.close();
+        dao = otworz(new ConcurrentDAO(), DziennikZapisu.TrybSynchronizacji.GRUPOWY);
+        assertEquals(16000, zapisane.size());
+        for (Map.Entry<String, String> wpis : zapisane.entrySet()) {
+            assertEquals(wpis.getValue(), dao.znajdzRezerwacje(wpis.getKey()));
+        }
+    }
+
+    // ========== TESTY MIGAWEK ==========
+
+    private long liczbaPlikow(String wzorzec) throws Exception {
+        try (DirectoryStream<Path> pliki = Files.newDirectoryStream(katalogDziennika, wzorzec)) {
+            long liczba = 0;
+            for (Path ignored : pliki) {
+                liczba++;
+            }
+            return liczba;
+        }
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Test odtworzenia z migawki i ogona dziennika")
+    void testOdtworzenieZMigawkiIOgona() {
+        // Jeśli: Stan zapisany w migawce, a po niej kolejne operacje
+        dao.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        String s1 = dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        String s2 = dao.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+        dao.dodajRezerwacje("null;" + s1 + ";K001;15;28.0");
+        dao.zapiszMigawke();
+        dao.edytujSeans(s1 + ";F2;2024-12-20 19:00;Sala1;100");
+        String s3 = dao.dodajSeans("F1;2024-12-21 18:00;Sala1;100");
+
+        // Gdy: Uruchamiamy DAO ponownie
+        TrwalyDAO odtworzone = uruchomPonownie();
+
+        // Wtedy: Stan z migawki jest uzupełniony o operacje z ogona
+        assertEquals("F1;Matrix;SciFi;136;Akcja;28.0", odtworzone.znajdzFilm("F1"));
+        assertEquals("S3", s3);
+        assertArrayEquals(new String[] { s2, s3 }, odtworzone.znajdzSeansyFilmu("F1"));
+        assertArrayEquals(new String[] { s1 }, odtworzone.znajdzSeansyFilmu("F2"));
+        assertEquals("R2", odtworzone.dodajRezerwacje("null;S3;K002;1;20.0"));
+        assertEquals("S4", odtworzone.dodajSeans("F3;2024-12-22 18:00;Sala1;100"));
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Test że migawka usuwa pokryte segmenty i starsze migawki")
+    void testKompakcjaSegmentow() throws Exception {
+        // Jeśli: Dwie kolejne migawki z operacjami pomiędzy nimi
+        dao.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        dao.zapiszMigawke();
+        dao.dodajSeans("F1;2024-12-20 21:00;Sala2;80");
+
+        // Gdy: Zapisujemy drugą migawkę
+        long numer = dao.zapiszMigawke();
+
+        // Wtedy: Zostaje jedna migawka i jeden (pusty) segment dziennika
+        assertEquals(3, numer);
+        assertEquals(1, liczbaPlikow("migawka-*.bin"));
+        assertEquals(1, liczbaPlikow("dziennik-*.log"));
+        assertEquals(0, Files.size(katalogDziennika.resolve("dziennik-00000003.log")));
+        assertFalse(Files.exists(pierwszySegment), "Segment pokryty migawką powinien być usunięty");
+        assertEquals(2, uruchomPonownie().znajdzSeansyFilmu("F1").length);
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Test automatycznej migawki co zadaną liczbę operacji")
+    void testAutomatycznaMigawka() throws Exception {
+        // Jeśli: DAO z migawką co 100 operacji
+        dao.close();
+        dao = new TrwalyDAO(new DAO(),
+                new DziennikZapisu(katalogDziennika, DziennikZapisu.TrybSynchronizacji.BRAK, 5), 100);
+
+        // Gdy: Wykonujemy 250 operacji
+        for (int i = 0; i < 250; i++) {
+            dao.dodajRezerwacje("null;S1;K001;" + i + ";25.0");
+        }
+
+        // Wtedy: Dziennik zawiera tylko ogon po ostatniej migawce, a stan jest pełny
+        assertEquals(1, liczbaPlikow("migawka-*.bin"));
+        assertEquals(1, liczbaPlikow("dziennik-*.log"));
+        TrwalyDAO odtworzone = uruchomPonownie();
+        assertEquals("null;S1;K001;249;25.0", odtworzone.znajdzRezerwacje("R250"));
+        assertEquals("R251", odtworzone.dodajRezerwacje("null;S1;K001;250;25.0"));
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Test migawki ConcurrentDAO przy równoległych zapisach")
+    void testMigawkaConcurrentDAOWielowatkowo() throws Exception {
+        // Jeśli: Trwałe ConcurrentDAO z częstymi migawkami i 4 wątki
+        dao.close();
+        dao = new TrwalyDAO(new ConcurrentDAO(),
+                new DziennikZapisu(katalogDziennika, DziennikZapisu.TrybSynchronizacji.GRUPOWY, 5), 500);
+        Map<String, String> zapisane = new ConcurrentHashMap<>();
+        ExecutorService pula = Executors.newFixedThreadPool(4);
+        List<Future<?>> zadania = new ArrayList<>();
+
+        // Gdy: Wątki dodają seanse, a migawki są zapisywane w trakcie
+        for (int w = 0; w < 4; w++) {
+            final int watek = w;
+            zadania.add(pula.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    String dane = "F" + watek + ";2024-12-20 18:00;Sala1;" + i;
+                    zapisane.put(dao.dodajSeans(dane), dane);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> zadanie : zadania) {
+            zadanie.get(60, TimeUnit.SECONDS);
+        }
+        pula.shutdown();
+
+        // Wtedy: Po restarcie każdy seans jest dostępny i jest w indeksie filmu
+        dao.close();
+        dao = otworz(new ConcurrentDAO(), DziennikZapisu.TrybSynchronizacji.GRUPOWY);
+        assertEquals(4000, zapisane.size());
+        for (Map.Entry<String, String> wpis : zapisane.entrySet()) {
+            assertEquals(wpis.getValue(), dao.znajdzSeans(wpis.getKey()));
+        }
+        for (int w = 0; w < 4; w++) {
+            assertEquals(1000, dao.znajdzSeansyFilmu("F" + w).length);
+        }
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Test wyszukiwania seansów przez Model po restarcie")
+    void testWyszukiwanieSeansowPoRestarcie() {
+        // Jeśli: Model zapisał film i dwa seanse, a DAO uruchomiono ponownie
+        Model model = new Model(new Oferta(dao), dao);
+        dao.dodajFilm("F1;Matrix;SciFi;136;Akcja;28.0");
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;100");
+        model.dodajSeans("F1;2024-12-21 18:00;Sala2;100");
+        TrwalyDAO odtworzone = uruchomPonownie();
+        Model poRestarcie = new Model(new Oferta(odtworzone), odtworzone);
+
+        // Gdy: Szukamy po sali, także po dodaniu seansu przez Model i wprost do DAO
+        String sala1 = poRestarcie.wyszukajSeanse(";;;Sala1");
+        poRestarcie.dodajSeans("F1;2024-12-22 18:00;Sala1;100");
+        odtworzone.dodajSeans("F1;2024-12-23 18:00;Sala1;100");
+        String poDodaniu = poRestarcie.wyszukajSeanse(";;;Sala1");
+        odtworzone.usunSeans("S1");
+        String poUsunieciu = poRestarcie.wyszukajSeanse("akcja");
+
+        // Wtedy: Odtworzone i dodane wprost seanse są znajdowane, a usunięty znika
+        assertEquals("Znalezione seanse (1):\n"
+                + "  - Seans S1: F1;2024-12-20 18:00;Sala1;100 | wolne miejsca: 100/100\n", sala1);
+        assertTrue(poDodaniu.startsWith("Znalezione seanse (3):"), poDodaniu);
+        assertTrue(poDodaniu.contains("  - Seans S4: F1;2024-12-23 18:00;Sala1;100"), poDodaniu);
+        assertTrue(poUsunieciu.startsWith("Znalezione seanse (3):"), poUsunieciu);
+        assertFalse(poUsunieciu.contains("Seans S1:"), poUsunieciu);
+    }
+}
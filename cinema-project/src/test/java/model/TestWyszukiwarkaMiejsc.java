@@ -0,0 +1,161 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla wyszukiwania bloku sąsiednich miejsc.
+ * Testuje układ sali z przejściami, preferencje środka sali i rzędu
+ * oraz rezerwację najlepszego bloku na seansie.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy wyszukiwania najlepszego bloku miejsc")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("repertuar")
+class TestWyszukiwarkaMiejsc {
+
+    private Film film;
+    private UkladSali uklad;
+    private Seans seans;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów wyszukiwania bloku miejsc");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Sala 9 rzędów po 12 miejsc z przejściami za 3. i 9. miejscem
+        film = new Film("F1", "Matrix", "SciFi", 136, "Akcja", 28.0);
+        uklad = new UkladSali(9, 12, 3, 9);
+        seans = new Seans("S1", film, "2024-12-20 18:00", "Sala1", uklad);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        seans = null;
+        uklad = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów wyszukiwania bloku miejsc");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test numeracji miejsc w układzie sali")
+    void testNumeracjaMiejsc() {
+        // Jeśli: Układ sali z setUp
+
+        // Gdy: Przeliczamy pozycje na numery i odwrotnie
+        int numer = uklad.numerMiejsca(3, 5);
+
+        // Wtedy: Numeracja idzie rzędami
+        assertEquals(29, numer);
+        assertEquals(3, uklad.dajRzad(numer));
+        assertEquals(5, uklad.dajPozycje(numer));
+        assertEquals(108, seans.dajWolneMiejsca().length);
+        assertThrows(IllegalArgumentException.class, () -> new UkladSali(10, 65));
+        assertThrows(IllegalArgumentException.class, () -> new UkladSali(10, 12, 12));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test bloku na środku pustej sali")
+    void testBlokNaSrodku() {
+        // Jeśli: Pusta sala
+
+        // Gdy: Szukamy bloku 4 miejsc najbliżej środka
+        int[] blok = seans.znajdzNajlepszyBlok(4, new PreferencjaSrodkaSali());
+
+        // Wtedy: Blok leży w środkowym rzędzie między przejściami
+        assertArrayEquals(new int[] { 53, 54, 55, 56 }, blok);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test że blok nie przechodzi przez przejście")
+    void testBlokNiePrzechodziPrzezPrzejscie() {
+        // Jeśli: Rząd 1 wolny tylko na miejscach 2-5 (przejście za 3.)
+        UkladSali jedenRzad = new UkladSali(1, 12, 3, 9);
+        Seans maly = new Seans("S2", film, "2024-12-20 18:00", "Sala2", jedenRzad);
+        maly.zarezerwujMiejsca(1, 6, 7, 8, 9, 10, 11, 12);
+
+        // Gdy: Szukamy bloków 2 i 3 miejsc
+        int[] dwa = maly.znajdzNajlepszyBlok(2, new PreferencjaSrodkaSali());
+        int[] trzy = maly.znajdzNajlepszyBlok(3, new PreferencjaSrodkaSali());
+
+        // Wtedy: Para jest po jednej stronie przejścia, a trójki nie ma
+        assertArrayEquals(new int[] { 4, 5 }, dwa);
+        assertNull(trzy);
+    }
+
+    @ParameterizedTest
+    @Order(4)
+    @DisplayName("Test preferowanego rzędu - @CsvSource")
+    @CsvSource({
+            "1, 1",
+            "7, 7",
+            "9, 9"
+    })
+    void testPreferowanyRzad(int preferowany, int oczekiwany) {
+        // Jeśli: Pusta sala
+
+        // Gdy: Szukamy bloku 2 miejsc w preferowanym rzędzie
+        int[] blok = seans.znajdzNajlepszyBlok(2, new PreferencjaRzedu(preferowany));
+
+        // Wtedy: Blok leży w tym rzędzie, na środku
+        assertEquals(oczekiwany, uklad.dajRzad(blok[0]));
+        assertEquals(6, uklad.dajPozycje(blok[0]));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test rezerwacji kolejnych najlepszych bloków")
+    void testRezerwacjaKolejnychBlokow() {
+        // Jeśli: Preferencja rzędu 5
+
+        // Gdy: Trzy rodziny rezerwują po 6 miejsc
+        PreferencjaRzedu rzad5 = new PreferencjaRzedu(5);
+        int[] pierwszy = seans.zarezerwujNajlepszyBlok(6, rzad5);
+        int[] drugi = seans.zarezerwujNajlepszyBlok(6, rzad5);
+        int[] trzeci = seans.zarezerwujNajlepszyBlok(6, rzad5);
+
+        // Wtedy: Środkowa część rzędu 5 jest zajęta, kolejne bloki trafiają do sąsiednich rzędów
+        assertArrayEquals(new int[] { 52, 53, 54, 55, 56, 57 }, pierwszy);
+        assertEquals(4, uklad.dajRzad(drugi[0]));
+        assertEquals(6, uklad.dajRzad(trzeci[0]));
+        assertEquals(108 - 18, seans.dajLiczbeWolnychMiejsc());
+        assertNull(seans.zarezerwujNajlepszyBlok(7, rzad5), "Blok 7 miejsc nie mieści się między przejściami");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test rzędów po 64 miejsca i seansu bez układu")
+    void testPelneSlowoISeansBezUkladu() {
+        // Jeśli: Arena z rzędami po 64 miejsca i zajętym rzędem 1 poza ostatnimi miejscami
+        Seans arena = new Seans("S3", film, "2024-12-20 18:00", "Arena", new UkladSali(3, 64));
+        for (int nr = 1; nr <= 61; nr++) {
+            arena.zarezerwujMiejsce(nr);
+        }
+
+        // Gdy: Szukamy bloku 3 miejsc w rzędzie 1
+        int[] blok = arena.znajdzNajlepszyBlok(3, new PreferencjaRzedu(1));
+
+        // Wtedy: Blok to ostatnie miejsca rzędu 1, a seans bez układu zgłasza błąd
+        assertArrayEquals(new int[] { 62, 63, 64 }, blok);
+        Seans bezUkladu = new Seans("S4", film, "2024-12-20 18:00", "Sala1", 100);
+        assertThrows(IllegalStateException.class,
+                () -> bezUkladu.znajdzNajlepszyBlok(2, new PreferencjaSrodkaSali()));
+    }
+}
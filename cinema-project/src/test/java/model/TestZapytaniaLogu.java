@@ -0,0 +1,214 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy jednostkowe dla zapytań do dziennika zdarzeń.
+ * Testuje rozpoznawanie wpisów, wyszukiwanie według czasu, typu i encji
+ * oraz pomijanie segmentów dzięki rzadkim indeksom.
+ *
+ * Warstwa: Encja (model)
+ */
+@DisplayName("Testy zapytań do dziennika zdarzeń")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag("encja")
+@Tag("trwalosc")
+class TestZapytaniaLogu {
+
+    private static final long GODZINA_18 = Instant.parse("2024-12-20T18:00:00Z").toEpochMilli();
+    private static final long MINUTA = 60_000;
+
+    @TempDir
+    Path katalog;
+
+    private AsynchronicznyLogZdarzen log;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        // Przygotowanie przed wszystkimi testami
+        System.out.println("Rozpoczęcie testów zapytań do dziennika");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Jeśli: Dziennik z małymi plikami, aby wpisy trafiały do wielu segmentów
+        log = new AsynchronicznyLogZdarzen(katalog, 16, AsynchronicznyLogZdarzen.PolitykaPrzepelnienia.BLOKUJ,
+                1, new PolitykaRotacji(2048, 0, 0, 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sprzątanie po każdym teście
+        log.close();
+        log = null;
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        // Sprzątanie po wszystkich testach
+        System.out.println("Zakończenie testów zapytań do dziennika");
+    }
+
+    /**
+     * Zapisuje co minutę od 18:00 rezerwację R(i) klienta K00(i % 5).
+     * Wpisy są zapisywane porcjami po 40, aby każda porcja trafiła do osobnego pliku.
+     */
+    private void zapiszRezerwacje(int liczba) {
+        for (int i = 0; i < liczba; i++) {
+            log.dodajWpis(GODZINA_18 + i * MINUTA, "Zarezerwowano bilet: R" + i + " dla klienta: K00" + (i % 5));
+            if (i % 40 == 39) {
+                assertTrue(log.czekajNaZapis(5000));
+            }
+        }
+        assertTrue(log.czekajNaZapis(5000));
+    }
+
+    @ParameterizedTest
+    @Order(1)
+    @DisplayName("Test rozpoznawania typu i encji z treści wpisu - @CsvSource")
+    @CsvSource(delimiter = '|', value = {
+            "Dodano film: F1|DODANO_FILM|F1",
+            "Dodano seans: S12|DODANO_SEANS|S12",
+            "Zarezerwowano bilet: R3 dla klienta: K001|ZAREZERWOWANO_BILET|R3,K001",
+            "Zarezerwowano bilet: R3 na seans: S2 dla klienta: K001|ZAREZERWOWANO_BILET|R3,S2,K001",
+            "Anulowano rezerwacje: R3 na seans: S2 dla klienta: K001|ANULOWANO_REZERWACJE|R3,S2,K001",
+            "Edytowano film: F1|EDYTOWANO_FILM|F1",
+            "Edytowano seans: S4|EDYTOWANO_SEANS|S4",
+            "Usunieto seans: S4|USUNIETO_SEANS|S4",
+            "Przydzielono miejsce: 5 na seansie: S2 dla klienta: K004|PRZYDZIELONO_MIEJSCE|S2,K004",
+            "Zaimportowano filmy: 2 (F1 - F2)|ZAIMPORTOWANO_FILMY|F1,F2",
+            "Zaimportowano seanse: 3 (S1 - S3)|ZAIMPORTOWANO_SEANSE|S1,S3",
+            "Test zdarzenia|INNE|''"
+    })
+    void testRozpoznanieWpisu(String tresc, WpisLogu.Typ typ, String encje) {
+        // Jeśli: Treść wpisu w formacie modelu
+
+        // Gdy: Rozpoznajemy wpis
+        WpisLogu wpis = WpisLogu.rozpoznaj(42, tresc);
+
+        // Wtedy: Typ i ID encji są poprawne
+        assertEquals(typ, wpis.dajTyp());
+        assertEquals(encje.isEmpty() ? List.of() : List.of(encje.split(",")), wpis.dajIdEncji());
+        assertThrows(UnsupportedOperationException.class, () -> wpis.dajIdEncji().add("X"));
+        assertEquals(42, wpis.dajCzas());
+        assertEquals(tresc, wpis.dajTresc());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test rezerwacji klienta w zakresie czasu")
+    void testRezerwacjeKlientaWZakresie() {
+        // Jeśli: Rezerwacje zapisywane co minutę przez 5 godzin
+        zapiszRezerwacje(300);
+
+        // Gdy: Szukamy rezerwacji klienta K001 między 18:00 a 19:00
+        List<WpisLogu> wynik = log.znajdzWpisy(GODZINA_18, GODZINA_18 + 60 * MINUTA,
+                WpisLogu.Typ.ZAREZERWOWANO_BILET, "K001");
+
+        // Wtedy: Zwracane są tylko rezerwacje K001 z tej godziny, po kolei
+        assertEquals(12, wynik.size());
+        assertEquals("Zarezerwowano bilet: R1 dla klienta: K001", wynik.get(0).dajTresc());
+        for (WpisLogu wpis : wynik) {
+            assertTrue(wpis.dotyczy("K001"));
+            assertTrue(wpis.dajCzas() <= GODZINA_18 + 60 * MINUTA);
+        }
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test pomijania segmentów spoza zakresu czasu")
+    void testPomijanieSegmentowWedlugCzasu() {
+        // Jeśli: Wpisy rozłożone na wiele segmentów
+        zapiszRezerwacje(300);
+        long pominietePrzed = log.dajLiczbePominietychSegmentow();
+
+        // Gdy: Szukamy wpisów z ostatnich 10 minut
+        List<WpisLogu> wynik = log.znajdzWpisy(GODZINA_18 + 290 * MINUTA, Long.MAX_VALUE, null, null);
+
+        // Wtedy: Wynik jest pełny, a większość segmentów pominięto
+        assertEquals(10, wynik.size());
+        assertTrue(log.dajLiczbePominietychSegmentow() - pominietePrzed >= 5,
+                "Segmenty spoza zakresu powinny być pominięte");
+        assertTrue(log.dajLiczbePrzeszukanychSegmentow() <= 2);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test pomijania segmentów bez szukanej encji i typu")
+    void testPomijanieSegmentowWedlugEncjiITypu() {
+        // Jeśli: Segment z rezerwacjami, a potem segment z nowymi seansami
+        zapiszRezerwacje(100);
+        for (int i = 0; i < 50; i++) {
+            log.dodajWpis(GODZINA_18 + (200 + i) * MINUTA, "Dodano seans: S" + i);
+        }
+        assertTrue(log.czekajNaZapis(5000));
+
+        // Gdy: Szukamy seansu S7 oraz rezerwacji nieistniejącego klienta
+        List<WpisLogu> seans = log.znajdzWpisy(0, Long.MAX_VALUE, WpisLogu.Typ.DODANO_SEANS, "S7");
+        long przeszukanePrzed = log.dajLiczbePrzeszukanychSegmentow();
+        List<WpisLogu> brak = log.znajdzWpisy(0, Long.MAX_VALUE, null, "K999");
+
+        // Wtedy: Seans jest znaleziony, a dla nieznanego klienta nie czytano plików
+        assertEquals(1, seans.size());
+        assertEquals(List.of("S7"), seans.get(0).dajIdEncji());
+        assertTrue(brak.isEmpty());
+        assertEquals(przeszukanePrzed, log.dajLiczbePrzeszukanychSegmentow(),
+                "Żaden segment nie powinien zawierać klienta K999");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test zapytań o pliki z poprzedniego uruchomienia")
+    void testZapytaniePoRestarcie() {
+        // Jeśli: Wpisy zapisane przez poprzednią instancję dziennika
+        zapiszRezerwacje(50);
+        log.close();
+
+        // Gdy: Nowa instancja odpowiada na zapytanie
+        log = new AsynchronicznyLogZdarzen(katalog);
+        List<WpisLogu> wynik = log.znajdzWpisy(0, Long.MAX_VALUE, null, "R42");
+
+        // Wtedy: Indeksy starych plików są odbudowane i wpis jest znaleziony
+        assertEquals(1, wynik.size());
+        assertEquals("Zarezerwowano bilet: R42 dla klienta: K002", wynik.get(0).dajTresc());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test historii klienta z anulowaniem i przydziałem z listy oczekujących")
+    void testHistoriaKlientaZModelu() {
+        // Jeśli: Model zapisujący wpisy do dziennika i seans z jednym miejscem
+        DAO dao = new DAO(log);
+        Model model = new Model(new Oferta(dao), dao);
+        model.dodajSeans("F1;2024-12-20 18:00;Sala1;1");
+        model.zarezerwujMiejsce("S1;K002;1;25.0");
+        model.zapiszNaListeOczekujacych("S1;K001;1");
+
+        // Gdy: K002 anuluje rezerwację, a miejsce przechodzi na K001
+        model.anulujRezerwacje("R1");
+        assertTrue(log.czekajNaZapis(5000));
+        List<WpisLogu> k002 = log.znajdzWpisy(0, Long.MAX_VALUE, null, "K002");
+        List<WpisLogu> k001 = log.znajdzWpisy(0, Long.MAX_VALUE, null, "K001");
+        List<WpisLogu> anulowaneS1 = log.znajdzWpisy(0, Long.MAX_VALUE, WpisLogu.Typ.ANULOWANO_REZERWACJE, "S1");
+
+        // Wtedy: Historia każdego klienta obejmuje anulowanie i przydział
+        assertEquals(2, k002.size());
+        assertEquals(WpisLogu.Typ.ZAREZERWOWANO_BILET, k002.get(0).dajTyp());
+        assertEquals(List.of("R1", "S1", "K002"), k002.get(0).dajIdEncji());
+        assertEquals(WpisLogu.Typ.ANULOWANO_REZERWACJE, k002.get(1).dajTyp());
+        assertEquals(1, k001.size());
+        assertEquals(WpisLogu.Typ.PRZYDZIELONO_MIEJSCE, k001.get(0).dajTyp());
+        assertEquals(List.of("S1", "K001"), k001.get(0).dajIdEncji());
+        assertEquals(1, anulowaneS1.size());
+    }
+}